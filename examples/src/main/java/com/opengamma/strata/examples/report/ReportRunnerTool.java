@@ -41,6 +41,8 @@ import com.opengamma.strata.report.ReportTemplate;
 import com.opengamma.strata.report.cashflow.CashFlowReportRunner;
 import com.opengamma.strata.report.cashflow.CashFlowReportTemplate;
 import com.opengamma.strata.report.framework.format.ReportOutputFormat;
+import com.opengamma.strata.report.sensitivity.SensitivityBucketReportRunner;
+import com.opengamma.strata.report.sensitivity.SensitivityBucketReportTemplate;
 import com.opengamma.strata.report.trade.TradeReportRunner;
 import com.opengamma.strata.report.trade.TradeReportTemplate;
 
@@ -214,6 +216,8 @@ public final class ReportRunnerTool implements AutoCloseable {
       return (ReportRunner) TradeReportRunner.INSTANCE;
     } else if (reportTemplate instanceof CashFlowReportTemplate) {
       return (ReportRunner) CashFlowReportRunner.INSTANCE;
+    } else if (reportTemplate instanceof SensitivityBucketReportTemplate) {
+      return (ReportRunner) SensitivityBucketReportRunner.INSTANCE;
     }
     throw new IllegalArgumentException(Messages.format("Unsupported report type: {}", reportTemplate.getClass().getSimpleName()));
   }
@@ -93,6 +93,15 @@ public class ExamplesTest {
     assertValidCapturedAsciiTable(caputureSystemOut(() -> ReportRunnerTool.main(toolArgs("swap"))));
   }
 
+  public void test_swapSensitivityBucket_tool() {
+    String[] args = {
+        "-p", "src/main/resources/example-portfolios/swap-portfolio.xml",
+        "-t", "src/main/resources/example-reports/swap-sensitivity-bucket-report-template.ini",
+        "-d", "2014-01-22",
+    };
+    assertValidCapturedAsciiTable(caputureSystemOut(() -> ReportRunnerTool.main(args)));
+  }
+
   //-------------------------------------------------------------------------
   public void test_swapPricingCcp_standalone() {
     assertValidCapturedAsciiTable(caputureSystemOut(() -> SwapPricingCcpExample.main(NO_ARGS)));
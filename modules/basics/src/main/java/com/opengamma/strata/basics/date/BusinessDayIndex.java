@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.date;
+
+import java.time.LocalDate;
+
+/**
+ * A rank and select index of business days.
+ * <p>
+ * This is built over a lookup table of months, where each month is an {@code int} with
+ * bit 0 to 30 representing the day-of-month, 1 for a business day and 0 for a holiday.
+ * The table is complemented by the number of business days before each month.
+ * <p>
+ * The rank of a date is the number of business days in the index before the date.
+ * The select of a rank is the business day with that rank.
+ * Both are calculated without stepping through the days, thus counting business days
+ * and shifting by a number of business days is fast regardless of the span.
+ * <p>
+ * Methods accepting a date require the date to be {@linkplain #isInRange(LocalDate) in range}.
+ */
+final class BusinessDayIndex {
+
+  /**
+   * The year of the first month in the lookup table.
+   */
+  private final int startYear;
+  /**
+   * The month of the first month in the lookup table, from 1 to 12.
+   */
+  private final int startMonth;
+  /**
+   * The lookup table, one entry for each month, with 1 bits for business days.
+   */
+  private final int[] lookup;
+  /**
+   * The number of business days before each month, with a final entry for the total.
+   */
+  private final int[] cumulative;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an index from a lookup table.
+   *
+   * @param startYear  the year of the first month in the lookup table
+   * @param startMonth  the month of the first month in the lookup table, from 1 to 12
+   * @param lookup  the lookup table, not copied
+   * @return the index
+   */
+  static BusinessDayIndex of(int startYear, int startMonth, int[] lookup) {
+    return new BusinessDayIndex(startYear, startMonth, lookup);
+  }
+
+  /**
+   * Obtains an index of the days that are business days in both input indices.
+   * <p>
+   * The range of the result is the intersection of the ranges of the inputs.
+   *
+   * @param index1  the first index
+   * @param index2  the second index
+   * @return the combined index, null if the ranges do not intersect
+   */
+  static BusinessDayIndex combined(BusinessDayIndex index1, BusinessDayIndex index2) {
+    int start1 = index1.startYear * 12 + index1.startMonth - 1;
+    int start2 = index2.startYear * 12 + index2.startMonth - 1;
+    int start = Math.max(start1, start2);
+    int end = Math.min(start1 + index1.lookup.length, start2 + index2.lookup.length);
+    if (start >= end) {
+      return null;
+    }
+    int[] lookup = new int[end - start];
+    for (int i = 0; i < lookup.length; i++) {
+      lookup[i] = index1.lookup[start - start1 + i] & index2.lookup[start - start2 + i];
+    }
+    return new BusinessDayIndex(start / 12, start % 12 + 1, lookup);
+  }
+
+  // restricted constructor
+  private BusinessDayIndex(int startYear, int startMonth, int[] lookup) {
+    this.startYear = startYear;
+    this.startMonth = startMonth;
+    this.lookup = lookup;
+    this.cumulative = new int[lookup.length + 1];
+    for (int i = 0; i < lookup.length; i++) {
+      cumulative[i + 1] = cumulative[i] + Integer.bitCount(lookup[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the index of the month in the lookup table, which may be out of range
+  private int monthIndex(LocalDate date) {
+    return (date.getYear() - startYear) * 12 + date.getMonthValue() - startMonth;
+  }
+
+  /**
+   * Checks if the date is within the range of the index.
+   *
+   * @param date  the date
+   * @return true if in range
+   */
+  boolean isInRange(LocalDate date) {
+    int index = monthIndex(date);
+    return index >= 0 && index < lookup.length;
+  }
+
+  /**
+   * Checks if the date is a holiday.
+   *
+   * @param date  the date, in range
+   * @return true if the date is a holiday
+   */
+  boolean isHoliday(LocalDate date) {
+    return (lookup[monthIndex(date)] & (1 << (date.getDayOfMonth() - 1))) == 0;
+  }
+
+  /**
+   * Calculates the rank of the date, which is the number of business days in the index before the date.
+   *
+   * @param date  the date, in range
+   * @return the rank
+   */
+  int rank(LocalDate date) {
+    int index = monthIndex(date);
+    // mask of the bits of the days-of-month before the date
+    int earlierDays = (1 << (date.getDayOfMonth() - 1)) - 1;
+    return cumulative[index] + Integer.bitCount(lookup[index] & earlierDays);
+  }
+
+  /**
+   * Finds the business day with the specified rank.
+   *
+   * @param rank  the rank
+   * @return the business day, null if the rank is outside the index
+   */
+  LocalDate select(int rank) {
+    if (rank < 0 || rank >= cumulative[lookup.length]) {
+      return null;
+    }
+    // binary search for the month, the first where the business days up to the end of the month exceed the rank
+    int lo = 0;
+    int hi = lookup.length - 1;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (cumulative[mid + 1] > rank) {
+        hi = mid;
+      } else {
+        lo = mid + 1;
+      }
+    }
+    // clear the lower set bits, leaving the selected business day as the lowest set bit
+    int monthData = lookup[lo];
+    for (int i = cumulative[lo]; i < rank; i++) {
+      monthData &= monthData - 1;
+    }
+    int month0 = startMonth - 1 + lo;
+    return LocalDate.of(startYear + month0 / 12, month0 % 12 + 1, Integer.numberOfTrailingZeros(monthData) + 1);
+  }
+
+  /**
+   * Shifts the date by the specified number of business days.
+   *
+   * @param date  the date, in range
+   * @param amount  the number of business days, not zero
+   * @return the shifted date, null if the result is outside the index
+   */
+  LocalDate shift(LocalDate date, int amount) {
+    int rank = rank(date);
+    if (amount > 0) {
+      // the rank of the first business day after the date, plus the amount less one
+      long target = (isHoliday(date) ? rank : rank + 1L) + amount - 1;
+      return target < Integer.MAX_VALUE ? select((int) target) : null;
+    }
+    return select(rank + amount);
+  }
+
+}
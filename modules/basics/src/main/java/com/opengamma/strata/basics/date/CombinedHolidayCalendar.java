@@ -15,6 +15,7 @@ import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
 import org.joda.beans.BeanDefinition;
 import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaProperty;
 import org.joda.beans.Property;
@@ -24,6 +25,8 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
+import com.opengamma.strata.collect.ArgChecker;
+
 /**
  * A holiday calendar implementation that combines two other calendars.
  * <p>
@@ -34,7 +37,7 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
  * To combine two calendars for the long-term, such as in a static constant,
  * see {@link ImmutableHolidayCalendar#combined(ImmutableHolidayCalendar, ImmutableHolidayCalendar)}.
  */
-@BeanDefinition(builderScope = "private", constructorScope = "package")
+@BeanDefinition(builderScope = "private")
 final class CombinedHolidayCalendar
     implements HolidayCalendar, ImmutableBean, Serializable {
 
@@ -48,6 +51,43 @@ final class CombinedHolidayCalendar
    */
   @PropertyDefinition(validate = "notNull")
   private final HolidayCalendar calendar2;
+  /**
+   * The rank and select index of the business days of both calendars, merged where their ranges overlap.
+   * This is null unless both calendars have an index.
+   */
+  private final transient BusinessDayIndex index;  // not a property
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance, merging the lookup tables of the calendars where possible.
+   * 
+   * @param calendar1  the first calendar
+   * @param calendar2  the second calendar
+   */
+  @ImmutableConstructor
+  CombinedHolidayCalendar(HolidayCalendar calendar1, HolidayCalendar calendar2) {
+    this.calendar1 = ArgChecker.notNull(calendar1, "calendar1");
+    this.calendar2 = ArgChecker.notNull(calendar2, "calendar2");
+    BusinessDayIndex index1 = businessDayIndex(calendar1);
+    BusinessDayIndex index2 = businessDayIndex(calendar2);
+    this.index = (index1 != null && index2 != null ? BusinessDayIndex.combined(index1, index2) : null);
+  }
+
+  // finds the rank and select index of a calendar, null if not available
+  private static BusinessDayIndex businessDayIndex(HolidayCalendar calendar) {
+    if (calendar instanceof ImmutableHolidayCalendar) {
+      return ((ImmutableHolidayCalendar) calendar).businessDayIndex();
+    }
+    if (calendar instanceof CombinedHolidayCalendar) {
+      return ((CombinedHolidayCalendar) calendar).index;
+    }
+    return null;
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new CombinedHolidayCalendar(calendar1, calendar2);
+  }
 
   //-------------------------------------------------------------------------
   @Override
@@ -57,9 +97,54 @@ final class CombinedHolidayCalendar
 
   @Override
   public boolean isHoliday(LocalDate date) {
+    if (index != null && index.isInRange(date)) {
+      return index.isHoliday(date);
+    }
     return calendar1.isHoliday(date) || calendar2.isHoliday(date);
   }
 
+  @Override
+  public LocalDate shift(LocalDate date, int amount) {
+    if (amount != 0 && index != null && index.isInRange(date)) {
+      LocalDate shifted = index.shift(date, amount);
+      if (shifted != null) {
+        return shifted;
+      }
+    }
+    return HolidayCalendar.super.shift(date, amount);
+  }
+
+  @Override
+  public LocalDate next(LocalDate date) {
+    if (index != null && index.isInRange(date)) {
+      LocalDate next = index.shift(date, 1);
+      if (next != null) {
+        return next;
+      }
+    }
+    return HolidayCalendar.super.next(date);
+  }
+
+  @Override
+  public LocalDate previous(LocalDate date) {
+    if (index != null && index.isInRange(date)) {
+      LocalDate previous = index.shift(date, -1);
+      if (previous != null) {
+        return previous;
+      }
+    }
+    return HolidayCalendar.super.previous(date);
+  }
+
+  @Override
+  public int daysBetween(LocalDate startInclusive, LocalDate endExclusive) {
+    if (index != null && index.isInRange(startInclusive) && index.isInRange(endExclusive) &&
+        !endExclusive.isBefore(startInclusive)) {
+      return index.rank(endExclusive) - index.rank(startInclusive);
+    }
+    return HolidayCalendar.super.daysBetween(startInclusive, endExclusive);
+  }
+
   @Override
   public String toString() {
     return "HolidayCalendar[" + getName() + ']';
@@ -84,20 +169,6 @@ final class CombinedHolidayCalendar
    */
   private static final long serialVersionUID = 1L;
 
-  /**
-   * Creates an instance.
-   * @param calendar1  the value of the property, not null
-   * @param calendar2  the value of the property, not null
-   */
-  CombinedHolidayCalendar(
-      HolidayCalendar calendar1,
-      HolidayCalendar calendar2) {
-    JodaBeanUtils.notNull(calendar1, "calendar1");
-    JodaBeanUtils.notNull(calendar2, "calendar2");
-    this.calendar1 = calendar1;
-    this.calendar2 = calendar2;
-  }
-
   @Override
   public CombinedHolidayCalendar.Meta metaBean() {
     return CombinedHolidayCalendar.Meta.INSTANCE;
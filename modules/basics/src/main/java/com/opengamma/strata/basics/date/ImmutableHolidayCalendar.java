@@ -59,6 +59,12 @@ public final class ImmutableHolidayCalendar
   // when using Integer.numberOfTrailingZeros and Integer.numberOfLeadingZeros)
   // benchmarking showed nextOrSame() and previousOrSame() do not need to be overridden
   // out-of-range and weekend-only (used in testing) are handled using exceptions to fast-path the common case
+  // large shifts and business day counts use a rank and select index built over the int array
+
+  /**
+   * The largest shift amount that is handled by walking the bits rather than using the index.
+   */
+  private static final int SHIFT_WALK_LIMIT = 4;
 
   /**
    * The identifier, such as 'GBLO'.
@@ -90,6 +96,10 @@ public final class ImmutableHolidayCalendar
    * Trailing bits are set to 0 so they act as holidays, avoiding month length logic.
    */
   private final transient int[] lookup;  // not a property
+  /**
+   * The rank and select index of business days, built over the lookup table, null if no holidays.
+   */
+  private final transient BusinessDayIndex index;  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -172,11 +182,13 @@ public final class ImmutableHolidayCalendar
       // special case where no holiday dates are specified
       this.startYear = 0;
       this.lookup = new int[0];
+      this.index = null;
     } else {
       // normal case where holidays are specified
       this.startYear = holidays.first().getYear();
       int endYearExclusive = holidays.last().getYear() + 1;
       this.lookup = buildLookupArray(holidays, weekendDays, startYear, endYearExclusive);
+      this.index = BusinessDayIndex.of(startYear, 1, lookup);
     }
   }
 
@@ -242,9 +254,21 @@ public final class ImmutableHolidayCalendar
     throw new IllegalArgumentException("Date is outside the accepted range (year 0000 to 10,000): " + date);
   }
 
+  // gets the rank and select index, null if no holidays
+  BusinessDayIndex businessDayIndex() {
+    return index;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public LocalDate shift(LocalDate date, int amount) {
+    // shifts of a few days are faster by walking the bits, larger shifts use the index
+    if (Math.abs(amount) > SHIFT_WALK_LIMIT && index != null && index.isInRange(date)) {
+      LocalDate shifted = index.shift(date, amount);
+      if (shifted != null) {
+        return shifted;
+      }
+    }
     try {
       if (amount > 0) {
         // day-of-month: minus one for zero-based day-of-month, plus one to start from next day
@@ -433,6 +457,16 @@ public final class ImmutableHolidayCalendar
     throw new IllegalArgumentException("Date is outside the accepted range (year 0000 to 10,000): " + date);
   }
 
+  //-------------------------------------------------------------------------
+  @Override
+  public int daysBetween(LocalDate startInclusive, LocalDate endExclusive) {
+    if (index != null && index.isInRange(startInclusive) && index.isInRange(endExclusive) &&
+        !endExclusive.isBefore(startInclusive)) {
+      return index.rank(endExclusive) - index.rank(startInclusive);
+    }
+    return HolidayCalendar.super.daysBetween(startInclusive, endExclusive);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public boolean equals(Object obj) {
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.Random;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -808,6 +809,64 @@ public class ImmutableHolidayCalendarTest {
     assertEquals(test.isHoliday(MON_2014_07_21), false);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_shift_daysBetween_large() {
+    ImmutableHolidayCalendar test = sampleCalendar(HolidayCalendarId.of("TestLarge"), 2010, 2015, 2176);
+    assertShiftAndDaysBetween(test, test::isHoliday, date(2009, 6, 1), date(2016, 6, 1));
+  }
+
+  public void test_shift_daysBetween_large_combined() {
+    ImmutableHolidayCalendar base1 = sampleCalendar(TEST_ID, 2010, 2015, 3321);
+    ImmutableHolidayCalendar base2 = sampleCalendar(TEST_ID2, 2012, 2018, 9872);
+    HolidayCalendar test = base1.combinedWith(base2);
+    assertShiftAndDaysBetween(test, d -> base1.isHoliday(d) || base2.isHoliday(d), date(2009, 6, 1), date(2019, 6, 1));
+    HolidayCalendar test2 = test.combinedWith(HolidayCalendars.SAT_SUN).combinedWith(base1);
+    assertShiftAndDaysBetween(test2, d -> base1.isHoliday(d) || base2.isHoliday(d), date(2011, 11, 1), date(2016, 3, 1));
+  }
+
+  // creates a calendar with random holidays and Sat/Sun weekends
+  private static ImmutableHolidayCalendar sampleCalendar(HolidayCalendarId id, int startYear, int endYear, long seed) {
+    Random random = new Random(seed);
+    SortedSet<LocalDate> set = new TreeSet<>();
+    LocalDate date = LocalDate.of(startYear, 1, 1);
+    while (date.getYear() <= endYear) {
+      set.add(date);
+      date = date.plusDays(random.nextInt(20) + 1);
+    }
+    return ImmutableHolidayCalendar.of(id, set, SATURDAY, SUNDAY);
+  }
+
+  // checks shift and daysBetween against stepping one day at a time
+  private static void assertShiftAndDaysBetween(
+      HolidayCalendar test,
+      Predicate<LocalDate> isHoliday,
+      LocalDate start,
+      LocalDate end) {
+
+    Random random = new Random(2349);
+    for (int i = 0; i < 200; i++) {
+      LocalDate date = start.plusDays(random.nextInt((int) (end.toEpochDay() - start.toEpochDay())));
+      int amount = random.nextInt(1000) - 500;
+      LocalDate expected = date;
+      for (int j = 0; j < Math.abs(amount); j++) {
+        expected = amount > 0 ? expected.plusDays(1) : expected.minusDays(1);
+        while (isHoliday.test(expected)) {
+          expected = amount > 0 ? expected.plusDays(1) : expected.minusDays(1);
+        }
+      }
+      assertEquals(test.isHoliday(date), isHoliday.test(date));
+      assertEquals(test.shift(date, amount), expected);
+      assertEquals(test.next(date), test.shift(date, 1));
+      assertEquals(test.previous(date), test.shift(date, -1));
+      LocalDate other = date.plusDays(random.nextInt(1000));
+      int expectedDays = 0;
+      for (LocalDate d = date; d.isBefore(other); d = d.plusDays(1)) {
+        expectedDays += isHoliday.test(d) ? 0 : 1;
+      }
+      assertEquals(test.daysBetween(date, other), expectedDays);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_broadCheck() {
     LocalDate start = LocalDate.of(2010, 1, 1);
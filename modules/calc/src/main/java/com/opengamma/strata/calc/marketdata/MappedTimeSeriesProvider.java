@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesFile;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Implementation of a time-series provider backed by a memory-mapped file.
+ * <p>
+ * The time-series in the file are named using {@link MappedTimeSeriesFile#seriesName(Object, Object, Object)},
+ * such as 'OG-Index~GBP-LIBOR-3M/MarketValue/None'.
+ * The time-series returned are views of the file, thus they are not held in the heap.
+ */
+class MappedTimeSeriesProvider implements TimeSeriesProvider {
+
+  /**
+   * The file of time-series.
+   */
+  private final MappedTimeSeriesFile file;
+
+  /**
+   * Creates an instance.
+   *
+   * @param file  the file of time-series
+   */
+  MappedTimeSeriesProvider(MappedTimeSeriesFile file) {
+    this.file = ArgChecker.notNull(file, "file");
+  }
+
+  @Override
+  public Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId id) {
+    String name = MappedTimeSeriesFile.seriesName(id.getStandardId(), id.getFieldName(), id.getObservableSource());
+    return file.findSeries(name)
+        .map(Result::success)
+        .orElseGet(() -> Result.failure(
+            FailureReason.MISSING_DATA,
+            "No time-series found in file for '{}'",
+            id));
+  }
+
+}
@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.marketdata;
 
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesFile;
 import com.opengamma.strata.data.ObservableId;
 
 /**
@@ -41,6 +42,21 @@ public interface TimeSeriesProvider {
     return EmptyTimeSeriesProvider.INSTANCE;
   }
 
+  /**
+   * Returns a time-series provider backed by a memory-mapped file.
+   * <p>
+   * The time-series in the file are named by the standard identifier, field name and observable source
+   * of the observable ID, separated by '/', such as 'OG-Index~GBP-LIBOR-3M/MarketValue/None'.
+   * The time-series are views of the file, thus they are not held in the heap.
+   * A request for a time-series that is not in the file will return a failure.
+   *
+   * @param file  the file of time-series
+   * @return the time-series provider
+   */
+  public static TimeSeriesProvider of(MappedTimeSeriesFile file) {
+    return new MappedTimeSeriesProvider(file);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Provides the time-series for the specified identifier.
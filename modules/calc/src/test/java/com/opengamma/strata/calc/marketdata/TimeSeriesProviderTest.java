@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesFile;
+import com.opengamma.strata.data.ObservableSource;
+
+/**
+ * Test {@link TimeSeriesProvider}.
+ */
+@Test
+public class TimeSeriesProviderTest {
+
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID1_SOURCE = TestObservableId.of("1", ObservableSource.of("Vendor"));
+  private static final LocalDateDoubleTimeSeries SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2011, 3, 8), 1)
+      .put(date(2011, 3, 9), 2)
+      .put(date(2011, 3, 10), 3)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_none() {
+    Result<LocalDateDoubleTimeSeries> test = TimeSeriesProvider.none().provideTimeSeries(ID1);
+    assertEquals(test.isFailure(), true);
+    assertEquals(test.getFailure().getReason(), FailureReason.MISSING_DATA);
+  }
+
+  public void test_empty() {
+    Result<LocalDateDoubleTimeSeries> test = TimeSeriesProvider.empty().provideTimeSeries(ID1);
+    assertEquals(test, Result.success(LocalDateDoubleTimeSeries.empty()));
+  }
+
+  public void test_of_mappedFile() throws Exception {
+    File tempFile = File.createTempFile("TestTimeSeriesProvider", ".bin");
+    tempFile.deleteOnExit();
+    Path path = tempFile.toPath();
+    MappedTimeSeriesFile.write(path, ImmutableMap.of("test~1/MarketValue/None", SERIES));
+    TimeSeriesProvider test = TimeSeriesProvider.of(MappedTimeSeriesFile.of(path));
+
+    Result<LocalDateDoubleTimeSeries> result1 = test.provideTimeSeries(ID1);
+    assertEquals(result1.isSuccess(), true);
+    assertEquals(result1.getValue().toBuilder().build(), SERIES);
+    Result<LocalDateDoubleTimeSeries> result2 = test.provideTimeSeries(ID2);
+    assertEquals(result2.isFailure(), true);
+    assertEquals(result2.getFailure().getReason(), FailureReason.MISSING_DATA);
+    // same standard identifier, different source
+    Result<LocalDateDoubleTimeSeries> result3 = test.provideTimeSeries(ID1_SOURCE);
+    assertEquals(result3.isFailure(), true);
+    assertEquals(result3.getFailure().getReason(), FailureReason.MISSING_DATA);
+  }
+
+}
@@ -21,6 +21,7 @@ import java.util.stream.DoubleStream;
 import java.util.stream.Stream;
 
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.function.IntDoubleConsumer;
 import com.opengamma.strata.collect.function.ObjDoublePredicate;
 import com.opengamma.strata.collect.tuple.Pair;
 
@@ -257,6 +258,22 @@ public interface LocalDateDoubleTimeSeries {
    */
   public abstract void forEach(ObjDoubleConsumer<LocalDate> action);
 
+  /**
+   * Applies an action to each pair in the time series, where the date is expressed as an epoch day.
+   * <p>
+   * The epoch day is the value of {@link LocalDate#toEpochDay()}.
+   * This avoids creating a {@code LocalDate} for each pair where the time-series holds primitive dates.
+   * <pre>
+   *   base.forEachEpochDay((epochDay, value) -> total[0] += value);
+   * </pre>
+   *
+   * @param action  the action to be applied to each pair
+   */
+  public default void forEachEpochDay(IntDoubleConsumer action) {
+    ArgChecker.notNull(action, "action");
+    forEach((date, value) -> action.accept(Math.toIntExact(date.toEpochDay()), value));
+  }
+
   /**
    * Applies an operation to each date in the time series which creates a new date, returning a new time series
    * with the new dates and the points from this time series.
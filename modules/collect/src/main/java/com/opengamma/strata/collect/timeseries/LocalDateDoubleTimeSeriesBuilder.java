@@ -9,15 +9,14 @@ import static com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSe
 import static com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation.SKIP_WEEKENDS;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoField;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -29,6 +28,9 @@ import com.opengamma.strata.collect.ArgChecker;
  * Entries can be added to the builder in any order.
  * If a date is duplicated it will overwrite an earlier entry.
  * <p>
+ * The entries are held as epoch days and values in primitive arrays that grow as required.
+ * Entries added in date order are simply appended, otherwise the arrays are sorted when next needed.
+ * <p>
  * Use {@link LocalDateDoubleTimeSeries#builder()} to create an instance.
  */
 public final class LocalDateDoubleTimeSeriesBuilder {
@@ -39,9 +41,31 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   private static final double DENSITY_THRESHOLD = 0.7;
 
   /**
-   * The entries for the time-series.
+   * The initial capacity of the arrays.
+   */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * The epoch days of the entries, valid up to the size.
+   */
+  private int[] epochDays;
+  /**
+   * The values of the entries, valid up to the size.
+   */
+  private double[] values;
+  /**
+   * The merge operators of the entries, valid up to the size, null if no entry has an operator.
+   * An entry with an operator is merged with any earlier entry for the same date when sorted.
+   */
+  private DoubleBinaryOperator[] operators;
+  /**
+   * The number of entries, which includes duplicates until the entries are sorted.
+   */
+  private int size;
+  /**
+   * Whether the entries are sorted by date without duplicates.
    */
-  private final SortedMap<LocalDate, Double> entries = new TreeMap<>();
+  private boolean sorted = true;
 
   /**
    * Keep track of whether we have weekends in the data.
@@ -55,6 +79,8 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * Use {@link LocalDateDoubleTimeSeries#builder()}.
    */
   LocalDateDoubleTimeSeriesBuilder() {
+    this.epochDays = new int[INITIAL_CAPACITY];
+    this.values = new double[INITIAL_CAPACITY];
   }
 
   /**
@@ -62,13 +88,14 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * <p>
    * Use {@link LocalDateDoubleTimeSeries#toBuilder()}.
    * 
-   * @param dates  the dates to initialize with
+   * @param epochDays  the epoch days to initialize with, sorted without duplicates
    * @param values  the values to initialize with
    */
-  LocalDateDoubleTimeSeriesBuilder(LocalDate[] dates, double[] values) {
-    for (int i = 0; i < dates.length; i++) {
-      put(dates[i], values[i]);
-    }
+  LocalDateDoubleTimeSeriesBuilder(int[] epochDays, double[] values) {
+    this.epochDays = Arrays.copyOf(epochDays, Math.max(epochDays.length, INITIAL_CAPACITY));
+    this.values = Arrays.copyOf(values, Math.max(values.length, INITIAL_CAPACITY));
+    this.size = epochDays.length;
+    this.containsWeekends = IntStream.of(epochDays).anyMatch(LocalDateDoubleTimeSeriesBuilder::isWeekend);
   }
 
   /**
@@ -79,6 +106,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @param points  the stream of points to initialize with
    */
   LocalDateDoubleTimeSeriesBuilder(Stream<LocalDateDoublePoint> points) {
+    this();
     points.forEach(pt -> put(pt.getDate(), pt.getValue()));
   }
 
@@ -94,8 +122,18 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @return the value associated with the date, optional empty if the date is not present
    */
   public OptionalDouble get(LocalDate date) {
-    Double value = entries.get(date);
-    return (value != null ? OptionalDouble.of(value) : OptionalDouble.empty());
+    int position = findPosition(date);
+    return (position >= 0 ? OptionalDouble.of(values[position]) : OptionalDouble.empty());
+  }
+
+  // finds the position of the date, sorting if necessary, negative if not found
+  private int findPosition(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+      return -1;
+    }
+    sort();
+    return Arrays.binarySearch(epochDays, 0, size, (int) epochDay);
   }
 
   //-------------------------------------------------------------------------
@@ -109,10 +147,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   public LocalDateDoubleTimeSeriesBuilder put(LocalDate date, double value) {
     ArgChecker.notNull(date, "date");
     ArgChecker.isFalse(Double.isNaN(value), "NaN is not allowed as a value");
-    entries.put(date, value);
-    if (!containsWeekends && date.get(ChronoField.DAY_OF_WEEK) > 5) {
-      containsWeekends = true;
-    }
+    append(SparseLocalDateDoubleTimeSeries.toEpochDay(date), value);
     return this;
   }
 
@@ -142,7 +177,15 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   public LocalDateDoubleTimeSeriesBuilder merge(LocalDate date, double value, DoubleBinaryOperator operator) {
     ArgChecker.notNull(date, "date");
     ArgChecker.notNull(operator, "operator");
-    entries.merge(date, value, (a, b) -> operator.applyAsDouble(a, b));
+    int epochDay = SparseLocalDateDoubleTimeSeries.toEpochDay(date);
+    if (sorted && size > 0 && epochDay == epochDays[size - 1]) {
+      values[size - 1] = operator.applyAsDouble(values[size - 1], value);
+    } else if (sorted && (size == 0 || epochDay > epochDays[size - 1])) {
+      append(epochDay, value);
+    } else {
+      // the merge is deferred until the entries are sorted, avoiding shifting the arrays for each point
+      append(epochDay, value, operator);
+    }
     return this;
   }
 
@@ -157,8 +200,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    */
   public LocalDateDoubleTimeSeriesBuilder merge(LocalDateDoublePoint point, DoubleBinaryOperator operator) {
     ArgChecker.notNull(point, "point");
-    entries.merge(point.getDate(), point.getValue(), (a, b) -> operator.applyAsDouble(a, b));
-    return this;
+    return merge(point.getDate(), point.getValue(), operator);
   }
 
   //-------------------------------------------------------------------------
@@ -251,8 +293,10 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    */
   public LocalDateDoubleTimeSeriesBuilder putAll(LocalDateDoubleTimeSeriesBuilder other) {
     ArgChecker.notNull(other, "other");
-    entries.putAll(other.entries);
-    containsWeekends = containsWeekends || other.containsWeekends;
+    other.sort();
+    for (int i = 0; i < other.size; i++) {
+      append(other.epochDays[i], other.values[i]);
+    }
     return this;
   }
 
@@ -270,6 +314,84 @@ public final class LocalDateDoubleTimeSeriesBuilder {
     return this;
   }
 
+  //-------------------------------------------------------------------------
+  // appends an entry, which overwrites any earlier entry for the same date when sorted
+  private void append(int epochDay, double value) {
+    append(epochDay, value, null);
+  }
+
+  // appends an entry, which is merged with any earlier entry for the same date when sorted
+  // a null operator overwrites the earlier entry
+  private void append(int epochDay, double value, DoubleBinaryOperator operator) {
+    if (size > 0 && epochDay <= epochDays[size - 1]) {
+      sorted = false;
+    }
+    ensureCapacity();
+    epochDays[size] = epochDay;
+    values[size] = value;
+    if (operator != null && operators == null) {
+      operators = new DoubleBinaryOperator[epochDays.length];
+    }
+    if (operators != null) {
+      operators[size] = operator;
+    }
+    size++;
+    containsWeekends = containsWeekends || isWeekend(epochDay);
+  }
+
+  // grows the arrays if full
+  private void ensureCapacity() {
+    if (size == epochDays.length) {
+      int capacity = Math.max(epochDays.length * 2, INITIAL_CAPACITY);
+      epochDays = Arrays.copyOf(epochDays, capacity);
+      values = Arrays.copyOf(values, capacity);
+      if (operators != null) {
+        operators = Arrays.copyOf(operators, capacity);
+      }
+    }
+  }
+
+  // sorts the entries by date, where a date is duplicated the entries are combined in the order added
+  // an entry without an operator overwrites the earlier entries, otherwise its operator is applied
+  private void sort() {
+    if (sorted) {
+      return;
+    }
+    // the sort key is the epoch day in the high bits and the insertion order in the low bits
+    long[] keys = new long[size];
+    for (int i = 0; i < size; i++) {
+      keys[i] = ((long) epochDays[i] << 32) | i;
+    }
+    Arrays.sort(keys);
+    int[] sortedEpochDays = new int[epochDays.length];
+    double[] sortedValues = new double[values.length];
+    int count = 0;
+    int i = 0;
+    while (i < size) {
+      int epochDay = (int) (keys[i] >> 32);
+      double value = values[(int) keys[i]];
+      i++;
+      for (; i < size && (int) (keys[i] >> 32) == epochDay; i++) {
+        int index = (int) keys[i];
+        DoubleBinaryOperator operator = (operators != null ? operators[index] : null);
+        value = (operator != null ? operator.applyAsDouble(value, values[index]) : values[index]);
+      }
+      sortedEpochDays[count] = epochDay;
+      sortedValues[count] = value;
+      count++;
+    }
+    epochDays = sortedEpochDays;
+    values = sortedValues;
+    operators = null;
+    size = count;
+    sorted = true;
+  }
+
+  // checks if the epoch day is a Saturday or Sunday, noting that 1970-01-01 was a Thursday
+  private static boolean isWeekend(int epochDay) {
+    return Math.floorMod(epochDay + 3, 7) >= 5;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Build the time-series from the builder.
@@ -277,8 +399,8 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @return a time-series containing the entries from the builder
    */
   public LocalDateDoubleTimeSeries build() {
-
-    if (entries.isEmpty()) {
+    sort();
+    if (size == 0) {
       return LocalDateDoubleTimeSeries.empty();
     }
 
@@ -291,20 +413,27 @@ public final class LocalDateDoubleTimeSeriesBuilder {
 
   private LocalDateDoubleTimeSeries createDenseSeries() {
     return DenseLocalDateDoubleTimeSeries.of(
-        entries.firstKey(),
-        entries.lastKey(),
+        firstDate(),
+        lastDate(),
         streamEntries(),
         determineCalculation());
   }
 
   private SparseLocalDateDoubleTimeSeries createSparseSeries() {
-    return SparseLocalDateDoubleTimeSeries.of(entries.keySet(), entries.values());
+    return SparseLocalDateDoubleTimeSeries.ofEpochDays(Arrays.copyOf(epochDays, size), Arrays.copyOf(values, size));
   }
 
   private Stream<LocalDateDoublePoint> streamEntries() {
-    return entries.entrySet()
-        .stream()
-        .map(e -> LocalDateDoublePoint.of(e.getKey(), e.getValue()));
+    return IntStream.range(0, size)
+        .mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(epochDays[i]), values[i]));
+  }
+
+  private LocalDate firstDate() {
+    return LocalDate.ofEpochDay(epochDays[0]);
+  }
+
+  private LocalDate lastDate() {
+    return LocalDate.ofEpochDay(epochDays[size - 1]);
   }
 
   private DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation determineCalculation() {
@@ -313,8 +442,8 @@ public final class LocalDateDoubleTimeSeriesBuilder {
 
   private double density() {
     // We can use the calculators to work out range size
-    double rangeSize = determineCalculation().calculatePosition(entries.firstKey(), entries.lastKey()) + 1;
-    return entries.size() / rangeSize;
+    double rangeSize = determineCalculation().calculatePosition(firstDate(), lastDate()) + 1;
+    return size / rangeSize;
   }
 
 }
@@ -0,0 +1,328 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.function.IntDoubleConsumer;
+import com.opengamma.strata.collect.function.ObjDoublePredicate;
+
+/**
+ * An immutable implementation of {@code LocalDateDoubleTimeSeries} that is a view over buffers.
+ * <p>
+ * The buffers are typically regions of a memory-mapped file, see {@link MappedTimeSeriesFile}.
+ * The dates are held as epoch days in one buffer, and the values in a second buffer.
+ * No data is copied into the heap, except when the time-series is transformed,
+ * such as by {@link #mapValues(DoubleUnaryOperator)}, or converted to a builder.
+ * <p>
+ * The buffers must not be altered after construction and are only accessed using absolute
+ * methods, thus this class is thread-safe.
+ * <p>
+ * This class is not a bean. When serialized, it is replaced by an equivalent heap-based time-series.
+ */
+final class MappedLocalDateDoubleTimeSeries
+    implements LocalDateDoubleTimeSeries, Serializable {
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The dates in the series, expressed as epoch days.
+   * The dates are ordered from earliest to latest.
+   */
+  private final IntBuffer epochDays;
+  /**
+   * The values in the series.
+   * The date for each value is at the matching buffer index.
+   */
+  private final DoubleBuffer values;
+  /**
+   * The number of points.
+   */
+  private final int size;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a time-series from matching buffers of epoch days and values.
+   * <p>
+   * The buffers must have no remaining capacity beyond the data and the epoch days must be
+   * sorted from earliest to latest. This is not validated, as that would require reading the data.
+   * The buffers are not copied, thus they must not be altered after this method.
+   *
+   * @param epochDays  the epoch days
+   * @param values  the values
+   * @return the time-series
+   */
+  static LocalDateDoubleTimeSeries of(IntBuffer epochDays, DoubleBuffer values) {
+    ArgChecker.isTrue(epochDays.capacity() == values.capacity(),
+        "Buffers are of different sizes - dates: {}, values: {}", epochDays.capacity(), values.capacity());
+    if (epochDays.capacity() == 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    return new MappedLocalDateDoubleTimeSeries(epochDays, values);
+  }
+
+  // restricted constructor
+  private MappedLocalDateDoubleTimeSeries(IntBuffer epochDays, DoubleBuffer values) {
+    this.epochDays = epochDays;
+    this.values = values;
+    this.size = epochDays.capacity();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsDate(LocalDate date) {
+    return (findDatePosition(date) >= 0);
+  }
+
+  @Override
+  public OptionalDouble get(LocalDate date) {
+    int position = findDatePosition(date);
+    return (position >= 0 ? OptionalDouble.of(values.get(position)) : OptionalDouble.empty());
+  }
+
+  private int findDatePosition(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+      return -1;
+    }
+    return binarySearch((int) epochDay);
+  }
+
+  // finds the position of the first date in the series that is on or after the specified date
+  private int findInsertionPosition(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE) {
+      return 0;
+    } else if (epochDay > Integer.MAX_VALUE) {
+      return size;
+    }
+    int position = binarySearch((int) epochDay);
+    return position >= 0 ? position : -position - 1;
+  }
+
+  // binary search using absolute access, with the same result as Arrays.binarySearch()
+  private int binarySearch(int epochDay) {
+    int lo = 0;
+    int hi = size - 1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      int midEpochDay = epochDays.get(mid);
+      if (midEpochDay < epochDay) {
+        lo = mid + 1;
+      } else if (midEpochDay > epochDay) {
+        hi = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(lo + 1);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getLatestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return LocalDate.ofEpochDay(epochDays.get(size - 1));
+  }
+
+  @Override
+  public double getLatestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return values.get(size - 1);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeries subSeries(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.notNull(startInclusive, "startInclusive");
+    ArgChecker.notNull(endExclusive, "endExclusive");
+    if (endExclusive.isBefore(startInclusive)) {
+      throw new IllegalArgumentException(
+          "Invalid sub series, end before start: " + startInclusive + " to " + endExclusive);
+    }
+    return slice(findInsertionPosition(startInclusive), findInsertionPosition(endExclusive));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries headSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return slice(0, Math.min(numPoints, size));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries tailSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return slice(size - Math.min(numPoints, size), size);
+  }
+
+  // creates a view of part of the buffers, sharing the data
+  private LocalDateDoubleTimeSeries slice(int startPos, int endPos) {
+    if (startPos == 0 && endPos == size) {
+      return this;
+    }
+    if (startPos >= endPos) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    IntBuffer epochDaysSlice = epochDays.duplicate();
+    epochDaysSlice.position(startPos).limit(endPos);
+    DoubleBuffer valuesSlice = values.duplicate();
+    valuesSlice.position(startPos).limit(endPos);
+    return new MappedLocalDateDoubleTimeSeries(epochDaysSlice.slice(), valuesSlice.slice());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Stream<LocalDateDoublePoint> stream() {
+    return IntStream.range(0, size)
+        .mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(epochDays.get(i)), values.get(i)));
+  }
+
+  @Override
+  public Stream<LocalDate> dates() {
+    return IntStream.range(0, size).mapToObj(i -> LocalDate.ofEpochDay(epochDays.get(i)));
+  }
+
+  @Override
+  public DoubleStream values() {
+    return IntStream.range(0, size).mapToDouble(values::get);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void forEach(ObjDoubleConsumer<LocalDate> action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size; i++) {
+      action.accept(LocalDate.ofEpochDay(epochDays.get(i)), values.get(i));
+    }
+  }
+
+  @Override
+  public void forEachEpochDay(IntDoubleConsumer action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size; i++) {
+      action.accept(epochDays.get(i), values.get(i));
+    }
+  }
+
+  // transformations operate on a heap-based copy
+  @Override
+  public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
+    return toSparse().mapDates(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
+    return toSparse().mapValues(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
+    return toSparse().filter(predicate);
+  }
+
+  // copies the data into a heap-based time-series
+  private SparseLocalDateDoubleTimeSeries toSparse() {
+    return SparseLocalDateDoubleTimeSeries.ofEpochDays(epochDayArray(), valueArray());
+  }
+
+  private int[] epochDayArray() {
+    int[] array = new int[size];
+    epochDays.duplicate().get(array);
+    return array;
+  }
+
+  private double[] valueArray() {
+    double[] array = new double[size];
+    values.duplicate().get(array);
+    return array;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeriesBuilder toBuilder() {
+    return new LocalDateDoubleTimeSeriesBuilder(epochDayArray(), valueArray());
+  }
+
+  // replaces this instance by a heap-based time-series when serializing
+  private Object writeReplace() {
+    return toBuilder().build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this time-series is equal to another time-series.
+   * <p>
+   * Compares this {@code LocalDateDoubleTimeSeries} with another ensuring
+   * that the dates and values are the same.
+   *
+   * @param obj  the object to check, null returns false
+   * @return true if this is equal to the other date
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof MappedLocalDateDoubleTimeSeries) {
+      MappedLocalDateDoubleTimeSeries other = (MappedLocalDateDoubleTimeSeries) obj;
+      return epochDays.equals(other.epochDays) && values.equals(other.values);
+    }
+    return false;
+  }
+
+  /**
+   * A hash code for this time-series.
+   *
+   * @return a suitable hash code
+   */
+  @Override
+  public int hashCode() {
+    return 31 * epochDays.hashCode() + values.hashCode();
+  }
+
+  /**
+   * Returns a string representation of the time-series.
+   *
+   * @return the string
+   */
+  @Override
+  public String toString() {
+    return stream()
+        .map(LocalDateDoublePoint::toString)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.Unchecked;
+
+/**
+ * A file of named time-series that is accessed by memory-mapping.
+ * <p>
+ * The file holds each time-series in columnar form, the values as {@code double}
+ * followed by the dates as {@code int} epoch days.
+ * When the file is opened, only the directory of names is read. The time-series returned
+ * are views of the mapped file, thus the data is paged in by the operating system when
+ * first accessed and is not held in the heap.
+ * <p>
+ * The file format is:
+ * <ul>
+ * <li>the header - the magic number 'OGTS', the format version and the number of time-series, each an {@code int}
+ * <li>the directory - for each time-series, the length of the name, the UTF-8 bytes of the name,
+ *  the number of points and the file offset of the data
+ * <li>the data - for each time-series, the values and then the epoch days, padded to a multiple of 8 bytes
+ * </ul>
+ * All numbers are little-endian. The file must be smaller than 2Gb.
+ * <p>
+ * The file must not be altered while it is open.
+ * The mapping is released when this instance and all the time-series obtained from it are garbage collected.
+ */
+public final class MappedTimeSeriesFile {
+
+  /**
+   * The magic number at the start of the file, 'OGTS'.
+   */
+  private static final int MAGIC = 0x4F475453;
+  /**
+   * The version of the file format.
+   */
+  private static final int VERSION = 1;
+  /**
+   * The byte order.
+   */
+  private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  /**
+   * The time-series, keyed by name.
+   */
+  private final ImmutableMap<String, LocalDateDoubleTimeSeries> series;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens a file of time-series.
+   * <p>
+   * The file is mapped into memory, with only the directory being read.
+   *
+   * @param file  the file to open
+   * @return the opened file
+   * @throws IllegalArgumentException if the file is not a valid time-series file
+   * @throws java.io.UncheckedIOException if an IO error occurs
+   */
+  public static MappedTimeSeriesFile of(Path file) {
+    ArgChecker.notNull(file, "file");
+    MappedByteBuffer buffer = Unchecked.wrap(() -> {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        ArgChecker.isTrue(channel.size() <= Integer.MAX_VALUE, "Time-series file is too large: {}", file);
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+    });
+    return new MappedTimeSeriesFile(file, buffer.order(ORDER));
+  }
+
+  // reads the directory
+  private MappedTimeSeriesFile(Path file, ByteBuffer buffer) {
+    try {
+      ArgChecker.isTrue(buffer.getInt() == MAGIC, "Not a time-series file");
+      int version = buffer.getInt();
+      ArgChecker.isTrue(version == VERSION, "Unsupported time-series file version: {}", version);
+      int count = buffer.getInt();
+      ImmutableMap.Builder<String, LocalDateDoubleTimeSeries> builder = ImmutableMap.builder();
+      for (int i = 0; i < count; i++) {
+        byte[] nameBytes = new byte[buffer.getInt()];
+        buffer.get(nameBytes);
+        int size = buffer.getInt();
+        int offset = Math.toIntExact(buffer.getLong());
+        builder.put(new String(nameBytes, UTF_8), series(buffer, offset, size));
+      }
+      this.series = builder.build();
+    } catch (RuntimeException ex) {
+      throw new IllegalArgumentException(Messages.format("Error reading time-series file: {}", file), ex);
+    }
+  }
+
+  // creates a view of the data of a single time-series
+  private static LocalDateDoubleTimeSeries series(ByteBuffer buffer, int offset, int size) {
+    ByteBuffer values = buffer.duplicate();
+    values.position(offset).limit(offset + size * Double.BYTES);
+    ByteBuffer epochDays = buffer.duplicate();
+    epochDays.position(values.limit()).limit(values.limit() + size * Integer.BYTES);
+    // slicing resets the byte order
+    return MappedLocalDateDoubleTimeSeries.of(
+        epochDays.slice().order(ORDER).asIntBuffer(),
+        values.slice().order(ORDER).asDoubleBuffer());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the name of the time-series of an observable.
+   * <p>
+   * The name is formed from the standard identifier, field name and observable source of the
+   * observable ID, separated by '/', such as 'OG-Index~GBP-LIBOR-3M/MarketValue/None'.
+   * This is the standard naming used when writing and finding the time-series of observables.
+   *
+   * @param standardId  the standard identifier of the observable
+   * @param fieldName  the field name of the observable
+   * @param observableSource  the source of the observable
+   * @return the name of the time-series
+   */
+  public static String seriesName(Object standardId, Object fieldName, Object observableSource) {
+    ArgChecker.notNull(standardId, "standardId");
+    ArgChecker.notNull(fieldName, "fieldName");
+    ArgChecker.notNull(observableSource, "observableSource");
+    return standardId + "/" + fieldName + "/" + observableSource;
+  }
+
+  /**
+   * Writes a file of time-series.
+   * <p>
+   * Any existing file is replaced.
+   *
+   * @param file  the file to write
+   * @param series  the time-series to write, keyed by name
+   * @throws java.io.UncheckedIOException if an IO error occurs
+   */
+  public static void write(Path file, Map<String, ? extends LocalDateDoubleTimeSeries> series) {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.noNulls(series, "series");
+    List<byte[]> names = new ArrayList<>();
+    long directorySize = 3 * Integer.BYTES;
+    for (String name : series.keySet()) {
+      byte[] nameBytes = name.getBytes(UTF_8);
+      names.add(nameBytes);
+      directorySize += 2 * Integer.BYTES + nameBytes.length + Long.BYTES;
+    }
+    // the header and directory
+    ByteBuffer directory = ByteBuffer.allocate(Math.toIntExact(padded(directorySize))).order(ORDER);
+    directory.putInt(MAGIC).putInt(VERSION).putInt(series.size());
+    long offset = directory.capacity();
+    int index = 0;
+    for (LocalDateDoubleTimeSeries ts : series.values()) {
+      byte[] nameBytes = names.get(index++);
+      directory.putInt(nameBytes.length).put(nameBytes).putInt(ts.size()).putLong(offset);
+      offset += dataSize(ts);
+    }
+    ArgChecker.isTrue(offset <= Integer.MAX_VALUE, "Time-series are too large to write to a single file");
+    directory.clear();
+    // the data
+    Unchecked.wrap(() -> {
+      try (FileChannel channel = FileChannel.open(
+          file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        writeFully(channel, directory);
+        for (Entry<String, ? extends LocalDateDoubleTimeSeries> entry : series.entrySet()) {
+          LocalDateDoubleTimeSeries ts = entry.getValue();
+          ByteBuffer data = ByteBuffer.allocate(dataSize(ts)).order(ORDER);
+          ts.values().forEach(data::putDouble);
+          ts.forEachEpochDay((epochDay, value) -> data.putInt(epochDay));
+          data.clear();
+          writeFully(channel, data);
+        }
+      }
+    });
+  }
+
+  // the size of the data of a time-series, including padding
+  private static int dataSize(LocalDateDoubleTimeSeries ts) {
+    return Math.toIntExact(padded((long) ts.size() * (Double.BYTES + Integer.BYTES)));
+  }
+
+  // pads to a multiple of 8 so the data of each time-series is aligned
+  private static long padded(long size) {
+    return (size + 7) & ~7L;
+  }
+
+  // writes the whole buffer
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the names of the time-series in the file.
+   *
+   * @return the names, in the order they are held in the file
+   */
+  public ImmutableSet<String> getNames() {
+    return series.keySet();
+  }
+
+  /**
+   * Checks if the file contains the named time-series.
+   *
+   * @param name  the name
+   * @return true if the file contains the time-series
+   */
+  public boolean contains(String name) {
+    return series.containsKey(name);
+  }
+
+  /**
+   * Finds the named time-series.
+   * <p>
+   * The result is a view of the mapped file.
+   *
+   * @param name  the name
+   * @return the time-series, empty if not found
+   */
+  public Optional<LocalDateDoubleTimeSeries> findSeries(String name) {
+    return Optional.ofNullable(series.get(name));
+  }
+
+  /**
+   * Gets the named time-series.
+   * <p>
+   * The result is a view of the mapped file.
+   *
+   * @param name  the name
+   * @return the time-series
+   * @throws IllegalArgumentException if the time-series is not found
+   */
+  public LocalDateDoubleTimeSeries getSeries(String name) {
+    return findSeries(name).orElseThrow(() -> new IllegalArgumentException(
+        Messages.format("Time-series not found: {}", name)));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MappedTimeSeriesFile" + series.keySet();
+  }
+
+}
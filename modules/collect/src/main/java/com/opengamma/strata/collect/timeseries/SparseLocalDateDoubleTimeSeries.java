@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.collect.timeseries;
 
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -23,13 +24,10 @@ import java.util.stream.Stream;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
-import org.joda.beans.BeanDefinition;
 import org.joda.beans.ImmutableBean;
-import org.joda.beans.ImmutableConstructor;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaProperty;
 import org.joda.beans.Property;
-import org.joda.beans.PropertyDefinition;
 import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
@@ -38,6 +36,7 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 import com.google.common.primitives.Doubles;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.function.IntDoubleConsumer;
 import com.opengamma.strata.collect.function.ObjDoublePredicate;
 
 /**
@@ -49,9 +48,9 @@ import com.opengamma.strata.collect.function.ObjDoublePredicate;
  * If more or less continuous data is being used then {@link DenseLocalDateDoubleTimeSeries}
  * is likely to be a better choice for the data.
  * <p>
- * This implementation uses arrays internally.
+ * This implementation uses arrays internally, with each date held as an {@code int} epoch day.
+ * The bean property and the serialized form remain the array of dates.
  */
-@BeanDefinition(builderScope = "private", metaScope = "package")
 final class SparseLocalDateDoubleTimeSeries
     implements ImmutableBean, Serializable, LocalDateDoubleTimeSeries {
 
@@ -59,20 +58,30 @@ final class SparseLocalDateDoubleTimeSeries
    * An empty time-series.
    */
   static final LocalDateDoubleTimeSeries EMPTY =
-      new SparseLocalDateDoubleTimeSeries(new LocalDate[0], new double[0]);
+      new SparseLocalDateDoubleTimeSeries(new int[0], new double[0], true);
 
   /**
-   * The dates in the series.
+   * The serialized fields, matching the form used when the dates were held as a {@code LocalDate[]}.
+   */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("dates", LocalDate[].class),
+      new ObjectStreamField("values", double[].class)};
+
+  /**
+   * The dates in the series, expressed as epoch days.
    * The dates are ordered from earliest to latest.
    */
-  @PropertyDefinition(get = "manual", validate = "notNull")
-  private final LocalDate[] dates;
+  private final transient int[] epochDays;
   /**
    * The values in the series.
    * The date for each value is at the matching array index.
    */
-  @PropertyDefinition(get = "manual", validate = "notNull")
   private final double[] values;
+  /**
+   * The dates in the series, only set in the serialized form.
+   * See {@code writeReplace()} and {@code readResolve()}.
+   */
+  private final transient LocalDate[] dates;
 
   //-------------------------------------------------------------------------
   /**
@@ -87,61 +96,123 @@ final class SparseLocalDateDoubleTimeSeries
   static SparseLocalDateDoubleTimeSeries of(Collection<LocalDate> dates, Collection<Double> values) {
     ArgChecker.noNulls(dates, "dates");
     ArgChecker.noNulls(values, "values");
-    LocalDate[] datesArray = dates.toArray(new LocalDate[dates.size()]);
+    int[] epochDaysArray = dates.stream().mapToInt(SparseLocalDateDoubleTimeSeries::toEpochDay).toArray();
     double[] valuesArray = Doubles.toArray(values);
-    validate(datesArray, valuesArray);
-    return createUnsafe(datesArray, valuesArray);
+    validate(epochDaysArray, valuesArray);
+    return createUnsafe(epochDaysArray, valuesArray);
+  }
+
+  /**
+   * Obtains a time-series from matching arrays of epoch days and values.
+   * <p>
+   * The two arrays must be the same size and must be sorted from earliest to latest.
+   * The arrays are not cloned, thus they must not be altered by the caller after this method.
+   *
+   * @param epochDays  the epoch days
+   * @param values  the values
+   * @return the time-series
+   */
+  static SparseLocalDateDoubleTimeSeries ofEpochDays(int[] epochDays, double[] values) {
+    validate(epochDays, values);
+    return createUnsafe(epochDays, values);
   }
 
   // creates time-series by directly assigning the input arrays
   // must only be called when safe to do so
-  private static SparseLocalDateDoubleTimeSeries createUnsafe(LocalDate[] dates, double[] values) {
-    return new SparseLocalDateDoubleTimeSeries(dates, values, true);
+  private static SparseLocalDateDoubleTimeSeries createUnsafe(int[] epochDays, double[] values) {
+    return new SparseLocalDateDoubleTimeSeries(epochDays, values, true);
   }
 
   // validates the arrays are same length and in order
-  private static void validate(LocalDate[] dates, double[] values) {
-    ArgChecker.isTrue(dates.length == values.length,
-        "Arrays are of different sizes - dates: {}, values: {}", dates.length, values.length);
-    LocalDate maxDate = LocalDate.MIN;
-    for (LocalDate date : dates) {
-      ArgChecker.isTrue(date.isAfter(maxDate),
-          "Dates must be in ascending order but: {} is not after: {}", date, maxDate);
-      maxDate = date;
+  private static void validate(int[] epochDays, double[] values) {
+    ArgChecker.isTrue(epochDays.length == values.length,
+        "Arrays are of different sizes - dates: {}, values: {}", epochDays.length, values.length);
+    for (int i = 1; i < epochDays.length; i++) {
+      if (epochDays[i] <= epochDays[i - 1]) {
+        throw new IllegalArgumentException(Messages.format(
+            "Dates must be in ascending order but: {} is not after: {}",
+            LocalDate.ofEpochDay(epochDays[i]),
+            LocalDate.ofEpochDay(epochDays[i - 1])));
+      }
+    }
+  }
+
+  /**
+   * Converts a date to an epoch day.
+   *
+   * @param date  the date
+   * @return the epoch day
+   * @throws IllegalArgumentException if the epoch day does not fit in an {@code int}
+   */
+  static int toEpochDay(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(Messages.format("Date is not supported in a time-series: {}", date));
     }
+    return (int) epochDay;
   }
 
   //-------------------------------------------------------------------------
   /**
    * Creates an instance, validating the supplied arrays.
    * <p>
-   * The arrays are cloned as this constructor is called from Joda-Beans.
+   * The values are cloned as this constructor is called from Joda-Beans and Java deserialization.
    *
    * @param dates  the dates
    * @param values  the values
    */
-  @ImmutableConstructor
   private SparseLocalDateDoubleTimeSeries(LocalDate[] dates, double[] values) {
     ArgChecker.noNulls(dates, "dates");
     ArgChecker.notNull(values, "values");
-    validate(dates, values);
-    this.dates = dates.clone();
+    int[] epochDays = toEpochDays(dates);
+    validate(epochDays, values);
+    this.epochDays = epochDays;
     this.values = values.clone();
+    this.dates = null;
   }
 
   /**
    * Creates an instance without validating the supplied arrays.
    *
-   * @param dates  the dates
+   * @param epochDays  the epoch days
    * @param values  the values
    * @param trusted  flag to distinguish constructor
    */
-  private SparseLocalDateDoubleTimeSeries(LocalDate[] dates, double[] values, boolean trusted) {
+  private SparseLocalDateDoubleTimeSeries(int[] epochDays, double[] values, boolean trusted) {
     // constructor exists to avoid clones where possible
     // because Joda-Beans owns the main constructor, this one has a weird flag
     // use createUnsafe() instead of calling this directly
-    this.dates = dates;
+    this.epochDays = epochDays;
+    this.values = values;
+    this.dates = null;
+  }
+
+  /**
+   * Creates the serialized form.
+   *
+   * @param epochDays  the epoch days
+   * @param values  the values
+   * @param dates  the dates matching the epoch days
+   */
+  private SparseLocalDateDoubleTimeSeries(int[] epochDays, double[] values, LocalDate[] dates) {
+    this.epochDays = epochDays;
     this.values = values;
+    this.dates = dates;
+  }
+
+  // converts the dates to epoch days
+  private static int[] toEpochDays(LocalDate[] dates) {
+    return Arrays.stream(dates).mapToInt(SparseLocalDateDoubleTimeSeries::toEpochDay).toArray();
+  }
+
+  // serialize the dates, as the epoch days are not part of the serialized form
+  private Object writeReplace() {
+    return new SparseLocalDateDoubleTimeSeries(epochDays, values, getDates());
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new SparseLocalDateDoubleTimeSeries(dates, values);
   }
 
   //-----------------------------------------------------------------------
@@ -151,7 +222,7 @@ final class SparseLocalDateDoubleTimeSeries
    * @return the value of the property, not null
    */
   private LocalDate[] getDates() {
-    return dates.clone();
+    return dates().toArray(LocalDate[]::new);
   }
 
   /**
@@ -166,12 +237,12 @@ final class SparseLocalDateDoubleTimeSeries
   //-------------------------------------------------------------------------
   @Override
   public int size() {
-    return dates.length;
+    return epochDays.length;
   }
 
   @Override
   public boolean isEmpty() {
-    return dates.length == 0;
+    return epochDays.length == 0;
   }
 
   @Override
@@ -186,7 +257,23 @@ final class SparseLocalDateDoubleTimeSeries
   }
 
   private int findDatePosition(LocalDate date) {
-    return Arrays.binarySearch(dates, date);
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+      return -1;
+    }
+    return Arrays.binarySearch(epochDays, (int) epochDay);
+  }
+
+  // finds the position of the first date in the series that is on or after the specified date
+  private int findInsertionPosition(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE) {
+      return 0;
+    } else if (epochDay > Integer.MAX_VALUE) {
+      return epochDays.length;
+    }
+    int position = Arrays.binarySearch(epochDays, (int) epochDay);
+    return position >= 0 ? position : -position - 1;
   }
 
   //-------------------------------------------------------------------------
@@ -195,7 +282,7 @@ final class SparseLocalDateDoubleTimeSeries
     if (isEmpty()) {
       throw new NoSuchElementException("Unable to return latest, time-series is empty");
     }
-    return dates[dates.length - 1];
+    return LocalDate.ofEpochDay(epochDays[epochDays.length - 1]);
   }
 
   @Override
@@ -220,14 +307,12 @@ final class SparseLocalDateDoubleTimeSeries
       return EMPTY;
     }
     // where in the array would start/end be (whether or not it's actually in the series)
-    int startPos = Arrays.binarySearch(dates, startInclusive);
-    startPos = startPos >= 0 ? startPos : -startPos - 1;
-    int endPos = Arrays.binarySearch(dates, endExclusive);
-    endPos = endPos >= 0 ? endPos : -endPos - 1;
+    int startPos = findInsertionPosition(startInclusive);
+    int endPos = findInsertionPosition(endExclusive);
     // create sub-series
-    LocalDate[] timesArray = Arrays.copyOfRange(dates, startPos, endPos);
+    int[] epochDaysArray = Arrays.copyOfRange(epochDays, startPos, endPos);
     double[] valuesArray = Arrays.copyOfRange(values, startPos, endPos);
-    return createUnsafe(timesArray, valuesArray);
+    return createUnsafe(epochDaysArray, valuesArray);
   }
 
   @Override
@@ -238,9 +323,9 @@ final class SparseLocalDateDoubleTimeSeries
     } else if (numPoints >= size()) {
       return this;
     }
-    LocalDate[] datesArray = Arrays.copyOfRange(dates, 0, numPoints);
+    int[] epochDaysArray = Arrays.copyOfRange(epochDays, 0, numPoints);
     double[] valuesArray = Arrays.copyOfRange(values, 0, numPoints);
-    return createUnsafe(datesArray, valuesArray);
+    return createUnsafe(epochDaysArray, valuesArray);
   }
 
   @Override
@@ -251,20 +336,20 @@ final class SparseLocalDateDoubleTimeSeries
     } else if (numPoints >= size()) {
       return this;
     }
-    LocalDate[] datesArray = Arrays.copyOfRange(dates, size() - numPoints, size());
+    int[] epochDaysArray = Arrays.copyOfRange(epochDays, size() - numPoints, size());
     double[] valuesArray = Arrays.copyOfRange(values, size() - numPoints, size());
-    return createUnsafe(datesArray, valuesArray);
+    return createUnsafe(epochDaysArray, valuesArray);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public Stream<LocalDateDoublePoint> stream() {
-    return IntStream.range(0, size()).mapToObj(i -> LocalDateDoublePoint.of(dates[i], values[i]));
+    return IntStream.range(0, size()).mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(epochDays[i]), values[i]));
   }
 
   @Override
   public Stream<LocalDate> dates() {
-    return Stream.of(dates);
+    return IntStream.of(epochDays).mapToObj(LocalDate::ofEpochDay);
   }
 
   @Override
@@ -277,46 +362,54 @@ final class SparseLocalDateDoubleTimeSeries
   public void forEach(ObjDoubleConsumer<LocalDate> action) {
     ArgChecker.notNull(action, "action");
     for (int i = 0; i < size(); i++) {
-      action.accept(dates[i], values[i]);
+      action.accept(LocalDate.ofEpochDay(epochDays[i]), values[i]);
+    }
+  }
+
+  @Override
+  public void forEachEpochDay(IntDoubleConsumer action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size(); i++) {
+      action.accept(epochDays[i], values[i]);
     }
   }
 
   @Override
   public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
     ArgChecker.notNull(mapper, "mapper");
-    LocalDate[] dates = Arrays.stream(this.dates).map(mapper).toArray(size -> new LocalDate[size]);
+    LocalDate[] dates = dates().map(mapper).toArray(size -> new LocalDate[size]);
     // Check the dates are still in ascending order after the mapping
     Arrays.stream(dates).reduce(this::checkAscending);
-    return createUnsafe(dates, values);
+    return createUnsafe(toEpochDays(dates), values);
   }
 
   @Override
   public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
     ArgChecker.notNull(mapper, "mapper");
-    return createUnsafe(dates, DoubleStream.of(values).map(mapper).toArray());
+    return createUnsafe(epochDays, DoubleStream.of(values).map(mapper).toArray());
   }
 
   @Override
   public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
     ArgChecker.notNull(predicate, "predicate");
     // build up result in arrays keeping track of count of retained dates
-    LocalDate[] resDates = new LocalDate[size()];
+    int[] resEpochDays = new int[size()];
     double[] resValues = new double[size()];
     int resCount = 0;
     for (int i = 0; i < size(); i++) {
-      if (predicate.test(dates[i], values[i])) {
-        resDates[resCount] = dates[i];
+      if (predicate.test(LocalDate.ofEpochDay(epochDays[i]), values[i])) {
+        resEpochDays[resCount] = epochDays[i];
         resValues[resCount] = values[i];
         resCount++;
       }
     }
-    return createUnsafe(Arrays.copyOf(resDates, resCount), Arrays.copyOf(resValues, resCount));
+    return createUnsafe(Arrays.copyOf(resEpochDays, resCount), Arrays.copyOf(resValues, resCount));
   }
 
   //-------------------------------------------------------------------------
   @Override
   public LocalDateDoubleTimeSeriesBuilder toBuilder() {
-    return new LocalDateDoubleTimeSeriesBuilder(dates, values);
+    return new LocalDateDoubleTimeSeriesBuilder(epochDays, values);
   }
 
   //-------------------------------------------------------------------------
@@ -336,7 +429,7 @@ final class SparseLocalDateDoubleTimeSeries
     }
     if (obj instanceof SparseLocalDateDoubleTimeSeries) {
       SparseLocalDateDoubleTimeSeries other = (SparseLocalDateDoubleTimeSeries) obj;
-      return Arrays.equals(dates, other.dates) && Arrays.equals(values, other.values);
+      return Arrays.equals(epochDays, other.epochDays) && Arrays.equals(values, other.values);
     }
     return false;
   }
@@ -348,7 +441,7 @@ final class SparseLocalDateDoubleTimeSeries
    */
   @Override
   public int hashCode() {
-    return 31 * Arrays.hashCode(dates) + Arrays.hashCode(values);
+    return 31 * Arrays.hashCode(epochDays) + Arrays.hashCode(values);
   }
 
   /**
@@ -384,8 +477,8 @@ final class SparseLocalDateDoubleTimeSeries
             later));
   }
 
-  //------------------------- AUTOGENERATED START -------------------------
-  ///CLOVER:OFF
+  //-------------------------------------------------------------------------
+  // the meta-bean is written by hand as the bean property differs from the stored field
   /**
    * The meta-bean for {@code SparseLocalDateDoubleTimeSeries}.
    * @return the meta-bean, not null
@@ -582,6 +675,4 @@ final class SparseLocalDateDoubleTimeSeries
 
   }
 
-  ///CLOVER:ON
-  //-------------------------- AUTOGENERATED END --------------------------
 }
@@ -115,6 +115,53 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(3d));
   }
 
+  public void test_merge_unsorted() {
+    LocalDateDoubleTimeSeriesBuilder test = LocalDateDoubleTimeSeries.builder()
+        .put(date(2014, 1, 1), 14)
+        .put(date(2012, 1, 1), 12)
+        .merge(date(2013, 1, 1), 3d, Double::sum)
+        .merge(date(2012, 1, 1), 3d, Double::sum)
+        .put(date(2014, 1, 1), 24)
+        .merge(date(2015, 1, 1), 5d, Double::sum);
+
+    assertEquals(test.get(date(2012, 1, 1)), OptionalDouble.of(15d));
+    assertEquals(test.get(date(2013, 1, 1)), OptionalDouble.of(3d));
+    assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(24d));
+    assertEquals(test.get(date(2015, 1, 1)), OptionalDouble.of(5d));
+    assertEquals(test.build().size(), 4);
+  }
+
+  public void test_merge_deferredInOrderAdded() {
+    LocalDateDoubleTimeSeriesBuilder test = LocalDateDoubleTimeSeries.builder()
+        .put(date(2014, 1, 1), 2)
+        .merge(date(2013, 1, 1), 3d, Double::sum)
+        .merge(date(2013, 1, 1), 4d, (a, b) -> a * b)
+        .put(date(2013, 1, 1), 5)
+        .merge(date(2013, 1, 1), 1d, Double::sum)
+        .merge(date(2014, 1, 1), 6d, (a, b) -> a - b);
+    LocalDateDoubleTimeSeriesBuilder other = LocalDateDoubleTimeSeries.builder()
+        .merge(date(2012, 1, 1), 1d, Double::sum)
+        .putAll(test);
+
+    assertEquals(test.get(date(2013, 1, 1)), OptionalDouble.of(6d));
+    assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(-4d));
+    assertEquals(other.build().size(), 3);
+    assertEquals(other.get(date(2013, 1, 1)), OptionalDouble.of(6d));
+  }
+
+  public void test_merge_manyUnsorted() {
+    LocalDateDoubleTimeSeriesBuilder test = LocalDateDoubleTimeSeries.builder();
+    LocalDate start = date(2000, 1, 1);
+    for (int i = 0; i < 3; i++) {
+      for (int day = 999; day >= 0; day--) {
+        test.merge(start.plusDays(day), day, Double::sum);
+      }
+    }
+    LocalDateDoubleTimeSeries series = test.build();
+    assertEquals(series.size(), 1000);
+    assertEquals(series.get(start.plusDays(500)), OptionalDouble.of(1500d));
+  }
+
   //-------------------------------------------------------------------------
   public void test_seriesGetsSorted() {
     LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder()
@@ -141,6 +188,22 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(14d));
   }
 
+  public void test_largeUnsorted() {
+    LocalDateDoubleTimeSeriesBuilder test = LocalDateDoubleTimeSeries.builder();
+    LocalDate start = date(2000, 1, 1);
+    for (int i = 0; i < 1000; i++) {
+      // visits each of 500 days twice, the second visit overwriting the first
+      int day = (i * 7) % 500;
+      test.put(start.plusDays(day * 3), i);
+    }
+    LocalDateDoubleTimeSeries series = test.build();
+    assertEquals(series.size(), 500);
+    for (int i = 500; i < 1000; i++) {
+      int day = (i * 7) % 500;
+      assertEquals(series.get(start.plusDays(day * 3)), OptionalDouble.of(i));
+    }
+  }
+
   public void test_useBuilderToAlterSeries() {
     LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder()
         .put(date(2014, 1, 1), 14)
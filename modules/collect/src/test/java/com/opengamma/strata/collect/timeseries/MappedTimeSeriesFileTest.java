@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test {@link MappedTimeSeriesFile}.
+ */
+@Test
+public class MappedTimeSeriesFileTest {
+
+  private static final LocalDateDoubleTimeSeries SPARSE = LocalDateDoubleTimeSeries.builder()
+      .put(date(2010, 1, 1), 10)
+      .put(date(2011, 1, 1), 11)
+      .put(date(2012, 1, 1), 12)
+      .put(date(2013, 1, 1), 13)
+      .build();
+  private static final LocalDateDoubleTimeSeries DENSE = denseSeries();
+  private static final Map<String, LocalDateDoubleTimeSeries> SERIES = ImmutableMap.of(
+      "Sparse", SPARSE,
+      "Dense", DENSE,
+      "Empty", LocalDateDoubleTimeSeries.empty(),
+      "Single\u00e9", LocalDateDoubleTimeSeries.of(date(2015, 6, 1), 1.5));
+
+  private static LocalDateDoubleTimeSeries denseSeries() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (LocalDate date = date(2014, 1, 6); date.isBefore(date(2014, 3, 1)); date = date.plusDays(1)) {
+      if (date.getDayOfWeek().getValue() < 6) {
+        builder.put(date, date.getDayOfMonth() / 100d);
+      }
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_writeRead() throws Exception {
+    MappedTimeSeriesFile test = MappedTimeSeriesFile.of(writeFile(SERIES));
+    assertEquals(test.getNames(), ImmutableSet.of("Sparse", "Dense", "Empty", "Single\u00e9"));
+    assertTrue(test.contains("Dense"));
+    assertFalse(test.contains("Unknown"));
+    for (String name : SERIES.keySet()) {
+      LocalDateDoubleTimeSeries expected = SERIES.get(name);
+      LocalDateDoubleTimeSeries series = test.getSeries(name);
+      assertEquals(series.toBuilder().build(), expected);
+      assertEquals(series.size(), expected.size());
+      assertEquals(series.stream().toArray(), expected.stream().toArray());
+      assertEquals(test.findSeries(name), Optional.of(series));
+    }
+    assertEquals(test.findSeries("Unknown"), Optional.empty());
+    assertThrowsIllegalArg(() -> test.getSeries("Unknown"));
+    assertEquals(test.toString(), "MappedTimeSeriesFile[Sparse, Dense, Empty, Single\u00e9]");
+  }
+
+  public void test_series() throws Exception {
+    MappedTimeSeriesFile file = MappedTimeSeriesFile.of(writeFile(SERIES));
+    LocalDateDoubleTimeSeries test = file.getSeries("Sparse");
+    assertEquals(test.isEmpty(), false);
+    assertEquals(test.get(date(2011, 1, 1)), OptionalDouble.of(11d));
+    assertEquals(test.get(date(2011, 1, 2)), OptionalDouble.empty());
+    assertEquals(test.get(LocalDate.MAX), OptionalDouble.empty());
+    assertEquals(test.containsDate(date(2013, 1, 1)), true);
+    assertEquals(test.getEarliestDate(), date(2010, 1, 1));
+    assertEquals(test.getLatestDate(), date(2013, 1, 1));
+    assertEquals(test.getLatestValue(), 13d);
+    assertEquals(
+        test.subSeries(date(2011, 1, 1), date(2013, 1, 1)).toBuilder().build(),
+        SPARSE.subSeries(date(2011, 1, 1), date(2013, 1, 1)));
+    assertEquals(test.subSeries(LocalDate.MIN, LocalDate.MAX), test);
+    assertEquals(test.subSeries(date(2014, 1, 1), LocalDate.MAX), LocalDateDoubleTimeSeries.empty());
+    assertThrowsIllegalArg(() -> test.subSeries(date(2011, 1, 1), date(2010, 1, 1)));
+    assertEquals(test.headSeries(2).toBuilder().build(), SPARSE.headSeries(2));
+    assertEquals(test.tailSeries(2).toBuilder().build(), SPARSE.tailSeries(2));
+    assertEquals(test.tailSeries(2).get(date(2012, 1, 1)), OptionalDouble.of(12d));
+    assertEquals(test.headSeries(0), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.tailSeries(5), test);
+    assertEquals(test.dates().toArray(), SPARSE.dates().toArray());
+    assertEquals(test.values().toArray(), SPARSE.values().toArray());
+    assertEquals(test.mapValues(v -> v * 2), SPARSE.mapValues(v -> v * 2));
+    assertEquals(test.mapDates(d -> d.plusDays(1)), SPARSE.mapDates(d -> d.plusDays(1)));
+    assertEquals(test.filter((d, v) -> v > 11), SPARSE.filter((d, v) -> v > 11));
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    test.forEach(builder::put);
+    assertEquals(builder.build(), SPARSE);
+    LocalDateDoubleTimeSeriesBuilder builder2 = LocalDateDoubleTimeSeries.builder();
+    test.forEachEpochDay((epochDay, value) -> builder2.put(LocalDate.ofEpochDay(epochDay), value));
+    assertEquals(builder2.build(), SPARSE);
+    assertEquals(test.toString(), SPARSE.toString());
+  }
+
+  public void test_seriesName() {
+    assertEquals(MappedTimeSeriesFile.seriesName("OG-Index~GBP-LIBOR-3M", "MarketValue", "None"),
+        "OG-Index~GBP-LIBOR-3M/MarketValue/None");
+    assertThrowsIllegalArg(() -> MappedTimeSeriesFile.seriesName(null, "MarketValue", "None"));
+  }
+
+  public void test_equalsHashCode() throws Exception {
+    MappedTimeSeriesFile file1 = MappedTimeSeriesFile.of(writeFile(SERIES));
+    MappedTimeSeriesFile file2 = MappedTimeSeriesFile.of(writeFile(SERIES));
+    LocalDateDoubleTimeSeries test = file1.getSeries("Dense");
+    assertEquals(test, test);
+    assertEquals(test, file2.getSeries("Dense"));
+    assertEquals(test.hashCode(), file2.getSeries("Dense").hashCode());
+    assertNotEquals(test, file1.getSeries("Sparse"));
+    assertNotEquals(test, DENSE);
+    assertNotEquals(test, "");
+  }
+
+  public void test_serialization() throws Exception {
+    LocalDateDoubleTimeSeries test = MappedTimeSeriesFile.of(writeFile(SERIES)).getSeries("Dense");
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(test);
+    }
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      assertEquals(ois.readObject(), DENSE);
+    }
+  }
+
+  public void test_of_invalid() throws Exception {
+    File file = File.createTempFile("TestMappedTimeSeries", ".bin");
+    file.deleteOnExit();
+    Files.write(file.toPath(), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    assertThrowsIllegalArg(() -> MappedTimeSeriesFile.of(file.toPath()));
+  }
+
+  //-------------------------------------------------------------------------
+  private static Path writeFile(Map<String, LocalDateDoubleTimeSeries> series) throws Exception {
+    File file = File.createTempFile("TestMappedTimeSeries", ".bin");
+    file.deleteOnExit();
+    MappedTimeSeriesFile.write(file.toPath(), series);
+    return file.toPath();
+  }
+
+}
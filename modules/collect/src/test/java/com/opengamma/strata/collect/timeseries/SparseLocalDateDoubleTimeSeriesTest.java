@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.collect.timeseries;
 
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
@@ -13,8 +14,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -57,6 +63,12 @@ public class SparseLocalDateDoubleTimeSeriesTest {
       DATE_2010_01_01, DATE_2011_01_01, DATE_2012_01_01);
   private static final ImmutableList<Double> VALUES_10_12 = values(10, 11, 12);
   private static final double TOLERANCE = 0.00001d;
+  // the series of DATES_2010_12 and VALUES_10_12 serialized when the dates were stored as LocalDate[]
+  private static final String SERIALIZED_DATES_FORM =
+      "rO0ABXNyAEdjb20ub3BlbmdhbW1hLnN0cmF0YS5jb2xsZWN0LnRpbWVzZXJpZXMuU3BhcnNlTG9jYWxEYXRlRG91YmxlVGltZVNlcmllcwAAAA" +
+      "AAAAABAgACWwAFZGF0ZXN0ABZbTGphdmEvdGltZS9Mb2NhbERhdGU7WwAGdmFsdWVzdAACW0R4cHVyABZbTGphdmEudGltZS5Mb2NhbERhdGU7" +
+      "cpbNkM0pcJ8CAAB4cAAAAANzcgANamF2YS50aW1lLlNlcpVdhLobIkiyDAAAeHB3BwMAAAfaAQF4c3EAfgAGdwcDAAAH2wEBeHNxAH4ABncHAw" +
+      "AAB9wBAXh1cgACW0Q+powUq2NaHgIAAHhwAAAAA0AkAAAAAAAAQCYAAAAAAABAKAAAAAAAAA==";
 
   //-------------------------------------------------------------------------
   public void test_emptySeries() {
@@ -306,6 +318,15 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     assertEquals(test.size(), 0);
   }
 
+  public void test_subSeries_unboundedDates() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    assertEquals(base.subSeries(LocalDate.MIN, LocalDate.MAX), base);
+    assertEquals(base.subSeries(LocalDate.MIN, DATE_2011_01_01), base.headSeries(1));
+    assertEquals(base.subSeries(DATE_2013_01_01, LocalDate.MAX), base.tailSeries(2));
+    assertEquals(base.get(LocalDate.MIN), OptionalDouble.empty());
+    assertEquals(base.containsDate(LocalDate.MAX), false);
+  }
+
   public void test_subSeries_startAfterEnd() {
     LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
     assertThrowsIllegalArg(() -> base.subSeries(date(2011, 1, 2), DATE_2011_01_01));
@@ -434,6 +455,18 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     assertEquals(counter.get(), 10 + 11 + 12 + 13 + 14);
   }
 
+  public void test_forEachEpochDay() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    base.forEachEpochDay((epochDay, value) -> builder.put(LocalDate.ofEpochDay(epochDay), value));
+    assertEquals(builder.build(), base);
+  }
+
+  public void test_of_dateOutOfRange() {
+    assertThrowsIllegalArg(() -> SparseLocalDateDoubleTimeSeries.of(ImmutableList.of(LocalDate.MAX), values(1)));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.builder().put(LocalDate.MIN, 1d));
+  }
+
   //-------------------------------------------------------------------------
   public void test_combineWith_intersectionWithNoMatchingElements() {
     LocalDateDoubleTimeSeries series1 = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
@@ -639,6 +672,24 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     coverBeanEquals(test, test2);
   }
 
+  public void test_serialization() {
+    assertSerialization(LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build());
+    assertSerialization(LocalDateDoubleTimeSeries.empty());
+  }
+
+  public void test_serialization_datesForm() throws Exception {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_12, VALUES_10_12).build();
+    byte[] datesForm = Base64.getDecoder().decode(SERIALIZED_DATES_FORM);
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(datesForm))) {
+      assertEquals(in.readObject(), test);
+    }
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(baos)) {
+      out.writeObject(test);
+    }
+    assertEquals(baos.toByteArray(), datesForm);
+  }
+
   //-------------------------------------------------------------------------
   private static LocalDate date(int year, int month, int day) {
     return LocalDate.of(year, month, day);
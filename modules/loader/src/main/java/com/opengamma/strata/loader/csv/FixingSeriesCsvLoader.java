@@ -7,6 +7,7 @@ package com.opengamma.strata.loader.csv;
 
 import static java.util.stream.Collectors.toList;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collection;
@@ -23,6 +24,7 @@ import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesFile;
 import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.loader.LoaderUtils;
 import com.opengamma.strata.market.observable.IndexQuoteId;
@@ -104,6 +106,38 @@ public final class FixingSeriesCsvLoader {
     return builder.build();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Converts one or more CSV format fixing series files to a memory-mapped time-series file.
+   * <p>
+   * Each fixing series is named from its {@linkplain ObservableId observable ID} using
+   * {@link MappedTimeSeriesFile#seriesName(Object, Object, Object)}, such as 'OG-Index~GBP-LIBOR-3M/MarketValue/None'.
+   * This matches the names expected by {@code TimeSeriesProvider.of(MappedTimeSeriesFile)}.
+   * The file can then be opened using {@link MappedTimeSeriesFile#of(Path)},
+   * avoiding the need to parse the CSV files and hold the fixings in the heap.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   *
+   * @param resources  the fixing series CSV resources
+   * @param file  the time-series file to write, replacing any existing file
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static void convertToMappedFile(Collection<ResourceLocator> resources, Path file) {
+    Map<String, LocalDateDoubleTimeSeries> series = new HashMap<>();
+    Map<String, ObservableId> ids = new HashMap<>();
+    for (Map.Entry<ObservableId, LocalDateDoubleTimeSeries> entry : load(resources).entrySet()) {
+      ObservableId id = entry.getKey();
+      String name = MappedTimeSeriesFile.seriesName(id.getStandardId(), id.getFieldName(), id.getObservableSource());
+      ObservableId existing = ids.putIfAbsent(name, id);
+      if (existing != null) {
+        throw new IllegalArgumentException(Messages.format(
+            "Multiple entries with same time-series name '{}': {} and {}", name, existing, id));
+      }
+      series.put(name, entry.getValue());
+    }
+    MappedTimeSeriesFile.write(file, series);
+  }
+
   //-------------------------------------------------------------------------
   // loads a single fixing series CSV file
   private static ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> parseSingle(CharSource resource) {
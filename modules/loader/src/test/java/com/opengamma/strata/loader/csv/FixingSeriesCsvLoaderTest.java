@@ -10,15 +10,18 @@ import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.io.File;
 import java.time.LocalDate;
 import java.util.Map;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.index.IborIndices;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesFile;
 import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 
@@ -76,6 +79,18 @@ public class FixingSeriesCsvLoaderTest {
         "Error processing resource as CSV file: .*");
   }
 
+  public void test_convertToMappedFile() throws Exception {
+    File tempFile = File.createTempFile("TestFixingSeriesConversion", ".bin");
+    tempFile.deleteOnExit();
+    FixingSeriesCsvLoader.convertToMappedFile(ImmutableList.of(FIXING_SERIES_1, FIXING_SERIES_2), tempFile.toPath());
+    MappedTimeSeriesFile file = MappedTimeSeriesFile.of(tempFile.toPath());
+    assertEquals(
+        file.getNames(),
+        ImmutableSet.of("OG-Index~USD-LIBOR-3M/MarketValue/None", "OG-Index~USD-LIBOR-6M/MarketValue/None"));
+    assertLibor3mSeries(file.getSeries("OG-Index~USD-LIBOR-3M/MarketValue/None").toBuilder().build());
+    assertLibor6mSeries(file.getSeries("OG-Index~USD-LIBOR-6M/MarketValue/None").toBuilder().build());
+  }
+
   //-------------------------------------------------------------------------
   private void assertLibor3m6mSeries(Map<ObservableId, LocalDateDoubleTimeSeries> ts) {
     assertEquals(ts.size(), 2);
@@ -17,6 +17,7 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.ParameterizedData;
+import com.opengamma.strata.market.param.SparseUnitParameterSensitivity;
 import com.opengamma.strata.market.param.UnitParameterSensitivity;
 
 /**
@@ -90,6 +91,25 @@ public interface Curve extends ParameterizedData {
    */
   public abstract double yValue(double x);
 
+  /**
+   * Computes the y-values for the specified x-values.
+   * <p>
+   * The result has one y-value for each x-value, in the same order.
+   * Each y-value is the same as would be returned by {@link #yValue(double)}.
+   * Implementations may evaluate x-values sorted in ascending order more efficiently,
+   * thus callers are encouraged to supply the x-values sorted where possible.
+   * 
+   * @param xValues  the x-values to find the y-values for
+   * @return the values at the x-values
+   */
+  public default double[] yValues(double[] xValues) {
+    double[] result = new double[xValues.length];
+    for (int i = 0; i < xValues.length; i++) {
+      result[i] = yValue(xValues[i]);
+    }
+    return result;
+  }
+
   /**
    * Computes the sensitivity of the y-value with respect to the curve parameters.
    * <p>
@@ -102,6 +122,23 @@ public interface Curve extends ParameterizedData {
    */
   public abstract UnitParameterSensitivity yValueParameterSensitivity(double x);
 
+  /**
+   * Computes the sensitivity of the y-value with respect to the curve parameters, in sparse form.
+   * <p>
+   * This returns the same sensitivity as {@link #yValueParameterSensitivity(double)},
+   * but only holds the values of a range of parameters that contains all the non-zero sensitivities.
+   * This is typically much smaller than the number of parameters of the curve.
+   * <p>
+   * The default implementation reduces the result of {@link #yValueParameterSensitivity(double)}.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @return the sensitivity
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default SparseUnitParameterSensitivity yValueSparseParameterSensitivity(double x) {
+    return SparseUnitParameterSensitivity.of(yValueParameterSensitivity(x));
+  }
+
   /**
    * Computes the first derivative of the curve.
    * <p>
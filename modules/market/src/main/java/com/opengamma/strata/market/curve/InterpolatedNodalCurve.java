@@ -31,14 +31,18 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.ObjIntPair;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
+import com.opengamma.strata.market.curve.interpolator.CompiledCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
+import com.opengamma.strata.market.param.SparseUnitParameterSensitivity;
 import com.opengamma.strata.market.param.UnitParameterSensitivity;
 
 /**
@@ -98,8 +102,16 @@ public final class InterpolatedNodalCurve
   private final CurveExtrapolator extrapolatorRight;
   /**
    * The bound interpolator.
+   * <p>
+   * This is bound lazily when the curve is derived from another curve by changing the y-values.
+   */
+  private transient volatile BoundCurveInterpolator boundInterpolator;  // derived and cached, not a property
+  /**
+   * The bound interpolator in compiled form, used to find the y-value on the hot path of pricing.
+   * <p>
+   * This is compiled lazily when the curve is derived from another curve by changing the y-values.
    */
-  private final transient BoundCurveInterpolator boundInterpolator;  // derived and cached, not a property
+  private transient volatile CompiledCurveInterpolator compiledInterpolator;  // derived and cached, not a property
   /**
    * The parameter metadata.
    */
@@ -198,11 +210,44 @@ public final class InterpolatedNodalCurve
     this.interpolator = interpolator;
     this.extrapolatorRight = extrapolatorRight;
     this.boundInterpolator = interpolator.bind(xValues, yValues, extrapolatorLeft, extrapolatorRight);
+    this.compiledInterpolator = CompiledCurveInterpolator.of(
+        xValues, yValues, interpolator, extrapolatorLeft, extrapolatorRight, boundInterpolator);
     this.parameterMetadata = IntStream.range(0, getParameterCount())
         .mapToObj(i -> getParameterMetadata(i))
         .collect(toImmutableList());
   }
 
+  // creates an instance where the y-value of a single node differs from the base curve
+  // the interpolator is given the opportunity to bind incrementally from the base
+  private InterpolatedNodalCurve(InterpolatedNodalCurve base, int parameterIndex, DoubleArray yValues) {
+    ArgChecker.notNull(yValues, "yValues");
+    ArgChecker.isTrue(base.xValues.size() == yValues.size(), "Length of x-values and y-values must match");
+    this.metadata = base.metadata;
+    this.xValues = base.xValues;
+    this.yValues = yValues;
+    this.extrapolatorLeft = base.extrapolatorLeft;
+    this.interpolator = base.interpolator;
+    this.extrapolatorRight = base.extrapolatorRight;
+    this.boundInterpolator = interpolator.rebind(
+        base.boundInterpolator(), parameterIndex, xValues, yValues, extrapolatorLeft, extrapolatorRight);
+    this.parameterMetadata = base.parameterMetadata;
+  }
+
+  // creates an instance where the y-values differ from the base curve
+  // the validated structure of the base curve is shared, with only the y-values being new
+  // binding the interpolator is deferred until the curve is first queried
+  private InterpolatedNodalCurve(InterpolatedNodalCurve base, DoubleArray yValues) {
+    ArgChecker.notNull(yValues, "yValues");
+    ArgChecker.isTrue(base.xValues.size() == yValues.size(), "Length of x-values and y-values must match");
+    this.metadata = base.metadata;
+    this.xValues = base.xValues;
+    this.yValues = yValues;
+    this.extrapolatorLeft = base.extrapolatorLeft;
+    this.interpolator = base.interpolator;
+    this.extrapolatorRight = base.extrapolatorRight;
+    this.parameterMetadata = base.parameterMetadata;
+  }
+
   @ImmutableDefaults
   private static void applyDefaults(Builder builder) {
     builder.extrapolatorLeft = CurveExtrapolators.FLAT;
@@ -214,6 +259,28 @@ public final class InterpolatedNodalCurve
     return new InterpolatedNodalCurve(metadata, xValues, yValues, interpolator, extrapolatorLeft, extrapolatorRight);
   }
 
+  // the bound interpolator, binding on first use
+  // racing threads bind equal instances, thus no locking is needed
+  private BoundCurveInterpolator boundInterpolator() {
+    BoundCurveInterpolator bound = boundInterpolator;
+    if (bound == null) {
+      bound = interpolator.bind(xValues, yValues, extrapolatorLeft, extrapolatorRight);
+      boundInterpolator = bound;
+    }
+    return bound;
+  }
+
+  // the compiled interpolator, compiling on first use
+  private CompiledCurveInterpolator compiledInterpolator() {
+    CompiledCurveInterpolator compiled = compiledInterpolator;
+    if (compiled == null) {
+      compiled = CompiledCurveInterpolator.of(
+          xValues, yValues, interpolator, extrapolatorLeft, extrapolatorRight, boundInterpolator());
+      compiledInterpolator = compiled;
+    }
+    return compiled;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public int getParameterCount() {
@@ -227,31 +294,54 @@ public final class InterpolatedNodalCurve
 
   @Override
   public InterpolatedNodalCurve withParameter(int parameterIndex, double newValue) {
-    return withYValues(yValues.with(parameterIndex, newValue));
+    return new InterpolatedNodalCurve(this, parameterIndex, yValues.with(parameterIndex, newValue));
   }
 
   @Override
   public InterpolatedNodalCurve withPerturbation(ParameterPerturbation perturbation) {
     int size = yValues.size();
     DoubleArray perturbedValues = DoubleArray.of(
-        size, i -> perturbation.perturbParameter(i, yValues.get(i), getParameterMetadata(i)));
-    return withYValues(perturbedValues);
+        size, i -> perturbation.perturbParameter(i, yValues.get(i), parameterMetadata.get(i)));
+    // a perturbation of a single node, such as a bump, is bound incrementally
+    int changedIndex = -1;
+    for (int i = 0; i < size; i++) {
+      if (perturbedValues.get(i) != yValues.get(i)) {
+        if (changedIndex >= 0) {
+          return withYValues(perturbedValues);
+        }
+        changedIndex = i;
+      }
+    }
+    return changedIndex >= 0 ? new InterpolatedNodalCurve(this, changedIndex, perturbedValues) : withYValues(perturbedValues);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public double yValue(double x) {
-    return boundInterpolator.interpolate(x);
+    return compiledInterpolator().interpolate(x);
+  }
+
+  @Override
+  public double[] yValues(double[] xValues) {
+    double[] result = new double[xValues.length];
+    boundInterpolator().interpolate(xValues, result);
+    return result;
   }
 
   @Override
   public UnitParameterSensitivity yValueParameterSensitivity(double x) {
-    return createParameterSensitivity(boundInterpolator.parameterSensitivity(x));
+    return createParameterSensitivity(boundInterpolator().parameterSensitivity(x));
+  }
+
+  @Override
+  public SparseUnitParameterSensitivity yValueSparseParameterSensitivity(double x) {
+    ObjIntPair<DoubleArray> sparse = boundInterpolator().sparseParameterSensitivity(x);
+    return SparseUnitParameterSensitivity.of(getName(), parameterMetadata, sparse.getSecond(), sparse.getFirst());
   }
 
   @Override
   public double firstDerivative(double x) {
-    return boundInterpolator.firstDerivative(x);
+    return boundInterpolator().firstDerivative(x);
   }
 
   //-------------------------------------------------------------------------
@@ -262,7 +352,7 @@ public final class InterpolatedNodalCurve
 
   @Override
   public InterpolatedNodalCurve withYValues(DoubleArray yValues) {
-    return new InterpolatedNodalCurve(metadata, xValues, yValues, interpolator, extrapolatorLeft, extrapolatorRight);
+    return new InterpolatedNodalCurve(this, yValues);
   }
 
   @Override
@@ -7,6 +7,9 @@ package com.opengamma.strata.market.curve.interpolator;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.tuple.ObjIntPair;
+import com.opengamma.strata.market.param.SparseUnitParameterSensitivity;
 
 /**
  * Abstract interpolator implementation.
@@ -39,6 +42,10 @@ public abstract class AbstractBoundCurveInterpolator
    * The y-value of the last node.
    */
   private final double lastYValue;
+  /**
+   * The number of parameters, which is the number of nodes.
+   */
+  private final int parameterCount;
 
   /**
    * Creates an instance.
@@ -57,6 +64,7 @@ public abstract class AbstractBoundCurveInterpolator
     this.firstXValue = xValues.get(0);
     this.lastXValue = xValues.get(size - 1);
     this.lastYValue = yValues.get(size - 1);
+    this.parameterCount = size;
   }
 
   /**
@@ -76,6 +84,7 @@ public abstract class AbstractBoundCurveInterpolator
     this.firstXValue = base.firstXValue;
     this.lastXValue = base.lastXValue;
     this.lastYValue = base.lastYValue;
+    this.parameterCount = base.parameterCount;
   }
 
   //-------------------------------------------------------------------------
@@ -99,6 +108,57 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract double doInterpolate(double xValue);
 
+  @Override
+  public final void interpolate(double[] xValues, double[] result) {
+    ArgChecker.isTrue(result.length >= xValues.length, "Result array must be at least as long as the x-values array");
+    int size = xValues.length;
+    for (int i = 1; i < size; i++) {
+      if (!(xValues[i] >= xValues[i - 1])) {
+        // not sorted, evaluate each x-value independently
+        for (int j = 0; j < size; j++) {
+          result[j] = interpolate(xValues[j]);
+        }
+        return;
+      }
+    }
+    // sorted, the x-values within the nodes form a single block
+    int start = 0;
+    while (start < size && xValues[start] < firstXValue) {
+      result[start] = extrapolatorLeft.leftExtrapolate(xValues[start]);
+      start++;
+    }
+    int end = size;
+    while (end > start && xValues[end - 1] >= lastXValue) {
+      double xValue = xValues[end - 1];
+      result[end - 1] = xValue == lastXValue ? lastYValue : extrapolatorRight.rightExtrapolate(xValue);
+      end--;
+    }
+    if (start < end) {
+      doInterpolate(xValues, result, start, end);
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate the interpolated values of a sorted block of x-values.
+   * <p>
+   * The x-values from {@code start} inclusive to {@code end} exclusive are sorted in ascending order.
+   * Each is greater than or equal to the x-value of the first node and less than the x-value of the last node.
+   * <p>
+   * The default implementation calls {@link #doInterpolate(double)} for each x-value.
+   * Implementations are encouraged to walk the nodes and the x-values together, using
+   * {@link #lowerBoundIndex(double, double[], int)} to avoid a binary search for each x-value.
+   *
+   * @param xValues  the x-values
+   * @param result  the array to populate with the interpolated y-values
+   * @param start  the index of the first x-value to interpolate, inclusive
+   * @param end  the index of the last x-value to interpolate, exclusive
+   */
+  protected void doInterpolate(double[] xValues, double[] result, int start, int end) {
+    for (int i = start; i < end; i++) {
+      result[i] = doInterpolate(xValues[i]);
+    }
+  }
+
   @Override
   public final double firstDerivative(double xValue) {
     if (xValue < firstXValue) {
@@ -135,6 +195,39 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract DoubleArray doParameterSensitivity(double xValue);
 
+  @Override
+  public final ObjIntPair<DoubleArray> sparseParameterSensitivity(double xValue) {
+    if (xValue < firstXValue) {
+      return SparseUnitParameterSensitivity.nonZeroRange(extrapolatorLeft.leftExtrapolateParameterSensitivity(xValue));
+    } else if (xValue > lastXValue) {
+      return SparseUnitParameterSensitivity.nonZeroRange(extrapolatorRight.rightExtrapolateParameterSensitivity(xValue));
+    }
+    return doSparseParameterSensitivity(xValue);
+  }
+
+  /**
+   * Method for subclasses to calculate parameter sensitivity in sparse form.
+   * <p>
+   * The default implementation reduces the result of {@link #doParameterSensitivity(double)}.
+   * 
+   * @param xValue  the x-value
+   * @return the sensitivity values of the range, paired with the index of the first parameter of the range
+   */
+  protected ObjIntPair<DoubleArray> doSparseParameterSensitivity(double xValue) {
+    return SparseUnitParameterSensitivity.nonZeroRange(doParameterSensitivity(xValue));
+  }
+
+  @Override
+  public DoubleMatrix parameterSensitivity(double[] xValues) {
+    double[][] result = new double[xValues.length][parameterCount];
+    for (int i = 0; i < xValues.length; i++) {
+      ObjIntPair<DoubleArray> sparse = sparseParameterSensitivity(xValues[i]);
+      DoubleArray range = sparse.getFirst();
+      System.arraycopy(range.toArrayUnsafe(), 0, result[i], sparse.getSecond(), range.size());
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the index of the last value in the input array which is lower than the specified value.
@@ -180,4 +273,29 @@ public abstract class AbstractBoundCurveInterpolator
     return lo - 1;
   }
 
+  /**
+   * Returns the index of the last value in the input array which is lower than the specified value,
+   * searching forward from a known lower index.
+   * <p>
+   * This is used when interpolating x-values sorted in ascending order, where the index found
+   * for one x-value is the starting point for the next. This walks the nodes and the x-values together,
+   * visiting each node at most once across the whole set of x-values.
+   * <p>
+   * The conditions of {@link #lowerBoundIndex(double, double[])} must be true, and additionally
+   * {@code xValues[fromIndex]} must be less than or equal to {@code xValue}.
+   *
+   * @param xValue  a value which is less than the last element in {@code xValues}
+   * @param xValues  an array of values sorted in ascending order
+   * @param fromIndex  the index to search forward from
+   * @return the index of the last value in {@code xValues} which is lower than {@code xValue}
+   */
+  protected static int lowerBoundIndex(double xValue, double[] xValues, int fromIndex) {
+    int index = fromIndex;
+    int lastIndex = xValues.length - 1;
+    while (index < lastIndex && xValues[index + 1] <= xValue) {
+      index++;
+    }
+    return index;
+  }
+
 }
@@ -5,7 +5,11 @@
  */
 package com.opengamma.strata.market.curve.interpolator;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.tuple.ObjIntPair;
+import com.opengamma.strata.market.param.SparseUnitParameterSensitivity;
 
 /**
  * A curve interpolator that has been bound to a specific curve.
@@ -29,6 +33,24 @@ public interface BoundCurveInterpolator {
    */
   public abstract double interpolate(double x);
 
+  /**
+   * Computes the y-values for the specified x-values by interpolation.
+   * <p>
+   * The result array is populated with the y-value of each x-value, in the same order.
+   * Each y-value is the same as would be returned by {@link #interpolate(double)}.
+   * Implementations may evaluate x-values sorted in ascending order more efficiently.
+   *
+   * @param xValues  the x-values to find the y-values for
+   * @param result  the array to populate with the y-values, at least as long as the x-values array
+   * @throws RuntimeException if a y-value cannot be calculated
+   */
+  public default void interpolate(double[] xValues, double[] result) {
+    ArgChecker.isTrue(result.length >= xValues.length, "Result array must be at least as long as the x-values array");
+    for (int i = 0; i < xValues.length; i++) {
+      result[i] = interpolate(xValues[i]);
+    }
+  }
+
   /**
    * Computes the first derivative of the y-value for the specified x-value.
    * <p>
@@ -52,6 +74,43 @@ public interface BoundCurveInterpolator {
    */
   public abstract DoubleArray parameterSensitivity(double x);
 
+  /**
+   * Computes the sensitivity of the y-value with respect to the curve parameters, in sparse form.
+   * <p>
+   * The sensitivity of an interpolated value is typically zero for all but a few parameters.
+   * This returns the sensitivity values of a range of parameters that contains all
+   * the non-zero sensitivities, together with the index of the first parameter of the range.
+   * The sensitivity to every parameter outside the range is zero.
+   * <p>
+   * The default implementation reduces the result of {@link #parameterSensitivity(double)}.
+   * Implementations are encouraged to compute the range directly.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @return the sensitivity values of the range, paired with the index of the first parameter of the range
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default ObjIntPair<DoubleArray> sparseParameterSensitivity(double x) {
+    return SparseUnitParameterSensitivity.nonZeroRange(parameterSensitivity(x));
+  }
+
+  /**
+   * Computes the sensitivity of the y-value with respect to the curve parameters for a set of x-values.
+   * <p>
+   * This returns a matrix with one row for each x-value and one column for each parameter of the curve.
+   * Each row is the same as would be returned by {@link #parameterSensitivity(double)}.
+   * 
+   * @param xValues  the x-values at which the parameter sensitivity is computed
+   * @return the sensitivity, one row for each x-value
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default DoubleMatrix parameterSensitivity(double[] xValues) {
+    double[][] result = new double[xValues.length][];
+    for (int i = 0; i < xValues.length; i++) {
+      result[i] = parameterSensitivity(xValues[i]).toArrayUnsafe();
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Binds this interpolator to the specified extrapolators.
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve.interpolator;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * A bound curve interpolator flattened into primitive arrays for fast evaluation.
+ * <p>
+ * Interpolation of a y-value is on the hot path of pricing.
+ * A {@link BoundCurveInterpolator} is reached through interfaces with many implementations,
+ * thus the calls made by a curve are typically megamorphic when several interpolators are in use.
+ * This class is final and evaluates the most common interpolators and extrapolators directly
+ * from primitive arrays, selecting the calculation by a switch on a constant rather than a virtual call.
+ * No objects are allocated when interpolating.
+ * <p>
+ * The {@link CurveInterpolators#LINEAR linear} and {@link CurveInterpolators#LOG_LINEAR log-linear}
+ * interpolators and the {@link CurveExtrapolators#FLAT flat} extrapolator are evaluated directly.
+ * Any other interpolator or extrapolator is evaluated by delegating to the bound interpolator.
+ * The result is identical to that of the bound interpolator.
+ */
+public final class CompiledCurveInterpolator {
+
+  /**
+   * Kind for an interpolator or extrapolator that is evaluated by delegation.
+   */
+  private static final int DELEGATE = 0;
+  /**
+   * Kind for the linear interpolator.
+   */
+  private static final int LINEAR = 1;
+  /**
+   * Kind for the log-linear interpolator.
+   */
+  private static final int LOG_LINEAR = 2;
+  /**
+   * Kind for the flat extrapolator.
+   */
+  private static final int FLAT = 3;
+
+  /**
+   * The bound interpolator, used for the kinds that are not evaluated directly.
+   */
+  private final BoundCurveInterpolator bound;
+  /**
+   * The kind of interpolator.
+   */
+  private final int interpolatorKind;
+  /**
+   * The kind of left extrapolator.
+   */
+  private final int leftKind;
+  /**
+   * The kind of right extrapolator.
+   */
+  private final int rightKind;
+  /**
+   * The x-values of the nodes.
+   */
+  private final double[] xValues;
+  /**
+   * The y-values of the nodes.
+   */
+  private final double[] yValues;
+  /**
+   * The gradient of each interval, only populated for the linear interpolator.
+   */
+  private final double[] gradients;
+  /**
+   * The x-value of the first node.
+   */
+  private final double firstXValue;
+  /**
+   * The x-value of the last node.
+   */
+  private final double lastXValue;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Compiles a bound curve interpolator.
+   * <p>
+   * The bound interpolator must have been obtained by binding the interpolator and extrapolators
+   * to the x-values and y-values, as by
+   * {@link CurveInterpolator#bind(DoubleArray, DoubleArray, CurveExtrapolator, CurveExtrapolator)}.
+   *
+   * @param xValues  the x-values of the curve, sorted from low to high
+   * @param yValues  the y-values of the curve
+   * @param interpolator  the interpolator
+   * @param extrapolatorLeft  the extrapolator for x-values on the left
+   * @param extrapolatorRight  the extrapolator for x-values on the right
+   * @param bound  the bound interpolator
+   * @return the compiled interpolator
+   */
+  public static CompiledCurveInterpolator of(
+      DoubleArray xValues,
+      DoubleArray yValues,
+      CurveInterpolator interpolator,
+      CurveExtrapolator extrapolatorLeft,
+      CurveExtrapolator extrapolatorRight,
+      BoundCurveInterpolator bound) {
+
+    ArgChecker.isTrue(xValues.size() > 1, "Curve node arrays must have at least two nodes");
+    ArgChecker.isTrue(xValues.size() == yValues.size(), "Length of x-values and y-values must match");
+    return new CompiledCurveInterpolator(
+        xValues.toArrayUnsafe(),
+        yValues.toArrayUnsafe(),
+        interpolatorKind(interpolator),
+        extrapolatorKind(extrapolatorLeft),
+        extrapolatorKind(extrapolatorRight),
+        ArgChecker.notNull(bound, "bound"));
+  }
+
+  // the kind of the interpolator
+  private static int interpolatorKind(CurveInterpolator interpolator) {
+    if (interpolator.equals(CurveInterpolators.LINEAR)) {
+      return LINEAR;
+    }
+    if (interpolator.equals(CurveInterpolators.LOG_LINEAR)) {
+      return LOG_LINEAR;
+    }
+    return DELEGATE;
+  }
+
+  // the kind of the extrapolator
+  private static int extrapolatorKind(CurveExtrapolator extrapolator) {
+    return extrapolator.equals(CurveExtrapolators.FLAT) ? FLAT : DELEGATE;
+  }
+
+  // restricted constructor
+  private CompiledCurveInterpolator(
+      double[] xValues,
+      double[] yValues,
+      int interpolatorKind,
+      int leftKind,
+      int rightKind,
+      BoundCurveInterpolator bound) {
+
+    this.bound = bound;
+    this.interpolatorKind = interpolatorKind;
+    this.leftKind = leftKind;
+    this.rightKind = rightKind;
+    this.xValues = xValues;
+    this.yValues = yValues;
+    this.firstXValue = xValues[0];
+    this.lastXValue = xValues[xValues.length - 1];
+    // same calculation as the linear interpolator, ensuring identical results
+    int intervalCount = interpolatorKind == LINEAR ? xValues.length - 1 : 0;
+    this.gradients = new double[intervalCount];
+    for (int i = 0; i < intervalCount; i++) {
+      gradients[i] = (yValues[i + 1] - yValues[i]) / (xValues[i + 1] - xValues[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the bound interpolator that this instance was compiled from.
+   *
+   * @return the bound interpolator
+   */
+  public BoundCurveInterpolator getBound() {
+    return bound;
+  }
+
+  /**
+   * Computes the y-value for the specified x-value by interpolation.
+   * <p>
+   * The result is the same as {@link BoundCurveInterpolator#interpolate(double)}.
+   *
+   * @param xValue  the x-value to find the y-value for
+   * @return the value at the x-value
+   * @throws RuntimeException if the y-value cannot be calculated
+   */
+  public double interpolate(double xValue) {
+    if (xValue < firstXValue) {
+      return leftKind == FLAT ? yValues[0] : bound.interpolate(xValue);
+    }
+    if (xValue >= lastXValue) {
+      return rightKind == FLAT || xValue == lastXValue ? yValues[yValues.length - 1] : bound.interpolate(xValue);
+    }
+    switch (interpolatorKind) {
+      case LINEAR: {
+        int lowerIndex = lowerBoundIndex(xValue);
+        return yValues[lowerIndex] + (xValue - xValues[lowerIndex]) * gradients[lowerIndex];
+      }
+      case LOG_LINEAR: {
+        int lowerIndex = lowerBoundIndex(xValue);
+        double x1 = xValues[lowerIndex];
+        double x2 = xValues[lowerIndex + 1];
+        double y1 = yValues[lowerIndex];
+        double y2 = yValues[lowerIndex + 1];
+        return Math.pow(y2 / y1, (xValue - x1) / (x2 - x1)) * y1;
+      }
+      default:
+        return bound.interpolate(xValue);
+    }
+  }
+
+  // the index of the last node which is lower than or equal to the x-value
+  // the x-value is within the nodes, and -0 gives the same result as +0
+  private int lowerBoundIndex(double xValue) {
+    return AbstractBoundCurveInterpolator.lowerBoundIndex(xValue, xValues);
+  }
+
+}
@@ -93,6 +93,35 @@ public interface CurveInterpolator extends Named {
     return interpolatorOnly.bind(boundLeft, boundRight);
   }
 
+  /**
+   * Binds this interpolator to a curve that differs from an already bound curve in the y-value of a single node.
+   * <p>
+   * This returns an interpolator equivalent to that returned by
+   * {@link #bind(DoubleArray, DoubleArray, CurveExtrapolator, CurveExtrapolator)}.
+   * It is used when a single node of a curve is changed, as when bumping for finite difference sensitivities.
+   * Implementations may derive the result from the interpolator bound to the original curve,
+   * avoiding a full bind, such as the solve of a spline system.
+   * The default implementation performs a full bind.
+   *
+   * @param base  the interpolator bound to the original curve, as returned by this interpolator
+   * @param parameterIndex  the index of the node whose y-value differs from the original curve
+   * @param xValues  the x-values of the curve, the same as those of the original curve
+   * @param yValues  the y-values of the curve
+   * @param extrapolatorLeft  the extrapolator for x-values on the left
+   * @param extrapolatorRight  the extrapolator for x-values on the right
+   * @return the bound interpolator
+   */
+  public default BoundCurveInterpolator rebind(
+      BoundCurveInterpolator base,
+      int parameterIndex,
+      DoubleArray xValues,
+      DoubleArray yValues,
+      CurveExtrapolator extrapolatorLeft,
+      CurveExtrapolator extrapolatorRight) {
+
+    return bind(xValues, yValues, extrapolatorLeft, extrapolatorRight);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the name that uniquely identifies this interpolator.
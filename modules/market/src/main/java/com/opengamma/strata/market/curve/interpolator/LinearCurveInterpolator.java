@@ -8,6 +8,7 @@ package com.opengamma.strata.market.curve.interpolator;
 import java.io.Serializable;
 
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.ObjIntPair;
 
 /**
  * Interpolator implementation that returns the linearly interpolated value.
@@ -105,6 +106,16 @@ final class LinearCurveInterpolator
       return y1 + (xValue - x1) * gradients[lowerIndex];
     }
 
+    @Override
+    protected void doInterpolate(double[] xValues, double[] result, int start, int end) {
+      int lowerIndex = 0;
+      for (int i = start; i < end; i++) {
+        double xValue = xValues[i];
+        lowerIndex = lowerBoundIndex(xValue, this.xValues, lowerIndex);
+        result[i] = yValues[lowerIndex] + (xValue - this.xValues[lowerIndex]) * gradients[lowerIndex];
+      }
+    }
+
     @Override
     protected double doFirstDerivative(double xValue) {
       int lowerIndex = lowerBoundIndex(xValue, xValues);
@@ -135,6 +146,20 @@ final class LinearCurveInterpolator
       return DoubleArray.ofUnsafe(result);
     }
 
+    @Override
+    protected ObjIntPair<DoubleArray> doSparseParameterSensitivity(double xValue) {
+      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      // check if x-value is at the last node
+      if (lowerIndex == intervalCount) {
+        // sensitivity is entirely to the last node
+        return ObjIntPair.of(DoubleArray.of(1d), intervalCount);
+      }
+      double x1 = xValues[lowerIndex];
+      double x2 = xValues[lowerIndex + 1];
+      double a = (x2 - xValue) / (x2 - x1);
+      return ObjIntPair.of(DoubleArray.of(a, 1 - a), lowerIndex);
+    }
+
     @Override
     public BoundCurveInterpolator bind(
         BoundCurveExtrapolator extrapolatorLeft,
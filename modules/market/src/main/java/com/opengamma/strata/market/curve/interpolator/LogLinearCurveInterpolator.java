@@ -98,6 +98,20 @@ final class LogLinearCurveInterpolator
       return Math.pow(y2 / y1, (xValue - x1) / (x2 - x1)) * y1;
     }
 
+    @Override
+    protected void doInterpolate(double[] xValues, double[] result, int start, int end) {
+      int lowerIndex = 0;
+      for (int i = start; i < end; i++) {
+        double xValue = xValues[i];
+        lowerIndex = lowerBoundIndex(xValue, this.xValues, lowerIndex);
+        double x1 = this.xValues[lowerIndex];
+        double x2 = this.xValues[lowerIndex + 1];
+        double y1 = yValues[lowerIndex];
+        double y2 = yValues[lowerIndex + 1];
+        result[i] = Math.pow(y2 / y1, (xValue - x1) / (x2 - x1)) * y1;
+      }
+    }
+
     @Override
     protected double doFirstDerivative(double xValue) {
       int lowerIndex = lowerBoundIndex(xValue, xValues);
@@ -9,6 +9,8 @@ import java.io.Serializable;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.primitives.Doubles;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.FunctionUtils;
@@ -65,6 +67,25 @@ final class NaturalSplineCurveInterpolator
     return new Bound(xValues, yValues);
   }
 
+  @Override
+  public BoundCurveInterpolator rebind(
+      BoundCurveInterpolator base,
+      int parameterIndex,
+      DoubleArray xValues,
+      DoubleArray yValues,
+      CurveExtrapolator extrapolatorLeft,
+      CurveExtrapolator extrapolatorRight) {
+
+    if (!(base instanceof Bound) || ((Bound) base).xValues != xValues.toArrayUnsafe()) {
+      return bind(xValues, yValues, extrapolatorLeft, extrapolatorRight);
+    }
+    // as in bind, use an interpolator instance that cannot extrapolate to bind the extrapolators
+    BoundCurveInterpolator interpolatorOnly = new Bound((Bound) base, parameterIndex, xValues, yValues);
+    BoundCurveExtrapolator boundLeft = extrapolatorLeft.bind(xValues, yValues, interpolatorOnly);
+    BoundCurveExtrapolator boundRight = extrapolatorRight.bind(xValues, yValues, interpolatorOnly);
+    return interpolatorOnly.bind(boundLeft, boundRight);
+  }
+
   //-----------------------------------------------------------------------
   @Override
   public String toString() {
@@ -90,6 +111,27 @@ final class NaturalSplineCurveInterpolator
       this.polySens = Suppliers.memoize(() -> underlying.interpolateWithSensitivity(xValues.toArray(), yValues.toArray()));
     }
 
+    // creates an instance where the y-value of a single node differs from the base
+    // the spline coefficients are linear in the y-values and their sensitivity to the y-values is independent of them
+    // thus the coefficients are updated using the sensitivity to the node, without solving the spline system again
+    Bound(Bound base, int parameterIndex, DoubleArray xValues, DoubleArray yValues) {
+      super(xValues, yValues);
+      this.xValues = xValues.toArrayUnsafe();
+      this.yValues = yValues.toArrayUnsafe();
+      double yValue = this.yValues[parameterIndex];
+      ArgChecker.isTrue(Doubles.isFinite(yValue), "yData containing NaN or Infinity");
+      double shift = yValue - base.yValues[parameterIndex];
+      PiecewisePolynomialResultsWithSensitivity baseSens = base.polySens.get();
+      DoubleMatrix baseCoefs = base.poly.getCoefMatrix();
+      DoubleMatrix coefs = DoubleMatrix.of(
+          baseCoefs.rowCount(),
+          baseCoefs.columnCount(),
+          (i, j) -> baseCoefs.get(i, j) + shift * baseSens.getCoefficientSensitivity(i).get(j, parameterIndex));
+      this.poly = new PiecewisePolynomialResult(base.poly.getKnots(), coefs, base.poly.getOrder(), base.poly.getDimensions());
+      this.polySens = Suppliers.ofInstance(new PiecewisePolynomialResultsWithSensitivity(
+          poly.getKnots(), coefs, poly.getOrder(), poly.getDimensions(), baseSens.getCoefficientSensitivityAll()));
+    }
+
     Bound(Bound base, BoundCurveExtrapolator extrapolatorLeft, BoundCurveExtrapolator extrapolatorRight) {
       super(base, extrapolatorLeft, extrapolatorRight);
       this.xValues = base.xValues;
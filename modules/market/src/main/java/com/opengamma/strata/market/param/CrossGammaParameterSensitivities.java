@@ -175,6 +175,7 @@ public final class CrossGammaParameterSensitivities
    * <p>
    * This returns the sensitivity of the market data ({@code nameFirst}) delta to another market data ({@code nameSecond}).
    * The result is sensitive to the order of {@code nameFirst} and {@code nameSecond}.
+   * This works whether or not the sensitivities are in {@linkplain #split() block form}.
    * 
    * @param nameFirst  the name
    * @param nameSecond  the name
@@ -187,10 +188,18 @@ public final class CrossGammaParameterSensitivities
       MarketDataName<?> nameSecond,
       Currency currency) {
 
-    CrossGammaParameterSensitivity sensi = findSensitivity(nameFirst, currency)
-        .orElseThrow(() -> new IllegalArgumentException(Messages.format(
-            "Unable to find sensitivity: {} for {}", nameFirst, currency)));
-    return sensi.getSensitivity(nameSecond);
+    List<CrossGammaParameterSensitivity> matching = sensitivities.stream()
+        .filter(sens -> sens.getMarketDataName().equals(nameFirst) && sens.getCurrency().equals(currency))
+        .collect(Collectors.toList());
+    if (matching.isEmpty()) {
+      throw new IllegalArgumentException(Messages.format("Unable to find sensitivity: {} for {}", nameFirst, currency));
+    }
+    // in block form, there is one entry for each second market data
+    return matching.stream()
+        .filter(sens -> sens.hasSensitivity(nameSecond))
+        .findFirst()
+        .orElse(matching.get(0))
+        .getSensitivity(nameSecond);
   }
 
   /**
@@ -278,6 +287,41 @@ public final class CrossGammaParameterSensitivities
     return new CrossGammaParameterSensitivities(ImmutableList.copyOf(mutable));
   }
 
+  /**
+   * Splits this sensitivity instance into blocks.
+   * <p>
+   * This examines each individual sensitivity to see if it can be {@link CrossGammaParameterSensitivity#split() split}.
+   * If any can be split, the result will contain the combination of the split sensitivities.
+   * In the resulting block form, each entry holds the sensitivity of one market data delta to one other market data.
+   * 
+   * @return this sensitivity, with any combined sensitivities split
+   */
+  public CrossGammaParameterSensitivities split() {
+    if (sensitivities.stream().allMatch(s -> s.getOrder().size() == 1)) {
+      return this;
+    }
+    return of(sensitivities.stream()
+        .flatMap(s -> s.split().stream())
+        .collect(Collectors.toList()));
+  }
+
+  /**
+   * Splits this sensitivity instance into blocks, discarding the blocks that are zero.
+   * <p>
+   * This is the sparse form of the cross gamma.
+   * The blocks of the cross-curve gamma of a trade are typically mostly zero, thus this form
+   * can be significantly smaller to hold and to combine than the full form.
+   * Any block that is zero within the tolerance is removed, as if it had never been computed.
+   * 
+   * @param tolerance  the tolerance used to determine whether a block is zero
+   * @return this sensitivity, split into blocks, without the zero blocks
+   */
+  public CrossGammaParameterSensitivities split(double tolerance) {
+    return new CrossGammaParameterSensitivities(split().sensitivities.stream()
+        .filter(s -> !s.isZero(tolerance))
+        .collect(Guavate.toImmutableList()));
+  }
+
   /**
    * Returns the total of the sensitivity values.
    * <p>
@@ -290,10 +334,11 @@ public final class CrossGammaParameterSensitivities
    * @throws RuntimeException if no FX rate could be found
    */
   public CurrencyAmount total(Currency resultCurrency, FxRateProvider rateProvider) {
-    CrossGammaParameterSensitivities converted = convertedTo(resultCurrency, rateProvider);
-    double total = converted.sensitivities.stream()
-        .mapToDouble(s -> s.getSensitivity().total())
-        .sum();
+    double total = 0d;
+    for (CrossGammaParameterSensitivity sens : sensitivities) {
+      double fxRate = sens.getCurrency().equals(resultCurrency) ? 1d : rateProvider.fxRate(sens.getCurrency(), resultCurrency);
+      total += sens.getSensitivity().total() * fxRate;
+    }
     return CurrencyAmount.of(resultCurrency, total);
   }
 
@@ -312,11 +357,17 @@ public final class CrossGammaParameterSensitivities
 
   /**
    * Returns the diagonal part of the sensitivity values.
+   * <p>
+   * In {@linkplain #split() block form}, the entries for the sensitivity of a market data delta
+   * to other market data do not contribute to the diagonal part.
    * 
    * @return the diagonal part
    */
   public CurrencyParameterSensitivities diagonal() {
-    return CurrencyParameterSensitivities.of(sensitivities.stream().map(s -> s.diagonal()).collect(Collectors.toList()));
+    return CurrencyParameterSensitivities.of(sensitivities.stream()
+        .filter(s -> s.hasSensitivity(s.getMarketDataName()))
+        .map(s -> s.diagonal())
+        .collect(Collectors.toList()));
   }
 
   //-------------------------------------------------------------------------
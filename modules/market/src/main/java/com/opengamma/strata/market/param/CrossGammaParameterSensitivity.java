@@ -229,11 +229,19 @@ public final class CrossGammaParameterSensitivity
   public int compareKey(CrossGammaParameterSensitivity other) {
     return ComparisonChain.start()
         .compare(marketDataName, other.marketDataName)
-        .compare(order.toString(), other.order.toString())
+        .compare(order, other.order, CrossGammaParameterSensitivity::compareOrder)
         .compare(currency, other.currency)
         .result();
   }
 
+  // compares the order, avoiding the string conversion when equal, which is the common case when combining
+  private static int compareOrder(
+      List<Pair<MarketDataName<?>, List<? extends ParameterMetadata>>> order1,
+      List<Pair<MarketDataName<?>, List<? extends ParameterMetadata>>> order2) {
+
+    return order1.equals(order2) ? 0 : order1.toString().compareTo(order2.toString());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Converts this sensitivity to an equivalent in the specified currency.
@@ -298,6 +306,56 @@ public final class CrossGammaParameterSensitivity
     return new CrossGammaParameterSensitivity(marketDataName, parameterMetadata, order, currency, sensitivity);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Splits this sensitivity instance into blocks.
+   * <p>
+   * A single sensitivity instance may hold the sensitivity of the market data delta to more than
+   * one market data, as represented by {@link #getOrder()}. Calling this method returns a list
+   * where the sensitivity of this instance has been split into one instance for each entry of the order.
+   * In the common case where the order has a single entry, the list will be of size one containing this instance.
+   * 
+   * @return this sensitivity split as per the order, ordered as per this instance
+   */
+  public ImmutableList<CrossGammaParameterSensitivity> split() {
+    if (order.size() == 1) {
+      return ImmutableList.of(this);
+    }
+    ImmutableList.Builder<CrossGammaParameterSensitivity> builder = ImmutableList.builder();
+    int rowCt = getParameterCount();
+    int startIndex = 0;
+    for (Pair<MarketDataName<?>, List<? extends ParameterMetadata>> entry : order) {
+      int colCt = entry.getSecond().size();
+      double[][] sensi = new double[rowCt][colCt];
+      for (int i = 0; i < rowCt; ++i) {
+        System.arraycopy(sensitivity.rowArray(i), startIndex, sensi[i], 0, colCt);
+      }
+      builder.add(CrossGammaParameterSensitivity.of(
+          marketDataName, parameterMetadata, entry.getFirst(), entry.getSecond(), currency, DoubleMatrix.ofUnsafe(sensi)));
+      startIndex += colCt;
+    }
+    return builder.build();
+  }
+
+  /**
+   * Checks if the sensitivity values are all zero within the specified tolerance.
+   * 
+   * @param tolerance  the tolerance
+   * @return true if all the values are zero within the tolerance
+   */
+  public boolean isZero(double tolerance) {
+    int rowCt = sensitivity.rowCount();
+    int colCt = sensitivity.columnCount();
+    for (int i = 0; i < rowCt; ++i) {
+      for (int j = 0; j < colCt; ++j) {
+        if (Math.abs(sensitivity.get(i, j)) > tolerance) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the total of the sensitivity values.
@@ -323,6 +381,16 @@ public final class CrossGammaParameterSensitivity
         DoubleArray.of(size, i -> blockDiagonal.getSensitivity().get(i, i)));
   }
 
+  /**
+   * Checks if this instance holds the sensitivity to the market data specified by {@code name}.
+   * 
+   * @param name  the name
+   * @return true if the name is in the order
+   */
+  public boolean hasSensitivity(MarketDataName<?> name) {
+    return order.stream().anyMatch(entry -> entry.getFirst().equals(name));
+  }
+
   /**
    * Returns the sensitivity to the market data specified by {@code name}.
    * <p>
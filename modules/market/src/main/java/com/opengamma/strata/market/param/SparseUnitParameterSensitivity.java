@@ -0,0 +1,568 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableValidator;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.ObjIntPair;
+import com.opengamma.strata.data.MarketDataName;
+
+/**
+ * Sparse unit parameter sensitivity for parameterized market data, such as a curve.
+ * <p>
+ * This is an alternative form of {@link UnitParameterSensitivity} for the case where the
+ * sensitivity is non-zero only for a contiguous range of parameters.
+ * This is the typical case for the sensitivity of an interpolated value, where only the
+ * nodes close to the x-value have an effect. For example, linear interpolation gives
+ * a sensitivity to at most two parameters, irrespective of the number of nodes.
+ * <p>
+ * The sensitivity is expressed as the index of the first parameter of the range,
+ * together with the sensitivity values of the parameters in the range.
+ * The sensitivity to every parameter outside the range is zero.
+ */
+@BeanDefinition(builderScope = "private")
+public final class SparseUnitParameterSensitivity
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The market data name.
+   * <p>
+   * This name is used in the market data system to identify the data that the sensitivities refer to.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final MarketDataName<?> marketDataName;
+  /**
+   * The list of parameter metadata.
+   * <p>
+   * There is one entry for each parameter, including those outside the range.
+   */
+  @PropertyDefinition(validate = "notNull", builderType = "List<? extends ParameterMetadata>")
+  private final ImmutableList<ParameterMetadata> parameterMetadata;
+  /**
+   * The index of the first parameter of the range.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final int startIndex;
+  /**
+   * The parameter sensitivity values for the range.
+   * <p>
+   * There is one sensitivity value for each parameter in the range, starting at the start index.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray sensitivity;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the market data name, metadata, start index and sensitivity.
+   * <p>
+   * The market data name identifies the {@link ParameterizedData} instance that was queried.
+   * The parameter metadata provides information on each parameter.
+   * The range defined by the start index and the size of the sensitivity array must be
+   * within the parameter metadata list.
+   *
+   * @param marketDataName  the name of the market data that the sensitivity refers to
+   * @param parameterMetadata  the parameter metadata, one for each parameter
+   * @param startIndex  the index of the first parameter of the range
+   * @param sensitivity  the sensitivity values, one for each parameter of the range
+   * @return the sensitivity object
+   */
+  public static SparseUnitParameterSensitivity of(
+      MarketDataName<?> marketDataName,
+      List<? extends ParameterMetadata> parameterMetadata,
+      int startIndex,
+      DoubleArray sensitivity) {
+
+    return new SparseUnitParameterSensitivity(marketDataName, parameterMetadata, startIndex, sensitivity);
+  }
+
+  /**
+   * Obtains an instance from a unit parameter sensitivity.
+   * <p>
+   * The range is reduced to exclude the leading and trailing zero sensitivity values.
+   * Any parameter split of the input is not retained.
+   *
+   * @param sensitivity  the unit parameter sensitivity
+   * @return the sparse sensitivity object
+   */
+  public static SparseUnitParameterSensitivity of(UnitParameterSensitivity sensitivity) {
+    ObjIntPair<DoubleArray> range = nonZeroRange(sensitivity.getSensitivity());
+    return new SparseUnitParameterSensitivity(
+        sensitivity.getMarketDataName(), sensitivity.getParameterMetadata(), range.getSecond(), range.getFirst());
+  }
+
+  /**
+   * Reduces a parameter sensitivity array to the range containing the non-zero values.
+   * <p>
+   * The leading and trailing zero sensitivity values are removed.
+   *
+   * @param sensitivity  the sensitivity, one element for each parameter
+   * @return the sensitivity values of the non-zero range, paired with the index of the first parameter of the range
+   */
+  public static ObjIntPair<DoubleArray> nonZeroRange(DoubleArray sensitivity) {
+    int start = 0;
+    int end = sensitivity.size();
+    while (start < end && sensitivity.get(start) == 0d) {
+      start++;
+    }
+    while (end > start && sensitivity.get(end - 1) == 0d) {
+      end--;
+    }
+    return ObjIntPair.of(sensitivity.subArray(start, end), start);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    if (startIndex + sensitivity.size() > parameterMetadata.size()) {
+      throw new IllegalArgumentException("Range of sensitivity must be within the parameter metadata");
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of parameters.
+   * <p>
+   * This returns the number of parameters in the {@link ParameterizedData} instance,
+   * which is the size of the parameter metadata list, not the size of the range.
+   *
+   * @return the number of parameters
+   */
+  public int getParameterCount() {
+    return parameterMetadata.size();
+  }
+
+  /**
+   * Gets the sensitivity to the parameter at the specified index.
+   * <p>
+   * This returns zero if the index is outside the range.
+   *
+   * @param parameterIndex  the zero-based index of the parameter
+   * @return the sensitivity to the parameter
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public double getSensitivity(int parameterIndex) {
+    ArgChecker.inRange(parameterIndex, 0, getParameterCount(), "parameterIndex");
+    int rangeIndex = parameterIndex - startIndex;
+    return rangeIndex >= 0 && rangeIndex < sensitivity.size() ? sensitivity.get(rangeIndex) : 0d;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns an instance with the sensitivity values multiplied by the specified factor.
+   * <p>
+   * Each value in the sensitivity range will be multiplied by the factor.
+   *
+   * @param factor  the multiplicative factor
+   * @return an instance based on this one, with each sensitivity multiplied by the factor
+   */
+  public SparseUnitParameterSensitivity multipliedBy(double factor) {
+    return new SparseUnitParameterSensitivity(marketDataName, parameterMetadata, startIndex, sensitivity.multipliedBy(factor));
+  }
+
+  /**
+   * Returns an instance converted this sensitivity to a monetary value, multiplying by the specified factor.
+   * <p>
+   * The result is in the standard dense form, with one value for each parameter.
+   *
+   * @param currency  the currency of the amount
+   * @param amount  the amount to multiply by
+   * @return the resulting sensitivity object
+   */
+  public CurrencyParameterSensitivity multipliedBy(Currency currency, double amount) {
+    return CurrencyParameterSensitivity.of(marketDataName, parameterMetadata, currency, toDenseArray(amount));
+  }
+
+  /**
+   * Converts this sensitivity to the standard dense form.
+   *
+   * @return the unit parameter sensitivity, with one value for each parameter
+   */
+  public UnitParameterSensitivity toUnitParameterSensitivity() {
+    return UnitParameterSensitivity.of(marketDataName, parameterMetadata, toDenseArray(1d));
+  }
+
+  // expands the range to the full parameter count, applying the factor
+  private DoubleArray toDenseArray(double factor) {
+    double[] dense = new double[getParameterCount()];
+    for (int i = 0; i < sensitivity.size(); i++) {
+      dense[startIndex + i] = sensitivity.get(i) * factor;
+    }
+    return DoubleArray.ofUnsafe(dense);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SparseUnitParameterSensitivity}.
+   * @return the meta-bean, not null
+   */
+  public static SparseUnitParameterSensitivity.Meta meta() {
+    return SparseUnitParameterSensitivity.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(SparseUnitParameterSensitivity.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SparseUnitParameterSensitivity(
+      MarketDataName<?> marketDataName,
+      List<? extends ParameterMetadata> parameterMetadata,
+      int startIndex,
+      DoubleArray sensitivity) {
+    JodaBeanUtils.notNull(marketDataName, "marketDataName");
+    JodaBeanUtils.notNull(parameterMetadata, "parameterMetadata");
+    ArgChecker.notNegative(startIndex, "startIndex");
+    JodaBeanUtils.notNull(sensitivity, "sensitivity");
+    this.marketDataName = marketDataName;
+    this.parameterMetadata = ImmutableList.copyOf(parameterMetadata);
+    this.startIndex = startIndex;
+    this.sensitivity = sensitivity;
+    validate();
+  }
+
+  @Override
+  public SparseUnitParameterSensitivity.Meta metaBean() {
+    return SparseUnitParameterSensitivity.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the market data name.
+   * <p>
+   * This name is used in the market data system to identify the data that the sensitivities refer to.
+   * @return the value of the property, not null
+   */
+  public MarketDataName<?> getMarketDataName() {
+    return marketDataName;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the list of parameter metadata.
+   * <p>
+   * There is one entry for each parameter, including those outside the range.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<ParameterMetadata> getParameterMetadata() {
+    return parameterMetadata;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the index of the first parameter of the range.
+   * @return the value of the property
+   */
+  public int getStartIndex() {
+    return startIndex;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the parameter sensitivity values for the range.
+   * <p>
+   * There is one sensitivity value for each parameter in the range, starting at the start index.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getSensitivity() {
+    return sensitivity;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SparseUnitParameterSensitivity other = (SparseUnitParameterSensitivity) obj;
+      return JodaBeanUtils.equal(marketDataName, other.marketDataName) &&
+          JodaBeanUtils.equal(parameterMetadata, other.parameterMetadata) &&
+          (startIndex == other.startIndex) &&
+          JodaBeanUtils.equal(sensitivity, other.sensitivity);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(marketDataName);
+    hash = hash * 31 + JodaBeanUtils.hashCode(parameterMetadata);
+    hash = hash * 31 + JodaBeanUtils.hashCode(startIndex);
+    hash = hash * 31 + JodaBeanUtils.hashCode(sensitivity);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("SparseUnitParameterSensitivity{");
+    buf.append("marketDataName").append('=').append(marketDataName).append(',').append(' ');
+    buf.append("parameterMetadata").append('=').append(parameterMetadata).append(',').append(' ');
+    buf.append("startIndex").append('=').append(startIndex).append(',').append(' ');
+    buf.append("sensitivity").append('=').append(JodaBeanUtils.toString(sensitivity));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code SparseUnitParameterSensitivity}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code marketDataName} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<MarketDataName<?>> marketDataName = DirectMetaProperty.ofImmutable(
+        this, "marketDataName", SparseUnitParameterSensitivity.class, (Class) MarketDataName.class);
+    /**
+     * The meta-property for the {@code parameterMetadata} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<ParameterMetadata>> parameterMetadata = DirectMetaProperty.ofImmutable(
+        this, "parameterMetadata", SparseUnitParameterSensitivity.class, (Class) ImmutableList.class);
+    /**
+     * The meta-property for the {@code startIndex} property.
+     */
+    private final MetaProperty<Integer> startIndex = DirectMetaProperty.ofImmutable(
+        this, "startIndex", SparseUnitParameterSensitivity.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code sensitivity} property.
+     */
+    private final MetaProperty<DoubleArray> sensitivity = DirectMetaProperty.ofImmutable(
+        this, "sensitivity", SparseUnitParameterSensitivity.class, DoubleArray.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "marketDataName",
+        "parameterMetadata",
+        "startIndex",
+        "sensitivity");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 842855857:  // marketDataName
+          return marketDataName;
+        case -1169106440:  // parameterMetadata
+          return parameterMetadata;
+        case -1593646704:  // startIndex
+          return startIndex;
+        case 564403871:  // sensitivity
+          return sensitivity;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends SparseUnitParameterSensitivity> builder() {
+      return new SparseUnitParameterSensitivity.Builder();
+    }
+
+    @Override
+    public Class<? extends SparseUnitParameterSensitivity> beanType() {
+      return SparseUnitParameterSensitivity.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code marketDataName} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<MarketDataName<?>> marketDataName() {
+      return marketDataName;
+    }
+
+    /**
+     * The meta-property for the {@code parameterMetadata} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<ParameterMetadata>> parameterMetadata() {
+      return parameterMetadata;
+    }
+
+    /**
+     * The meta-property for the {@code startIndex} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> startIndex() {
+      return startIndex;
+    }
+
+    /**
+     * The meta-property for the {@code sensitivity} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleArray> sensitivity() {
+      return sensitivity;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 842855857:  // marketDataName
+          return ((SparseUnitParameterSensitivity) bean).getMarketDataName();
+        case -1169106440:  // parameterMetadata
+          return ((SparseUnitParameterSensitivity) bean).getParameterMetadata();
+        case -1593646704:  // startIndex
+          return ((SparseUnitParameterSensitivity) bean).getStartIndex();
+        case 564403871:  // sensitivity
+          return ((SparseUnitParameterSensitivity) bean).getSensitivity();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code SparseUnitParameterSensitivity}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<SparseUnitParameterSensitivity> {
+
+    private MarketDataName<?> marketDataName;
+    private List<? extends ParameterMetadata> parameterMetadata = ImmutableList.of();
+    private int startIndex;
+    private DoubleArray sensitivity;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 842855857:  // marketDataName
+          return marketDataName;
+        case -1169106440:  // parameterMetadata
+          return parameterMetadata;
+        case -1593646704:  // startIndex
+          return startIndex;
+        case 564403871:  // sensitivity
+          return sensitivity;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 842855857:  // marketDataName
+          this.marketDataName = (MarketDataName<?>) newValue;
+          break;
+        case -1169106440:  // parameterMetadata
+          this.parameterMetadata = (List<? extends ParameterMetadata>) newValue;
+          break;
+        case -1593646704:  // startIndex
+          this.startIndex = (Integer) newValue;
+          break;
+        case 564403871:  // sensitivity
+          this.sensitivity = (DoubleArray) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public SparseUnitParameterSensitivity build() {
+      return new SparseUnitParameterSensitivity(
+          marketDataName,
+          parameterMetadata,
+          startIndex,
+          sensitivity);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(160);
+      buf.append("SparseUnitParameterSensitivity.Builder{");
+      buf.append("marketDataName").append('=').append(JodaBeanUtils.toString(marketDataName)).append(',').append(' ');
+      buf.append("parameterMetadata").append('=').append(JodaBeanUtils.toString(parameterMetadata)).append(',').append(' ');
+      buf.append("startIndex").append('=').append(JodaBeanUtils.toString(startIndex)).append(',').append(' ');
+      buf.append("sensitivity").append('=').append(JodaBeanUtils.toString(sensitivity));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
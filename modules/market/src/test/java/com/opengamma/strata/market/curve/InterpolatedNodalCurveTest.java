@@ -12,6 +12,7 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +30,7 @@ import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.LabelDateParameterMetadata;
 import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.SparseUnitParameterSensitivity;
 import com.opengamma.strata.market.param.UnitParameterSensitivity;
 
 /**
@@ -125,6 +127,20 @@ public class InterpolatedNodalCurveTest {
     assertThat(test.firstDerivative(10d)).isEqualTo(interp.firstDerivative(10d));
   }
 
+  public void test_yValueSparseParameterSensitivity() {
+    InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, CurveInterpolators.LINEAR);
+    for (double x : new double[] {0.5d, 1d, 1.5d, 2d, 2.5d, 3d, 10d}) {
+      SparseUnitParameterSensitivity sparse = test.yValueSparseParameterSensitivity(x);
+      assertThat(sparse.getMarketDataName()).isEqualTo(CURVE_NAME);
+      assertThat(sparse.getSensitivity().size()).isLessThanOrEqualTo(2);
+      assertThat(sparse.toUnitParameterSensitivity()).isEqualTo(test.yValueParameterSensitivity(x));
+    }
+    InterpolatedNodalCurve spline =
+        InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, CurveInterpolators.NATURAL_SPLINE);
+    assertThat(spline.yValueSparseParameterSensitivity(1.5d).toUnitParameterSensitivity())
+        .isEqualTo(spline.yValueParameterSensitivity(1.5d));
+  }
+
   //-------------------------------------------------------------------------
   public void test_withMetadata() {
     InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
@@ -152,10 +168,44 @@ public class InterpolatedNodalCurveTest {
     assertThat(test.getYValues()).isEqualTo(YVALUES_BUMPED);
   }
 
+  public void test_withYValues_sharedStructure() {
+    InterpolatedNodalCurve base = InterpolatedNodalCurve.of(
+        METADATA_ENTRIES, XVALUES, YVALUES, CurveInterpolators.NATURAL_SPLINE, FLAT_EXTRAPOLATOR, LINEAR_EXTRAPOLATOR);
+    InterpolatedNodalCurve expected = InterpolatedNodalCurve.of(
+        METADATA_ENTRIES, XVALUES, YVALUES_BUMPED, CurveInterpolators.NATURAL_SPLINE, FLAT_EXTRAPOLATOR, LINEAR_EXTRAPOLATOR);
+    InterpolatedNodalCurve test = base.withYValues(YVALUES_BUMPED);
+    InterpolatedNodalCurve perturbed = base.withPerturbation((i, v, m) -> v - 2d);
+    assertThat(test).isEqualTo(expected);
+    assertThat(perturbed).isEqualTo(expected);
+    assertThat(test.getXValues()).isSameAs(base.getXValues());
+    assertThat(test.getMetadata()).isSameAs(base.getMetadata());
+    for (double x : new double[] {0.5d, 1d, 1.5d, 2d, 2.5d, 3d, 10d}) {
+      assertThat(test.yValue(x)).isEqualTo(expected.yValue(x));
+      assertThat(perturbed.yValue(x)).isEqualTo(expected.yValue(x));
+      assertThat(test.firstDerivative(x)).isEqualTo(expected.firstDerivative(x));
+      assertThat(test.yValueParameterSensitivity(x)).isEqualTo(expected.yValueParameterSensitivity(x));
+    }
+    assertSerialization(test);
+  }
+
   public void test_withValues_badSize() {
     InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
     assertThrowsIllegalArg(() -> base.withYValues(DoubleArray.EMPTY));
     assertThrowsIllegalArg(() -> base.withYValues(DoubleArray.of(4d, 6d)));
+    assertThrowsIllegalArg(() -> base.withYValues(null));
+  }
+
+  public void test_withParameter_spline() {
+    InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, CurveInterpolators.NATURAL_SPLINE);
+    InterpolatedNodalCurve test = base.withParameter(1, 7.5d);
+    InterpolatedNodalCurve expected = base.withYValues(YVALUES.with(1, 7.5d));
+    assertThat(test).isEqualTo(expected);
+    InterpolatedNodalCurve perturbed = base.withPerturbation((i, v, m) -> i == 1 ? 7.5d : v);
+    assertThat(perturbed).isEqualTo(expected);
+    for (double x : new double[] {0.5d, 1d, 1.5d, 2d, 2.5d, 3d, 10d}) {
+      assertThat(test.yValue(x)).isCloseTo(expected.yValue(x), offset(1e-12));
+      assertThat(perturbed.yValue(x)).isCloseTo(expected.yValue(x), offset(1e-12));
+    }
   }
 
   //-------------------------------------------------------------------------
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve.interpolator;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Vague performance test comparing the bound and compiled curve interpolators.
+ * <p>
+ * The time and the bytes allocated per interpolation are reported for each.
+ */
+public class CompiledCurveInterpolatorPerformance {
+
+  private static final int NB_NODES = 30;
+  private static final DoubleArray X_DATA = DoubleArray.of(NB_NODES, i -> 0.25 * (i + 1) * (i + 1) / 4d);
+  private static final DoubleArray Y_DATA = DoubleArray.of(NB_NODES, i -> 0.01 + 0.0005 * i);
+  private static final int NB_POINTS = 1_000;
+  private static final double[] X_TEST = new double[NB_POINTS];
+  static {
+    for (int i = 0; i < NB_POINTS; i++) {
+      X_TEST[i] = i * 0.06;
+    }
+  }
+  private static final int NB_LOOPS = 20_000;
+
+  public static void main(String[] args) throws Exception {
+    System.out.println("Go");
+    for (int i = 0; i < 10; i++) {
+      process("Linear", CurveInterpolators.LINEAR);
+      process("LogLinear", CurveInterpolators.LOG_LINEAR);
+      // several interpolators through the same call site, as when pricing against a set of curves
+      process("Mixed", CurveInterpolators.LINEAR, CurveInterpolators.LOG_LINEAR, CurveInterpolators.SQUARE_LINEAR);
+    }
+  }
+
+  private static void process(String name, CurveInterpolator... interpolators) {
+    CurveExtrapolator flat = CurveExtrapolators.FLAT;
+    int nbCurves = interpolators.length;
+    BoundCurveInterpolator[] bound = new BoundCurveInterpolator[nbCurves];
+    CompiledCurveInterpolator[] compiled = new CompiledCurveInterpolator[nbCurves];
+    for (int k = 0; k < nbCurves; k++) {
+      bound[k] = interpolators[k].bind(X_DATA, Y_DATA, flat, flat);
+      compiled[k] = CompiledCurveInterpolator.of(X_DATA, Y_DATA, interpolators[k], flat, flat, bound[k]);
+    }
+    double total = 0d;
+
+    long allocStart = allocatedBytes();
+    long start = System.nanoTime();
+    for (int i = 0; i < NB_LOOPS; i++) {
+      for (int j = 0; j < NB_POINTS; j++) {
+        total += bound[j % nbCurves].interpolate(X_TEST[j]);
+      }
+    }
+    long boundTime = System.nanoTime() - start;
+    long boundAlloc = allocatedBytes() - allocStart;
+
+    allocStart = allocatedBytes();
+    start = System.nanoTime();
+    for (int i = 0; i < NB_LOOPS; i++) {
+      for (int j = 0; j < NB_POINTS; j++) {
+        total += compiled[j % nbCurves].interpolate(X_TEST[j]);
+      }
+    }
+    long compiledTime = System.nanoTime() - start;
+    long compiledAlloc = allocatedBytes() - allocStart;
+
+    double count = (double) NB_LOOPS * NB_POINTS;
+    System.out.println("Total: " + total);
+    System.out.println(name + ": bound " + boundTime / count + " ns, " + boundAlloc / count + " bytes; " +
+        "compiled " + compiledTime / count + " ns, " + compiledAlloc / count + " bytes");
+  }
+
+  // the bytes allocated by the current thread, -1 if not available
+  private static long allocatedBytes() {
+    return CompiledCurveInterpolatorTest.allocatedBytes(Thread.currentThread().getId());
+  }
+
+}
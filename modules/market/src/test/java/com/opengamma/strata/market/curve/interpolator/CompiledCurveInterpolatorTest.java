@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve.interpolator;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link CompiledCurveInterpolator}.
+ */
+@Test
+public class CompiledCurveInterpolatorTest {
+
+  private static final DoubleArray X_DATA = DoubleArray.of(0.0, 0.4, 1.0, 1.8, 2.8, 5.0);
+  private static final DoubleArray Y_DATA = DoubleArray.of(3.0, 4.0, 3.1, 2.0, 7.0, 2.0);
+  private static final double[] X_TEST = {-1.0, -0.0, 0.0, 0.2, 0.4, 1.1, 1.8, 2.3, 4.99, 5.0, 6.0};
+  private static final CurveInterpolator[] INTERPOLATORS = {
+      CurveInterpolators.LINEAR, CurveInterpolators.LOG_LINEAR, CurveInterpolators.NATURAL_SPLINE};
+  private static final CurveExtrapolator[] EXTRAPOLATORS = {
+      CurveExtrapolators.FLAT, CurveExtrapolators.LINEAR, CurveExtrapolators.LOG_LINEAR};
+
+  public void test_interpolate() {
+    for (CurveInterpolator interpolator : INTERPOLATORS) {
+      for (CurveExtrapolator left : EXTRAPOLATORS) {
+        for (CurveExtrapolator right : EXTRAPOLATORS) {
+          BoundCurveInterpolator bound = interpolator.bind(X_DATA, Y_DATA, left, right);
+          CompiledCurveInterpolator test = CompiledCurveInterpolator.of(X_DATA, Y_DATA, interpolator, left, right, bound);
+          assertSame(test.getBound(), bound);
+          for (double x : X_TEST) {
+            assertEquals(test.interpolate(x), bound.interpolate(x));
+          }
+        }
+      }
+    }
+  }
+
+  public void test_interpolate_noAllocation() {
+    long threadId = Thread.currentThread().getId();
+    if (allocatedBytes(threadId) < 0) {
+      return;  // allocation counting is not available on this JVM
+    }
+    CurveExtrapolator flat = CurveExtrapolators.FLAT;
+    for (CurveInterpolator interpolator : new CurveInterpolator[] {CurveInterpolators.LINEAR, CurveInterpolators.LOG_LINEAR}) {
+      BoundCurveInterpolator bound = interpolator.bind(X_DATA, Y_DATA, flat, flat);
+      CompiledCurveInterpolator test = CompiledCurveInterpolator.of(X_DATA, Y_DATA, interpolator, flat, flat, bound);
+      double total = interpolateMany(test);  // warm up
+      long before = allocatedBytes(threadId);
+      total += interpolateMany(test);
+      long allocated = allocatedBytes(threadId) - before;
+      assertTrue(total != 0d);
+      // the measurement itself allocates a little, but a single allocation per call would be megabytes
+      assertTrue(allocated < 100_000, "Allocated " + allocated + " bytes");
+    }
+  }
+
+  private static double interpolateMany(CompiledCurveInterpolator interpolator) {
+    double total = 0d;
+    for (int i = 0; i < 1_000_000; i++) {
+      total += interpolator.interpolate(X_TEST[i % X_TEST.length]);
+    }
+    return total;
+  }
+
+  // the bytes allocated by the thread, read through the platform MBean server, -1 if not available
+  static long allocatedBytes(long threadId) {
+    try {
+      Object result = ManagementFactory.getPlatformMBeanServer().invoke(
+          new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME),
+          "getThreadAllocatedBytes",
+          new Object[] {threadId},
+          new String[] {long.class.getName()});
+      return (Long) result;
+    } catch (JMException | RuntimeException ex) {
+      return -1;
+    }
+  }
+
+  public void test_of_invalid() {
+    CurveInterpolator interpolator = CurveInterpolators.LINEAR;
+    CurveExtrapolator flat = CurveExtrapolators.FLAT;
+    BoundCurveInterpolator bound = interpolator.bind(X_DATA, Y_DATA, flat, flat);
+    assertThrowsIllegalArg(() -> CompiledCurveInterpolator.of(
+        DoubleArray.of(1d), DoubleArray.of(1d), interpolator, flat, flat, bound));
+    assertThrowsIllegalArg(() -> CompiledCurveInterpolator.of(
+        X_DATA, DoubleArray.of(1d, 2d), interpolator, flat, flat, bound));
+    assertThrowsIllegalArg(() -> CompiledCurveInterpolator.of(X_DATA, Y_DATA, interpolator, flat, flat, null));
+  }
+
+}
@@ -6,11 +6,15 @@
 package com.opengamma.strata.market.curve.interpolator;
 
 import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.tuple.ObjIntPair;
 
 /**
  * Test {@link LinearCurveInterpolator}.
@@ -76,6 +80,38 @@ public class LinearCurveInterpolatorTest {
     assertEquals(bci.parameterSensitivity(5.0).get(X_DATA.size() - 1), 1d, TOL);
   }
 
+  public void test_sparseParameterSensitivity() {
+    BoundCurveInterpolator bci = LINEAR_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    double[] xValues = {-1.0, 0.0, 0.2, 1.1, 1.8, 2.3, 5.0, 6.0};
+    DoubleMatrix bulk = bci.parameterSensitivity(xValues);
+    assertEquals(bulk.rowCount(), xValues.length);
+    for (int i = 0; i < xValues.length; i++) {
+      DoubleArray expected = bci.parameterSensitivity(xValues[i]);
+      ObjIntPair<DoubleArray> sparse = bci.sparseParameterSensitivity(xValues[i]);
+      assertTrue(sparse.getFirst().size() <= 2);
+      for (int j = 0; j < X_DATA.size(); j++) {
+        int k = j - sparse.getSecond();
+        double sparseValue = k >= 0 && k < sparse.getFirst().size() ? sparse.getFirst().get(k) : 0d;
+        assertEquals(sparseValue, expected.get(j), TOL);
+        assertEquals(bulk.get(i, j), expected.get(j), TOL);
+      }
+    }
+  }
+
+  public void test_interpolate_batch() {
+    BoundCurveInterpolator bci = LINEAR_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    double[] sorted = {-1.0, 0.0, 0.0, 0.2, 0.3, 1.1, 1.8, 1.8, 2.3, 2.5, 2.5, 5.0, 6.0};
+    double[] unsorted = {2.3, -1.0, 6.0, 0.2, 2.5, 0.0, 1.8, 1.1};
+    for (double[] xValues : new double[][] {sorted, unsorted}) {
+      double[] result = new double[xValues.length];
+      bci.interpolate(xValues, result);
+      for (int i = 0; i < xValues.length; i++) {
+        assertEquals(result[i], bci.interpolate(xValues[i]));
+      }
+    }
+    assertThrowsIllegalArg(() -> bci.interpolate(sorted, new double[1]));
+  }
+
   //-------------------------------------------------------------------------
   public void test_serialization() {
     assertSerialization(LINEAR_INTERPOLATOR);
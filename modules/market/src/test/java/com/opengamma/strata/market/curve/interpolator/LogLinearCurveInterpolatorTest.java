@@ -78,6 +78,19 @@ public class LogLinearCurveInterpolatorTest {
   }
 
   //-------------------------------------------------------------------------
+  public void test_interpolate_batch() {
+    BoundCurveInterpolator bci = LL_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    double[] sorted = {-1.0, 0.0, 0.2, 0.4, 1.1, 1.8, 2.3, 2.3, 4.9, 5.0, 6.0};
+    double[] unsorted = {2.3, -1.0, 6.0, 0.2, 4.9, 0.0, 1.8, 1.1};
+    for (double[] xValues : new double[][] {sorted, unsorted}) {
+      double[] result = new double[xValues.length];
+      bci.interpolate(xValues, result);
+      for (int i = 0; i < xValues.length; i++) {
+        assertEquals(result[i], bci.interpolate(xValues[i]));
+      }
+    }
+  }
+
   public void test_serialization() {
     assertSerialization(LL_INTERPOLATOR);
   }
@@ -6,7 +6,9 @@
 package com.opengamma.strata.market.curve.interpolator;
 
 import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import org.testng.annotations.Test;
 
@@ -74,6 +76,24 @@ public class NaturalSplineCurveInterpolatorTest {
     assertEquals(bci.parameterSensitivity(5.0).get(X_DATA.size() - 1), 1d, TOL);
   }
 
+  public void test_rebind() {
+    BoundCurveInterpolator base = NATURAL_SPLINE_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    for (int k = 0; k < X_DATA.size(); k++) {
+      DoubleArray yBumped = Y_DATA.with(k, Y_DATA.get(k) + 0.1);
+      BoundCurveInterpolator expected =
+          NATURAL_SPLINE_INTERPOLATOR.bind(X_DATA, yBumped, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+      BoundCurveInterpolator test =
+          NATURAL_SPLINE_INTERPOLATOR.rebind(base, k, X_DATA, yBumped, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+      for (double x : new double[] {-1.0, 0.0, 0.2, 1.1, 1.8, 2.3, 5.0, 6.0}) {
+        assertEquals(test.interpolate(x), expected.interpolate(x), TOL);
+        assertEquals(test.firstDerivative(x), expected.firstDerivative(x), TOL);
+        assertTrue(test.parameterSensitivity(x).equalWithTolerance(expected.parameterSensitivity(x), TOL));
+      }
+    }
+    assertThrowsIllegalArg(() -> NATURAL_SPLINE_INTERPOLATOR.rebind(
+        base, 1, X_DATA, Y_DATA.with(1, Double.NaN), FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR));
+  }
+
   //-------------------------------------------------------------------------
   public void test_serialization() {
     assertSerialization(NATURAL_SPLINE_INTERPOLATOR);
@@ -9,6 +9,7 @@ import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.util.List;
 import java.util.Optional;
@@ -245,6 +246,29 @@ public class CrossGammaParameterSensitivitiesTest {
             DoubleMatrix.of(2, 2, -500, -400, -200, -300)));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_split() {
+    CrossGammaParameterSensitivities test = SENSI_3.split();
+    assertEquals(test.size(), 4);
+    assertEquals(test.getSensitivity(NAME1, NAME2, USD), SENSI_3.getSensitivity(NAME1, NAME2, USD));
+    assertEquals(test.getSensitivity(NAME2, NAME1, USD), SENSI_3.getSensitivity(NAME2, NAME1, USD));
+    assertEquals(test.getSensitivity(NAME2, NAME2, USD), SENSI_3.getSensitivity(NAME2, NAME2, USD));
+    assertEquals(test.diagonal(), SENSI_3.diagonal());
+    assertEquals(test.total(), SENSI_3.total());
+    assertSame(SENSI_2.split(), SENSI_2);
+  }
+
+  public void test_split_tolerance() {
+    CrossGammaParameterSensitivity entryZero = CrossGammaParameterSensitivity.of(
+        NAME1, METADATA1, ImmutableList.of(Pair.of(NAME1, METADATA1), Pair.of(NAME3, METADATA3)), USD,
+        DoubleMatrix.of(2, 4, 100, 200, 0, 0, 300, 123, 0, 0));
+    CrossGammaParameterSensitivities test = CrossGammaParameterSensitivities.of(entryZero).split(0d);
+    assertEquals(test, CrossGammaParameterSensitivities.of(ENTRY_USD));
+    assertEquals(test.total(USD, FX_RATE), CrossGammaParameterSensitivities.of(entryZero).total(USD, FX_RATE));
+    assertThrowsIllegalArg(() -> test.getSensitivity(NAME1, NAME3, USD));
+    assertEquals(SENSI_3.split(500d).size(), 2);
+  }
+
   //-------------------------------------------------------------------------
   public void test_equalWithTolerance() {
     CrossGammaParameterSensitivities sensUsdTotal = CrossGammaParameterSensitivities.of(ENTRY_USD_TOTAL);
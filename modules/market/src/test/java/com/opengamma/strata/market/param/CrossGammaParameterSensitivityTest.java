@@ -9,6 +9,8 @@ import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import java.util.List;
 
@@ -135,6 +137,25 @@ public class CrossGammaParameterSensitivityTest {
     assertThrowsIllegalArg(() -> test.getSensitivity(CurveName.of("NAME-3")));
   }
 
+  public void test_split() {
+    CrossGammaParameterSensitivity test = CrossGammaParameterSensitivity.of(NAME1, METADATA_USD1,
+        ImmutableList.of(Pair.of(NAME1, METADATA_USD1), Pair.of(NAME2, METADATA_EUR1)), USD, MATRIX_USD_EUR);
+    assertEquals(test.split(), ImmutableList.of(
+        CrossGammaParameterSensitivity.of(NAME1, METADATA_USD1, USD, MATRIX_USD1),
+        CrossGammaParameterSensitivity.of(NAME1, METADATA_USD1, NAME2, METADATA_EUR1, USD, MATRIX_EUR1)));
+    CrossGammaParameterSensitivity single = CrossGammaParameterSensitivity.of(NAME1, METADATA_USD1, USD, MATRIX_USD1);
+    assertEquals(single.split(), ImmutableList.of(single));
+    assertTrue(test.hasSensitivity(NAME2));
+    assertFalse(single.hasSensitivity(NAME2));
+  }
+
+  public void test_isZero() {
+    CrossGammaParameterSensitivity test = CrossGammaParameterSensitivity.of(NAME1, METADATA_USD1, USD, MATRIX_USD1);
+    assertFalse(test.isZero(1d));
+    assertTrue(test.isZero(300d));
+    assertTrue(test.multipliedBy(0d).isZero(0d));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     CrossGammaParameterSensitivity test = CrossGammaParameterSensitivity.of(NAME1, METADATA_USD1, USD, MATRIX_USD1);
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.ObjIntPair;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * Test {@link SparseUnitParameterSensitivity}.
+ */
+@Test
+public class SparseUnitParameterSensitivityTest {
+
+  private static final double FACTOR1 = 3.14;
+  private static final DoubleArray RANGE1 = DoubleArray.of(0.25, 0.75);
+  private static final DoubleArray DENSE1 = DoubleArray.of(0, 0.25, 0.75, 0, 0);
+  private static final MarketDataName<?> NAME1 = CurveName.of("NAME-1");
+  private static final MarketDataName<?> NAME2 = CurveName.of("NAME-2");
+  private static final List<ParameterMetadata> METADATA1 = ParameterMetadata.listOfEmpty(5);
+  private static final List<ParameterMetadata> METADATA2 = ParameterMetadata.listOfEmpty(3);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    SparseUnitParameterSensitivity test = SparseUnitParameterSensitivity.of(NAME1, METADATA1, 1, RANGE1);
+    assertEquals(test.getMarketDataName(), NAME1);
+    assertEquals(test.getParameterMetadata(), METADATA1);
+    assertEquals(test.getParameterCount(), 5);
+    assertEquals(test.getStartIndex(), 1);
+    assertEquals(test.getSensitivity(), RANGE1);
+    for (int i = 0; i < DENSE1.size(); i++) {
+      assertEquals(test.getSensitivity(i), DENSE1.get(i));
+    }
+    assertThrowsIllegalArg(() -> test.getSensitivity(5));
+  }
+
+  public void test_of_badRange() {
+    assertThrowsIllegalArg(() -> SparseUnitParameterSensitivity.of(NAME1, METADATA1, 4, RANGE1));
+    assertThrowsIllegalArg(() -> SparseUnitParameterSensitivity.of(NAME1, METADATA1, -1, RANGE1));
+  }
+
+  public void test_of_unitParameterSensitivity() {
+    UnitParameterSensitivity base = UnitParameterSensitivity.of(NAME1, METADATA1, DENSE1);
+    SparseUnitParameterSensitivity test = SparseUnitParameterSensitivity.of(base);
+    assertEquals(test, SparseUnitParameterSensitivity.of(NAME1, METADATA1, 1, RANGE1));
+    assertEquals(test.toUnitParameterSensitivity(), base);
+    UnitParameterSensitivity zero = UnitParameterSensitivity.of(NAME1, METADATA1, DoubleArray.filled(5));
+    assertEquals(SparseUnitParameterSensitivity.of(zero).getSensitivity(), DoubleArray.EMPTY);
+    assertEquals(SparseUnitParameterSensitivity.of(zero).toUnitParameterSensitivity(), zero);
+  }
+
+  public void test_nonZeroRange() {
+    assertEquals(
+        SparseUnitParameterSensitivity.nonZeroRange(DoubleArray.of(0d, 0d, 1d, 0d, 2d, 0d)),
+        ObjIntPair.of(DoubleArray.of(1d, 0d, 2d), 2));
+    assertEquals(SparseUnitParameterSensitivity.nonZeroRange(DoubleArray.of(1d, 2d)), ObjIntPair.of(DoubleArray.of(1d, 2d), 0));
+    assertEquals(SparseUnitParameterSensitivity.nonZeroRange(DoubleArray.filled(3)).getFirst(), DoubleArray.EMPTY);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_multipliedBy() {
+    SparseUnitParameterSensitivity base = SparseUnitParameterSensitivity.of(NAME1, METADATA1, 1, RANGE1);
+    assertEquals(
+        base.multipliedBy(FACTOR1),
+        SparseUnitParameterSensitivity.of(NAME1, METADATA1, 1, RANGE1.multipliedBy(FACTOR1)));
+    assertEquals(
+        base.multipliedBy(USD, FACTOR1),
+        UnitParameterSensitivity.of(NAME1, METADATA1, DENSE1).multipliedBy(USD, FACTOR1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    SparseUnitParameterSensitivity test = SparseUnitParameterSensitivity.of(NAME1, METADATA1, 1, RANGE1);
+    coverImmutableBean(test);
+    SparseUnitParameterSensitivity test2 = SparseUnitParameterSensitivity.of(NAME2, METADATA2, 0, DoubleArray.of(1d));
+    coverBeanEquals(test, test2);
+  }
+
+}
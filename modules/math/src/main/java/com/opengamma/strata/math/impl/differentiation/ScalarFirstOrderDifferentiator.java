@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.math.impl.differentiation;
 
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -16,6 +18,9 @@ import com.opengamma.strata.math.MathException;
  * For a function $y = f(x)$ where $x$ and $y$ are scalars, this class produces
  * a gradient function $g(x)$, i.e. a function that returns the gradient for
  * each point $x$, where $g$ is the scalar $\frac{dy}{dx}$.
+ * <p>
+ * The calculation is performed on primitive {@code double} values.
+ * The methods taking a {@link Function} adapt onto the primitive methods.
  */
 public class ScalarFirstOrderDifferentiator
     implements Differentiator<Double, Double, Double> {
@@ -65,35 +70,31 @@ public class ScalarFirstOrderDifferentiator
   //-------------------------------------------------------------------------
   @Override
   public Function<Double, Double> differentiate(Function<Double, Double> function) {
+    ArgChecker.notNull(function, "function");
+    DoubleUnaryOperator derivative = differentiateDouble(function::apply);
+    return x -> {
+      ArgChecker.notNull(x, "x");
+      return derivative.applyAsDouble(x);
+    };
+  }
+
+  /**
+   * Provides a function that calculates the derivative of a primitive function.
+   * <p>
+   * The function is evaluated without boxing.
+   * 
+   * @param function  the function to differentiate
+   * @return a function that calculates the derivative
+   */
+  public DoubleUnaryOperator differentiateDouble(DoubleUnaryOperator function) {
     ArgChecker.notNull(function, "function");
     switch (differenceType) {
       case FORWARD:
-        return new Function<Double, Double>() {
-          @SuppressWarnings("synthetic-access")
-          @Override
-          public Double apply(Double x) {
-            ArgChecker.notNull(x, "x");
-            return (function.apply(x + eps) - function.apply(x)) / eps;
-          }
-        };
+        return x -> (function.applyAsDouble(x + eps) - function.applyAsDouble(x)) / eps;
       case CENTRAL:
-        return new Function<Double, Double>() {
-          @SuppressWarnings("synthetic-access")
-          @Override
-          public Double apply(Double x) {
-            ArgChecker.notNull(x, "x");
-            return (function.apply(x + eps) - function.apply(x - eps)) / twoEps;
-          }
-        };
+        return x -> (function.applyAsDouble(x + eps) - function.applyAsDouble(x - eps)) / twoEps;
       case BACKWARD:
-        return new Function<Double, Double>() {
-          @SuppressWarnings("synthetic-access")
-          @Override
-          public Double apply(Double x) {
-            ArgChecker.notNull(x, "x");
-            return (function.apply(x) - function.apply(x - eps)) / eps;
-          }
-        };
+        return x -> (function.applyAsDouble(x) - function.applyAsDouble(x - eps)) / eps;
       default:
         throw new IllegalArgumentException("Can only handle forward, backward and central differencing");
     }
@@ -105,49 +106,63 @@ public class ScalarFirstOrderDifferentiator
       Function<Double, Double> function,
       Function<Double, Boolean> domain) {
 
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(domain, "domain");
+    DoubleUnaryOperator derivative = differentiateDouble(function::apply, domain::apply);
+    return x -> {
+      ArgChecker.notNull(x, "x");
+      return derivative.applyAsDouble(x);
+    };
+  }
+
+  /**
+   * Provides a function that calculates the derivative of a primitive function within a domain.
+   * <p>
+   * The function is evaluated without boxing.
+   * 
+   * @param function  the function to differentiate
+   * @param domain  the domain of the function
+   * @return a function that calculates the derivative
+   */
+  public DoubleUnaryOperator differentiateDouble(DoubleUnaryOperator function, DoublePredicate domain) {
     ArgChecker.notNull(function, "function");
     ArgChecker.notNull(domain, "domain");
     double[] wFwd = new double[] {-3. / twoEps, 4. / twoEps, -1. / twoEps};
     double[] wCent = new double[] {-1. / twoEps, 0., 1. / twoEps};
     double[] wBack = new double[] {1. / twoEps, -4. / twoEps, 3. / twoEps};
 
-    return new Function<Double, Double>() {
-      @SuppressWarnings("synthetic-access")
-      @Override
-      public Double apply(Double x) {
-        ArgChecker.notNull(x, "x");
-        ArgChecker.isTrue(domain.apply(x), "point {} is not in the function domain", x.toString());
-
-        double[] y = new double[3];
-        double[] w;
-
-        if (!domain.apply(x + eps)) {
-          if (!domain.apply(x - eps)) {
-            throw new MathException("cannot get derivative at point " + x.toString());
-          }
-          y[0] = function.apply(x - twoEps);
-          y[1] = function.apply(x - eps);
-          y[2] = function.apply(x);
-          w = wBack;
+    return x -> {
+      ArgChecker.isTrue(domain.test(x), "point {} is not in the function domain", x);
+
+      double[] y = new double[3];
+      double[] w;
+
+      if (!domain.test(x + eps)) {
+        if (!domain.test(x - eps)) {
+          throw new MathException("cannot get derivative at point " + x);
+        }
+        y[0] = function.applyAsDouble(x - twoEps);
+        y[1] = function.applyAsDouble(x - eps);
+        y[2] = function.applyAsDouble(x);
+        w = wBack;
+      } else {
+        if (!domain.test(x - eps)) {
+          y[0] = function.applyAsDouble(x);
+          y[1] = function.applyAsDouble(x + eps);
+          y[2] = function.applyAsDouble(x + twoEps);
+          w = wFwd;
         } else {
-          if (!domain.apply(x - eps)) {
-            y[0] = function.apply(x);
-            y[1] = function.apply(x + eps);
-            y[2] = function.apply(x + twoEps);
-            w = wFwd;
-          } else {
-            y[0] = function.apply(x - eps);
-            y[2] = function.apply(x + eps);
-            w = wCent;
-          }
+          y[0] = function.applyAsDouble(x - eps);
+          y[2] = function.applyAsDouble(x + eps);
+          w = wCent;
         }
+      }
 
-        double res = y[0] * w[0] + y[2] * w[2];
-        if (w[1] != 0) {
-          res += y[1] * w[1];
-        }
-        return res;
+      double res = y[0] * w[0] + y[2] * w[2];
+      if (w[1] != 0) {
+        res += y[1] * w[1];
       }
+      return res;
     };
   }
 
@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.math.impl.differentiation;
 
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -14,6 +16,9 @@ import com.opengamma.strata.collect.ArgChecker;
  * <p>
  * For a function $y = f(x)$ where $x$ and $y$ are scalars, this class produces
  * a function that returns the second derivative value for each point, i.e., $\frac{d^2 f}{dx^2}$.
+ * <p>
+ * The calculation is performed on primitive {@code double} values.
+ * The methods taking a {@link Function} adapt onto the primitive methods.
  */
 public class ScalarSecondOrderDifferentiator
     implements Differentiator<Double, Double, Double> {
@@ -51,41 +56,66 @@ public class ScalarSecondOrderDifferentiator
   @Override
   public Function<Double, Double> differentiate(Function<Double, Double> function) {
     ArgChecker.notNull(function, "function");
-    return new Function<Double, Double>() {
-      @SuppressWarnings("synthetic-access")
-      @Override
-      public Double apply(Double x) {
-        ArgChecker.notNull(x, "x");
-        return (function.apply(x + eps) + function.apply(x - eps) - 2d * function.apply(x)) / epsSqr;
-      }
+    DoubleUnaryOperator derivative = differentiateDouble(function::apply);
+    return x -> {
+      ArgChecker.notNull(x, "x");
+      return derivative.applyAsDouble(x);
     };
   }
 
+  /**
+   * Provides a function that calculates the second derivative of a primitive function.
+   * <p>
+   * The function is evaluated without boxing.
+   * 
+   * @param function  the function to differentiate
+   * @return a function that calculates the second derivative
+   */
+  public DoubleUnaryOperator differentiateDouble(DoubleUnaryOperator function) {
+    ArgChecker.notNull(function, "function");
+    return x -> (function.applyAsDouble(x + eps) + function.applyAsDouble(x - eps) - 2d * function.applyAsDouble(x)) / epsSqr;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public Function<Double, Double> differentiate(Function<Double, Double> function, Function<Double, Boolean> domain) {
     ArgChecker.notNull(function, "function");
     ArgChecker.notNull(domain, "domain");
-    return new Function<Double, Double>() {
-      @SuppressWarnings("synthetic-access")
-      @Override
-      public Double apply(Double x) {
-        ArgChecker.notNull(x, "x");
-        ArgChecker.isTrue(domain.apply(x), "point {} is not in the function domain", x.toString());
-        if (!domain.apply(x + threeEps)) {
-          if (!domain.apply(x - threeEps)) {
-            throw new IllegalArgumentException("cannot get derivative at point " + x.toString());
-          }
-          return (-function.apply(x - threeEps) + 4d * function.apply(x - twoEps)
-              - 5d * function.apply(x - eps) + 2d * function.apply(x)) / epsSqr;
-        } else {
-          if (!domain.apply(x - eps)) {
-            return (-function.apply(x + threeEps) + 4d * function.apply(x + twoEps)
-                - 5d * function.apply(x + eps) + 2d * function.apply(x)) / epsSqr;
-          } 
-          return (function.apply(x + eps) + function.apply(x - eps) - 2d * function.apply(x)) / epsSqr;
+    DoubleUnaryOperator derivative = differentiateDouble(function::apply, domain::apply);
+    return x -> {
+      ArgChecker.notNull(x, "x");
+      return derivative.applyAsDouble(x);
+    };
+  }
+
+  /**
+   * Provides a function that calculates the second derivative of a primitive function within a domain.
+   * <p>
+   * The function is evaluated without boxing.
+   * 
+   * @param function  the function to differentiate
+   * @param domain  the domain of the function
+   * @return a function that calculates the second derivative
+   */
+  public DoubleUnaryOperator differentiateDouble(DoubleUnaryOperator function, DoublePredicate domain) {
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(domain, "domain");
+    return x -> {
+      ArgChecker.isTrue(domain.test(x), "point {} is not in the function domain", x);
+      if (!domain.test(x + threeEps)) {
+        if (!domain.test(x - threeEps)) {
+          throw new IllegalArgumentException("cannot get derivative at point " + x);
         }
+        return (-function.applyAsDouble(x - threeEps) + 4d * function.applyAsDouble(x - twoEps)
+            - 5d * function.applyAsDouble(x - eps) + 2d * function.applyAsDouble(x)) / epsSqr;
+      } else {
+        if (!domain.test(x - eps)) {
+          return (-function.applyAsDouble(x + threeEps) + 4d * function.applyAsDouble(x + twoEps)
+              - 5d * function.applyAsDouble(x + eps) + 2d * function.applyAsDouble(x)) / epsSqr;
+        }
+        return (function.applyAsDouble(x + eps) + function.applyAsDouble(x - eps) - 2d * function.applyAsDouble(x)) / epsSqr;
       }
     };
   }
+
 }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.function.special;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.apache.commons.math3.exception.MaxCountExceededException;
@@ -24,7 +25,7 @@ import com.opengamma.strata.math.MathException;
  * <p>
  * This class uses the <a href="http://commons.apache.org/math/api-2.1/org/apache/commons/math/special/Beta.html">Commons Math library implementation</a> of the Beta function.
  */
-public class IncompleteBetaFunction implements Function<Double, Double> {
+public class IncompleteBetaFunction implements Function<Double, Double>, DoubleUnaryOperator {
 
   private final double _a;
   private final double _b;
@@ -70,7 +71,7 @@ public class IncompleteBetaFunction implements Function<Double, Double> {
    * @throws IllegalArgumentException if $x < 0$ or $x > 1$
    */
   @Override
-  public Double apply(Double x) {
+  public double applyAsDouble(double x) {
     ArgChecker.isTrue(x >= 0 && x <= 1, "x must be in the range 0 to 1");
     try {
       return Beta.regularizedBeta(x, _a, _b, _eps, _maxIter);
@@ -79,4 +80,9 @@ public class IncompleteBetaFunction implements Function<Double, Double> {
     }
   }
 
+  @Override
+  public Double apply(Double x) {
+    return applyAsDouble(x);
+  }
+
 }
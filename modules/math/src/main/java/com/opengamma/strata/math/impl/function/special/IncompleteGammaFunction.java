@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.function.special;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.apache.commons.math3.exception.MaxCountExceededException;
@@ -25,7 +26,7 @@ import com.opengamma.strata.math.MathException;
  * This class is a wrapper for the Commons Math library implementation of the incomplete gamma
  * function <a href="http://commons.apache.org/math/api-2.1/index.html">link</a>
  */
-public class IncompleteGammaFunction implements Function<Double, Double> {
+public class IncompleteGammaFunction implements Function<Double, Double>, DoubleUnaryOperator {
 
   private final int _maxIter;
   private final double _eps;
@@ -63,7 +64,7 @@ public class IncompleteGammaFunction implements Function<Double, Double> {
 
   //-------------------------------------------------------------------------
   @Override
-  public Double apply(Double x) {
+  public double applyAsDouble(double x) {
     try {
       return Gamma.regularizedGammaP(_a, x, _eps, _maxIter);
     } catch (MaxCountExceededException e) {
@@ -71,4 +72,9 @@ public class IncompleteGammaFunction implements Function<Double, Double> {
     }
   }
 
+  @Override
+  public Double apply(Double x) {
+    return applyAsDouble(x);
+  }
+
 }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.function.special;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.google.common.math.DoubleMath;
@@ -14,13 +15,13 @@ import com.opengamma.strata.math.MathException;
 /**
  * 
  */
-public class InverseIncompleteBetaFunction implements Function<Double, Double> {
+public class InverseIncompleteBetaFunction implements Function<Double, Double>, DoubleUnaryOperator {
 //TODO either find another implementation or delete this class
 
   private final double _a;
   private final double _b;
-  private final Function<Double, Double> _lnGamma = new NaturalLogGammaFunction();
-  private final Function<Double, Double> _beta;
+  private final DoubleUnaryOperator _lnGamma = new NaturalLogGammaFunction();
+  private final DoubleUnaryOperator _beta;
   private static final double EPS = 1e-9;
 
   /**
@@ -39,7 +40,7 @@ public class InverseIncompleteBetaFunction implements Function<Double, Double> {
 
   //-------------------------------------------------------------------------
   @Override
-  public Double apply(Double x) {
+  public double applyAsDouble(double x) {
     ArgChecker.inRangeInclusive(x, 0d, 1d, "x");
     double pp, p, t, h, w, lnA, lnB, u, a1 = _a - 1;
     double b1 = _b - 1;
@@ -68,13 +69,13 @@ public class InverseIncompleteBetaFunction implements Function<Double, Double> {
         p = 1 - Math.pow(_b * w * (1 - x), 1. / _b);
       }
     }
-    double afac = -_lnGamma.apply(_a) - _lnGamma.apply(_b) + _lnGamma.apply(_a + _b);
+    double afac = -_lnGamma.applyAsDouble(_a) - _lnGamma.applyAsDouble(_b) + _lnGamma.applyAsDouble(_a + _b);
     double error;
     for (int j = 0; j < 10; j++) {
       if (DoubleMath.fuzzyEquals(p, 0d, 1e-16) || DoubleMath.fuzzyEquals(p, (double) 1, 1e-16)) {
         throw new MathException("a or b too small for accurate evaluation");
       }
-      error = _beta.apply(p) - x;
+      error = _beta.applyAsDouble(p) - x;
       t = Math.exp(a1 * Math.log(p) + b1 * Math.log(1 - p) + afac);
       u = error / t;
       t = u / (1 - 0.5 * Math.min(1, u * (a1 / p - b1 / (1 - p))));
@@ -92,4 +93,9 @@ public class InverseIncompleteBetaFunction implements Function<Double, Double> {
     return p;
   }
 
+  @Override
+  public Double apply(Double x) {
+    return applyAsDouble(x);
+  }
+
 }
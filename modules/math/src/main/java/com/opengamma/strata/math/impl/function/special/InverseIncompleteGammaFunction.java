@@ -6,7 +6,7 @@
 package com.opengamma.strata.math.impl.function.special;
 
 import java.util.function.DoubleBinaryOperator;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.collect.ArgChecker;
 
@@ -16,7 +16,7 @@ import com.opengamma.strata.collect.ArgChecker;
 public class InverseIncompleteGammaFunction implements DoubleBinaryOperator {
 //TODO either find another implementation or delete this class
 
-  private final Function<Double, Double> _lnGamma = new NaturalLogGammaFunction();
+  private final DoubleUnaryOperator _lnGamma = new NaturalLogGammaFunction();
   private static final double EPS = 1e-8;
 
   //-------------------------------------------------------------------------
@@ -30,8 +30,8 @@ public class InverseIncompleteGammaFunction implements DoubleBinaryOperator {
     double u;
     double pp, lna1 = 0, afac = 0;
     double a1 = a - 1;
-    Function<Double, Double> gammaIncomplete = new IncompleteGammaFunction(a);
-    double gln = _lnGamma.apply(a);
+    DoubleUnaryOperator gammaIncomplete = new IncompleteGammaFunction(a);
+    double gln = _lnGamma.applyAsDouble(a);
     if (a > 1) {
       lna1 = Math.log(a1);
       afac = Math.exp(a1 * (lna1 - 1) - gln);
@@ -54,7 +54,7 @@ public class InverseIncompleteGammaFunction implements DoubleBinaryOperator {
       if (x <= 0) {
         return 0.;
       }
-      err = gammaIncomplete.apply(x) - p;
+      err = gammaIncomplete.applyAsDouble(x) - p;
       if (a > 1) {
         t = afac * Math.exp(-(x - a1) + a1 * (Math.log(x) - lna1));
       } else {
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.function.special;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.apache.commons.math3.special.Gamma;
@@ -18,12 +19,17 @@ import com.opengamma.strata.collect.ArgChecker;
  * <a href="http://commons.apache.org/proper/commons-math/javadocs/api-3.5/org/apache/commons/math3/special/Gamma.html">Commons Math library implementation</a> 
  * of the log-Gamma function
  */
-public class NaturalLogGammaFunction implements Function<Double, Double> {
+public class NaturalLogGammaFunction implements Function<Double, Double>, DoubleUnaryOperator {
 
   @Override
-  public Double apply(Double x) {
+  public double applyAsDouble(double x) {
     ArgChecker.isTrue(x > 0, "x must be greater than zero");
     return Gamma.logGamma(x);
   }
 
+  @Override
+  public Double apply(Double x) {
+    return applyAsDouble(x);
+  }
+
 }
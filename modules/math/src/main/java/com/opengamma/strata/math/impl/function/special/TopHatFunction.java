@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.function.special;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -26,7 +27,7 @@ import com.opengamma.strata.collect.ArgChecker;
  * 
  * This function is discontinuous at $x_1$ and $x_2$.
  */
-public class TopHatFunction implements Function<Double, Double> {
+public class TopHatFunction implements Function<Double, Double>, DoubleUnaryOperator {
 
   private final double _x1;
   private final double _x2;
@@ -54,8 +55,7 @@ public class TopHatFunction implements Function<Double, Double> {
    * @return The value of the function
    */
   @Override
-  public Double apply(Double x) {
-    ArgChecker.notNull(x, "x");
+  public double applyAsDouble(double x) {
     ArgChecker.isTrue(x != _x1, "Function is undefined for x = x1");
     ArgChecker.isTrue(x != _x2, "Function is undefined for x = x2");
     if (x > _x1 && x < _x2) {
@@ -64,4 +64,10 @@ public class TopHatFunction implements Function<Double, Double> {
     return 0.;
   }
 
+  @Override
+  public Double apply(Double x) {
+    ArgChecker.notNull(x, "x");
+    return applyAsDouble(x);
+  }
+
 }
@@ -5,7 +5,7 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import org.apache.commons.math3.analysis.integration.TrapezoidIntegrator;
 import org.apache.commons.math3.analysis.integration.UnivariateIntegrator;
@@ -31,7 +31,7 @@ import com.opengamma.strata.math.impl.util.CommonsMathWrapper;
  * <a href="http://commons.apache.org/proper/commons-math/apidocs/org/apache/commons/math3/analysis/integration/TrapezoidIntegrator.html">Commons Math library implementation</a> 
  * of trapezoidal integration.
  */
-public class ExtendedTrapezoidIntegrator1D extends Integrator1D<Double, Double> {
+public class ExtendedTrapezoidIntegrator1D extends RealIntegrator1D {
 
   private static final Logger log = LoggerFactory.getLogger(ExtendedTrapezoidIntegrator1D.class);
   private static final UnivariateIntegrator INTEGRATOR = new TrapezoidIntegrator();
@@ -43,10 +43,8 @@ public class ExtendedTrapezoidIntegrator1D extends Integrator1D<Double, Double>
    * {@inheritDoc}
    */
   @Override
-  public Double integrate(Function<Double, Double> f, Double lower, Double upper) {
+  public double integrateDouble(DoubleUnaryOperator f, double lower, double upper) {
     ArgChecker.notNull(f, "f");
-    ArgChecker.notNull(lower, "lower");
-    ArgChecker.notNull(upper, "upper");
     try {
       if (lower < upper) {
         return INTEGRATOR.integrate(MAX_EVAL, CommonsMathWrapper.wrapUnivariate(f), lower, upper);
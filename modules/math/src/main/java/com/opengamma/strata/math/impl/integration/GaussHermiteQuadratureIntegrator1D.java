@@ -5,7 +5,7 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.collect.ArgChecker;
 
@@ -56,17 +56,10 @@ public class GaussHermiteQuadratureIntegrator1D extends GaussianQuadratureIntegr
    * @throws UnsupportedOperationException If the lower limit is not $-\infty$ or the upper limit is not $\infty$
    */
   @Override
-  public Function<Double, Double> getIntegralFunction(Function<Double, Double> function, Double lower, Double upper) {
+  public DoubleUnaryOperator getIntegralFunctionDouble(DoubleUnaryOperator function, double lower, double upper) {
     ArgChecker.notNull(function, "function");
-    ArgChecker.notNull(lower, "lower");
-    ArgChecker.notNull(upper, "upper");
-    if (lower.equals(LIMITS[0]) && upper.equals(LIMITS[1])) {
-      return new Function<Double, Double>() {
-        @Override
-        public Double apply(Double x) {
-          return Math.exp(x * x) * function.apply(x);
-        }
-      };
+    if (lower == LIMITS[0] && upper == LIMITS[1]) {
+      return x -> Math.exp(x * x) * function.applyAsDouble(x);
     }
     throw new UnsupportedOperationException("Limits for this integration method are +/-infinity");
   }
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.integration;
+
+import java.util.function.DoubleUnaryOperator;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Composite Gauss-Kronrod integration on fixed nodes.
+ * <p>
+ * The integration interval is divided into a fixed number of panels of equal width.
+ * On each panel the 15-point Kronrod rule is applied, with the embedded 7-point Gauss rule
+ * providing an estimate of the error.
+ * <p>
+ * The nodes and weights on the reference interval are computed once at construction and only
+ * rescaled to the integration interval, thus the integrand is evaluated at exactly
+ * {@code 15 * numberOfPanels} points, whatever its shape.
+ * This makes it possible to evaluate several integrands at the same nodes in a single pass, see
+ * {@link #nodes(double, double)}, {@link #weights(double, double)} and {@link #errorWeights(double, double)}.
+ * <p>
+ * The Kronrod rule is exact for polynomials of degree up to 22 on each panel.
+ * For an integrand that is smooth on each panel, the difference between the Kronrod and the Gauss results,
+ * as returned by {@link #estimateError(DoubleUnaryOperator, double, double)}, is a conservative bound of the
+ * error of the Kronrod result. Unlike adaptive integrators, no tolerance is enforced;
+ * the number of panels must be chosen such that the bound is acceptable for the application.
+ * <p>
+ * Reference: Piessens, R., de Doncker-Kapenga, E., Uberhuber, C. W. and Kahaner, D. K. (1983).
+ * QUADPACK, A Subroutine Package for Automatic Integration. Springer-Verlag.
+ */
+public class GaussKronrodIntegrator1D extends RealIntegrator1D {
+
+  /**
+   * The number of nodes of the Kronrod rule on each panel.
+   */
+  private static final int NB_NODES = 15;
+  /**
+   * The non-negative abscissas of the 15-point Kronrod rule on [-1, 1].
+   * The odd indices are the abscissas of the 7-point Gauss rule.
+   */
+  private static final double[] XGK = {
+      0.991455371120812639206854697526329,
+      0.949107912342758524526189684047851,
+      0.864864423359769072789712788640926,
+      0.741531185599394439863864773280788,
+      0.586087235467691130294144845693013,
+      0.405845151377397166906606412076961,
+      0.207784955007898467600689403773245,
+      0.000000000000000000000000000000000};
+  /**
+   * The weights of the 15-point Kronrod rule.
+   */
+  private static final double[] WGK = {
+      0.022935322010529224963732008058970,
+      0.063092092629978553290700663189204,
+      0.104790010322250183839876322541518,
+      0.140653259715525918745189590510238,
+      0.169004726639267902826583426598550,
+      0.190350578064785409913256402421014,
+      0.204432940075298892414161999234649,
+      0.209482141084727828012999174891714};
+  /**
+   * The weights of the 7-point Gauss rule.
+   */
+  private static final double[] WG = {
+      0.129484966168869693270611432679082,
+      0.279705391489276667901467771423780,
+      0.381830050505118944950369775488975,
+      0.417959183673469387755102040816327};
+
+  /**
+   * The number of panels.
+   */
+  private final int nbPanels;
+  /**
+   * The nodes on the reference interval [0, 1].
+   */
+  private final double[] referenceNodes;
+  /**
+   * The Kronrod weights on the reference interval [0, 1].
+   */
+  private final double[] referenceWeights;
+  /**
+   * The Kronrod weights minus the Gauss weights on the reference interval [0, 1].
+   */
+  private final double[] referenceErrorWeights;
+
+  /**
+   * Creates an instance.
+   *
+   * @param nbPanels  the number of panels, strictly positive
+   */
+  public GaussKronrodIntegrator1D(int nbPanels) {
+    ArgChecker.isTrue(nbPanels > 0, "number of panels must be strictly positive");
+    this.nbPanels = nbPanels;
+    int nbNodes = nbPanels * NB_NODES;
+    this.referenceNodes = new double[nbNodes];
+    this.referenceWeights = new double[nbNodes];
+    this.referenceErrorWeights = new double[nbNodes];
+    double halfWidth = 0.5d / nbPanels;
+    for (int i = 0; i < nbPanels; i++) {
+      double center = (2 * i + 1) * halfWidth;
+      int offset = i * NB_NODES;
+      for (int j = 0; j < 7; j++) {
+        double gauss = j % 2 == 1 ? WG[j / 2] : 0d;
+        setNode(offset + j, center - halfWidth * XGK[j], halfWidth * WGK[j], halfWidth * (WGK[j] - gauss));
+        setNode(offset + NB_NODES - 1 - j, center + halfWidth * XGK[j], halfWidth * WGK[j], halfWidth * (WGK[j] - gauss));
+      }
+      setNode(offset + 7, center, halfWidth * WGK[7], halfWidth * (WGK[7] - WG[3]));
+    }
+  }
+
+  // sets the node and weights at the index
+  private void setNode(int index, double node, double weight, double errorWeight) {
+    referenceNodes[index] = node;
+    referenceWeights[index] = weight;
+    referenceErrorWeights[index] = errorWeight;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of panels.
+   *
+   * @return the number of panels
+   */
+  public int getNumberOfPanels() {
+    return nbPanels;
+  }
+
+  /**
+   * Gets the number of nodes, that is the number of evaluations of the integrand.
+   *
+   * @return the number of nodes
+   */
+  public int getNumberOfNodes() {
+    return referenceNodes.length;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the nodes for the integration interval.
+   * <p>
+   * The nodes are in increasing order if the lower bound is smaller than the upper bound.
+   *
+   * @param lower  the lower bound
+   * @param upper  the upper bound
+   * @return the nodes
+   */
+  public DoubleArray nodes(double lower, double upper) {
+    double width = upper - lower;
+    return DoubleArray.of(referenceNodes.length, i -> lower + width * referenceNodes[i]);
+  }
+
+  /**
+   * Obtains the Kronrod weights for the integration interval.
+   * <p>
+   * The integral is the sum of the values of the integrand at the {@linkplain #nodes(double, double) nodes}
+   * multiplied by these weights.
+   *
+   * @param lower  the lower bound
+   * @param upper  the upper bound
+   * @return the weights
+   */
+  public DoubleArray weights(double lower, double upper) {
+    double width = upper - lower;
+    return DoubleArray.of(referenceWeights.length, i -> width * referenceWeights[i]);
+  }
+
+  /**
+   * Obtains the error weights for the integration interval.
+   * <p>
+   * These are the Kronrod weights minus the Gauss weights, the latter being zero at the nodes
+   * which are not Gauss nodes. The sum over a panel of the values of the integrand multiplied by these weights
+   * is the difference between the Kronrod and the Gauss results on that panel.
+   *
+   * @param lower  the lower bound
+   * @param upper  the upper bound
+   * @return the error weights
+   */
+  public DoubleArray errorWeights(double lower, double upper) {
+    double width = upper - lower;
+    return DoubleArray.of(referenceErrorWeights.length, i -> width * referenceErrorWeights[i]);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double integrateDouble(DoubleUnaryOperator f, double lower, double upper) {
+    ArgChecker.notNull(f, "f");
+    double width = upper - lower;
+    double result = 0d;
+    for (int i = 0; i < referenceNodes.length; i++) {
+      result += referenceWeights[i] * f.applyAsDouble(lower + width * referenceNodes[i]);
+    }
+    return width * result;
+  }
+
+  /**
+   * Estimates the absolute error of the integration.
+   * <p>
+   * This is the sum over the panels of the absolute difference between the Kronrod and the Gauss results.
+   *
+   * @param f  the function to integrate, not null
+   * @param lower  the lower bound
+   * @param upper  the upper bound
+   * @return the error estimate
+   */
+  public double estimateError(DoubleUnaryOperator f, double lower, double upper) {
+    ArgChecker.notNull(f, "f");
+    double width = upper - lower;
+    double error = 0d;
+    for (int i = 0; i < nbPanels; i++) {
+      double panel = 0d;
+      for (int j = i * NB_NODES; j < (i + 1) * NB_NODES; j++) {
+        panel += referenceErrorWeights[j] * f.applyAsDouble(lower + width * referenceNodes[j]);
+      }
+      error += Math.abs(panel);
+    }
+    return Math.abs(width) * error;
+  }
+
+}
@@ -5,7 +5,7 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.collect.ArgChecker;
 
@@ -49,18 +49,11 @@ public class GaussLegendreQuadratureIntegrator1D extends GaussianQuadratureInteg
    * $$
    */
   @Override
-  public Function<Double, Double> getIntegralFunction(Function<Double, Double> function, Double lower, Double upper) {
+  public DoubleUnaryOperator getIntegralFunctionDouble(DoubleUnaryOperator function, double lower, double upper) {
     ArgChecker.notNull(function, "function");
-    ArgChecker.notNull(lower, "lower");
-    ArgChecker.notNull(upper, "upper");
     double m = (upper - lower) / 2;
     double c = (upper + lower) / 2;
-    return new Function<Double, Double>() {
-      @Override
-      public Double apply(Double x) {
-        return m * function.apply(m * x + c);
-      }
-    };
+    return x -> m * function.applyAsDouble(m * x + c);
   }
 
 }
@@ -6,6 +6,7 @@
 package com.opengamma.strata.math.impl.integration;
 
 import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -29,7 +30,7 @@ import com.opengamma.strata.math.impl.function.special.OrthogonalPolynomialFunct
  * (see {@link OrthogonalPolynomialFunctionGenerator} and {@link GaussLaguerreWeightAndAbscissaFunction}).
  * 
  */
-public abstract class GaussianQuadratureIntegrator1D extends Integrator1D<Double, Double> {
+public abstract class GaussianQuadratureIntegrator1D extends RealIntegrator1D {
 
   private final int size;
   private final QuadratureWeightAndAbscissaFunction generator;
@@ -53,12 +54,10 @@ public abstract class GaussianQuadratureIntegrator1D extends Integrator1D<Double
    * {@inheritDoc}
    */
   @Override
-  public Double integrate(Function<Double, Double> function, Double lower, Double upper) {
+  public double integrateDouble(DoubleUnaryOperator function, double lower, double upper) {
     ArgChecker.notNull(function, "function");
-    ArgChecker.notNull(lower, "lower");
-    ArgChecker.notNull(upper, "upper");
-    Function<Double, Double> integral = getIntegralFunction(function, lower, upper);
-    return integrateFromPolyFunc(integral);
+    DoubleUnaryOperator integral = getIntegralFunctionDouble(function, lower, upper);
+    return integrateFromPolyFuncDouble(integral);
   }
 
   /**
@@ -73,13 +72,27 @@ public abstract class GaussianQuadratureIntegrator1D extends Integrator1D<Double
    * @return The integral 
    */
   public double integrateFromPolyFunc(Function<Double, Double> polyFunction) {
+    ArgChecker.notNull(polyFunction, "polyFunction");
+    return integrateFromPolyFuncDouble(polyFunction::apply);
+  }
+
+  /**
+   * Approximates the integral of $W(x)f(x)$ from the function $f(x)$, evaluating on primitive values.
+   * <p>
+   * See {@link #integrateFromPolyFunc(Function)}.
+   * 
+   * @param polyFunction The function $f(x)$ rather than the full function $g(x) = W(x)f(x)$
+   *   This should be well approximated by a polynomial.
+   * @return The integral 
+   */
+  public double integrateFromPolyFuncDouble(DoubleUnaryOperator polyFunction) {
     ArgChecker.notNull(polyFunction, "polyFunction");
     double[] abscissas = quadrature.getAbscissas();
     int n = abscissas.length;
     double[] weights = quadrature.getWeights();
     double sum = 0;
     for (int i = 0; i < n; i++) {
-      sum += polyFunction.apply(abscissas[i]) * weights[i];
+      sum += polyFunction.applyAsDouble(abscissas[i]) * weights[i];
     }
     return sum;
   }
@@ -98,10 +111,30 @@ public abstract class GaussianQuadratureIntegrator1D extends Integrator1D<Double
    * @param upper The upper integration limit, not null
    * @return A function in the appropriate form for integration
    */
-  public abstract Function<Double, Double> getIntegralFunction(
+  public Function<Double, Double> getIntegralFunction(
       Function<Double, Double> function,
       Double lower,
-      Double upper);
+      Double upper) {
+
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(lower, "lower");
+    ArgChecker.notNull(upper, "upper");
+    DoubleUnaryOperator integral =
+        getIntegralFunctionDouble(function::apply, lower.doubleValue(), upper.doubleValue());
+    return integral::applyAsDouble;
+  }
+
+  /**
+   * Returns a primitive function that is valid for both the type of quadrature and the limits of integration. 
+   * @param function The function to be integrated, not null
+   * @param lower The lower integration limit
+   * @param upper The upper integration limit
+   * @return A function in the appropriate form for integration
+   */
+  public abstract DoubleUnaryOperator getIntegralFunctionDouble(
+      DoubleUnaryOperator function,
+      double lower,
+      double upper);
 
   @Override
   public int hashCode() {
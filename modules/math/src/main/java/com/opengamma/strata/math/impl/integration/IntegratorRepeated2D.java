@@ -6,10 +6,17 @@
 package com.opengamma.strata.math.impl.integration;
 
 import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.ArgChecker;
+
 /**
  * Two dimensional integration by repeated one dimensional integration using {@link Integrator1D}.
+ * <p>
+ * When the 1-D integrator is a {@link RealIntegrator1D}, the integration is performed on primitive values.
+ * The method taking a {@link BiFunction} adapts onto the primitive method.
  */
 public class IntegratorRepeated2D
     extends Integrator2D<Double, Double> {
@@ -17,7 +24,7 @@ public class IntegratorRepeated2D
   /**
    * The 1-D integrator to be used for each repeated integral.
    */
-  private final Integrator1D<Double, Double> _integrator1D;
+  private final RealIntegrator1D _integrator1D;
 
   /**
    * Constructor.
@@ -25,13 +32,37 @@ public class IntegratorRepeated2D
    * @param integrator1D  the 1-D integrator to be used for each repeated integral
    */
   public IntegratorRepeated2D(Integrator1D<Double, Double> integrator1D) {
-    _integrator1D = integrator1D;
+    ArgChecker.notNull(integrator1D, "integrator1D");
+    _integrator1D = integrator1D instanceof RealIntegrator1D ?
+        (RealIntegrator1D) integrator1D :
+        new RealIntegrator1D() {
+          @Override
+          public double integrateDouble(DoubleUnaryOperator f, double lower, double upper) {
+            return integrator1D.integrate((Function<Double, Double>) f::applyAsDouble, lower, upper);
+          }
+        };
   }
 
   //-------------------------------------------------------------------------
   @Override
   public Double integrate(BiFunction<Double, Double, Double> f, Double[] lower, Double[] upper) {
-    return _integrator1D.integrate(innerIntegral(f, lower[0], upper[0]), lower[1], upper[1]);
+    ArgChecker.notNull(f, "f");
+    ArgChecker.notNull(lower, "lower");
+    ArgChecker.notNull(upper, "upper");
+    return integrateDouble(f::apply, new double[] {lower[0], lower[1]}, new double[] {upper[0], upper[1]});
+  }
+
+  /**
+   * 2-D integration method on primitive values.
+   * 
+   * @param f  the function to integrate, not null
+   * @param lower  the lower bounds, the first for the inner variable and the second for the outer variable
+   * @param upper  the upper bounds, the first for the inner variable and the second for the outer variable
+   * @return the result of the integration
+   */
+  public double integrateDouble(DoubleBinaryOperator f, double[] lower, double[] upper) {
+    ArgChecker.notNull(f, "f");
+    return _integrator1D.integrateDouble(innerIntegral(f, lower[0], upper[0]), lower[1], upper[1]);
   }
 
   /**
@@ -43,8 +74,8 @@ public class IntegratorRepeated2D
    * @param upper  the upper bound (for the inner-first variable)
    * @return the inner integral function
    */
-  private Function<Double, Double> innerIntegral(BiFunction<Double, Double, Double> f, Double lower, Double upper) {
-    return y -> _integrator1D.integrate(x -> f.apply(x, y), lower, upper);
+  private DoubleUnaryOperator innerIntegral(DoubleBinaryOperator f, double lower, double upper) {
+    return y -> _integrator1D.integrateDouble(x -> f.applyAsDouble(x, y), lower, upper);
   }
 
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.integration;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Class for defining the integration of 1-D functions of real numbers.
+ * <p>
+ * The integration is performed on primitive {@code double} values, thus the function is evaluated without boxing.
+ * The method taking a {@link Function} adapts onto the primitive method.
+ */
+public abstract class RealIntegrator1D extends Integrator1D<Double, Double> {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Double integrate(Function<Double, Double> f, Double lower, Double upper) {
+    ArgChecker.notNull(f, "f");
+    ArgChecker.notNull(lower, "lower");
+    ArgChecker.notNull(upper, "upper");
+    return integrateDouble(f::apply, lower.doubleValue(), upper.doubleValue());
+  }
+
+  /**
+   * 1-D integration method on primitive values.
+   *
+   * @param f The function to integrate, not null
+   * @param lower The lower bound
+   * @param upper The upper bound
+   * @return The result of the integration
+   */
+  public abstract double integrateDouble(DoubleUnaryOperator f, double lower, double upper);
+
+}
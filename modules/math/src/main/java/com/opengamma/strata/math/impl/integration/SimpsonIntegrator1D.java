@@ -5,7 +5,7 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import org.apache.commons.math3.analysis.integration.SimpsonIntegrator;
 import org.apache.commons.math3.analysis.integration.UnivariateIntegrator;
@@ -33,7 +33,7 @@ import com.opengamma.strata.math.impl.util.CommonsMathWrapper;
  * <a href="http://commons.apache.org/proper/commons-math/apidocs/org/apache/commons/math3/analysis/integration/SimpsonIntegrator.html">Commons Math library implementation</a> 
  * of Simpson integration.
  */
-public class SimpsonIntegrator1D extends Integrator1D<Double, Double> {
+public class SimpsonIntegrator1D extends RealIntegrator1D {
 
   private static final Logger log = LoggerFactory.getLogger(SimpsonIntegrator1D.class);
   private static final int MAX_EVAL = 1000;
@@ -46,15 +46,13 @@ public class SimpsonIntegrator1D extends Integrator1D<Double, Double> {
    * in this case, the bounds are reversed and the result negated. 
    * 
    * @param f The function to integrate, not null
-   * @param lower The lower bound, not null
-   * @param upper The upper bound, not null
+   * @param lower The lower bound
+   * @param upper The upper bound
    * @return The result of the integration
    */
   @Override
-  public Double integrate(Function<Double, Double> f, Double lower, Double upper) {
+  public double integrateDouble(DoubleUnaryOperator f, double lower, double upper) {
     ArgChecker.notNull(f, "function");
-    ArgChecker.notNull(lower, "lower bound");
-    ArgChecker.notNull(upper, "upper bound");
     try {
       if (lower < upper) {
         return integrator.integrate(MAX_EVAL, CommonsMathWrapper.wrapUnivariate(f), lower, upper);
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.minimization;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -25,6 +26,11 @@ public class GoldenSectionMinimizer1D implements ScalarMinimizer {
     return minimize(f, lower, upper);
   }
 
+  @Override
+  public double minimizeDouble(DoubleUnaryOperator f, double startPosition, double lower, double upper) {
+    return minimizeDouble(f, lower, upper);
+  }
+
   /**
    * Minimize.
    * 
@@ -34,10 +40,23 @@ public class GoldenSectionMinimizer1D implements ScalarMinimizer {
    * @return the result
    */
   public double minimize(Function<Double, Double> f, double lower, double upper) {
+    ArgChecker.notNull(f, "function");
+    return minimizeDouble(f::apply, lower, upper);
+  }
+
+  /**
+   * Minimize a primitive function.
+   * 
+   * @param f  the function
+   * @param lower  the lower bound
+   * @param upper  the upper bound
+   * @return the result
+   */
+  public double minimizeDouble(DoubleUnaryOperator f, double lower, double upper) {
     ArgChecker.notNull(f, "function");
     double x0, x1, x2, x3, f1, f2, temp;
     int i = 0;
-    double[] triplet = BRACKETER.getBracketedPoints(f, lower, upper);
+    double[] triplet = BRACKETER.getBracketedPointsDouble(f, lower, upper);
     x0 = triplet[0];
     x3 = triplet[2];
     if (Math.abs(triplet[2] - triplet[1]) > Math.abs(triplet[1] - triplet[0])) {
@@ -47,8 +66,8 @@ public class GoldenSectionMinimizer1D implements ScalarMinimizer {
       x2 = triplet[1];
       x1 = triplet[0] + GOLDEN * (triplet[1] - triplet[0]);
     }
-    f1 = f.apply(x1);
-    f2 = f.apply(x2);
+    f1 = f.applyAsDouble(x1);
+    f2 = f.applyAsDouble(x2);
     while (Math.abs(x3 - x0) > EPS * (Math.abs(x1) + Math.abs(x2))) {
       if (f2 < f1) {
         temp = GOLDEN * (x2 - x3) + x3;
@@ -56,14 +75,14 @@ public class GoldenSectionMinimizer1D implements ScalarMinimizer {
         x1 = x2;
         x2 = temp;
         f1 = f2;
-        f2 = f.apply(temp);
+        f2 = f.applyAsDouble(temp);
       } else {
         temp = GOLDEN * (x1 - x0) + x0;
         x3 = x2;
         x2 = x1;
         x1 = temp;
         f2 = f1;
-        f1 = f.apply(temp);
+        f1 = f.applyAsDouble(temp);
       }
       i++;
       if (i > MAX_ITER) {
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.minimization;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.google.common.math.DoubleMath;
@@ -21,10 +22,19 @@ public abstract class MinimumBracketer {
    */
   protected static final double GOLDEN = 0.61803399;
 
-  public abstract double[] getBracketedPoints(Function<Double, Double> f, double xLower, double xUpper);
+  public double[] getBracketedPoints(Function<Double, Double> f, double xLower, double xUpper) {
+    ArgChecker.notNull(f, "function");
+    return getBracketedPointsDouble(f::apply, xLower, xUpper);
+  }
+
+  public abstract double[] getBracketedPointsDouble(DoubleUnaryOperator f, double xLower, double xUpper);
 
   protected void checkInputs(Function<Double, Double> f, double xLower, double xUpper) {
     ArgChecker.notNull(f, "function");
+    checkBounds(xLower, xUpper);
+  }
+
+  protected void checkBounds(double xLower, double xUpper) {
     if (DoubleMath.fuzzyEquals(xLower, xUpper, ZERO)) {
       throw new IllegalArgumentException("Lower and upper values were not distinct");
     }
@@ -5,8 +5,11 @@
  */
 package com.opengamma.strata.math.impl.minimization;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.ArgChecker;
+
 /**
  * Interface for classes that extend the functionality of {@link Minimizer} by providing
  * a method that allows the search area for the minimum to be bounded. 
@@ -22,4 +25,21 @@ public interface ScalarMinimizer extends Minimizer<Function<Double, Double>, Dou
    */
   double minimize(Function<Double, Double> function, double startPosition, double lowerBound, double upperBound);
 
+  /**
+   * Minimizes a primitive function.
+   * <p>
+   * The default implementation adapts onto the method taking a {@link Function}.
+   * Implementations should override this to evaluate the function without boxing.
+   * 
+   * @param function The function to minimize, not null
+   * @param startPosition The start position
+   * @param lowerBound The lower bound
+   * @param upperBound The upper bound, must be greater than the upper bound
+   * @return The minimum
+   */
+  default double minimizeDouble(DoubleUnaryOperator function, double startPosition, double lowerBound, double upperBound) {
+    ArgChecker.notNull(function, "function");
+    return minimize(function::applyAsDouble, startPosition, lowerBound, upperBound);
+  }
+
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+import cern.jet.stat.Probability;
+
+/**
+ * Counter-based generator of normally distributed random numbers.
+ * <p>
+ * The n-th number of a stream is a function of the key of the stream and of the counter n only.
+ * The numbers can thus be generated in any order, for example by different threads, with identical results.
+ * <p>
+ * The uniform numbers are obtained by applying the SplitMix64 finalizer twice, to the counter and
+ * to the counter combined with the key. Independent streams are obtained by {@link #split(long)}.
+ * The normal numbers are obtained by inversion of the cumulative distribution function,
+ * so that each normal number uses exactly one uniform number.
+ * <p>
+ * The methods of {@link RandomNumberGenerator} draw the numbers sequentially from an internal counter,
+ * which is the only mutable state of this class. The other methods are thread-safe.
+ */
+public final class CounterBasedRandomNumberGenerator
+    implements RandomNumberGenerator {
+
+  /**
+   * The odd constant used to spread the counters, the golden ratio.
+   */
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  /**
+   * The spacing of the uniform numbers, 2^-53.
+   */
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  /**
+   * The key of the stream.
+   */
+  private final long key;
+  /**
+   * The counter of the next number used in sequential generation.
+   */
+  private long counter;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a seed.
+   *
+   * @param seed  the seed
+   * @return the generator
+   */
+  public static CounterBasedRandomNumberGenerator of(long seed) {
+    return new CounterBasedRandomNumberGenerator(mix64(seed));
+  }
+
+  private CounterBasedRandomNumberGenerator(long key) {
+    this.key = key;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an independent stream.
+   * <p>
+   * The stream is identified by its index. The same index always returns the same stream.
+   *
+   * @param stream  the index of the stream
+   * @return the generator of the stream
+   */
+  public CounterBasedRandomNumberGenerator split(long stream) {
+    return new CounterBasedRandomNumberGenerator(mix64(key ^ mix64(stream * GOLDEN_GAMMA + GOLDEN_GAMMA)));
+  }
+
+  /**
+   * Obtains the uniform number for the specified counter.
+   * <p>
+   * The number is in the open interval (0, 1).
+   *
+   * @param counter  the counter
+   * @return the uniform number
+   */
+  public double uniform(long counter) {
+    long bits = mix64(key + mix64(counter * GOLDEN_GAMMA));
+    return ((bits >>> 11) + 0.5) * DOUBLE_UNIT;
+  }
+
+  /**
+   * Obtains the standard normal number for the specified counter.
+   *
+   * @param counter  the counter
+   * @return the normal number
+   */
+  public double normal(long counter) {
+    return Probability.normalInverse(uniform(counter));
+  }
+
+  /**
+   * Fills an array with standard normal numbers for consecutive counters.
+   * <p>
+   * The i-th element of the array is the normal number for the counter {@code firstCounter + i}.
+   *
+   * @param firstCounter  the counter of the first number
+   * @param result  the array used to return the normal numbers
+   */
+  public void normals(long firstCounter, double[] result) {
+    for (int i = 0; i < result.length; i++) {
+      result[i] = normal(firstCounter + i);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double[] getVector(int size) {
+    ArgChecker.notNegative(size, "size");
+    double[] result = new double[size];
+    normals(counter, result);
+    counter += size;
+    return result;
+  }
+
+  @Override
+  public List<double[]> getVectors(int arraySize, int listSize) {
+    ArgChecker.notNegative(arraySize, "arraySize");
+    ArgChecker.notNegative(listSize, "listSize");
+    List<double[]> result = new ArrayList<>(listSize);
+    for (int i = 0; i < listSize; i++) {
+      result.add(getVector(arraySize));
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  // the finalizer of SplitMix64, a bijection of the 64-bit integers
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+}
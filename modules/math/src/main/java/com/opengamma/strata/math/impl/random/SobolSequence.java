@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Sobol low-discrepancy sequence with random access.
+ * <p>
+ * The points are computed from the Gray code of their index, thus any point can be computed directly,
+ * and consecutive points are computed by a single exclusive or per dimension.
+ * This allows the sequence to be split in blocks generated independently, for example by different threads.
+ * <p>
+ * The direction numbers are those of Joe and Kuo, as used by the Commons Math {@code SobolSequenceGenerator},
+ * from which they are extracted. The dimension is limited to 1000 and the index to 2^31 - 1.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class SobolSequence {
+
+  /**
+   * The number of direction numbers, limiting the index to 2^31 - 1.
+   */
+  private static final int NB_DIRECTIONS = 31;
+  /**
+   * The number of bits of the points.
+   */
+  private static final int BITS = 52;
+  /**
+   * The scale of the points, 2^52.
+   */
+  private static final double SCALE = Math.pow(2, BITS);
+  /**
+   * The maximum index.
+   */
+  public static final long MAX_INDEX = (1L << NB_DIRECTIONS) - 1;
+
+  /**
+   * The direction numbers, by dimension and then by bit.
+   */
+  private final long[][] directions;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance for the specified dimension.
+   *
+   * @param dimension  the dimension, from 1 to 1000
+   * @return the sequence
+   */
+  public static SobolSequence of(int dimension) {
+    ArgChecker.inRangeInclusive(dimension, 1, 1000, "dimension");
+    SobolSequenceGenerator generator = new SobolSequenceGenerator(dimension);
+    long[][] directions = new long[dimension][NB_DIRECTIONS];
+    for (int k = 0; k < NB_DIRECTIONS; k++) {
+      // the Gray codes of 2^k - 1 and 2^k differ by the bit k only
+      double[] previous = generator.skipTo((int) ((1L << k) - 1));
+      double[] point = generator.nextVector();
+      for (int d = 0; d < dimension; d++) {
+        directions[d][k] = ((long) (previous[d] * SCALE)) ^ ((long) (point[d] * SCALE));
+      }
+    }
+    return new SobolSequence(directions);
+  }
+
+  private SobolSequence(long[][] directions) {
+    this.directions = directions;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the dimension of the sequence.
+   *
+   * @return the dimension
+   */
+  public int getDimension() {
+    return directions.length;
+  }
+
+  /**
+   * Computes the point of the specified index.
+   * <p>
+   * The point of index 0 is the origin.
+   *
+   * @param index  the index, from 0 to {@link #MAX_INDEX}
+   * @param result  the array used to return the point, of length the dimension
+   */
+  public void point(long index, double[] result) {
+    long[] state = new long[directions.length];
+    state(index, state);
+    for (int d = 0; d < directions.length; d++) {
+      result[d] = state[d] / SCALE;
+    }
+  }
+
+  /**
+   * Computes the points of consecutive indices.
+   * <p>
+   * The i-th point is the point of index {@code firstIndex + i}.
+   *
+   * @param firstIndex  the index of the first point
+   * @param result  the array used to return the points, each of length the dimension
+   */
+  public void points(long firstIndex, double[][] result) {
+    ArgChecker.isTrue(firstIndex + result.length - 1 <= MAX_INDEX, "index should be at most {}", MAX_INDEX);
+    long[] state = new long[directions.length];
+    state(firstIndex, state);
+    for (int i = 0; i < result.length; i++) {
+      if (i > 0) {
+        // the Gray codes of n - 1 and n differ by the lowest zero bit of n - 1
+        int bit = Long.numberOfTrailingZeros(~(firstIndex + i - 1));
+        for (int d = 0; d < directions.length; d++) {
+          state[d] ^= directions[d][bit];
+        }
+      }
+      for (int d = 0; d < directions.length; d++) {
+        result[i][d] = state[d] / SCALE;
+      }
+    }
+  }
+
+  // the integer representation of the point, exclusive or of the directions of the Gray code bits
+  private void state(long index, long[] state) {
+    ArgChecker.isTrue(index >= 0 && index <= MAX_INDEX, "index should be between 0 and {}", MAX_INDEX);
+    long gray = index ^ (index >>> 1);
+    for (int k = 0; gray != 0; k++, gray >>>= 1) {
+      if ((gray & 1L) != 0) {
+        for (int d = 0; d < directions.length; d++) {
+          state[d] ^= directions[d][k];
+        }
+      }
+    }
+  }
+
+}
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -68,9 +69,10 @@ public class NewtonRaphsonSingleRootFinder extends RealSingleRootFinder {
    *   step takes the estimate for the root outside the original bounds.
    */
   @Override
-  public Double getRoot(Function<Double, Double> function, Double x1, Double x2) {
+  public double getRootDouble(DoubleUnaryOperator function, double x1, double x2) {
     ArgChecker.notNull(function, "function");
-    return getRoot(DoubleFunction1D.from(function), x1, x2);
+    DoubleFunction1D f = function instanceof DoubleFunction1D ? (DoubleFunction1D) function : function::applyAsDouble;
+    return getRoot(f, f.derivative(), x1, x2);
   }
 
   //-------------------------------------------------------------------------
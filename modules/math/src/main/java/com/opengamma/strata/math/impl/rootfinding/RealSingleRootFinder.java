@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -12,6 +13,9 @@ import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 
 /**
  * Parent class for root-finders that find a single real root $x$ for a function $f(x)$.  
+ * <p>
+ * The root is found on primitive {@code double} values, thus the function is evaluated without boxing.
+ * The methods taking a {@link Function} adapt onto the primitive method.
  */
 //CSOFF: JavadocMethod
 public abstract class RealSingleRootFinder implements SingleRootFinder<Double, Double> {
@@ -23,7 +27,22 @@ public abstract class RealSingleRootFinder implements SingleRootFinder<Double, D
     return getRoot(function, startingPoints[0], startingPoints[1]);
   }
 
-  public abstract Double getRoot(Function<Double, Double> function, Double x1, Double x2);
+  public Double getRoot(Function<Double, Double> function, Double x1, Double x2) {
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(x1, "x1");
+    ArgChecker.notNull(x2, "x2");
+    return getRootDouble(function::apply, x1.doubleValue(), x2.doubleValue());
+  }
+
+  /**
+   * Finds the root of a primitive function.
+   * 
+   * @param function The function, not null
+   * @param x1 The first bound
+   * @param x2 The second bound
+   * @return The root
+   */
+  public abstract double getRootDouble(DoubleUnaryOperator function, double x1, double x2);
 
   /**
    * Tests that the inputs to the root-finder are not null, and that a root is bracketed by the bounding values.
@@ -57,4 +76,18 @@ public abstract class RealSingleRootFinder implements SingleRootFinder<Double, D
     ArgChecker.isTrue(function.applyAsDouble(x1) * function.applyAsDouble(x2) <= 0, "x1 and x2 do not bracket a root");
   }
 
+  /**
+   * Tests that the primitive function is not null, and that a root is bracketed by the bounding values.
+   * 
+   * @param function The function, not null
+   * @param x1 The first bound
+   * @param x2 The second bound, must be greater than x1
+   * @throws IllegalArgumentException if x1 and x2 do not bracket a root
+   */
+  protected void checkInputs(DoubleUnaryOperator function, double x1, double x2) {
+    ArgChecker.notNull(function, "function");
+    ArgChecker.isTrue(x1 <= x2, "x1 must be less or equal to  x2");
+    ArgChecker.isTrue(function.applyAsDouble(x1) * function.applyAsDouble(x2) <= 0, "x1 and x2 do not bracket a root");
+  }
+
 }
@@ -5,7 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.solvers.RiddersSolver;
@@ -53,7 +53,7 @@ public class RidderSingleRootFinder extends RealSingleRootFinder {
    *   if the Commons method could not converge.
    */
   @Override
-  public Double getRoot(Function<Double, Double> function, Double xLow, Double xHigh) {
+  public double getRootDouble(DoubleUnaryOperator function, double xLow, double xHigh) {
     checkInputs(function, xLow, xHigh);
     UnivariateFunction wrapped = CommonsMathWrapper.wrapUnivariate(function);
     try {
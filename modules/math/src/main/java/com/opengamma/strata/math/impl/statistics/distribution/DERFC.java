@@ -201,4 +201,25 @@ final class DERFC {
     return ret;
   }
 
+  /**
+   * Gets the scaled complimentary error function at position 'x', that is exp(x^2) * erfc(x).
+   * For x > 1 the Chebychev approximations of erfc are used without the exponential factor,
+   * thus the result is not subject to underflow.
+   * @param x the position at which to evaluate the scaled complimentary error function
+   * @return the scaled complimentary error function value at position 'x'
+   */
+  static double getErfcx(double x) {
+    if (x < 0d) {
+      return 2d * Math.exp(x * x) - getErfcx(-x);
+    }
+    if (x <= 1d) {
+      return Math.exp(x * x) * getErfc(x);
+    }
+    double y = x * x;
+    if (y <= 4d) {
+      return (0.5d + DCSEVL.compute((8.d / y - 5.d) / 3.d, s_erc2cs, NTERC2)) / x;
+    }
+    return (0.5d + DCSEVL.compute((8.d / y - 1.d), s_erfccs, NTERFC)) / x;
+  }
+
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.statistics.distribution;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The scaled complementary error function.
+ * <p>
+ * The function is defined by
+ * $$
+ * \begin{equation*}
+ * \mathrm{erfcx}(x) = e^{x^2}\mathrm{erfc}(x)
+ * \end{equation*}
+ * $$
+ * For large positive $x$ the complementary error function underflows, while the scaled function
+ * decreases like $1/(x\sqrt{\pi})$. It is computed here without the exponential factor for $x > 1$,
+ * thus it is accurate to close to machine precision on the whole positive real line.
+ * <p>
+ * This is typically used to compute ratios of the cumulative normal distribution to its density
+ * (Mills ratio) far in the tail of the distribution, as
+ * $\Phi(-x)/\phi(x) = \sqrt{\pi/2}\,\mathrm{erfcx}(x/\sqrt{2})$.
+ * <p>
+ * The implementation uses the Chebychev approximations of the SLATEC complementary error function, see
+ * http://www.netlib.org/slatec/fnlib/derfc.f
+ */
+public class ScaledComplementaryErrorFunction implements DoubleUnaryOperator {
+
+  @Override
+  public double applyAsDouble(double x) {
+    return DERFC.getErfcx(x);
+  }
+
+}
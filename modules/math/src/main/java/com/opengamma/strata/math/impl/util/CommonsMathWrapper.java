@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.util;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.apache.commons.math3.analysis.MultivariateFunction;
@@ -51,6 +52,17 @@ public final class CommonsMathWrapper {
     return f::apply;
   }
 
+  /**
+   * Wraps a primitive function.
+   * 
+   * @param f  a 1-D function mapping doubles onto doubles
+   * @return a Commons univariate real function
+   */
+  public static UnivariateFunction wrapUnivariate(DoubleUnaryOperator f) {
+    ArgChecker.notNull(f, "f");
+    return f::applyAsDouble;
+  }
+
   /**
    * Wraps a function.
    * 
@@ -7,6 +7,7 @@ package com.opengamma.strata.math.impl.differentiation;
 
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -70,4 +71,17 @@ public class ScalarFirstOrderDifferentiatorTest {
       assertEquals(alFunc.apply(x[i]), DX_ANALYTIC.apply(x[i]), 1e-8);
     }
   }
+
+  @Test
+  public void primitiveTest() {
+    final DoubleUnaryOperator f = x -> F.apply(x);
+    final double[] x = new double[] {1.2, 0, Math.PI };
+    for (ScalarFirstOrderDifferentiator differentiator : new ScalarFirstOrderDifferentiator[] {FORWARD, CENTRAL, BACKWARD}) {
+      assertEquals(differentiator.differentiateDouble(f).applyAsDouble(x[0]), differentiator.differentiate(F).apply(x[0]), 0d);
+    }
+    final DoubleUnaryOperator alFunc = CENTRAL.differentiateDouble(f, y -> DOMAIN.apply(y));
+    for (int i = 0; i < 3; i++) {
+      assertEquals(alFunc.applyAsDouble(x[i]), CENTRAL.differentiate(F, DOMAIN).apply(x[i]), 0d);
+    }
+  }
 }
@@ -8,6 +8,7 @@ package com.opengamma.strata.math.impl.differentiation;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -70,4 +71,15 @@ public class ScalarSecondOrderDifferentiatorTest {
     }
   }
 
+  public void primitiveTest() {
+    final DoubleUnaryOperator f = x -> F.apply(x);
+    final double[] x = new double[] {1.2, 0, Math.PI };
+    assertEquals(CALC.differentiateDouble(f).applyAsDouble(x[0]), CALC.differentiate(F).apply(x[0]), 0d);
+    final DoubleUnaryOperator alFunc = CALC.differentiateDouble(f, y -> DOMAIN.apply(y));
+    for (int i = 0; i < 3; i++) {
+      assertEquals(alFunc.applyAsDouble(x[i]), CALC.differentiate(F, DOMAIN).apply(x[i]), 0d);
+    }
+    assertThrowsIllegalArg(() -> CALC.differentiateDouble(null));
+  }
+
 }
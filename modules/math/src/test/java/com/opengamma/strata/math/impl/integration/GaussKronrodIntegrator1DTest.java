@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.integration;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.function.DoubleUnaryOperator;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link GaussKronrodIntegrator1D}.
+ */
+@Test
+public class GaussKronrodIntegrator1DTest extends Integrator1DTestCase {
+  private static final GaussKronrodIntegrator1D INTEGRATOR = new GaussKronrodIntegrator1D(4);
+
+  @Override
+  protected Integrator1D<Double, Double> getIntegrator() {
+    return INTEGRATOR;
+  }
+
+  public void test_nodes() {
+    DoubleArray nodes = INTEGRATOR.nodes(1d, 3d);
+    DoubleArray weights = INTEGRATOR.weights(1d, 3d);
+    assertEquals(INTEGRATOR.getNumberOfPanels(), 4);
+    assertEquals(INTEGRATOR.getNumberOfNodes(), 60);
+    assertEquals(nodes.size(), 60);
+    assertEquals(weights.size(), 60);
+    for (int i = 1; i < nodes.size(); i++) {
+      assertTrue(nodes.get(i) > nodes.get(i - 1));
+    }
+    assertTrue(nodes.get(0) > 1d);
+    assertTrue(nodes.get(59) < 3d);
+    assertEquals(weights.sum(), 2d, 1e-14);
+    assertEquals(INTEGRATOR.errorWeights(1d, 3d).sum(), 0d, 1e-14);
+  }
+
+  public void test_polynomial() {
+    DoubleUnaryOperator poly = x -> Math.pow(x, 22) - 3d * Math.pow(x, 7) + 1d;
+    double expected = Math.pow(2d, 23) / 23d - 3d * Math.pow(2d, 8) / 8d + 2d;
+    GaussKronrodIntegrator1D single = new GaussKronrodIntegrator1D(1);
+    assertEquals(single.integrateDouble(poly, 0d, 2d), expected, 1e-13 * expected);
+  }
+
+  public void test_batch() {
+    DoubleUnaryOperator f = x -> Math.exp(-x * x);
+    DoubleArray nodes = INTEGRATOR.nodes(-1d, 2d);
+    DoubleArray weights = INTEGRATOR.weights(-1d, 2d);
+    double batch = nodes.map(f).multipliedBy(weights).sum();
+    assertEquals(batch, INTEGRATOR.integrateDouble(f, -1d, 2d), 1e-15);
+  }
+
+  public void test_errorBound() {
+    DoubleUnaryOperator f = x -> Math.sqrt(x) * Math.exp(-x);
+    double expected = new RungeKuttaIntegrator1D(1e-14, 1e-14, 20).integrateDouble(f, 0.01, 5d);
+    for (int nbPanels = 1; nbPanels < 6; nbPanels++) {
+      GaussKronrodIntegrator1D integrator = new GaussKronrodIntegrator1D(nbPanels);
+      double error = Math.abs(integrator.integrateDouble(f, 0.01, 5d) - expected);
+      double bound = integrator.estimateError(f, 0.01, 5d);
+      assertTrue(error <= bound);
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> new GaussKronrodIntegrator1D(0));
+    assertThrowsIllegalArg(() -> INTEGRATOR.estimateError(null, 0d, 1d));
+  }
+
+}
@@ -8,6 +8,7 @@ package com.opengamma.strata.math.impl.integration;
 import static org.testng.AssertJUnit.assertEquals;
 
 import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
 
 import org.testng.annotations.Test;
 
@@ -51,4 +52,15 @@ public class IntegratorRepeated2DTest {
     assertEquals("Integration 2D - repeated 1D", resultExpected, result, 1E-6);
   }
 
+  @Test
+  /** Primitive integral vs the integral of the boxed function. */
+  public void integratePrimitive() {
+    BiFunction<Double, Double, Double> f = (x1, x2) -> x1 + Math.sin(x2);
+    DoubleBinaryOperator fPrimitive = (x1, x2) -> x1 + Math.sin(x2);
+    IntegratorRepeated2D integrator2D = new IntegratorRepeated2D(new RungeKuttaIntegrator1D(1.0E-6, 1.0E-6, 6));
+    double result = integrator2D.integrateDouble(fPrimitive, new double[] {0.25, 5.25}, new double[] {25.25, 35.25});
+    double resultBoxed = integrator2D.integrate(f, new Double[] {0.25, 5.25}, new Double[] {25.25, 35.25});
+    assertEquals("Integration 2D - repeated 1D", resultBoxed, result, 0d);
+  }
+
 }
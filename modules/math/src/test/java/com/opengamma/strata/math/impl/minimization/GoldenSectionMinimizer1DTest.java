@@ -5,6 +5,11 @@
  */
 package com.opengamma.strata.math.impl.minimization;
 
+import static org.testng.Assert.assertEquals;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
 import org.testng.annotations.Test;
 
 /**
@@ -19,4 +24,13 @@ public class GoldenSectionMinimizer1DTest extends Minimizer1DTestCase {
     super.assertInputs(MINIMIZER);
     super.assertMinimizer(MINIMIZER);
   }
+
+  public void test_primitive() {
+    GoldenSectionMinimizer1D minimizer = new GoldenSectionMinimizer1D();
+    DoubleUnaryOperator quadratic = x -> x * x + 7 * x + 12;
+    Function<Double, Double> boxed = x -> x * x + 7 * x + 12;
+    assertEquals(minimizer.minimizeDouble(quadratic, -10d, 10d), minimizer.minimize(boxed, 0d, -10d, 10d), 0d);
+    assertEquals(minimizer.minimizeDouble(quadratic, 0d, -10d, 10d), minimizer.minimize(boxed, 0d, -10d, 10d), 0d);
+    assertEquals(minimizer.minimizeDouble(quadratic, -10d, 10d), -3.5, 1e-5);
+  }
 }
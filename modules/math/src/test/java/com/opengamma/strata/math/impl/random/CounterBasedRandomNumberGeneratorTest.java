@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link CounterBasedRandomNumberGenerator}.
+ */
+@Test
+public class CounterBasedRandomNumberGeneratorTest {
+
+  private static final CounterBasedRandomNumberGenerator GENERATOR = CounterBasedRandomNumberGenerator.of(12345L);
+  private static final int NB_SAMPLES = 200_000;
+
+  public void test_deterministic() {
+    double[] sequential = CounterBasedRandomNumberGenerator.of(12345L).getVector(100);
+    double[] block = new double[40];
+    GENERATOR.normals(60, block);
+    for (int i = 0; i < 40; i++) {
+      assertEquals(block[i], sequential[60 + i]);
+      assertEquals(GENERATOR.normal(60 + i), sequential[60 + i]);
+    }
+    assertEquals(GENERATOR.split(3).uniform(17), CounterBasedRandomNumberGenerator.of(12345L).split(3).uniform(17));
+  }
+
+  public void test_moments() {
+    CounterBasedRandomNumberGenerator[] streams = {GENERATOR, GENERATOR.split(0), GENERATOR.split(1)};
+    for (CounterBasedRandomNumberGenerator stream : streams) {
+      double sum = 0d;
+      double sumSq = 0d;
+      double sumUniform = 0d;
+      for (int i = 0; i < NB_SAMPLES; i++) {
+        double x = stream.normal(i);
+        sum += x;
+        sumSq += x * x;
+        double u = stream.uniform(i);
+        assertTrue(u > 0d && u < 1d);
+        sumUniform += u;
+      }
+      double tol = 5d / Math.sqrt(NB_SAMPLES);
+      assertEquals(sum / NB_SAMPLES, 0d, tol);
+      assertEquals(sumSq / NB_SAMPLES, 1d, 2d * tol);
+      assertEquals(sumUniform / NB_SAMPLES, 0.5, tol);
+    }
+  }
+
+  public void test_independentStreams() {
+    CounterBasedRandomNumberGenerator stream1 = GENERATOR.split(1);
+    CounterBasedRandomNumberGenerator stream2 = GENERATOR.split(2);
+    double sum = 0d;
+    for (int i = 0; i < NB_SAMPLES; i++) {
+      sum += stream1.normal(i) * stream2.normal(i);
+    }
+    assertEquals(sum / NB_SAMPLES, 0d, 5d / Math.sqrt(NB_SAMPLES));
+  }
+
+  public void test_list() {
+    List<double[]> result = CounterBasedRandomNumberGenerator.of(1L).getVectors(10, 50);
+    assertEquals(result.size(), 50);
+    for (double[] d : result) {
+      assertEquals(d.length, 10);
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> GENERATOR.getVector(-1));
+    assertThrowsIllegalArg(() -> GENERATOR.getVectors(-1, 4));
+    assertThrowsIllegalArg(() -> GENERATOR.getVectors(1, -5));
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link SobolSequence}.
+ */
+@Test
+public class SobolSequenceTest {
+
+  private static final int DIMENSION = 12;
+  private static final SobolSequence SEQUENCE = SobolSequence.of(DIMENSION);
+
+  public void test_commonsMath() {
+    SobolSequenceGenerator expected = new SobolSequenceGenerator(DIMENSION);
+    double[][] computed = new double[1000][DIMENSION];
+    SEQUENCE.points(0, computed);
+    double[] point = new double[DIMENSION];
+    for (int i = 0; i < 1000; i++) {
+      double[] expectedPoint = expected.nextVector();
+      SEQUENCE.point(i, point);
+      for (int d = 0; d < DIMENSION; d++) {
+        assertEquals(computed[i][d], expectedPoint[d]);
+        assertEquals(point[d], expectedPoint[d]);
+      }
+    }
+    double[] far = expected.skipTo(123_456_789);
+    SEQUENCE.point(123_456_789, point);
+    for (int d = 0; d < DIMENSION; d++) {
+      assertEquals(point[d], far[d]);
+    }
+  }
+
+  public void test_blocks() {
+    double[][] all = new double[300][DIMENSION];
+    SEQUENCE.points(1, all);
+    double[][] block = new double[77][DIMENSION];
+    SEQUENCE.points(151, block);
+    for (int i = 0; i < 77; i++) {
+      for (int d = 0; d < DIMENSION; d++) {
+        assertEquals(block[i][d], all[150 + i][d]);
+      }
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> SobolSequence.of(0));
+    assertThrowsIllegalArg(() -> SobolSequence.of(1001));
+    assertThrowsIllegalArg(() -> SEQUENCE.point(-1, new double[DIMENSION]));
+    assertThrowsIllegalArg(() -> SEQUENCE.points(SobolSequence.MAX_INDEX, new double[2][DIMENSION]));
+  }
+
+}
@@ -7,6 +7,7 @@ package com.opengamma.strata.math.impl.rootfinding;
 
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -60,4 +61,17 @@ public abstract class RealSingleRootFinderTestCase {
     assertEquals(finder.getRoot(F, 1.5, 2.5), 2, EPS);
     assertEquals(finder.getRoot(F, -1.5, 0.5), -1, EPS);
   }
+
+  public void testPrimitive() {
+    RealSingleRootFinder finder = getRootFinder();
+    DoubleUnaryOperator f = x -> x * x * x - 4 * x * x + x + 6;
+    assertEquals(finder.getRootDouble(f, 2.5, 3.5), finder.getRoot(F, 2.5, 3.5), 0d);
+    assertEquals(finder.getRootDouble(f, 1.5, 2.5), finder.getRoot(F, 1.5, 2.5), 0d);
+    assertEquals(finder.getRootDouble(f, -1.5, 0.5), finder.getRoot(F, -1.5, 0.5), 0d);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testPrimitiveOutsideRoots() {
+    getRootFinder().getRootDouble(x -> x * x * x - 4 * x * x + x + 6, 10d, 100d);
+  }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.statistics.distribution;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.function.DoubleUnaryOperator;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link ScaledComplementaryErrorFunction}.
+ */
+@Test
+public class ScaledComplementaryErrorFunctionTest {
+
+  private static final DoubleUnaryOperator ERFCX = new ScaledComplementaryErrorFunction();
+  private static final double TOL = 1e-14;
+
+  public void test_moderate() {
+    for (int i = 0; i <= 80; i++) {
+      double x = -3d + 0.1 * i;
+      double expected = Math.exp(x * x) * DERFC.getErfc(x);
+      assertEquals(ERFCX.applyAsDouble(x), expected, TOL * (1d + x * x) * expected);
+    }
+  }
+
+  public void test_large() {
+    double[] xs = {30d, 100d, 1e4, 1e10};
+    for (double x : xs) {
+      // asymptotic expansion
+      double z = -1d / (2d * x * x);
+      double sum = 1d;
+      double term = 1d;
+      for (int k = 1; k < 10; k++) {
+        term *= (2 * k - 1) * z;
+        sum += term;
+      }
+      double expected = sum / (x * Math.sqrt(Math.PI));
+      assertEquals(ERFCX.applyAsDouble(x), expected, TOL * expected);
+    }
+  }
+
+  public void test_continuity() {
+    double[] xs = {1d, 2d};
+    for (double x : xs) {
+      double down = ERFCX.applyAsDouble(x - 1e-12);
+      double up = ERFCX.applyAsDouble(x + 1e-12);
+      assertEquals(up, down, 1e-11);
+    }
+  }
+
+  public void test_zero() {
+    assertEquals(ERFCX.applyAsDouble(0d), 1d, TOL);
+  }
+
+}
@@ -120,6 +120,45 @@ public interface DiscountFactors
    * @throws RuntimeException if the value cannot be obtained
    */
   public abstract double discountFactor(double yearFraction);
+
+  /**
+   * Gets the discount factors for the specified dates.
+   * <p>
+   * The result has one discount factor for each date, in the same order.
+   * Each discount factor is the same as would be returned by {@link #discountFactor(LocalDate)}.
+   * Implementations may evaluate dates sorted in ascending order more efficiently,
+   * such as the payment dates of a schedule, thus callers are encouraged to supply sorted dates where possible.
+   * 
+   * @param dates  the dates to discount to
+   * @return the discount factors
+   * @throws RuntimeException if a value cannot be obtained
+   */
+  public default double[] discountFactors(LocalDate[] dates) {
+    double[] yearFractions = new double[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      yearFractions[i] = relativeYearFraction(dates[i]);
+    }
+    return discountFactors(yearFractions);
+  }
+
+  /**
+   * Gets the discount factors for the specified year fractions.
+   * <p>
+   * The result has one discount factor for each year fraction, in the same order.
+   * Each discount factor is the same as would be returned by {@link #discountFactor(double)}.
+   * Implementations may evaluate year fractions sorted in ascending order more efficiently.
+   * 
+   * @param yearFractions  the year fractions
+   * @return the discount factors
+   * @throws RuntimeException if a value cannot be obtained
+   */
+  public default double[] discountFactors(double[] yearFractions) {
+    double[] result = new double[yearFractions.length];
+    for (int i = 0; i < yearFractions.length; i++) {
+      result[i] = discountFactor(yearFractions[i]);
+    }
+    return result;
+  }
   
   /**
    * Returns the discount factor derivative with respect to the year fraction or time.
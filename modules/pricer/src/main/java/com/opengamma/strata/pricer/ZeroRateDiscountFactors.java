@@ -166,6 +166,15 @@ public final class ZeroRateDiscountFactors
     return Math.exp(-yearFraction * curve.yValue(yearFraction));
   }
 
+  @Override
+  public double[] discountFactors(double[] yearFractions) {
+    double[] result = curve.yValues(yearFractions);
+    for (int i = 0; i < result.length; i++) {
+      result[i] = Math.exp(-yearFractions[i] * result[i]);
+    }
+    return result;
+  }
+
   @Override
   public double discountFactorTimeDerivative(double yearFraction) {
     double zr = curve.yValue(yearFraction);    
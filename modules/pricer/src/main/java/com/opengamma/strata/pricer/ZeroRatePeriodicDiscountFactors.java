@@ -178,6 +178,15 @@ public final class ZeroRatePeriodicDiscountFactors
     return Math.pow(1d + curve.yValue(relativeYearFraction) / frequency, -relativeYearFraction * frequency);
   }
 
+  @Override
+  public double[] discountFactors(double[] relativeYearFractions) {
+    double[] result = curve.yValues(relativeYearFractions);
+    for (int i = 0; i < result.length; i++) {
+      result[i] = Math.pow(1d + result[i] / frequency, -relativeYearFractions[i] * frequency);
+    }
+    return result;
+  }
+
   @Override
   public double discountFactorTimeDerivative(double yearFraction) {
     double zr = curve.yValue(yearFraction);
@@ -5,6 +5,11 @@
  */
 package com.opengamma.strata.pricer.cms;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.opengamma.strata.basics.currency.CurrencyAmount;
@@ -24,6 +29,8 @@ import com.opengamma.strata.product.cms.ResolvedCmsLeg;
  * <p>
  * This function provides the ability to price {@link ResolvedCmsLeg}. 
  * One must apply {@code resolved()} in order to price {@link CmsLeg}. 
+ * <p>
+ * The periods of the leg can be priced in parallel over a fork-join pool, see {@link #parallel(ForkJoinPool)}.
  */
 public class SabrExtrapolationReplicationCmsLegPricer {
 
@@ -31,6 +38,10 @@ public class SabrExtrapolationReplicationCmsLegPricer {
    * The pricer for {@link CmsPeriod}.
    */
   private final SabrExtrapolationReplicationCmsPeriodPricer cmsPeriodPricer;
+  /**
+   * The pool used to price the periods, null if sequential.
+   */
+  private final ForkJoinPool pool;
 
   /**
    * Creates an instance.
@@ -38,7 +49,39 @@ public class SabrExtrapolationReplicationCmsLegPricer {
    * @param cmsPeriodPricer  the pricer for {@link CmsPeriod}
    */
   public SabrExtrapolationReplicationCmsLegPricer(SabrExtrapolationReplicationCmsPeriodPricer cmsPeriodPricer) {
+    this(cmsPeriodPricer, null);
+  }
+
+  // creates an instance
+  private SabrExtrapolationReplicationCmsLegPricer(
+      SabrExtrapolationReplicationCmsPeriodPricer cmsPeriodPricer,
+      ForkJoinPool pool) {
+
     this.cmsPeriodPricer = ArgChecker.notNull(cmsPeriodPricer, "cmsPeriodPricer");
+    this.pool = pool;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a pricer that prices the periods of the leg in parallel using the common fork-join pool.
+   * 
+   * @return the parallel pricer
+   */
+  public SabrExtrapolationReplicationCmsLegPricer parallel() {
+    return parallel(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns a pricer that prices the periods of the leg in parallel using the specified fork-join pool.
+   * <p>
+   * The results of the periods are combined in the order of the periods,
+   * thus the result is identical to that of the sequential pricer.
+   * 
+   * @param pool  the fork-join pool
+   * @return the parallel pricer
+   */
+  public SabrExtrapolationReplicationCmsLegPricer parallel(ForkJoinPool pool) {
+    return new SabrExtrapolationReplicationCmsLegPricer(cmsPeriodPricer, ArgChecker.notNull(pool, "pool"));
   }
 
   //-------------------------------------------------------------------------
@@ -59,8 +102,8 @@ public class SabrExtrapolationReplicationCmsLegPricer {
       SabrSwaptionVolatilities swaptionVolatilities) {
 
     validate(ratesProvider, swaptionVolatilities);
-    return cmsLeg.getCmsPeriods().stream()
-        .map(cmsPeriod -> cmsPeriodPricer.presentValue(cmsPeriod, ratesProvider, swaptionVolatilities))
+    return evaluate(cmsLeg, cmsPeriod -> cmsPeriodPricer.presentValue(cmsPeriod, ratesProvider, swaptionVolatilities))
+        .stream()
         .reduce((c1, c2) -> c1.plus(c2))
         .get();
   }
@@ -114,8 +157,9 @@ public class SabrExtrapolationReplicationCmsLegPricer {
       SabrSwaptionVolatilities swaptionVolatilities) {
 
     validate(ratesProvider, swaptionVolatilities);
-    return cmsLeg.getCmsPeriods().stream()
-        .map(cmsPeriod -> cmsPeriodPricer.presentValueSensitivityRates(cmsPeriod, ratesProvider, swaptionVolatilities))
+    return evaluate(
+        cmsLeg, cmsPeriod -> cmsPeriodPricer.presentValueSensitivityRates(cmsPeriod, ratesProvider, swaptionVolatilities))
+        .stream()
         .reduce((p1, p2) -> p1.combinedWith(p2))
         .get();
   }
@@ -138,8 +182,10 @@ public class SabrExtrapolationReplicationCmsLegPricer {
       SabrSwaptionVolatilities swaptionVolatilities) {
 
     validate(ratesProvider, swaptionVolatilities);
-    return cmsLeg.getCmsPeriods().stream()
-        .map(cmsPeriod -> cmsPeriodPricer.presentValueSensitivityModelParamsSabr(cmsPeriod, ratesProvider, swaptionVolatilities))
+    return evaluate(
+        cmsLeg,
+        cmsPeriod -> cmsPeriodPricer.presentValueSensitivityModelParamsSabr(cmsPeriod, ratesProvider, swaptionVolatilities))
+        .stream()
         .reduce(PointSensitivityBuilder.none(), PointSensitivityBuilder::combinedWith)
         .normalize();
   }
@@ -162,8 +208,9 @@ public class SabrExtrapolationReplicationCmsLegPricer {
       SabrSwaptionVolatilities swaptionVolatilities) {
 
     validate(ratesProvider, swaptionVolatilities);
-    return cmsLeg.getCmsPeriods().stream()
-        .map(cmsPeriod -> cmsPeriodPricer.presentValueSensitivityStrike(cmsPeriod, ratesProvider, swaptionVolatilities))
+    return evaluate(
+        cmsLeg, cmsPeriod -> cmsPeriodPricer.presentValueSensitivityStrike(cmsPeriod, ratesProvider, swaptionVolatilities))
+        .stream()
         .collect(Collectors.summingDouble(Double::doubleValue));
   }
 
@@ -190,6 +237,14 @@ public class SabrExtrapolationReplicationCmsLegPricer {
   }
 
   //-------------------------------------------------------------------------
+  // prices each period, in parallel if a pool is set, the results being in the order of the periods
+  private <T> List<T> evaluate(ResolvedCmsLeg cmsLeg, Function<CmsPeriod, T> function) {
+    if (pool == null) {
+      return cmsLeg.getCmsPeriods().stream().map(function).collect(toImmutableList());
+    }
+    return pool.submit(() -> cmsLeg.getCmsPeriods().parallelStream().map(function).collect(toImmutableList())).join();
+  }
+
   private void validate(RatesProvider ratesProvider, SabrSwaptionVolatilities swaptionVolatilities) {
     ArgChecker.isTrue(swaptionVolatilities.getValuationDate().equals(ratesProvider.getValuationDate()),
         "volatility and rate data must be for the same date");
@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.credit;
 import java.time.LocalDate;
 import java.util.List;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
@@ -30,6 +31,10 @@ import com.opengamma.strata.product.credit.ResolvedCdsTrade;
  * Analytic spread sensitivity calculator.
  * <p>
  * This analytically computes the present value sensitivity to par spreads of bucketed CDSs. 
+ * <p>
+ * The implied credit curve is calibrated once and its Jacobian with respect to the par spreads is decomposed once.
+ * When the CS01 of several trades are computed together, these are shared between all the trades on the same credit curve,
+ * and each additional trade only requires its present value sensitivity to the curve parameters.
  */
 public class AnalyticSpreadSensitivityCalculator
     extends SpreadSensitivityCalculator {
@@ -77,10 +82,23 @@ public class AnalyticSpreadSensitivityCalculator
       CreditRatesProvider ratesProvider,
       ReferenceData refData) {
 
-    checkCdsBucket(trade, bucketCds);
-    ResolvedCds product = trade.getProduct();
-    Currency currency = product.getCurrency();
-    StandardId legalEntityId = product.getLegalEntityId();
+    return computedBucketedCs01(ImmutableList.of(trade), bucketCds, ratesProvider, refData).get(0);
+  }
+
+  // the implied credit curve and the decomposition of its Jacobian are computed once for all the trades
+  @Override
+  List<DoubleArray> computedBucketedCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    for (ResolvedCdsTrade trade : trades) {
+      checkCdsBucket(trade, bucketCds);
+    }
+    ResolvedCds bucketProduct = bucketCds.get(0).getProduct();
+    Currency currency = bucketProduct.getCurrency();
+    StandardId legalEntityId = bucketProduct.getLegalEntityId();
     LocalDate valuationDate = ratesProvider.getValuationDate();
 
     int nBucket = bucketCds.size();
@@ -100,9 +118,6 @@ public class AnalyticSpreadSensitivityCalculator
         .build();
 
     double[][] res = new double[nBucket][];
-    PointSensitivities pointPv = getPricer().presentValueOnSettleSensitivity(trade, ratesProviderBase, refData);
-    DoubleArray vLambda =
-        ratesProviderBase.singleCreditCurveParameterSensitivity(pointPv, legalEntityId, currency).getSensitivity();
     for (int i = 0; i < nBucket; i++) {
       PointSensitivities pointSp = getPricer().parSpreadSensitivity(bucketCds.get(i), ratesProviderBase, refData);
       res[i] = ratesProviderBase.singleCreditCurveParameterSensitivity(pointSp, legalEntityId, currency)
@@ -110,8 +125,25 @@ public class AnalyticSpreadSensitivityCalculator
     }
     DoubleMatrix jacT = MATRIX_ALGEBRA.getTranspose(DoubleMatrix.ofUnsafe(res));
     LUDecompositionResult luRes = DECOMPOSITION.apply(jacT);
-    DoubleArray vS = luRes.solve(vLambda);
-    return vS;
+    ImmutableList.Builder<DoubleArray> builder = ImmutableList.builder();
+    for (ResolvedCdsTrade trade : trades) {
+      PointSensitivities pointPv = getPricer().presentValueOnSettleSensitivity(trade, ratesProviderBase, refData);
+      DoubleArray vLambda =
+          ratesProviderBase.singleCreditCurveParameterSensitivity(pointPv, legalEntityId, currency).getSensitivity();
+      builder.add(luRes.solve(vLambda));
+    }
+    return builder.build();
+  }
+
+  @Override
+  DoubleArray computedParallelCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    List<DoubleArray> bucketed = computedBucketedCs01(trades, bucketCds, ratesProvider, refData);
+    return DoubleArray.of(bucketed.size(), i -> bucketed.get(i).sum());
   }
 
 }
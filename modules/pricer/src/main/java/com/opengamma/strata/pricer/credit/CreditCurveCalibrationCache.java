@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the precomputed values shared between the calibrations of several credit curves.
+ * <p>
+ * The credit curves calibrated with the same cache must be based on the same rates provider,
+ * thus on the same discount curves.
+ * The keys are chosen by the calibrator such that the cached values depend only on the key and the discount curves.
+ * <p>
+ * The cache is thread-safe and can be shared between calibrations running concurrently.
+ */
+final class CreditCurveCalibrationCache {
+
+  /**
+   * The cached values.
+   */
+  private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+  /**
+   * Gets the cached value for the key, computing it if necessary.
+   *
+   * @param <T>  the type of the value
+   * @param key  the key
+   * @param computation  the computation of the value
+   * @return the value
+   */
+  @SuppressWarnings("unchecked")
+  <T> T get(Object key, Supplier<T> computation) {
+    Object value = values.get(key);
+    if (value == null) {
+      value = computation.get();
+      Object existing = values.putIfAbsent(key, value);
+      if (existing != null) {
+        value = existing;
+      }
+    }
+    return (T) value;
+  }
+
+  /**
+   * Gets the number of cached values.
+   *
+   * @return the size
+   */
+  int size() {
+    return values.size();
+  }
+
+}
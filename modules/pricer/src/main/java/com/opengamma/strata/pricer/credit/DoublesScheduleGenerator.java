@@ -69,7 +69,8 @@ public class DoublesScheduleGenerator {
     return DoubleArray.copyOf(temp, 0, resLength);
   }
 
-  private static boolean different(double a, double b) {
+  // true if the two times are more than half a day apart
+  static boolean different(double a, double b) {
     return Math.abs(a - b) > TOL;
   }
 
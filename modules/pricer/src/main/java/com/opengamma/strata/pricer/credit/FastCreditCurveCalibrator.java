@@ -10,8 +10,10 @@ import static com.opengamma.strata.math.impl.util.Epsilon.epsilonP;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.function.DoubleUnaryOperator;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.ValueType;
@@ -55,6 +57,15 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
    * The root finder.
    */
   private static final RealSingleRootFinder ROOTFINDER = new BrentSingleRootFinder();
+  /**
+   * The factors applied to the initial guess to obtain the first bracket of the root.
+   * <p>
+   * The bracket is narrower when the initial guess is taken from a previous curve.
+   */
+  private static final double COLD_LOWER_FACTOR = 0.8;
+  private static final double COLD_UPPER_FACTOR = 1.25;
+  private static final double WARM_LOWER_FACTOR = 0.95;
+  private static final double WARM_UPPER_FACTOR = 1.05;
 
   //-------------------------------------------------------------------------
   /**
@@ -111,16 +122,55 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       RecoveryRates recoveryRates,
       ReferenceData refData) {
 
+    return calibrate(
+        calibrationCDSs,
+        flactionalSpreads,
+        pointsUpfront,
+        name,
+        valuationDate,
+        discountFactors,
+        recoveryRates,
+        Optional.empty(),
+        new CreditCurveCalibrationCache(),
+        refData);
+  }
+
+  // the discounting part of the pricer is shared between curves with the same node dates,
+  // and the previous curve provides the initial guess of the root finding
+  @Override
+  NodalCurve calibrate(
+      List<ResolvedCdsTrade> calibrationCDSs,
+      DoubleArray flactionalSpreads,
+      DoubleArray pointsUpfront,
+      CurveName name,
+      LocalDate valuationDate,
+      CreditDiscountFactors discountFactors,
+      RecoveryRates recoveryRates,
+      Optional<LegalEntitySurvivalProbabilities> previousCurve,
+      CreditCurveCalibrationCache cache,
+      ReferenceData refData) {
+
     int n = calibrationCDSs.size();
     double[] guess = new double[n];
     double[] t = new double[n];
     double[] lgd = new double[n];
+    boolean warmStart = previousCurve.isPresent();
     for (int i = 0; i < n; i++) {
       LocalDate endDate = calibrationCDSs.get(i).getProduct().getProtectionEndDate();
       t[i] = discountFactors.relativeYearFraction(endDate);
       lgd[i] = 1d - recoveryRates.recoveryRate(endDate);
       guess[i] = (flactionalSpreads.get(i) + pointsUpfront.get(i) / t[i]) / lgd[i];
+      if (warmStart) {
+        double previous = previousCurve.get().getSurvivalProbabilities().zeroRate(endDate);
+        if (previous > 0d && Double.isFinite(previous)) {
+          guess[i] = previous;
+        } else {
+          warmStart = false;
+        }
+      }
     }
+    double lowerFactor = warmStart ? WARM_LOWER_FACTOR : COLD_LOWER_FACTOR;
+    double upperFactor = warmStart ? WARM_UPPER_FACTOR : COLD_UPPER_FACTOR;
     DoubleArray times = DoubleArray.ofUnsafe(t);
     CurveMetadata baseMetadata = DefaultCurveMetadata.builder()
         .xValueType(ValueType.YEAR_FRACTION)
@@ -144,21 +194,24 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           .orElse(cds.getSettlementDateOffset().adjust(valuationDate, refData));
       double accrued = cds.accruedYearFraction(stepinDate);
 
-      Pricer pricer = new Pricer(cds, discountFactors, times, flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i], stepinDate,
-          effectiveStartDate, settlementDate, accrued);
-      Function<Double, Double> func = pricer.getPointFunction(i, creditCurve);
+      NodeSchedule schedule = cache.get(
+          scheduleKey(cds, discountFactors, times, stepinDate, effectiveStartDate, settlementDate),
+          () -> new NodeSchedule(
+              cds, discountFactors, times, stepinDate, effectiveStartDate, settlementDate, accrued));
+      Pricer pricer = new Pricer(schedule, flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i]);
+      DoubleUnaryOperator func = pricer.getPointFunction(i, creditCurve);
 
       switch (getArbitrageHandling()) {
         case IGNORE: {
           try {
-            double[] bracket = BRACKETER.getBracketedPoints(
-                func, 0.8 * guess[i], 1.25 * guess[i], Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+            double[] bracket = BRACKETER.getBracketedPointsDouble(
+                func, lowerFactor * guess[i], upperFactor * guess[i], Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
             double zeroRate = bracket[0] > bracket[1] ?
-                ROOTFINDER.getRoot(func, bracket[1], bracket[0]) :
-                ROOTFINDER.getRoot(func, bracket[0], bracket[1]); //Negative guess handled
+                ROOTFINDER.getRootDouble(func, bracket[1], bracket[0]) :
+                ROOTFINDER.getRootDouble(func, bracket[0], bracket[1]); //Negative guess handled
             creditCurve = creditCurve.withParameter(i, zeroRate);
           } catch (final MathException e) { //handling bracketing failure due to small survival probability
-            if (Math.abs(func.apply(creditCurve.getYValues().get(i - 1))) < 1.e-12) {
+            if (Math.abs(func.applyAsDouble(creditCurve.getYValues().get(i - 1))) < 1.e-12) {
               creditCurve = creditCurve.withParameter(i, creditCurve.getYValues().get(i - 1));
             } else {
               throw new MathException(e);
@@ -170,7 +223,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           final double minValue = i == 0 ?
               0d :
               creditCurve.getYValues().get(i - 1) * creditCurve.getXValues().get(i - 1) / creditCurve.getXValues().get(i);
-          if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+          if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
             final StringBuilder msg = new StringBuilder();
             if (pointsUpfront.get(i) == 0.0) {
               msg.append("The par spread of " + flactionalSpreads.get(i) + " at index " + i);
@@ -183,8 +236,9 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
             throw new IllegalArgumentException(msg.toString());
           }
           guess[i] = Math.max(minValue, guess[i]);
-          double[] bracket = BRACKETER.getBracketedPoints(func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
-          double zeroRate = ROOTFINDER.getRoot(func, bracket[0], bracket[1]);
+          double[] bracket = BRACKETER.getBracketedPointsDouble(
+              func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
+          double zeroRate = ROOTFINDER.getRootDouble(func, bracket[0], bracket[1]);
           creditCurve = creditCurve.withParameter(i, zeroRate);
           break;
         }
@@ -192,13 +246,13 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           final double minValue = i == 0 ?
               0.0 :
               creditCurve.getYValues().get(i - 1) * creditCurve.getXValues().get(i - 1) / creditCurve.getXValues().get(i);
-          if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+          if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
             creditCurve = creditCurve.withParameter(i, minValue);
           } else {
             guess[i] = Math.max(minValue, guess[i]);
             final double[] bracket =
-                BRACKETER.getBracketedPoints(func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
-            final double zeroRate = ROOTFINDER.getRoot(func, bracket[0], bracket[1]);
+                BRACKETER.getBracketedPointsDouble(func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
+            final double zeroRate = ROOTFINDER.getRootDouble(func, bracket[0], bracket[1]);
             creditCurve = creditCurve.withParameter(i, zeroRate);
           }
           break;
@@ -210,14 +264,41 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     return creditCurve;
   }
 
-  /* Prices the CDS */
-  final class Pricer {
+  // the key of the node schedule, the dates and times on which the discounting part of the pricer depends
+  private static ImmutableList<Object> scheduleKey(
+      ResolvedCds cds,
+      CreditDiscountFactors discountFactors,
+      DoubleArray creditCurveKnots,
+      LocalDate stepinDate,
+      LocalDate effectiveStartDate,
+      LocalDate settlementDate) {
+
+    int nPayments = cds.getPaymentPeriods().size();
+    ImmutableList.Builder<LocalDate> dates = ImmutableList.builder();
+    double[] yearFractions = new double[nPayments];
+    for (int i = 0; i < nPayments; i++) {
+      CreditCouponPaymentPeriod coupon = cds.getPaymentPeriods().get(i);
+      dates.add(coupon.getStartDate(), coupon.getEndDate(), coupon.getEffectiveStartDate(), coupon.getEffectiveEndDate(),
+          coupon.getPaymentDate());
+      yearFractions[i] = coupon.getYearFraction();
+    }
+    return ImmutableList.of(
+        discountFactors.getCurrency(),
+        creditCurveKnots,
+        cds.getDayCount(),
+        cds.getPaymentOnDefault(),
+        cds.getProtectionEndDate(),
+        stepinDate,
+        effectiveStartDate,
+        settlementDate,
+        dates.build(),
+        DoubleArray.ofUnsafe(yearFractions));
+  }
+
+  /* The discounting part of the CDS pricer, independent of the spread and recovery rate */
+  private static final class NodeSchedule {
 
-    private final ResolvedCds cds;
-    private final double lgdDF;
     private final double valuationDF;
-    private final double fracSpread;
-    private final double puf;
     // protection leg
     private final int nProPoints;
     private final double[] proLegIntPoints;
@@ -225,6 +306,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     private final double[] proDF;
     // premium leg
     private final int nPayments;
+    private final double[] yearFractions;
     private final double[] paymentDF;
     private final double[][] premLegIntPoints;
     private final double[][] premDF;
@@ -233,19 +315,16 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     private final double[] accRate;
     private final double[] offsetAccStart;
     private final double[] offsetAccEnd;
+    private final boolean accruedInterest;
 
     private final double accYearFraction;
     private final double productEffectiveStart;
     private final int startPeriodIndex;
 
-    public Pricer(ResolvedCds nodeCds, CreditDiscountFactors yieldCurve, DoubleArray creditCurveKnots, double fractionalSpread,
-        double pointsUpfront, double lgd, LocalDate stepinDate, LocalDate effectiveStartDate, LocalDate settlementDate,
-        double accruedYearFraction) {
+    NodeSchedule(ResolvedCds cds, CreditDiscountFactors yieldCurve, DoubleArray creditCurveKnots, LocalDate stepinDate,
+        LocalDate effectiveStartDate, LocalDate settlementDate, double accruedYearFraction) {
 
       accYearFraction = accruedYearFraction;
-      cds = nodeCds;
-      fracSpread = fractionalSpread;
-      puf = pointsUpfront;
       productEffectiveStart = yieldCurve.relativeYearFraction(effectiveStartDate);
       double protectionEnd = yieldCurve.relativeYearFraction(cds.getProtectionEndDate());
       // protection leg
@@ -255,7 +334,6 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           yieldCurve.getParameterKeys(), creditCurveKnots).toArray();
       nProPoints = proLegIntPoints.length;
       valuationDF = yieldCurve.discountFactor(settlementDate);
-      lgdDF = lgd / valuationDF;
       proYieldCurveRT = new double[nProPoints];
       proDF = new double[nProPoints];
       for (int i = 0; i < nProPoints; i++) {
@@ -264,9 +342,11 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       }
       // premium leg
       nPayments = cds.getPaymentPeriods().size();
+      yearFractions = new double[nPayments];
       paymentDF = new double[nPayments];
       int indexTmp = -1;
       for (int i = 0; i < nPayments; i++) {
+        yearFractions[i] = cds.getPaymentPeriods().get(i).getYearFraction();
         if (stepinDate.isBefore(cds.getPaymentPeriods().get(i).getEndDate())) {
           paymentDF[i] = yieldCurve.discountFactor(cds.getPaymentPeriods().get(i).getPaymentDate());
         } else {
@@ -275,7 +355,12 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       }
       startPeriodIndex = indexTmp + 1;
       // accrual on default
-      if (cds.getPaymentOnDefault().isAccruedInterest()) {
+      accruedInterest = cds.getPaymentOnDefault().isAccruedInterest();
+      offsetAccEnd = new double[nPayments];
+      for (int i = startPeriodIndex; i < nPayments; i++) {
+        offsetAccEnd[i] = yieldCurve.relativeYearFraction(cds.getPaymentPeriods().get(i).getEffectiveEndDate());
+      }
+      if (accruedInterest) {
         LocalDate tmp = nPayments == 1 ? effectiveStartDate : cds.getAccrualStartDate();
         DoubleArray integrationSchedule =
             DoublesScheduleGenerator.getIntegrationsPoints(
@@ -285,7 +370,6 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
                 creditCurveKnots);
         accRate = new double[nPayments];
         offsetAccStart = new double[nPayments];
-        offsetAccEnd = new double[nPayments];
         premLegIntPoints = new double[nPayments][];
         premDF = new double[nPayments][];
         rt = new double[nPayments][];
@@ -293,7 +377,6 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
         for (int i = startPeriodIndex; i < nPayments; i++) {
           CreditCouponPaymentPeriod coupon = cds.getPaymentPeriods().get(i);
           offsetAccStart[i] = yieldCurve.relativeYearFraction(coupon.getEffectiveStartDate());
-          offsetAccEnd[i] = yieldCurve.relativeYearFraction(coupon.getEffectiveEndDate());
           accRate[i] = coupon.getYearFraction() /
               yieldCurve.getDayCount().relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
           double start = Math.max(productEffectiveStart, offsetAccStart[i]);
@@ -321,18 +404,33 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       } else {
         accRate = null;
         offsetAccStart = null;
-        offsetAccEnd = null;
         premDF = null;
         premDt = null;
         rt = null;
         premLegIntPoints = null;
       }
     }
+  }
 
-    public Function<Double, Double> getPointFunction(int index, NodalCurve creditCurve) {
-      return new Function<Double, Double>() {
+  /* Prices the CDS */
+  final class Pricer {
+
+    private final NodeSchedule schedule;
+    private final double lgdDF;
+    private final double fracSpread;
+    private final double puf;
+
+    public Pricer(NodeSchedule schedule, double fractionalSpread, double pointsUpfront, double lgd) {
+      this.schedule = schedule;
+      fracSpread = fractionalSpread;
+      puf = pointsUpfront;
+      lgdDF = lgd / schedule.valuationDF;
+    }
+
+    public DoubleUnaryOperator getPointFunction(int index, NodalCurve creditCurve) {
+      return new DoubleUnaryOperator() {
         @Override
-        public Double apply(Double x) {
+        public double applyAsDouble(double x) {
           NodalCurve cc = creditCurve.withParameter(index, x);
           double rpv01 = rpv01(cc, PriceType.CLEAN);
           double pro = protectionLeg(cc);
@@ -343,37 +441,36 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
 
     public double rpv01(NodalCurve creditCurve, PriceType cleanOrDirty) {
       double pv = 0.0;
-      for (int i = startPeriodIndex; i < nPayments; i++) {
-        CreditCouponPaymentPeriod coupon = cds.getPaymentPeriods().get(i);
-        double yc = offsetAccEnd[i];
+      for (int i = schedule.startPeriodIndex; i < schedule.nPayments; i++) {
+        double yc = schedule.offsetAccEnd[i];
         double q = Math.exp(-creditCurve.yValue(yc) * yc);
-        pv += coupon.getYearFraction() * paymentDF[i] * q;
+        pv += schedule.yearFractions[i] * schedule.paymentDF[i] * q;
       }
 
-      if (cds.getPaymentOnDefault().isAccruedInterest()) {
+      if (schedule.accruedInterest) {
         double accPV = 0.0;
-        for (int i = startPeriodIndex; i < nPayments; i++) {
+        for (int i = schedule.startPeriodIndex; i < schedule.nPayments; i++) {
           accPV += calculateSinglePeriodAccrualOnDefault(i, creditCurve);
         }
         pv += accPV;
       }
-      pv /= valuationDF;
+      pv /= schedule.valuationDF;
       if (cleanOrDirty == PriceType.CLEAN) {
-        pv -= accYearFraction;
+        pv -= schedule.accYearFraction;
       }
       return pv;
     }
 
     private double calculateSinglePeriodAccrualOnDefault(int paymentIndex, NodalCurve creditCurve) {
-      double[] knots = premLegIntPoints[paymentIndex];
+      double[] knots = schedule.premLegIntPoints[paymentIndex];
       if (knots == null) {
         return 0d;
       }
-      double[] df = premDF[paymentIndex];
-      double[] deltaT = premDt[paymentIndex];
-      double[] rtCurrent = rt[paymentIndex];
-      double accRateCurrent = accRate[paymentIndex];
-      double accStart = offsetAccStart[paymentIndex];
+      double[] df = schedule.premDF[paymentIndex];
+      double[] deltaT = schedule.premDt[paymentIndex];
+      double[] rtCurrent = schedule.rt[paymentIndex];
+      double accRateCurrent = schedule.accRate[paymentIndex];
+      double accStart = schedule.offsetAccStart[paymentIndex];
       double t = knots[0];
       double ht0 = creditCurve.yValue(t) * t;
       double rt0 = rtCurrent[0];
@@ -415,14 +512,14 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     }
 
     public double protectionLeg(NodalCurve creditCurve) {
-      double ht0 = creditCurve.yValue(proLegIntPoints[0]) * proLegIntPoints[0];
-      double rt0 = proYieldCurveRT[0];
-      double b0 = proDF[0] * Math.exp(-ht0);
+      double ht0 = creditCurve.yValue(schedule.proLegIntPoints[0]) * schedule.proLegIntPoints[0];
+      double rt0 = schedule.proYieldCurveRT[0];
+      double b0 = schedule.proDF[0] * Math.exp(-ht0);
       double pv = 0d;
-      for (int i = 1; i < nProPoints; ++i) {
-        double ht1 = creditCurve.yValue(proLegIntPoints[i]) * proLegIntPoints[i];
-        double rt1 = proYieldCurveRT[i];
-        double b1 = proDF[i] * Math.exp(-ht1);
+      for (int i = 1; i < schedule.nProPoints; ++i) {
+        double ht1 = creditCurve.yValue(schedule.proLegIntPoints[i]) * schedule.proLegIntPoints[i];
+        double rt1 = schedule.proYieldCurveRT[i];
+        double b1 = schedule.proDF[i] * Math.exp(-ht1);
         double dht = ht1 - ht0;
         double drt = rt1 - rt0;
         double dhrt = dht + drt;
@@ -6,14 +6,17 @@
 package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.CurveName;
@@ -27,6 +30,9 @@ import com.opengamma.strata.product.credit.ResolvedCdsTrade;
  * <p>
  * This computes the present value sensitivity to par spreads of bucketed CDSs by bump-and-reprice, i.e., 
  * finite difference method. 
+ * <p>
+ * When the CS01 of several trades are computed together, each bumped credit curve is calibrated once
+ * and shared between all the trades on the same credit curve.
  */
 public class FiniteDifferenceSpreadSensitivityCalculator extends SpreadSensitivityCalculator {
 
@@ -64,50 +70,34 @@ public class FiniteDifferenceSpreadSensitivityCalculator extends SpreadSensitivi
       CreditRatesProvider ratesProvider,
       ReferenceData refData) {
 
-    checkCdsBucket(trade, bucketCds);
-    ResolvedCds product = trade.getProduct();
-    Currency currency = product.getCurrency();
-    StandardId legalEntityId = product.getLegalEntityId();
-    LocalDate valuationDate = ratesProvider.getValuationDate();
-    ImmutableCreditRatesProvider immutableRatesProvider = ratesProvider.toImmutableCreditRatesProvider();
+    DoubleArray cs01 = computedParallelCs01(ImmutableList.of(trade), bucketCds, ratesProvider, refData);
+    return CurrencyAmount.of(trade.getProduct().getCurrency(), cs01.get(0));
+  }
+
+  // the base and bumped implied credit curves are calibrated once for all the trades
+  @Override
+  DoubleArray computedParallelCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
 
+    for (ResolvedCdsTrade trade : trades) {
+      checkCdsBucket(trade, bucketCds);
+    }
     int nBucket = bucketCds.size();
     DoubleArray impSp = impliedSpread(bucketCds, ratesProvider, refData);
-    NodalCurve creditCurveBase = getCalibrator().calibrate(
-        bucketCds,
-        impSp,
-        DoubleArray.filled(nBucket),
-        CurveName.of("baseImpliedCreditCurve"),
-        valuationDate,
-        ratesProvider.discountFactors(currency),
-        ratesProvider.recoveryRates(legalEntityId),
-        refData);
-    Pair<StandardId, Currency> lePair = Pair.of(legalEntityId, currency);
-
-    IsdaCreditDiscountFactors df = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurveBase);
-    CreditRatesProvider ratesProviderBase = immutableRatesProvider.toBuilder()
-        .creditCurves(ImmutableMap.of(lePair, LegalEntitySurvivalProbabilities.of(legalEntityId, df)))
-        .build();
-    CurrencyAmount pvBase = getPricer().presentValueOnSettle(trade, ratesProviderBase, PriceType.DIRTY, refData);
-
+    CreditRatesProvider ratesProviderBase =
+        impliedRatesProvider(bucketCds, impSp, "baseImpliedCreditCurve", ratesProvider, refData);
     DoubleArray bumpedSp = DoubleArray.of(nBucket, i -> impSp.get(i) + bumpAmount);
-    NodalCurve creditCurveBump = getCalibrator().calibrate(
-        bucketCds,
-        bumpedSp,
-        DoubleArray.filled(nBucket),
-        CurveName.of("bumpedImpliedCreditCurve"),
-        valuationDate,
-        ratesProvider.discountFactors(currency),
-        ratesProvider.recoveryRates(legalEntityId),
-        refData);
-    IsdaCreditDiscountFactors dfBump = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurveBump);
-    CreditRatesProvider ratesProviderBump = immutableRatesProvider.toBuilder()
-        .creditCurves(
-            ImmutableMap.of(lePair, LegalEntitySurvivalProbabilities.of(legalEntityId, dfBump)))
-        .build();
-    CurrencyAmount pvBumped = getPricer().presentValueOnSettle(trade, ratesProviderBump, PriceType.DIRTY, refData);
-
-    return CurrencyAmount.of(currency, (pvBumped.getAmount() - pvBase.getAmount()) / bumpAmount);
+    CreditRatesProvider ratesProviderBump =
+        impliedRatesProvider(bucketCds, bumpedSp, "bumpedImpliedCreditCurve", ratesProvider, refData);
+    return DoubleArray.of(trades.size(), k -> {
+      ResolvedCdsTrade trade = trades.get(k);
+      CurrencyAmount pvBase = getPricer().presentValueOnSettle(trade, ratesProviderBase, PriceType.DIRTY, refData);
+      CurrencyAmount pvBumped = getPricer().presentValueOnSettle(trade, ratesProviderBump, PriceType.DIRTY, refData);
+      return (pvBumped.getAmount() - pvBase.getAmount()) / bumpAmount;
+    });
   }
 
   @Override
@@ -117,52 +107,69 @@ public class FiniteDifferenceSpreadSensitivityCalculator extends SpreadSensitivi
       CreditRatesProvider ratesProvider,
       ReferenceData refData) {
 
-    checkCdsBucket(trade, bucketCds);
-    ResolvedCds product = trade.getProduct();
-    Currency currency = product.getCurrency();
-    StandardId legalEntityId = product.getLegalEntityId();
-    LocalDate valuationDate = ratesProvider.getValuationDate();
-    ImmutableCreditRatesProvider immutableRatesProvider = ratesProvider.toImmutableCreditRatesProvider();
+    return computedBucketedCs01(ImmutableList.of(trade), bucketCds, ratesProvider, refData).get(0);
+  }
+
+  // each bumped implied credit curve is calibrated once for all the trades
+  @Override
+  List<DoubleArray> computedBucketedCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
 
+    for (ResolvedCdsTrade trade : trades) {
+      checkCdsBucket(trade, bucketCds);
+    }
+    int nTrades = trades.size();
     int nBucket = bucketCds.size();
-    double[] res = new double[nBucket];
+    double[][] res = new double[nTrades][nBucket];
     DoubleArray impSp = impliedSpread(bucketCds, ratesProvider, refData);
-    NodalCurve creditCurveBase = getCalibrator().calibrate(
+    CreditRatesProvider ratesProviderBase =
+        impliedRatesProvider(bucketCds, impSp, "baseImpliedCreditCurve", ratesProvider, refData);
+    double[] pvBase = new double[nTrades];
+    for (int k = 0; k < nTrades; ++k) {
+      pvBase[k] = getPricer().presentValueOnSettle(trades.get(k), ratesProviderBase, PriceType.DIRTY, refData).getAmount();
+    }
+    for (int i = 0; i < nBucket; ++i) {
+      double[] bumpedSp = impSp.toArray();
+      bumpedSp[i] += bumpAmount;
+      CreditRatesProvider ratesProviderBump = impliedRatesProvider(
+          bucketCds, DoubleArray.ofUnsafe(bumpedSp), "bumpedImpliedCreditCurve", ratesProvider, refData);
+      for (int k = 0; k < nTrades; ++k) {
+        double pvBumped =
+            getPricer().presentValueOnSettle(trades.get(k), ratesProviderBump, PriceType.DIRTY, refData).getAmount();
+        res[k][i] = (pvBumped - pvBase[k]) / bumpAmount;
+      }
+    }
+    return Arrays.stream(res).map(DoubleArray::ofUnsafe).collect(Guavate.toImmutableList());
+  }
+
+  // the rates provider with the credit curve calibrated to the spreads of the bucket CDSs
+  private CreditRatesProvider impliedRatesProvider(
+      List<ResolvedCdsTrade> bucketCds,
+      DoubleArray spreads,
+      String curveName,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    ResolvedCds product = bucketCds.get(0).getProduct();
+    Currency currency = product.getCurrency();
+    StandardId legalEntityId = product.getLegalEntityId();
+    LocalDate valuationDate = ratesProvider.getValuationDate();
+    NodalCurve creditCurve = getCalibrator().calibrate(
         bucketCds,
-        impSp,
-        DoubleArray.filled(nBucket),
-        CurveName.of("baseImpliedCreditCurve"),
+        spreads,
+        DoubleArray.filled(bucketCds.size()),
+        CurveName.of(curveName),
         valuationDate,
         ratesProvider.discountFactors(currency),
         ratesProvider.recoveryRates(legalEntityId),
         refData);
-    Pair<StandardId, Currency> lePair = Pair.of(legalEntityId, currency);
-
-    IsdaCreditDiscountFactors df = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurveBase);
-    CreditRatesProvider ratesProviderBase = immutableRatesProvider.toBuilder()
-        .creditCurves(ImmutableMap.of(lePair, LegalEntitySurvivalProbabilities.of(legalEntityId, df)))
+    IsdaCreditDiscountFactors df = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurve);
+    return ratesProvider.toImmutableCreditRatesProvider().toBuilder()
+        .creditCurves(ImmutableMap.of(Pair.of(legalEntityId, currency), LegalEntitySurvivalProbabilities.of(legalEntityId, df)))
         .build();
-    double pvBase = getPricer().presentValueOnSettle(trade, ratesProviderBase, PriceType.DIRTY, refData).getAmount();
-    for (int i = 0; i < nBucket; ++i) {
-      double[] bumpedSp = impSp.toArray();
-      bumpedSp[i] += bumpAmount;
-      NodalCurve creditCurveBump = getCalibrator().calibrate(
-          bucketCds,
-          DoubleArray.ofUnsafe(bumpedSp),
-          DoubleArray.filled(nBucket),
-          CurveName.of("bumpedImpliedCreditCurve"),
-          valuationDate,
-          ratesProvider.discountFactors(currency),
-          ratesProvider.recoveryRates(legalEntityId),
-          refData);
-      IsdaCreditDiscountFactors dfBump = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurveBump);
-      CreditRatesProvider ratesProviderBump = immutableRatesProvider.toBuilder()
-          .creditCurves(ImmutableMap.of(lePair, LegalEntitySurvivalProbabilities.of(legalEntityId, dfBump)))
-          .build();
-      double pvBumped = getPricer().presentValueOnSettle(trade, ratesProviderBump, PriceType.DIRTY, refData).getAmount();
-      res[i] = (pvBumped - pvBase) / bumpAmount;
-    }
-    return DoubleArray.ofUnsafe(res);
   }
 
 }
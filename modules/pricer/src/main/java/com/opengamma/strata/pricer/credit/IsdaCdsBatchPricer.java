@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Pricer for portfolios of single-name credit default swaps (CDS) based on ISDA standard model.
+ * <p>
+ * The CDSs are priced with {@link IsdaCdsProductPricer}, sharing an {@link IsdaCdsIntegrationGrid}
+ * between all the CDSs on the same legal entity and currency.
+ * The curves are thus evaluated at the nodes once per name rather than once per CDS.
+ * <p>
+ * The CS01 computed by this pricer is the sensitivity to a parallel shift of the zero hazard rates
+ * of the credit curves. The shifted grid is derived from the same precomputed grid, without recalibrating the curves.
+ * The sensitivity to par spreads is computed by {@link SpreadSensitivityCalculator}.
+ */
+public class IsdaCdsBatchPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final IsdaCdsBatchPricer DEFAULT = new IsdaCdsBatchPricer(AccrualOnDefaultFormula.ORIGINAL_ISDA);
+  /**
+   * The shift of the zero hazard rates used in the CS01 computation, one basis point.
+   */
+  private static final double ONE_BP = 1.0e-4;
+
+  /**
+   * The pricer for single name CDS.
+   */
+  private final IsdaCdsProductPricer underlyingPricer;
+
+  /**
+   * Constructor specifying the formula to use for the accrued on default calculation.
+   *
+   * @param formula  the formula
+   */
+  public IsdaCdsBatchPricer(AccrualOnDefaultFormula formula) {
+    this.underlyingPricer = new IsdaCdsProductPricer(formula);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the accrual-on-default formula used in this pricer.
+   *
+   * @return the formula
+   */
+  public AccrualOnDefaultFormula getAccrualOnDefaultFormula() {
+    return underlyingPricer.getAccrualOnDefaultFormula();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present values of the CDS products.
+   * <p>
+   * The present values are identical to those of
+   * {@link IsdaCdsProductPricer#presentValue(ResolvedCds, CreditRatesProvider, LocalDate, PriceType, ReferenceData)}.
+   *
+   * @param cdsList  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the present values, in the order of the products
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedCds> cdsList,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    ArgChecker.notNull(cdsList, "cdsList");
+    Map<Pair<StandardId, Currency>, IsdaCdsIntegrationGrid> grids = new HashMap<>();
+    ImmutableList.Builder<CurrencyAmount> builder = ImmutableList.builder();
+    for (ResolvedCds cds : cdsList) {
+      double price = 0d;
+      if (!isExpired(cds, ratesProvider)) {
+        IsdaCdsIntegrationGrid grid = grid(cds, ratesProvider, grids);
+        double recoveryRate = underlyingPricer.recoveryRate(cds, ratesProvider);
+        price = price(cds, grid, recoveryRate, referenceDate, priceType, ratesProvider, refData);
+      }
+      builder.add(CurrencyAmount.of(cds.getCurrency(), cds.getBuySell().normalize(cds.getNotional()) * price));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Calculates the CS01 of the CDS products to the zero hazard rates.
+   * <p>
+   * The CS01 is the present value sensitivity to a parallel shift of the zero hazard rates of the credit curve,
+   * computed by a one basis point shift and expressed per unit of shift.
+   *
+   * @param cdsList  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param refData  the reference data
+   * @return the CS01, in the order of the products
+   */
+  public List<CurrencyAmount> hazardRateCs01(
+      List<ResolvedCds> cdsList,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      ReferenceData refData) {
+
+    ArgChecker.notNull(cdsList, "cdsList");
+    Map<Pair<StandardId, Currency>, IsdaCdsIntegrationGrid> grids = new HashMap<>();
+    Map<Pair<StandardId, Currency>, IsdaCdsIntegrationGrid> shiftedGrids = new HashMap<>();
+    ImmutableList.Builder<CurrencyAmount> builder = ImmutableList.builder();
+    for (ResolvedCds cds : cdsList) {
+      double cs01 = 0d;
+      if (!isExpired(cds, ratesProvider)) {
+        IsdaCdsIntegrationGrid grid = grid(cds, ratesProvider, grids);
+        IsdaCdsIntegrationGrid shiftedGrid = shiftedGrids.computeIfAbsent(
+            Pair.of(cds.getLegalEntityId(), cds.getCurrency()), key -> grid.withHazardRateShift(ONE_BP));
+        double recoveryRate = underlyingPricer.recoveryRate(cds, ratesProvider);
+        double price = price(cds, grid, recoveryRate, referenceDate, PriceType.DIRTY, ratesProvider, refData);
+        double shiftedPrice = price(cds, shiftedGrid, recoveryRate, referenceDate, PriceType.DIRTY, ratesProvider, refData);
+        cs01 = (shiftedPrice - price) / ONE_BP;
+      }
+      builder.add(CurrencyAmount.of(cds.getCurrency(), cds.getBuySell().normalize(cds.getNotional()) * cs01));
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  // the price of a CDS against the grid
+  private double price(
+      ResolvedCds cds,
+      IsdaCdsIntegrationGrid grid,
+      double recoveryRate,
+      LocalDate referenceDate,
+      PriceType priceType,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
+    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
+    double protectionLeg =
+        (1d - recoveryRate) * underlyingPricer.protectionFull(cds, grid, referenceDate, effectiveStartDate);
+    double rpv01 = underlyingPricer.riskyAnnuity(cds, grid, referenceDate, stepinDate, effectiveStartDate, priceType);
+    return protectionLeg - rpv01 * cds.getFixedRate();
+  }
+
+  // the grid of the legal entity and currency of the CDS, created if necessary
+  private IsdaCdsIntegrationGrid grid(
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      Map<Pair<StandardId, Currency>, IsdaCdsIntegrationGrid> grids) {
+
+    return grids.computeIfAbsent(
+        Pair.of(cds.getLegalEntityId(), cds.getCurrency()), key -> underlyingPricer.integrationGrid(cds, ratesProvider));
+  }
+
+  private boolean isExpired(ResolvedCds cds, CreditRatesProvider ratesProvider) {
+    return !cds.getProtectionEndDate().isAfter(ratesProvider.getValuationDate());
+  }
+
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The integration grid of the ISDA standard model for a pair of discount and credit curves.
+ * <p>
+ * The protection leg and the accrual-on-default of a CDS are integrated over the nodes of the discount curve
+ * and of the credit curve, see {@link DoublesScheduleGenerator}.
+ * This grid merges the nodes of the two curves once and precomputes the integrated hazard rate and
+ * the integrated interest rate at each node, i.e., the minus of the logarithm of the survival probability
+ * and of the discount factor.
+ * The integration schedule of any CDS priced with the two curves is then extracted from the grid
+ * without evaluating the curves again, except at the start and end of the schedule.
+ * <p>
+ * The grid can be restricted to the nodes within a range of times, in which case only the schedules
+ * within that range can be extracted. This avoids evaluating the curves at all the nodes when a single CDS is priced.
+ * <p>
+ * The grid can also represent the credit curve with zero hazard rates shifted by a constant amount.
+ * The shifted grid is derived from the precomputed values.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class IsdaCdsIntegrationGrid {
+
+  /**
+   * The discount factors.
+   */
+  private final CreditDiscountFactors discountFactors;
+  /**
+   * The survival probabilities.
+   */
+  private final LegalEntitySurvivalProbabilities survivalProbabilities;
+  /**
+   * The shift of the zero hazard rates.
+   */
+  private final double hazardRateShift;
+  /**
+   * The lower bound of the range of the schedules.
+   */
+  private final double lowerBound;
+  /**
+   * The upper bound of the range of the schedules.
+   */
+  private final double upperBound;
+  /**
+   * The merged nodes of the two curves, in ascending order.
+   */
+  private final double[] nodes;
+  /**
+   * The integrated interest rate at the nodes.
+   */
+  private final double[] rt;
+  /**
+   * The integrated hazard rate at the nodes.
+   */
+  private final double[] ht;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the discount factors and survival probabilities.
+   * <p>
+   * The two curves must be ISDA compliant and based on the same day count.
+   *
+   * @param discountFactors  the discount factors
+   * @param survivalProbabilities  the survival probabilities
+   * @return the integration grid
+   */
+  public static IsdaCdsIntegrationGrid of(
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities) {
+
+    return of(discountFactors, survivalProbabilities, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Obtains an instance restricted to a range of times.
+   * <p>
+   * Only the nodes strictly between the lower and upper bounds are evaluated.
+   * The schedules extracted from the grid must be within the range.
+   * <p>
+   * The two curves must be ISDA compliant and based on the same day count.
+   *
+   * @param discountFactors  the discount factors
+   * @param survivalProbabilities  the survival probabilities
+   * @param lowerBound  the lower bound of the range
+   * @param upperBound  the upper bound of the range
+   * @return the integration grid
+   */
+  public static IsdaCdsIntegrationGrid of(
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      double lowerBound,
+      double upperBound) {
+
+    ArgChecker.notNull(discountFactors, "discountFactors");
+    ArgChecker.notNull(survivalProbabilities, "survivalProbabilities");
+    ArgChecker.isTrue(lowerBound <= upperBound, "lowerBound must not be greater than upperBound");
+    double[] discountNodes = discountFactors.getParameterKeys().toArrayUnsafe();
+    double[] creditNodes = survivalProbabilities.getParameterKeys().toArrayUnsafe();
+    double[] allNodes = new double[discountNodes.length + creditNodes.length];
+    System.arraycopy(discountNodes, 0, allNodes, 0, discountNodes.length);
+    System.arraycopy(creditNodes, 0, allNodes, discountNodes.length, creditNodes.length);
+    Arrays.sort(allNodes);
+    int first = firstIndexAbove(allNodes, lowerBound);
+    int last = Math.max(firstIndexNotBelow(allNodes, upperBound), first);
+    double[] nodes = Arrays.copyOfRange(allNodes, first, last);
+    int n = nodes.length;
+    double[] rt = new double[n];
+    double[] ht = new double[n];
+    for (int i = 0; i < n; i++) {
+      rt[i] = discountFactors.zeroRate(nodes[i]) * nodes[i];
+      ht[i] = survivalProbabilities.zeroRate(nodes[i]) * nodes[i];
+    }
+    return new IsdaCdsIntegrationGrid(
+        discountFactors, survivalProbabilities, 0d, lowerBound, upperBound, nodes, rt, ht);
+  }
+
+  private IsdaCdsIntegrationGrid(
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      double hazardRateShift,
+      double lowerBound,
+      double upperBound,
+      double[] nodes,
+      double[] rt,
+      double[] ht) {
+
+    this.discountFactors = discountFactors;
+    this.survivalProbabilities = survivalProbabilities;
+    this.hazardRateShift = hazardRateShift;
+    this.lowerBound = lowerBound;
+    this.upperBound = upperBound;
+    this.nodes = nodes;
+    this.rt = rt;
+    this.ht = ht;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the discount factors.
+   *
+   * @return the discount factors
+   */
+  public CreditDiscountFactors getDiscountFactors() {
+    return discountFactors;
+  }
+
+  /**
+   * Gets the survival probabilities.
+   * <p>
+   * The survival probabilities do not include the shift of the zero hazard rates.
+   *
+   * @return the survival probabilities
+   */
+  public LegalEntitySurvivalProbabilities getSurvivalProbabilities() {
+    return survivalProbabilities;
+  }
+
+  /**
+   * Gets the shift of the zero hazard rates.
+   *
+   * @return the shift
+   */
+  public double getHazardRateShift() {
+    return hazardRateShift;
+  }
+
+  /**
+   * Gets the merged nodes of the discount and credit curves.
+   * <p>
+   * If the grid is restricted to a range, only the nodes strictly within the range are returned.
+   *
+   * @return the nodes
+   */
+  public DoubleArray getNodes() {
+    return DoubleArray.copyOf(nodes);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a grid with the zero hazard rates shifted by a constant amount.
+   * <p>
+   * The shift is added to the shift of this grid.
+   * The values at the nodes are derived from the values of this grid, without evaluating the curves.
+   *
+   * @param shift  the shift of the zero hazard rates
+   * @return the shifted grid
+   */
+  public IsdaCdsIntegrationGrid withHazardRateShift(double shift) {
+    double[] shiftedHt = new double[nodes.length];
+    for (int i = 0; i < nodes.length; i++) {
+      shiftedHt[i] = ht[i] + shift * nodes[i];
+    }
+    return new IsdaCdsIntegrationGrid(
+        discountFactors, survivalProbabilities, hazardRateShift + shift, lowerBound, upperBound, nodes, rt, shiftedHt);
+  }
+
+  /**
+   * Gets the survival probability for the specified date, including the shift of the zero hazard rates.
+   *
+   * @param date  the date
+   * @return the survival probability
+   */
+  public double survivalProbability(LocalDate date) {
+    double probability = survivalProbabilities.survivalProbability(date);
+    if (hazardRateShift == 0d) {
+      return probability;
+    }
+    double yearFraction = survivalProbabilities.getSurvivalProbabilities().relativeYearFraction(date);
+    return probability * Math.exp(-hazardRateShift * yearFraction);
+  }
+
+  //-------------------------------------------------------------------------
+  // the integration schedule between start and end, consistent with DoublesScheduleGenerator.getIntegrationsPoints
+  Schedule integrationSchedule(double start, double end) {
+    ArgChecker.isTrue(start >= lowerBound && end <= upperBound, "The schedule must be within the range of the grid");
+    int first = firstIndexAbove(nodes, start);
+    int last = Math.max(firstIndexNotBelow(nodes, end), first);
+    double[] times = new double[last - first + 2];
+    int[] indices = new int[last - first + 2];
+    times[0] = start;
+    indices[0] = -1;
+    int pos = 0;
+    for (int i = first; i < last; i++) {
+      if (DoublesScheduleGenerator.different(times[pos], nodes[i])) {
+        pos++;
+        times[pos] = nodes[i];
+        indices[pos] = i;
+      }
+    }
+    if (DoublesScheduleGenerator.different(times[pos], end)) {
+      pos++;
+    }
+    times[pos] = end;
+    indices[pos] = -1;
+    int n = pos + 1;
+    double[] scheduleRt = new double[n];
+    double[] scheduleHt = new double[n];
+    for (int i = 0; i < n; i++) {
+      int index = indices[i];
+      scheduleRt[i] = index < 0 ? discountFactors.zeroRate(times[i]) * times[i] : rt[index];
+      scheduleHt[i] = index < 0 ? integratedHazardRate(times[i]) : ht[index];
+    }
+    return new Schedule(Arrays.copyOf(times, n), scheduleRt, scheduleHt);
+  }
+
+  // the schedule truncated to lower and upper, consistent with DoublesScheduleGenerator.truncateSetInclusive
+  Schedule truncate(Schedule schedule, double lower, double upper) {
+    double[] set = schedule.times;
+    int first = firstIndexAbove(set, lower);
+    int last = Math.max(firstIndexNotBelow(set, upper), first);
+    int m = last - first;
+    if (m == 0) {
+      return new Schedule(
+          new double[] {lower, upper},
+          new double[] {discountFactors.zeroRate(lower) * lower, discountFactors.zeroRate(upper) * upper},
+          new double[] {integratedHazardRate(lower), integratedHazardRate(upper)});
+    }
+    int offset = DoublesScheduleGenerator.different(lower, set[first]) ? 1 : 0;
+    int n = m + offset + (DoublesScheduleGenerator.different(upper, set[last - 1]) ? 1 : 0);
+    double[] times = new double[n];
+    double[] truncatedRt = new double[n];
+    double[] truncatedHt = new double[n];
+    System.arraycopy(set, first, times, offset, m);
+    System.arraycopy(schedule.rt, first, truncatedRt, offset, m);
+    System.arraycopy(schedule.ht, first, truncatedHt, offset, m);
+    times[0] = lower;
+    truncatedRt[0] = discountFactors.zeroRate(lower) * lower;
+    truncatedHt[0] = integratedHazardRate(lower);
+    times[n - 1] = upper;
+    truncatedRt[n - 1] = discountFactors.zeroRate(upper) * upper;
+    truncatedHt[n - 1] = integratedHazardRate(upper);
+    return new Schedule(times, truncatedRt, truncatedHt);
+  }
+
+  // the integrated hazard rate, including the shift
+  private double integratedHazardRate(double time) {
+    double value = survivalProbabilities.zeroRate(time) * time;
+    return hazardRateShift == 0d ? value : value + hazardRateShift * time;
+  }
+
+  // the index of the first element strictly greater than the value
+  private static int firstIndexAbove(double[] set, double value) {
+    int low = 0;
+    int high = set.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (set[mid] <= value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  // the index of the first element greater than or equal to the value
+  private static int firstIndexNotBelow(double[] set, double value) {
+    int low = 0;
+    int high = set.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (set[mid] < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * An integration schedule, with the integrated interest and hazard rates at each time.
+   */
+  static final class Schedule {
+    /**
+     * The times.
+     */
+    private final double[] times;
+    /**
+     * The integrated interest rate at the times.
+     */
+    private final double[] rt;
+    /**
+     * The integrated hazard rate at the times.
+     */
+    private final double[] ht;
+
+    private Schedule(double[] times, double[] rt, double[] ht) {
+      this.times = times;
+      this.rt = rt;
+      this.ht = ht;
+    }
+
+    // the number of times
+    int size() {
+      return times.length;
+    }
+
+    // the time
+    double time(int i) {
+      return times[i];
+    }
+
+    // the integrated interest rate
+    double rt(int i) {
+      return rt[i];
+    }
+
+    // the integrated hazard rate
+    double ht(int i) {
+      return ht[i];
+    }
+  }
+
+}
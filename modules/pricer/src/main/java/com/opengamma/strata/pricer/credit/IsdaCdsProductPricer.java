@@ -119,11 +119,9 @@ public class IsdaCdsProductPricer {
     LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
     LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
-    Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionLeg =
-        protectionLeg(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate);
-    double rpv01 = riskyAnnuity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, priceType);
+    IsdaCdsIntegrationGrid grid = integrationGrid(cds, ratesProvider, effectiveStartDate);
+    double protectionLeg = protectionLeg(cds, grid, referenceDate, effectiveStartDate, recoveryRate);
+    double rpv01 = riskyAnnuity(cds, grid, referenceDate, stepinDate, effectiveStartDate, priceType);
     return protectionLeg - rpv01 * fractionalSpread;
   }
 
@@ -248,11 +246,9 @@ public class IsdaCdsProductPricer {
     LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
     LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
-    Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionLeg =
-        protectionLeg(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate);
-    double riskyAnnuity =
-        riskyAnnuity(cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, PriceType.CLEAN);
+    IsdaCdsIntegrationGrid grid = integrationGrid(cds, ratesProvider, effectiveStartDate);
+    double protectionLeg = protectionLeg(cds, grid, referenceDate, effectiveStartDate, recoveryRate);
+    double riskyAnnuity = riskyAnnuity(cds, grid, referenceDate, stepinDate, effectiveStartDate, PriceType.CLEAN);
     return protectionLeg / riskyAnnuity;
   }
 
@@ -279,10 +275,9 @@ public class IsdaCdsProductPricer {
     LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
     Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionLeg =
-        protectionLeg(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate);
-    double riskyAnnuityInv = 1d /
-        riskyAnnuity(cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, PriceType.CLEAN);
+    IsdaCdsIntegrationGrid grid = integrationGrid(cds, rates.getFirst(), rates.getSecond(), effectiveStartDate);
+    double protectionLeg = protectionLeg(cds, grid, referenceDate, effectiveStartDate, recoveryRate);
+    double riskyAnnuityInv = 1d / riskyAnnuity(cds, grid, referenceDate, stepinDate, effectiveStartDate, PriceType.CLEAN);
 
     PointSensitivityBuilder protectionLegSensi =
         protectionLegSensitivity(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate)
@@ -316,8 +311,8 @@ public class IsdaCdsProductPricer {
     LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
     LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
-    Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    return protectionLeg(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate, recoveryRate);
+    IsdaCdsIntegrationGrid grid = integrationGrid(cds, ratesProvider, effectiveStartDate);
+    return protectionLeg(cds, grid, referenceDate, effectiveStartDate, recoveryRate);
   }
 
   //-------------------------------------------------------------------------
@@ -343,8 +338,8 @@ public class IsdaCdsProductPricer {
     }
     LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
     LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
-    Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    return riskyAnnuity(cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, priceType);
+    IsdaCdsIntegrationGrid grid = integrationGrid(cds, ratesProvider, effectiveStartDate);
+    return riskyAnnuity(cds, grid, referenceDate, stepinDate, effectiveStartDate, priceType);
   }
 
   //-------------------------------------------------------------------------
@@ -397,8 +392,8 @@ public class IsdaCdsProductPricer {
     LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
     LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     validateRecoveryRates(cds, ratesProvider);
-    Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionFull = protectionFull(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate);
+    IsdaCdsIntegrationGrid grid = integrationGrid(cds, ratesProvider, effectiveStartDate);
+    double protectionFull = protectionFull(cds, grid, referenceDate, effectiveStartDate);
 
     return CurrencyAmount.of(cds.getCurrency(), -cds.getBuySell().normalize(cds.getNotional()) * protectionFull);
   }
@@ -429,11 +424,10 @@ public class IsdaCdsProductPricer {
     LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
     LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
     double recoveryRate = recoveryRate(cds, ratesProvider);
-    Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
-    double protectionFull = protectionFull(cds, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate);
+    IsdaCdsIntegrationGrid grid = integrationGrid(cds, ratesProvider, effectiveStartDate);
+    double protectionFull = protectionFull(cds, grid, referenceDate, effectiveStartDate);
     double lgd = 1d - recoveryRate;
-    double rpv01 = riskyAnnuity(
-        cds, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, PriceType.CLEAN);
+    double rpv01 = riskyAnnuity(cds, grid, referenceDate, stepinDate, effectiveStartDate, PriceType.CLEAN);
     double jtd = lgd - (lgd * protectionFull - cds.getFixedRate() * rpv01);
     return JumpToDefault.of(currency, ImmutableMap.of(legalEntityId, cds.getBuySell().normalize(cds.getNotional()) * jtd));
   }
@@ -466,13 +460,12 @@ public class IsdaCdsProductPricer {
   // computes protection leg pv per unit notional
   private double protectionLeg(
       ResolvedCds cds,
-      CreditDiscountFactors discountFactors,
-      LegalEntitySurvivalProbabilities survivalProbabilities,
+      IsdaCdsIntegrationGrid grid,
       LocalDate referenceDate,
       LocalDate effectiveStartDate,
       double recoveryRate) {
 
-    double protectionFull = protectionFull(cds, discountFactors, survivalProbabilities, referenceDate, effectiveStartDate);
+    double protectionFull = protectionFull(cds, grid, referenceDate, effectiveStartDate);
     return (1d - recoveryRate) * protectionFull;
   }
 
@@ -484,20 +477,30 @@ public class IsdaCdsProductPricer {
       LocalDate referenceDate,
       LocalDate effectiveStartDate) {
 
-    DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
+    IsdaCdsIntegrationGrid grid = integrationGrid(cds, discountFactors, survivalProbabilities, effectiveStartDate);
+    return protectionFull(cds, grid, referenceDate, effectiveStartDate);
+  }
+
+  // computes protection leg pv per unit notional, without loss-given-default rate multiplied, using the grid
+  double protectionFull(
+      ResolvedCds cds,
+      IsdaCdsIntegrationGrid grid,
+      LocalDate referenceDate,
+      LocalDate effectiveStartDate) {
+
+    CreditDiscountFactors discountFactors = grid.getDiscountFactors();
+    IsdaCdsIntegrationGrid.Schedule integrationSchedule = grid.integrationSchedule(
         discountFactors.relativeYearFraction(effectiveStartDate),
-        discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-        discountFactors.getParameterKeys(),
-        survivalProbabilities.getParameterKeys());
+        discountFactors.relativeYearFraction(cds.getProtectionEndDate()));
 
     double pv = 0d;
-    double ht0 = survivalProbabilities.zeroRate(integrationSchedule.get(0)) * integrationSchedule.get(0);
-    double rt0 = discountFactors.zeroRate(integrationSchedule.get(0)) * integrationSchedule.get(0);
+    double ht0 = integrationSchedule.ht(0);
+    double rt0 = integrationSchedule.rt(0);
     double b0 = Math.exp(-ht0 - rt0);
     int n = integrationSchedule.size();
     for (int i = 1; i < n; ++i) {
-      double ht1 = survivalProbabilities.zeroRate(integrationSchedule.get(i)) * integrationSchedule.get(i);
-      double rt1 = discountFactors.zeroRate(integrationSchedule.get(i)) * integrationSchedule.get(i);
+      double ht1 = integrationSchedule.ht(i);
+      double rt1 = integrationSchedule.rt(i);
       double b1 = Math.exp(-ht1 - rt1);
       double dht = ht1 - ht0;
       double drt = rt1 - rt0;
@@ -531,10 +534,24 @@ public class IsdaCdsProductPricer {
       LocalDate effectiveStartDate,
       PriceType priceType) {
 
+    IsdaCdsIntegrationGrid grid = integrationGrid(cds, discountFactors, survivalProbabilities, effectiveStartDate);
+    return riskyAnnuity(cds, grid, referenceDate, stepinDate, effectiveStartDate, priceType);
+  }
+
+  // computes risky annuity using the grid
+  double riskyAnnuity(
+      ResolvedCds cds,
+      IsdaCdsIntegrationGrid grid,
+      LocalDate referenceDate,
+      LocalDate stepinDate,
+      LocalDate effectiveStartDate,
+      PriceType priceType) {
+
+    CreditDiscountFactors discountFactors = grid.getDiscountFactors();
     double pv = 0d;
     for (CreditCouponPaymentPeriod coupon : cds.getPaymentPeriods()) {
       if (stepinDate.isBefore(coupon.getEndDate())) {
-        double q = survivalProbabilities.survivalProbability(coupon.getEffectiveEndDate());
+        double q = grid.survivalProbability(coupon.getEffectiveEndDate());
         double p = discountFactors.discountFactor(coupon.getPaymentDate());
         pv += coupon.getYearFraction() * p * q;
       }
@@ -543,14 +560,11 @@ public class IsdaCdsProductPricer {
     if (cds.getPaymentOnDefault().isAccruedInterest()) {
       // This is needed so that the code is consistent with ISDA C when the Markit `fix' is used. 
       LocalDate start = cds.getPaymentPeriods().size() == 1 ? effectiveStartDate : cds.getAccrualStartDate();
-      DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
+      IsdaCdsIntegrationGrid.Schedule integrationSchedule = grid.integrationSchedule(
           discountFactors.relativeYearFraction(start),
-          discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-          discountFactors.getParameterKeys(),
-          survivalProbabilities.getParameterKeys());
+          discountFactors.relativeYearFraction(cds.getProtectionEndDate()));
       for (CreditCouponPaymentPeriod coupon : cds.getPaymentPeriods()) {
-        pv += singlePeriodAccrualOnDefault(
-            coupon, effectiveStartDate, integrationSchedule, discountFactors, survivalProbabilities);
+        pv += singlePeriodAccrualOnDefault(coupon, effectiveStartDate, integrationSchedule, grid);
       }
     }
     // roll to the cash settle date
@@ -568,9 +582,8 @@ public class IsdaCdsProductPricer {
   private double singlePeriodAccrualOnDefault(
       CreditCouponPaymentPeriod coupon,
       LocalDate effectiveStartDate,
-      DoubleArray integrationSchedule,
-      CreditDiscountFactors discountFactors,
-      LegalEntitySurvivalProbabilities survivalProbabilities) {
+      IsdaCdsIntegrationGrid.Schedule integrationSchedule,
+      IsdaCdsIntegrationGrid grid) {
 
     LocalDate start =
         coupon.getEffectiveStartDate().isBefore(effectiveStartDate) ? effectiveStartDate : coupon.getEffectiveStartDate();
@@ -578,12 +591,13 @@ public class IsdaCdsProductPricer {
       return 0d; // this coupon has already expired 
     }
 
-    DoubleArray knots = DoublesScheduleGenerator.truncateSetInclusive(discountFactors.relativeYearFraction(start),
-        discountFactors.relativeYearFraction(coupon.getEffectiveEndDate()), integrationSchedule);
+    CreditDiscountFactors discountFactors = grid.getDiscountFactors();
+    IsdaCdsIntegrationGrid.Schedule knots = grid.truncate(integrationSchedule, discountFactors.relativeYearFraction(start),
+        discountFactors.relativeYearFraction(coupon.getEffectiveEndDate()));
 
-    double t0Knot = knots.get(0);
-    double ht0 = survivalProbabilities.zeroRate(t0Knot) * t0Knot;
-    double rt0 = discountFactors.zeroRate(t0Knot) * t0Knot;
+    double t0Knot = knots.time(0);
+    double ht0 = knots.ht(0);
+    double rt0 = knots.rt(0);
     double b0 = Math.exp(-rt0 - ht0);
 
     double effStart = discountFactors.relativeYearFraction(coupon.getEffectiveStartDate());
@@ -591,12 +605,12 @@ public class IsdaCdsProductPricer {
     double pv = 0d;
     final int nItems = knots.size();
     for (int j = 1; j < nItems; ++j) {
-      double t = knots.get(j);
-      double ht1 = survivalProbabilities.zeroRate(t) * t;
-      double rt1 = discountFactors.zeroRate(t) * t;
+      double t = knots.time(j);
+      double ht1 = knots.ht(j);
+      double rt1 = knots.rt(j);
       double b1 = Math.exp(-rt1 - ht1);
 
-      double dt = knots.get(j) - knots.get(j - 1);
+      double dt = knots.time(j) - knots.time(j - 1);
 
       double dht = ht1 - ht0;
       double drt = rt1 - rt0;
@@ -882,6 +896,37 @@ public class IsdaCdsProductPricer {
     ArgChecker.isTrue(recoveryRates instanceof ConstantRecoveryRates, "recoveryRates must be ConstantRecoveryRates");
   }
 
+  // the integration grid over all the nodes, to be shared by the CDSs priced with the same curves
+  IsdaCdsIntegrationGrid integrationGrid(ResolvedCds cds, CreditRatesProvider ratesProvider) {
+    Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
+    return IsdaCdsIntegrationGrid.of(rates.getFirst(), rates.getSecond());
+  }
+
+  // the integration grid restricted to the nodes used in pricing the single CDS
+  private IsdaCdsIntegrationGrid integrationGrid(
+      ResolvedCds cds,
+      CreditRatesProvider ratesProvider,
+      LocalDate effectiveStartDate) {
+
+    Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
+    return integrationGrid(cds, rates.getFirst(), rates.getSecond(), effectiveStartDate);
+  }
+
+  // the schedules start from the effective start date or the accrual start date, and end at the protection end date
+  private IsdaCdsIntegrationGrid integrationGrid(
+      ResolvedCds cds,
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      LocalDate effectiveStartDate) {
+
+    LocalDate start = cds.getAccrualStartDate().isBefore(effectiveStartDate) ? cds.getAccrualStartDate() : effectiveStartDate;
+    return IsdaCdsIntegrationGrid.of(
+        discountFactors,
+        survivalProbabilities,
+        discountFactors.relativeYearFraction(start),
+        discountFactors.relativeYearFraction(cds.getProtectionEndDate()));
+  }
+
   private Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> reduceDiscountFactors(
       ResolvedCds cds,
       CreditRatesProvider ratesProvider) {
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.curve.IsdaCreditCurveDefinition;
+
+/**
+ * ISDA compliant credit curve calibrator for many legal entities.
+ * <p>
+ * The credit curves are calibrated independently by the underlying {@link IsdaCompliantCreditCurveCalibrator},
+ * either sequentially or over a fork-join pool.
+ * The curves are returned in the order of the curve definitions, and the parallel calibrator
+ * returns exactly the same curves as the sequential one.
+ * <p>
+ * The calibrations share a cache of the values depending only on the discount curves.
+ * With {@link FastCreditCurveCalibrator}, the discounting part of the pricing of the curve nodes is computed
+ * once for all the legal entities with the same node dates, typically the standard CDS tenors.
+ * <p>
+ * The previous curves, typically the curves calibrated on the previous day, can be supplied as initial guess.
+ * The calibrated curves do not depend on the initial guess beyond the accuracy of the root finder.
+ */
+public final class IsdaCompliantCreditCurveBatchCalibrator {
+
+  /**
+   * The underlying calibrator.
+   */
+  private final IsdaCompliantCreditCurveCalibrator calibrator;
+  /**
+   * The pool used to calibrate the curves, null if sequential.
+   */
+  private final ForkJoinPool pool;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the sequential batch calibrator based on the standard {@link FastCreditCurveCalibrator}.
+   *
+   * @return the batch calibrator
+   */
+  public static IsdaCompliantCreditCurveBatchCalibrator standard() {
+    return of(FastCreditCurveCalibrator.standard());
+  }
+
+  /**
+   * Obtains the sequential batch calibrator based on the specified calibrator.
+   *
+   * @param calibrator  the underlying calibrator
+   * @return the batch calibrator
+   */
+  public static IsdaCompliantCreditCurveBatchCalibrator of(IsdaCompliantCreditCurveCalibrator calibrator) {
+    ArgChecker.notNull(calibrator, "calibrator");
+    return new IsdaCompliantCreditCurveBatchCalibrator(calibrator, null);
+  }
+
+  // restricted constructor
+  private IsdaCompliantCreditCurveBatchCalibrator(IsdaCompliantCreditCurveCalibrator calibrator, ForkJoinPool pool) {
+    this.calibrator = calibrator;
+    this.pool = pool;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a calibrator calibrating the curves in parallel using the common fork-join pool.
+   *
+   * @return the parallel calibrator
+   */
+  public IsdaCompliantCreditCurveBatchCalibrator parallel() {
+    return parallel(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns a calibrator calibrating the curves in parallel using the specified fork-join pool.
+   *
+   * @param pool  the fork-join pool
+   * @return the parallel calibrator
+   */
+  public IsdaCompliantCreditCurveBatchCalibrator parallel(ForkJoinPool pool) {
+    ArgChecker.notNull(pool, "pool");
+    return new IsdaCompliantCreditCurveBatchCalibrator(calibrator, pool);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying calibrator.
+   *
+   * @return the calibrator
+   */
+  public IsdaCompliantCreditCurveCalibrator getCalibrator() {
+    return calibrator;
+  }
+
+  /**
+   * Checks if the curves are calibrated in parallel.
+   *
+   * @return true if parallel
+   */
+  public boolean isParallel() {
+    return pool != null;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the ISDA compliant credit curves to the market data.
+   * <p>
+   * Each curve is calibrated as in
+   * {@link IsdaCompliantCreditCurveCalibrator#calibrate(IsdaCreditCurveDefinition, MarketData,
+   * ImmutableCreditRatesProvider, ReferenceData)}.
+   *
+   * @param curveDefinitions  the curve definitions
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the ISDA compliant credit curves, in the order of the curve definitions
+   */
+  public List<LegalEntitySurvivalProbabilities> calibrate(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    return calibrate(curveDefinitions, marketData, ratesProvider, ImmutableMap.of(), refData);
+  }
+
+  /**
+   * Calibrates the ISDA compliant credit curves to the market data, starting from the previous curves.
+   * <p>
+   * The previous curves are keyed by legal entity and currency, as in {@link ImmutableCreditRatesProvider#getCreditCurves()}.
+   * The zero rate of the previous curve at each node is used as initial guess of the calibration.
+   * The curves without previous curve are calibrated from the default initial guess.
+   *
+   * @param curveDefinitions  the curve definitions
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param previousCurves  the previous curves
+   * @param refData  the reference data
+   * @return the ISDA compliant credit curves, in the order of the curve definitions
+   */
+  public List<LegalEntitySurvivalProbabilities> calibrate(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      Map<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> previousCurves,
+      ReferenceData refData) {
+
+    ArgChecker.notNull(curveDefinitions, "curveDefinitions");
+    ArgChecker.notNull(marketData, "marketData");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    ArgChecker.notNull(previousCurves, "previousCurves");
+    ArgChecker.notNull(refData, "refData");
+    CreditCurveCalibrationCache cache = new CreditCurveCalibrationCache();
+    return evaluate(curveDefinitions.size(), i -> calibrator.calibrate(
+        curveDefinitions.get(i), marketData, ratesProvider, previousCurves, cache, refData));
+  }
+
+  // evaluates the function for each index, returning the results in index order
+  private <T> List<T> evaluate(int count, IntFunction<T> function) {
+    if (pool == null) {
+      return IntStream.range(0, count).mapToObj(function).collect(toImmutableList());
+    }
+    return pool.submit(() -> IntStream.range(0, count).parallel().mapToObj(function).collect(toImmutableList())).join();
+  }
+
+}
@@ -8,6 +8,8 @@ package com.opengamma.strata.pricer.credit;
 import java.time.LocalDate;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -154,6 +156,18 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       ImmutableCreditRatesProvider ratesProvider,
       ReferenceData refData) {
 
+    return calibrate(curveDefinition, marketData, ratesProvider, ImmutableMap.of(), new CreditCurveCalibrationCache(), refData);
+  }
+
+  // calibrates the credit curve, using the previous curves as initial guess and sharing the cache between curves
+  LegalEntitySurvivalProbabilities calibrate(
+      IsdaCreditCurveDefinition curveDefinition,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      Map<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> previousCurves,
+      CreditCurveCalibrationCache cache,
+      ReferenceData refData) {
+
     ArgChecker.isTrue(curveDefinition.getCurveValuationDate().equals(ratesProvider.getValuationDate()),
         "ratesProvider and curveDefinition must be based on the same valuation date");
     ImmutableList<CdsIsdaCreditCurveNode> curveNodes = curveDefinition.getCurveNodes().stream()
@@ -169,6 +183,33 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
         curveDefinition.getCurrency(),
         curveDefinition.isComputeJacobian(),
         curveDefinition.isStoreNodeTrade(),
+        previousCurves,
+        cache,
+        refData);
+  }
+
+  LegalEntitySurvivalProbabilities calibrate(
+      List<CdsIsdaCreditCurveNode> curveNodes,
+      CurveName name,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      DayCount definitionDayCount,
+      Currency definitionCurrency,
+      boolean computeJacobian,
+      boolean storeTrade,
+      ReferenceData refData) {
+
+    return calibrate(
+        curveNodes,
+        name,
+        marketData,
+        ratesProvider,
+        definitionDayCount,
+        definitionCurrency,
+        computeJacobian,
+        storeTrade,
+        ImmutableMap.of(),
+        new CreditCurveCalibrationCache(),
         refData);
   }
 
@@ -181,6 +222,8 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       Currency definitionCurrency,
       boolean computeJacobian,
       boolean storeTrade,
+      Map<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> previousCurves,
+      CreditCurveCalibrationCache cache,
       ReferenceData refData) {
 
     Iterator<StandardId> legalEntities =
@@ -235,6 +278,8 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
         valuationDate,
         discountFactors,
         recoveryRates,
+        Optional.ofNullable(previousCurves.get(Pair.of(legalEntityId, currency))),
+        cache,
         refData);
 
     if (computeJacobian) {
@@ -320,6 +365,42 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       RecoveryRates recoveryRates,
       ReferenceData refData);
 
+  /**
+   * Calibrate the ISDA compliant credit curve to points upfront and fractional spread,
+   * starting from the previous curve of the legal entity if available.
+   * <p>
+   * The previous curve, typically the curve calibrated on the previous day, is used as initial guess only.
+   * The cache holds the values shared between the calibrations of curves based on the same discount curves.
+   * By default, the previous curve and the cache are ignored.
+   * 
+   * @param calibrationCDSs  the calibration CDS
+   * @param flactionalSpreads  the fractional spreads
+   * @param pointsUpfront  the points upfront values
+   * @param name  the curve name
+   * @param valuationDate  the valuation date
+   * @param discountFactors  the discount factors
+   * @param recoveryRates  the recovery rates
+   * @param previousCurve  the previous curve, optional
+   * @param cache  the cache
+   * @param refData  the reference data
+   * @return the ISDA compliant credit curve
+   */
+  NodalCurve calibrate(
+      List<ResolvedCdsTrade> calibrationCDSs,
+      DoubleArray flactionalSpreads,
+      DoubleArray pointsUpfront,
+      CurveName name,
+      LocalDate valuationDate,
+      CreditDiscountFactors discountFactors,
+      RecoveryRates recoveryRates,
+      Optional<LegalEntitySurvivalProbabilities> previousCurve,
+      CreditCurveCalibrationCache cache,
+      ReferenceData refData) {
+
+    return calibrate(
+        calibrationCDSs, flactionalSpreads, pointsUpfront, name, valuationDate, discountFactors, recoveryRates, refData);
+  }
+
   private double[] getStandardQuoteForm(ResolvedCdsTrade calibrationCds, CdsQuote marketQuote, LocalDate valuationDate,
       CreditDiscountFactors discountFactors, RecoveryRates recoveryRates, boolean computeJacobian, ReferenceData refData) {
 
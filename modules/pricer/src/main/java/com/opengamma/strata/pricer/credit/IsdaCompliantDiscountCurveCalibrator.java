@@ -10,7 +10,6 @@ import java.time.Period;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
@@ -36,6 +35,7 @@ import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.curve.SwapIsdaCreditCurveNode;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.UnitParameterSensitivities;
+import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
@@ -229,9 +229,9 @@ public final class IsdaCompliantDiscountCurveCalibrator {
     int index1 = i1;
     int index2 = i2;
 
-    Function<Double, Double> func = new Function<Double, Double>() {
+    DoubleFunction1D func = new DoubleFunction1D() {
       @Override
-      public Double apply(final Double x) {
+      public double applyAsDouble(double x) {
         InterpolatedNodalCurve tempCurve = curve.withParameter(curveIndex, x);
         double sum = 1.0 - cachedValues; // Floating leg at par
         for (int i = index1; i < index2; i++) {
@@ -242,9 +242,9 @@ public final class IsdaCompliantDiscountCurveCalibrator {
       }
     };
 
-    Function<Double, Double> grad = new Function<Double, Double>() {
+    DoubleFunction1D grad = new DoubleFunction1D() {
       @Override
-      public Double apply(final Double x) {
+      public double applyAsDouble(double x) {
         InterpolatedNodalCurve tempCurve = curve.withParameter(curveIndex, x);
         double sum = cachedSense;
         for (int i = index1; i < index2; i++) {
@@ -258,12 +258,12 @@ public final class IsdaCompliantDiscountCurveCalibrator {
     };
 
     double guess = curve.getParameter(curveIndex);
-    if (guess == 0.0 && func.apply(guess) == 0.0) {
+    if (guess == 0.0 && func.applyAsDouble(guess) == 0.0) {
       return curve;
     }
     double[] bracket = guess > 0d ?
-        BRACKETER.getBracketedPoints(func, 0.8 * guess, 1.25 * guess, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY) :
-        BRACKETER.getBracketedPoints(func, 1.25 * guess, 0.8 * guess, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        BRACKETER.getBracketedPointsDouble(func, 0.8 * guess, 1.25 * guess, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY) :
+        BRACKETER.getBracketedPointsDouble(func, 1.25 * guess, 0.8 * guess, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
     double r = rootFinder.getRoot(func, grad, bracket[0], bracket[1]);
     return curve.withParameter(curveIndex, r);
   }
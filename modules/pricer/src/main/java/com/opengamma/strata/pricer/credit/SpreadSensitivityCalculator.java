@@ -5,8 +5,12 @@
  */
 package com.opengamma.strata.pricer.credit;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.ImmutableList;
@@ -18,6 +22,7 @@ import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
@@ -280,6 +285,118 @@ public abstract class SpreadSensitivityCalculator {
     return bucketedCs01.multipliedBy(indexFactor);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes parallel CS01 for CDS and CDS index trades.
+   * <p>
+   * The trades must be {@link ResolvedCdsTrade} or {@link ResolvedCdsIndexTrade}.
+   * The relevant credit curves must be stored in {@code RatesProvider}.
+   * <p>
+   * The trades used in the curve calibration are reused as bucket CDS or bucket CDS index by this method.
+   * Thus the credit curves must store {@link ResolvedTradeParameterMetadata}.
+   * <p>
+   * The result is the same as computing the CS01 of each trade separately.
+   * However, the work depending only on the credit curve, such as the calibration of the implied credit curve,
+   * is performed once for all the trades on the same credit curve.
+   * 
+   * @param trades  the trades
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the parallel CS01, in the order of the trades
+   */
+  public List<CurrencyAmount> parallelCs01(
+      List<? extends ResolvedTrade> trades,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    CurrencyAmount[] result = new CurrencyAmount[trades.size()];
+    for (CurveTrades curveTrades : groupByCurve(trades, ratesProvider)) {
+      DoubleArray values = computedParallelCs01(curveTrades.cdsTrades, curveTrades.bucketCds, ratesProvider, refData);
+      for (int i = 0; i < values.size(); i++) {
+        result[curveTrades.indices.get(i)] =
+            CurrencyAmount.of(curveTrades.currency, values.get(i)).multipliedBy(curveTrades.indexFactor);
+      }
+    }
+    return ImmutableList.copyOf(result);
+  }
+
+  /**
+   * Computes bucketed CS01 for CDS and CDS index trades.
+   * <p>
+   * The trades must be {@link ResolvedCdsTrade} or {@link ResolvedCdsIndexTrade}.
+   * The relevant credit curves must be stored in {@code RatesProvider}.
+   * <p>
+   * The trades used in the curve calibration are reused as bucket CDS or bucket CDS index by this method.
+   * Thus the credit curves must store {@link ResolvedTradeParameterMetadata}.
+   * <p>
+   * The result is the same as computing the CS01 of each trade separately.
+   * However, the work depending only on the credit curve, such as the calibration of the implied credit curve,
+   * is performed once for all the trades on the same credit curve.
+   * 
+   * @param trades  the trades
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the bucketed CS01, in the order of the trades
+   */
+  public List<CurrencyParameterSensitivity> bucketedCs01(
+      List<? extends ResolvedTrade> trades,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    CurrencyParameterSensitivity[] result = new CurrencyParameterSensitivity[trades.size()];
+    for (CurveTrades curveTrades : groupByCurve(trades, ratesProvider)) {
+      List<DoubleArray> values = computedBucketedCs01(curveTrades.cdsTrades, curveTrades.bucketCds, ratesProvider, refData);
+      for (int i = 0; i < values.size(); i++) {
+        CurrencyParameterSensitivity sensitivity = CurrencyParameterSensitivity.of(
+            CurveName.of("impliedSpreads"),
+            curveTrades.metadata,
+            curveTrades.currency,
+            values.get(i));
+        result[curveTrades.indices.get(i)] = curveTrades.indexFactor == 1d ?
+            sensitivity :
+            sensitivity.multipliedBy(curveTrades.indexFactor);
+      }
+    }
+    return ImmutableList.copyOf(result);
+  }
+
+  // groups the trades by credit curve, in the order of first appearance
+  private Collection<CurveTrades> groupByCurve(List<? extends ResolvedTrade> trades, CreditRatesProvider ratesProvider) {
+    ArgChecker.notNull(trades, "trades");
+    Map<Pair<StandardId, Currency>, CurveTrades> grouped = new LinkedHashMap<>();
+    for (int i = 0; i < trades.size(); i++) {
+      ResolvedTrade trade = trades.get(i);
+      if (trade instanceof ResolvedCdsTrade) {
+        ResolvedCds product = ((ResolvedCdsTrade) trade).getProduct();
+        grouped.computeIfAbsent(Pair.of(product.getLegalEntityId(), product.getCurrency()), key -> {
+          List<ResolvedCdsTrade> bucketCds = getBucketCds(product, ratesProvider);
+          List<ResolvedTradeParameterMetadata> metadata = bucketCds.stream()
+              .map(t -> ResolvedTradeParameterMetadata.of(t, t.getProduct().getProtectionEndDate().toString()))
+              .collect(Guavate.toImmutableList());
+          return new CurveTrades(product.getCurrency(), bucketCds, metadata, 1d);
+        }).add(i, (ResolvedCdsTrade) trade);
+      } else if (trade instanceof ResolvedCdsIndexTrade) {
+        ResolvedCdsIndex product = ((ResolvedCdsIndexTrade) trade).getProduct();
+        ResolvedCdsTrade cdsTrade = ((ResolvedCdsIndexTrade) trade).toSingleNameCds();
+        grouped.computeIfAbsent(Pair.of(product.getCdsIndexId(), product.getCurrency()), key -> {
+          List<ResolvedCdsIndexTrade> bucketCdsIndex = getBucketCdsIndex(product, ratesProvider);
+          List<ResolvedCdsTrade> bucketCds = bucketCdsIndex.stream()
+              .map(ResolvedCdsIndexTrade::toSingleNameCds)
+              .collect(Guavate.toImmutableList());
+          List<ResolvedTradeParameterMetadata> metadata = bucketCdsIndex.stream()
+              .map(t -> ResolvedTradeParameterMetadata.of(t, t.getProduct().getProtectionEndDate().toString()))
+              .collect(Guavate.toImmutableList());
+          double indexFactor = getIndexFactor(cdsTrade.getProduct(), ratesProvider);
+          return new CurveTrades(product.getCurrency(), bucketCds, metadata, indexFactor);
+        }).add(i, cdsTrade);
+      } else {
+        throw new IllegalArgumentException(
+            "Trade must be ResolvedCdsTrade or ResolvedCdsIndexTrade, but was " + trade.getClass().getSimpleName());
+      }
+    }
+    return grouped.values();
+  }
+
   //-------------------------------------------------------------------------
   // extract CDS trades from credit curve
   private ImmutableList<ResolvedCdsTrade> getBucketCds(ResolvedCds product, CreditRatesProvider ratesProvider) {
@@ -325,6 +442,29 @@ public abstract class SpreadSensitivityCalculator {
       CreditRatesProvider ratesProvider,
       ReferenceData refData);
 
+  // internal bucketed CS01 computation for trades sharing the same bucket CDSs
+  List<DoubleArray> computedBucketedCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    return trades.stream()
+        .map(trade -> computedBucketedCs01(trade, bucketCds, ratesProvider, refData))
+        .collect(Guavate.toImmutableList());
+  }
+
+  // internal parallel CS01 computation for trades sharing the same bucket CDSs
+  DoubleArray computedParallelCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    return DoubleArray.of(
+        trades.size(), i -> parallelCs01(trades.get(i), bucketCds, ratesProvider, refData).getAmount());
+  }
+
   // check legal entity and currency are common for all of the CDSs
   protected void checkCdsBucket(ResolvedCdsTrade trade, List<ResolvedCdsTrade> bucketCds) {
     Iterator<StandardId> legalEntities =
@@ -357,4 +497,35 @@ public abstract class SpreadSensitivityCalculator {
     return indexFactor;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The trades on a single credit curve, with the data derived from the curve.
+   */
+  private static final class CurveTrades {
+    private final Currency currency;
+    private final List<ResolvedCdsTrade> bucketCds;
+    private final List<ResolvedTradeParameterMetadata> metadata;
+    private final double indexFactor;
+    private final List<Integer> indices = new ArrayList<>();
+    private final List<ResolvedCdsTrade> cdsTrades = new ArrayList<>();
+
+    private CurveTrades(
+        Currency currency,
+        List<ResolvedCdsTrade> bucketCds,
+        List<ResolvedTradeParameterMetadata> metadata,
+        double indexFactor) {
+
+      this.currency = currency;
+      this.bucketCds = bucketCds;
+      this.metadata = metadata;
+      this.indexFactor = indexFactor;
+    }
+
+    // adds the trade at the index
+    private void add(int index, ResolvedCdsTrade trade) {
+      indices.add(index);
+      cdsTrades.add(trade);
+    }
+  }
+
 }
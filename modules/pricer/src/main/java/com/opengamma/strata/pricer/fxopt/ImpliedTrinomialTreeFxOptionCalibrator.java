@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.basics.currency.Currency;
@@ -95,15 +96,15 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
     double todayFx = ratesProvider.fxRate(currencyPair);
     DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
     DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
-    Function<Double, Double> interestRate = new Function<Double, Double>() {
+    DoubleUnaryOperator interestRate = new DoubleUnaryOperator() {
       @Override
-      public Double apply(Double t) {
+      public double applyAsDouble(double t) {
         return counterDiscountFactors.zeroRate(t);
       }
     };
-    Function<Double, Double> dividendRate = new Function<Double, Double>() {
+    DoubleUnaryOperator dividendRate = new DoubleUnaryOperator() {
       @Override
-      public Double apply(Double t) {
+      public double applyAsDouble(double t) {
         return baseDiscountFactors.zeroRate(t);
       }
     };
@@ -118,7 +119,7 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
     };
     ImpliedTrinomialTreeLocalVolatilityCalculator localVol =
         new ImpliedTrinomialTreeLocalVolatilityCalculator(nSteps, timeToExpiry);
-    return localVol.calibrateImpliedVolatility(impliedVolSurface, todayFx, interestRate, dividendRate);
+    return localVol.calibrateImpliedVolatilityDouble(impliedVolSurface, todayFx, interestRate, dividendRate);
   }
 
   //-------------------------------------------------------------------------
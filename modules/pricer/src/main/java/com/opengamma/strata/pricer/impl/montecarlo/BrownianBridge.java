@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Brownian bridge construction of Brownian paths.
+ * <p>
+ * The first normal variate is used for the value of the Brownian motion at the last time,
+ * the following variates for the values at the times bisecting the intervals already constructed.
+ * The most important directions of the path are thus driven by the first variates,
+ * which improves the convergence of quasi-random sequences, such as the Sobol sequence.
+ * <p>
+ * The construction is a linear orthogonal transformation of the normal variates,
+ * thus the standardized increments it returns are independent standard normal variates.
+ * <p>
+ * Reference: P. Glasserman, "Monte Carlo Methods in Financial Engineering", Springer, 2003, Section 3.1.
+ */
+public final class BrownianBridge {
+
+  /**
+   * The times.
+   */
+  private final double[] times;
+  /**
+   * The inverse of the square root of the time steps.
+   */
+  private final double[] inverseSqrtSteps;
+  /**
+   * The index of the time constructed by each variate.
+   */
+  private final int[] bridgeIndex;
+  /**
+   * The index after the left end of the interval of each construction.
+   */
+  private final int[] leftIndex;
+  /**
+   * The index of the right end of the interval of each construction.
+   */
+  private final int[] rightIndex;
+  /**
+   * The weight of the left end of the interval of each construction.
+   */
+  private final double[] leftWeight;
+  /**
+   * The weight of the right end of the interval of each construction.
+   */
+  private final double[] rightWeight;
+  /**
+   * The standard deviation of each construction.
+   */
+  private final double[] stdDev;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance for the specified times.
+   *
+   * @param times  the times, positive and strictly increasing
+   * @return the Brownian bridge
+   */
+  public static BrownianBridge of(DoubleArray times) {
+    ArgChecker.isTrue(times.size() > 0, "times should not be empty");
+    ArgChecker.isTrue(times.get(0) > 0d, "times should be positive");
+    for (int i = 1; i < times.size(); i++) {
+      ArgChecker.isTrue(times.get(i) > times.get(i - 1), "times should be strictly increasing");
+    }
+    return new BrownianBridge(times.toArray());
+  }
+
+  private BrownianBridge(double[] times) {
+    int n = times.length;
+    this.times = times;
+    this.inverseSqrtSteps = new double[n];
+    this.bridgeIndex = new int[n];
+    this.leftIndex = new int[n];
+    this.rightIndex = new int[n];
+    this.leftWeight = new double[n];
+    this.rightWeight = new double[n];
+    this.stdDev = new double[n];
+    for (int i = 0; i < n; i++) {
+      inverseSqrtSteps[i] = 1d / Math.sqrt(times[i] - (i == 0 ? 0d : times[i - 1]));
+    }
+    int[] map = new int[n];
+    map[n - 1] = 1;
+    bridgeIndex[0] = n - 1;
+    stdDev[0] = Math.sqrt(times[n - 1]);
+    int j = 0;
+    for (int i = 1; i < n; i++) {
+      // first time not yet constructed
+      while (map[j] != 0) {
+        j++;
+      }
+      // next time constructed
+      int k = j;
+      while (map[k] == 0) {
+        k++;
+      }
+      int l = j + ((k - 1 - j) >> 1);
+      map[l] = i;
+      bridgeIndex[i] = l;
+      leftIndex[i] = j;
+      rightIndex[i] = k;
+      double left = j == 0 ? 0d : times[j - 1];
+      leftWeight[i] = (times[k] - times[l]) / (times[k] - left);
+      rightWeight[i] = (times[l] - left) / (times[k] - left);
+      stdDev[i] = Math.sqrt((times[l] - left) * (times[k] - times[l]) / (times[k] - left));
+      j = k + 1;
+      if (j >= n) {
+        j = 0;
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the times.
+   *
+   * @return the times
+   */
+  public DoubleArray getTimes() {
+    return DoubleArray.copyOf(times);
+  }
+
+  /**
+   * Computes the standardized increments of a Brownian path.
+   * <p>
+   * The i-th increment is the increment of the Brownian motion between the times i - 1 and i,
+   * divided by the square root of the time step. The time before the first time is 0.
+   *
+   * @param normals  the normal variates, of length the number of times
+   * @param increments  the array used to return the standardized increments, distinct from {@code normals}
+   */
+  public void increments(double[] normals, double[] increments) {
+    int n = times.length;
+    // Brownian motion at the times
+    increments[n - 1] = stdDev[0] * normals[0];
+    for (int i = 1; i < n; i++) {
+      int j = leftIndex[i];
+      int k = rightIndex[i];
+      int l = bridgeIndex[i];
+      double left = j == 0 ? 0d : leftWeight[i] * increments[j - 1];
+      increments[l] = left + rightWeight[i] * increments[k] + stdDev[i] * normals[i];
+    }
+    for (int i = n - 1; i > 0; i--) {
+      increments[i] = (increments[i] - increments[i - 1]) * inverseSqrtSteps[i];
+    }
+    increments[0] *= inverseSqrtSteps[0];
+  }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.math.impl.util.Epsilon.epsilon;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Path generator for the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The model is simulated in the forward measure associated to the numeraire, the zero-coupon bond
+ * paying at the numeraire time N. In this measure, the bonds rebased by the numeraire satisfy
+ * <pre>
+ *  P(t,T) / P(t,N) = P(0,T) / P(0,N) exp(-G(T) M(t) - G(T)^2 V(t) / 2)
+ * </pre>
+ * with G(T) = (exp(-a N) - exp(-a T)) / a, M(t) the Gaussian martingale with variance
+ * V(t) = int_0^t sigma(s)^2 exp(2 a s) ds, a the mean reversion and sigma the volatility.
+ * This is consistent with the alpha of {@code HullWhiteOneFactorPiecewiseConstantInterestRateModel}.
+ * The expressions are computed in a form which is continuous in a, with G(T) = T - N for a = 0.
+ * <p>
+ * The path is the value of M at the simulation times, which is simulated exactly.
+ * The rebased bonds are obtained from the path by {@link #rebasedBondFactor(double[], int, double)}.
+ */
+public final class HullWhiteOneFactorPathGenerator implements PathGenerator {
+
+  /**
+   * The mean reversion.
+   */
+  private final double meanReversion;
+  /**
+   * The numeraire time.
+   */
+  private final double numeraireTime;
+  /**
+   * The simulation times.
+   */
+  private final double[] times;
+  /**
+   * The variance of the martingale at the simulation times.
+   */
+  private final double[] variances;
+  /**
+   * The standard deviation of the increments of the martingale between the simulation times.
+   */
+  private final double[] stdDevs;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @param times  the simulation times
+   * @param numeraireTime  the time of the zero-coupon bond numeraire
+   * @return the path generator
+   */
+  public static HullWhiteOneFactorPathGenerator of(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray times,
+      double numeraireTime) {
+
+    ArgChecker.notNull(parameters, "parameters");
+    ArgChecker.isTrue(times.size() > 0, "times should not be empty");
+    ArgChecker.isTrue(times.get(0) > 0d, "times should be positive");
+    int n = times.size();
+    double[] variances = new double[n];
+    double[] stdDevs = new double[n];
+    for (int i = 0; i < n; i++) {
+      double previousTime = i == 0 ? 0d : times.get(i - 1);
+      double previousVariance = i == 0 ? 0d : variances[i - 1];
+      ArgChecker.isTrue(times.get(i) > previousTime, "times should be strictly increasing");
+      variances[i] = previousVariance + variance(parameters, previousTime, times.get(i));
+      stdDevs[i] = Math.sqrt(variances[i] - previousVariance);
+    }
+    return new HullWhiteOneFactorPathGenerator(
+        parameters.getMeanReversion(), numeraireTime, times.toArray(), variances, stdDevs);
+  }
+
+  private HullWhiteOneFactorPathGenerator(
+      double meanReversion,
+      double numeraireTime,
+      double[] times,
+      double[] variances,
+      double[] stdDevs) {
+
+    this.meanReversion = meanReversion;
+    this.numeraireTime = numeraireTime;
+    this.times = times;
+    this.variances = variances;
+    this.stdDevs = stdDevs;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleArray getTimes() {
+    return DoubleArray.copyOf(times);
+  }
+
+  @Override
+  public void generatePath(double[] increments, double[] path) {
+    double value = 0d;
+    for (int i = 0; i < times.length; i++) {
+      value += stdDevs[i] * increments[i];
+      path[i] = value;
+    }
+  }
+
+  /**
+   * Computes the factor of a rebased bond.
+   * <p>
+   * The rebased bond at the i-th simulation time t is P(t,T) / P(t,N) = P(0,T) / P(0,N) * factor.
+   *
+   * @param path  the path
+   * @param i  the index of the simulation time
+   * @param bondMaturity  the bond maturity T
+   * @return the factor
+   */
+  public double rebasedBondFactor(double[] path, int i, double bondMaturity) {
+    // (exp(-a N) - exp(-a T)) / a, with limit T - N when a tends to 0
+    double length = bondMaturity - numeraireTime;
+    double g = Math.exp(-meanReversion * numeraireTime) * length * epsilon(-meanReversion * length);
+    return Math.exp(-g * path[i] - 0.5 * g * g * variances[i]);
+  }
+
+  //-------------------------------------------------------------------------
+  // the integral of sigma(s)^2 exp(2 a s) between the two times
+  private static double variance(HullWhiteOneFactorPiecewiseConstantParameters parameters, double start, double end) {
+    double a = parameters.getMeanReversion();
+    DoubleArray volatility = parameters.getVolatility();
+    DoubleArray volatilityTime = parameters.getVolatilityTime();
+    double variance = 0d;
+    for (int i = 0; i < volatility.size(); i++) {
+      double periodStart = Math.max(start, volatilityTime.get(i));
+      double periodEnd = Math.min(end, volatilityTime.get(i + 1));
+      if (periodEnd > periodStart) {
+        double vol = volatility.get(i);
+        // (exp(2 a e) - exp(2 a s)) / (2 a), with limit e - s when a tends to 0
+        double length = periodEnd - periodStart;
+        variance += vol * vol * Math.exp(2d * a * periodStart) * length * epsilon(2d * a * length);
+      }
+    }
+    return variance;
+  }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.util.function.DoubleBinaryOperator;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Path generator for the local volatility model, for example for FX rates.
+ * <p>
+ * The underlying is log-normal between the simulation times with the local volatility frozen at the start
+ * of each step and a drift matching the forward, so that the discounted underlying is a martingale.
+ * When the volatility does not depend on the underlying, i.e., for the Black model, the scheme is exact.
+ * Otherwise its accuracy depends on the density of the simulation times.
+ * <p>
+ * The forwards are typically computed from the spot and the discount factors of the two currencies
+ * of a currency pair. The path is the value of the underlying at the simulation times.
+ */
+public final class LocalVolatilityPathGenerator implements PathGenerator {
+
+  /**
+   * The spot.
+   */
+  private final double spot;
+  /**
+   * The simulation times.
+   */
+  private final double[] times;
+  /**
+   * The square root of the time steps.
+   */
+  private final double[] sqrtSteps;
+  /**
+   * The logarithm of the forward ratios between consecutive times.
+   */
+  private final double[] logForwardRatios;
+  /**
+   * The local volatility, as a function of time and underlying value.
+   */
+  private final DoubleBinaryOperator localVolatility;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance for the local volatility model.
+   * <p>
+   * The local volatility function is evaluated at the start of each time step, with the time
+   * and the value of the underlying as first and second arguments.
+   * 
+   * @param spot  the spot
+   * @param times  the simulation times
+   * @param forwards  the forwards at the simulation times
+   * @param localVolatility  the local volatility function
+   * @return the path generator
+   */
+  public static LocalVolatilityPathGenerator of(
+      double spot,
+      DoubleArray times,
+      DoubleArray forwards,
+      DoubleBinaryOperator localVolatility) {
+
+    ArgChecker.isTrue(spot > 0d, "spot should be positive");
+    ArgChecker.notNull(localVolatility, "localVolatility");
+    ArgChecker.isTrue(times.size() == forwards.size(), "times and forwards should have the same size");
+    ArgChecker.isTrue(times.size() > 0, "times should not be empty");
+    ArgChecker.isTrue(times.get(0) > 0d, "times should be positive");
+    int n = times.size();
+    double[] sqrtSteps = new double[n];
+    double[] logForwardRatios = new double[n];
+    for (int i = 0; i < n; i++) {
+      double previousTime = i == 0 ? 0d : times.get(i - 1);
+      double previousForward = i == 0 ? spot : forwards.get(i - 1);
+      ArgChecker.isTrue(times.get(i) > previousTime, "times should be strictly increasing");
+      ArgChecker.isTrue(forwards.get(i) > 0d, "forwards should be positive");
+      sqrtSteps[i] = Math.sqrt(times.get(i) - previousTime);
+      logForwardRatios[i] = Math.log(forwards.get(i) / previousForward);
+    }
+    return new LocalVolatilityPathGenerator(spot, times.toArray(), sqrtSteps, logForwardRatios, localVolatility);
+  }
+
+  /**
+   * Obtains an instance for the Black model.
+   * 
+   * @param spot  the spot
+   * @param times  the simulation times
+   * @param forwards  the forwards at the simulation times
+   * @param volatility  the Black volatility
+   * @return the path generator
+   */
+  public static LocalVolatilityPathGenerator ofBlack(
+      double spot,
+      DoubleArray times,
+      DoubleArray forwards,
+      double volatility) {
+
+    ArgChecker.notNegative(volatility, "volatility");
+    return of(spot, times, forwards, (t, s) -> volatility);
+  }
+
+  private LocalVolatilityPathGenerator(
+      double spot,
+      double[] times,
+      double[] sqrtSteps,
+      double[] logForwardRatios,
+      DoubleBinaryOperator localVolatility) {
+
+    this.spot = spot;
+    this.times = times;
+    this.sqrtSteps = sqrtSteps;
+    this.logForwardRatios = logForwardRatios;
+    this.localVolatility = localVolatility;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleArray getTimes() {
+    return DoubleArray.copyOf(times);
+  }
+
+  @Override
+  public void generatePath(double[] increments, double[] path) {
+    double value = spot;
+    for (int i = 0; i < times.length; i++) {
+      double vol = localVolatility.applyAsDouble(i == 0 ? 0d : times[i - 1], value);
+      double volSqrtStep = vol * sqrtSteps[i];
+      value *= Math.exp(logForwardRatios[i] - 0.5 * volSqrtStep * volSqrtStep + volSqrtStep * increments[i]);
+      path[i] = value;
+    }
+  }
+
+}
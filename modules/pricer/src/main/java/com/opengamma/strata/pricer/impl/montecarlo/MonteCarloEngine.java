@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Monte Carlo engine computing the expected value of a path-dependent payoff.
+ * <p>
+ * The paths are produced by a {@link PathGenerator} from the normal variates of a {@link NormalVariateGenerator},
+ * optionally through a {@link BrownianBridge} and with antithetic variates.
+ * The expected value of a control variate with known expectation can be used to reduce the variance,
+ * with the optimal coefficient estimated from the same paths.
+ * <p>
+ * The paths are simulated in blocks of consecutive path indices. The mean and the centred moments over each
+ * block are computed independently by Welford's online algorithm, then combined in the order of the blocks.
+ * This avoids the cancellation of the difference between the mean of the squares and the square of the mean.
+ * The normal variates of a path only depend on its index, thus the result does not depend on the order
+ * in which the blocks are simulated, and the parallel engine returns exactly the same result as the sequential one.
+ * <p>
+ * The payoff is expressed in units of the numeraire of the model.
+ * It must be safe to call concurrently when the engine is parallel.
+ */
+public final class MonteCarloEngine {
+
+  /**
+   * The default number of paths in a block.
+   */
+  private static final int DEFAULT_BLOCK_SIZE = 1024;
+  /**
+   * The indices of the number of samples, the means of the payoff X and the control variate Y,
+   * and the sums of (X - mean(X))^2, (Y - mean(Y))^2 and (X - mean(X)) (Y - mean(Y)) in the moments.
+   */
+  private static final int COUNT = 0;
+  private static final int MEAN_X = 1;
+  private static final int MEAN_Y = 2;
+  private static final int M2_X = 3;
+  private static final int M2_Y = 4;
+  private static final int C_XY = 5;
+
+  /**
+   * The number of samples, which is the number of paths or of pairs of paths with antithetic variates.
+   */
+  private final int numberOfPaths;
+  /**
+   * The number of paths in a block.
+   */
+  private final int blockSize;
+  /**
+   * Whether antithetic variates are used.
+   */
+  private final boolean antithetic;
+  /**
+   * Whether a Brownian bridge is used.
+   */
+  private final boolean brownianBridge;
+  /**
+   * The pool used to simulate the blocks, null if sequential.
+   */
+  private final ForkJoinPool pool;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a sequential engine for the specified number of paths.
+   * <p>
+   * The engine does not use antithetic variates nor Brownian bridge.
+   * With antithetic variates, the number of paths is the number of pairs of paths.
+   *
+   * @param numberOfPaths  the number of paths, or of pairs of paths with antithetic variates
+   * @return the engine
+   */
+  public static MonteCarloEngine of(int numberOfPaths) {
+    ArgChecker.notNegativeOrZero(numberOfPaths, "numberOfPaths");
+    return new MonteCarloEngine(numberOfPaths, DEFAULT_BLOCK_SIZE, false, false, null);
+  }
+
+  private MonteCarloEngine(int numberOfPaths, int blockSize, boolean antithetic, boolean brownianBridge, ForkJoinPool pool) {
+    this.numberOfPaths = numberOfPaths;
+    this.blockSize = blockSize;
+    this.antithetic = antithetic;
+    this.brownianBridge = brownianBridge;
+    this.pool = pool;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns an engine using antithetic variates.
+   * <p>
+   * Each set of normal variates is used for a path and for the path with opposite variates.
+   * The number of paths simulated is thus twice the number of paths of the engine.
+   * The result reports both the number of samples, the pairs, and the number of simulated paths.
+   *
+   * @return the engine
+   */
+  public MonteCarloEngine withAntitheticVariates() {
+    return new MonteCarloEngine(numberOfPaths, blockSize, true, brownianBridge, pool);
+  }
+
+  /**
+   * Returns an engine using a Brownian bridge.
+   * <p>
+   * The Brownian increments are constructed by {@link BrownianBridge} from the normal variates,
+   * which is recommended with quasi-random variates.
+   *
+   * @return the engine
+   */
+  public MonteCarloEngine withBrownianBridge() {
+    return new MonteCarloEngine(numberOfPaths, blockSize, antithetic, true, pool);
+  }
+
+  /**
+   * Returns an engine simulating the paths in blocks of the specified size.
+   * <p>
+   * The result depends on the block size through the order of the sums only.
+   *
+   * @param blockSize  the number of paths in a block
+   * @return the engine
+   */
+  public MonteCarloEngine withBlockSize(int blockSize) {
+    ArgChecker.notNegativeOrZero(blockSize, "blockSize");
+    return new MonteCarloEngine(numberOfPaths, blockSize, antithetic, brownianBridge, pool);
+  }
+
+  /**
+   * Returns an engine simulating the blocks in parallel using the common fork-join pool.
+   *
+   * @return the parallel engine
+   */
+  public MonteCarloEngine parallel() {
+    return parallel(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns an engine simulating the blocks in parallel using the specified fork-join pool.
+   * <p>
+   * The result is identical to that of the sequential engine.
+   *
+   * @param pool  the fork-join pool
+   * @return the parallel engine
+   */
+  public MonteCarloEngine parallel(ForkJoinPool pool) {
+    ArgChecker.notNull(pool, "pool");
+    return new MonteCarloEngine(numberOfPaths, blockSize, antithetic, brownianBridge, pool);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the expected value of a payoff.
+   *
+   * @param normals  the generator of normal variates
+   * @param paths  the path generator
+   * @param payoff  the payoff, as a function of the path
+   * @return the estimate of the expected value
+   */
+  public MonteCarloResult price(
+      NormalVariateGenerator normals,
+      PathGenerator paths,
+      ToDoubleFunction<double[]> payoff) {
+
+    double[] moments = simulate(normals, paths, payoff, null);
+    return result(moments[MEAN_X], moments[M2_X] / numberOfPaths);
+  }
+
+  /**
+   * Computes the expected value of a payoff with a control variate.
+   * <p>
+   * The estimate is {@code mean(X) - beta * (mean(Y) - E[Y])} where X is the payoff and Y the control variate,
+   * with the coefficient {@code beta = cov(X, Y) / var(Y)} estimated from the same paths.
+   *
+   * @param normals  the generator of normal variates
+   * @param paths  the path generator
+   * @param payoff  the payoff, as a function of the path
+   * @param control  the control variate, as a function of the path
+   * @param controlExpectation  the expected value of the control variate
+   * @return the estimate of the expected value
+   */
+  public MonteCarloResult price(
+      NormalVariateGenerator normals,
+      PathGenerator paths,
+      ToDoubleFunction<double[]> payoff,
+      ToDoubleFunction<double[]> control,
+      double controlExpectation) {
+
+    ArgChecker.notNull(control, "control");
+    double[] moments = simulate(normals, paths, payoff, control);
+    double mean = moments[MEAN_X];
+    double controlMean = moments[MEAN_Y];
+    double variance = moments[M2_X] / numberOfPaths;
+    double controlVariance = moments[M2_Y] / numberOfPaths;
+    double covariance = moments[C_XY] / numberOfPaths;
+    if (controlVariance <= 0d) {
+      return result(mean, variance);
+    }
+    double beta = covariance / controlVariance;
+    return result(mean - beta * (controlMean - controlExpectation), variance - beta * covariance);
+  }
+
+  //-------------------------------------------------------------------------
+  // simulates the blocks, returning the count, the means of X and Y and the sums of the centred products
+  private double[] simulate(
+      NormalVariateGenerator normals,
+      PathGenerator paths,
+      ToDoubleFunction<double[]> payoff,
+      ToDoubleFunction<double[]> control) {
+
+    ArgChecker.notNull(normals, "normals");
+    ArgChecker.notNull(paths, "paths");
+    ArgChecker.notNull(payoff, "payoff");
+    int dimension = paths.getTimes().size();
+    BrownianBridge bridge = brownianBridge ? BrownianBridge.of(paths.getTimes()) : null;
+    int nbBlocks = (numberOfPaths + blockSize - 1) / blockSize;
+    double[][] blockMoments = new double[nbBlocks][];
+    if (pool == null) {
+      for (int i = 0; i < nbBlocks; i++) {
+        blockMoments[i] = simulateBlock(i, dimension, normals, bridge, paths, payoff, control);
+      }
+    } else {
+      pool.submit(() -> IntStream.range(0, nbBlocks).parallel().forEach(
+          i -> blockMoments[i] = simulateBlock(i, dimension, normals, bridge, paths, payoff, control))).join();
+    }
+    double[] moments = blockMoments[0];
+    for (int i = 1; i < nbBlocks; i++) {
+      combine(moments, blockMoments[i]);
+    }
+    return moments;
+  }
+
+  // combines the moments of two sets of samples into the first one, Chan et al. pairwise update
+  private static void combine(double[] moments, double[] other) {
+    double count = moments[COUNT] + other[COUNT];
+    double factor = moments[COUNT] * other[COUNT] / count;
+    double deltaX = other[MEAN_X] - moments[MEAN_X];
+    double deltaY = other[MEAN_Y] - moments[MEAN_Y];
+    moments[MEAN_X] += deltaX * other[COUNT] / count;
+    moments[MEAN_Y] += deltaY * other[COUNT] / count;
+    moments[M2_X] += other[M2_X] + deltaX * deltaX * factor;
+    moments[M2_Y] += other[M2_Y] + deltaY * deltaY * factor;
+    moments[C_XY] += other[C_XY] + deltaX * deltaY * factor;
+    moments[COUNT] = count;
+  }
+
+  // simulates the paths of a block
+  private double[] simulateBlock(
+      int block,
+      int dimension,
+      NormalVariateGenerator normals,
+      BrownianBridge bridge,
+      PathGenerator paths,
+      ToDoubleFunction<double[]> payoff,
+      ToDoubleFunction<double[]> control) {
+
+    long firstPath = (long) block * blockSize;
+    int nbPaths = (int) Math.min(blockSize, numberOfPaths - firstPath);
+    double[][] variates = new double[nbPaths][dimension];
+    normals.normals(firstPath, variates);
+    double[] increments = new double[dimension];
+    double[] path = new double[dimension];
+    double[] moments = new double[6];
+    for (int i = 0; i < nbPaths; i++) {
+      if (bridge != null) {
+        bridge.increments(variates[i], increments);
+      } else {
+        System.arraycopy(variates[i], 0, increments, 0, dimension);
+      }
+      paths.generatePath(increments, path);
+      double x = payoff.applyAsDouble(path);
+      double y = control == null ? 0d : control.applyAsDouble(path);
+      if (antithetic) {
+        for (int j = 0; j < dimension; j++) {
+          increments[j] = -increments[j];
+        }
+        paths.generatePath(increments, path);
+        x = 0.5 * (x + payoff.applyAsDouble(path));
+        y = control == null ? 0d : 0.5 * (y + control.applyAsDouble(path));
+      }
+      // Welford's online update of the means and the centred moments
+      double count = i + 1;
+      double deltaX = x - moments[MEAN_X];
+      double deltaY = y - moments[MEAN_Y];
+      moments[MEAN_X] += deltaX / count;
+      moments[MEAN_Y] += deltaY / count;
+      moments[M2_X] += deltaX * (x - moments[MEAN_X]);
+      moments[M2_Y] += deltaY * (y - moments[MEAN_Y]);
+      moments[C_XY] += deltaX * (y - moments[MEAN_Y]);
+      moments[COUNT] = count;
+    }
+    return moments;
+  }
+
+  // the result from the mean and the variance of the samples
+  private MonteCarloResult result(double mean, double variance) {
+    long nbSimulatedPaths = antithetic ? 2L * numberOfPaths : numberOfPaths;
+    return MonteCarloResult.of(mean, Math.sqrt(Math.max(variance, 0d) / numberOfPaths), numberOfPaths, nbSimulatedPaths);
+  }
+
+}
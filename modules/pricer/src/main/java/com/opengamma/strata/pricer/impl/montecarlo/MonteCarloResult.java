@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.io.Serializable;
+import java.util.Set;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+/**
+ * The result of a Monte Carlo simulation.
+ * <p>
+ * This contains the estimate of the expected value and its standard error.
+ */
+@BeanDefinition(style = "light")
+public final class MonteCarloResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The estimate of the expected value.
+   */
+  @PropertyDefinition
+  private final double value;
+  /**
+   * The standard error of the estimate.
+   */
+  @PropertyDefinition
+  private final double standardError;
+  /**
+   * The number of simulated samples.
+   * <p>
+   * With antithetic variates, a sample is the average of a path and its antithetic path.
+   */
+  @PropertyDefinition
+  private final long numberOfSamples;
+  /**
+   * The number of simulated paths.
+   * <p>
+   * With antithetic variates, this is twice the number of samples.
+   */
+  @PropertyDefinition
+  private final long numberOfPaths;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * 
+   * @param value  the estimate of the expected value
+   * @param standardError  the standard error of the estimate
+   * @param numberOfSamples  the number of simulated samples
+   * @param numberOfPaths  the number of simulated paths
+   * @return the instance
+   */
+  public static MonteCarloResult of(double value, double standardError, long numberOfSamples, long numberOfPaths) {
+    return new MonteCarloResult(value, standardError, numberOfSamples, numberOfPaths);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code MonteCarloResult}.
+   */
+  private static final MetaBean META_BEAN = LightMetaBean.of(MonteCarloResult.class);
+
+  /**
+   * The meta-bean for {@code MonteCarloResult}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private MonteCarloResult(
+      double value,
+      double standardError,
+      long numberOfSamples,
+      long numberOfPaths) {
+    this.value = value;
+    this.standardError = standardError;
+    this.numberOfSamples = numberOfSamples;
+    this.numberOfPaths = numberOfPaths;
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the estimate of the expected value.
+   * @return the value of the property
+   */
+  public double getValue() {
+    return value;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the standard error of the estimate.
+   * @return the value of the property
+   */
+  public double getStandardError() {
+    return standardError;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of simulated samples.
+   * <p>
+   * With antithetic variates, a sample is the average of a path and its antithetic path.
+   * @return the value of the property
+   */
+  public long getNumberOfSamples() {
+    return numberOfSamples;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of simulated paths.
+   * <p>
+   * With antithetic variates, this is twice the number of samples.
+   * @return the value of the property
+   */
+  public long getNumberOfPaths() {
+    return numberOfPaths;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      MonteCarloResult other = (MonteCarloResult) obj;
+      return JodaBeanUtils.equal(value, other.value) &&
+          JodaBeanUtils.equal(standardError, other.standardError) &&
+          (numberOfSamples == other.numberOfSamples) &&
+          (numberOfPaths == other.numberOfPaths);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(value);
+    hash = hash * 31 + JodaBeanUtils.hashCode(standardError);
+    hash = hash * 31 + JodaBeanUtils.hashCode(numberOfSamples);
+    hash = hash * 31 + JodaBeanUtils.hashCode(numberOfPaths);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("MonteCarloResult{");
+    buf.append("value").append('=').append(value).append(',').append(' ');
+    buf.append("standardError").append('=').append(standardError).append(',').append(' ');
+    buf.append("numberOfSamples").append('=').append(numberOfSamples).append(',').append(' ');
+    buf.append("numberOfPaths").append('=').append(JodaBeanUtils.toString(numberOfPaths));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
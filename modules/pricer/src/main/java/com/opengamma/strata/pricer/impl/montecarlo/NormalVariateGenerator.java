@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+/**
+ * Generator of the standard normal variates driving Monte Carlo paths.
+ * <p>
+ * The variates of a path are a deterministic function of the index of the path.
+ * Thus the paths can be generated in blocks, in any order and by different threads, with identical results.
+ * <p>
+ * Implementations must be immutable and thread-safe.
+ */
+public interface NormalVariateGenerator {
+
+  /**
+   * Generates the normal variates of consecutive paths.
+   * <p>
+   * The i-th row of {@code result} is filled with the variates of the path of index {@code firstPath + i}.
+   * The number of variates per path is the length of the rows.
+   * 
+   * @param firstPath  the index of the first path
+   * @param result  the array used to return the normal variates
+   */
+  public abstract void normals(long firstPath, double[][] result);
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Generator of the paths of a one-factor model in Monte Carlo simulation.
+ * <p>
+ * A path is generated from the standardized increments of a Brownian motion at the simulation times,
+ * i.e., the increments divided by the square root of the time steps.
+ * <p>
+ * Implementations must be immutable and thread-safe.
+ */
+public interface PathGenerator {
+
+  /**
+   * Gets the simulation times.
+   * <p>
+   * The times are positive and strictly increasing. 
+   * 
+   * @return the times
+   */
+  public abstract DoubleArray getTimes();
+
+  /**
+   * Generates a path.
+   * <p>
+   * The i-th element of {@code path} is the state of the model at the i-th simulation time.
+   * 
+   * @param increments  the standardized Brownian increments, of length the number of times
+   * @param path  the array used to return the path, of length the number of times
+   */
+  public abstract void generatePath(double[] increments, double[] path);
+
+}
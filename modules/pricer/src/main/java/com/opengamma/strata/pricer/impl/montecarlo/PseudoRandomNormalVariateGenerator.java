@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import com.opengamma.strata.math.impl.random.CounterBasedRandomNumberGenerator;
+
+/**
+ * Generator of pseudo-random normal variates.
+ * <p>
+ * The variates are produced by a {@link CounterBasedRandomNumberGenerator}. 
+ * The counter of the j-th variate of the path of index n is {@code n * d + j}, where d is the number of variates
+ * per path, thus the paths do not overlap.
+ */
+public final class PseudoRandomNormalVariateGenerator implements NormalVariateGenerator {
+
+  /**
+   * The underlying generator.
+   */
+  private final CounterBasedRandomNumberGenerator generator;
+
+  /**
+   * Obtains an instance from a seed.
+   * 
+   * @param seed  the seed
+   * @return the generator
+   */
+  public static PseudoRandomNormalVariateGenerator of(long seed) {
+    return new PseudoRandomNormalVariateGenerator(CounterBasedRandomNumberGenerator.of(seed));
+  }
+
+  private PseudoRandomNormalVariateGenerator(CounterBasedRandomNumberGenerator generator) {
+    this.generator = generator;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void normals(long firstPath, double[][] result) {
+    for (int i = 0; i < result.length; i++) {
+      generator.normals((firstPath + i) * result[i].length, result[i]);
+    }
+  }
+
+}
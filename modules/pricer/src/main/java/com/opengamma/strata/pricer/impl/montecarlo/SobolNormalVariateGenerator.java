@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.random.SobolSequence;
+
+import cern.jet.stat.Probability;
+
+/**
+ * Generator of quasi-random normal variates based on the Sobol sequence.
+ * <p>
+ * The variates of the path of index n are the inverse normal of the point of index n + 1 of the sequence,
+ * the origin being skipped. The first variates have the best uniformity properties,
+ * and should be used for the most important directions, for example through a {@link BrownianBridge}.
+ */
+public final class SobolNormalVariateGenerator implements NormalVariateGenerator {
+
+  /**
+   * The Sobol sequence.
+   */
+  private final SobolSequence sequence;
+
+  /**
+   * Obtains an instance for the specified number of variates per path.
+   * 
+   * @param dimension  the number of variates per path
+   * @return the generator
+   */
+  public static SobolNormalVariateGenerator of(int dimension) {
+    return new SobolNormalVariateGenerator(SobolSequence.of(dimension));
+  }
+
+  private SobolNormalVariateGenerator(SobolSequence sequence) {
+    this.sequence = sequence;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void normals(long firstPath, double[][] result) {
+    ArgChecker.isTrue(result.length == 0 || result[0].length == sequence.getDimension(),
+        "number of variates should match the dimension {}", sequence.getDimension());
+    sequence.points(firstPath + 1, result);
+    for (double[] row : result) {
+      for (int j = 0; j < row.length; j++) {
+        row[j] = Probability.normalInverse(row[j]);
+      }
+    }
+  }
+
+}
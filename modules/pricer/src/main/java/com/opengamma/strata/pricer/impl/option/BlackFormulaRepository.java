@@ -17,6 +17,7 @@ import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
 import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.product.common.PutCall;
 
 /**
  * The primary repository for Black formulas, including the price, common greeks and implied volatility.
@@ -1188,6 +1189,9 @@ public final class BlackFormulaRepository {
   /**
    * Computes the log-normal (Black) implied volatility of an out-the-money
    * European option starting from an initial guess.
+   * <p>
+   * The implied volatility is computed by {@link ImpliedVolatilityFormulaRepository}, which does not require
+   * an initial guess. The guess is only validated.
    * 
    * @param otmPrice The forward price, which is the market price divided by the numeraire,
    *   for example the zero bond p(0,T) for the T-forward measure
@@ -1229,23 +1233,8 @@ public final class BlackFormulaRepository {
     }
 
     boolean isCall = strike >= forward;
-
-    Function<Double, Double> priceFunc = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double x) {
-        return price(forward, strike, timeToExpiry, x, isCall);
-      }
-    };
-
-    Function<Double, Double> vegaFunc = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double x) {
-        return vega(forward, strike, timeToExpiry, x);
-      }
-    };
-
-    GenericImpliedVolatiltySolver solver = new GenericImpliedVolatiltySolver(priceFunc, vegaFunc);
-    return solver.impliedVolatility(otmPrice, volGuess);
+    return ImpliedVolatilityFormulaRepository.impliedBlackVolatility(
+        otmPrice, forward, strike, timeToExpiry, PutCall.ofPut(!isCall));
   }
 
   /**
@@ -0,0 +1,415 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import java.util.function.DoubleUnaryOperator;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ScaledComplementaryErrorFunction;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Implied volatility formulas for the Black (log-normal) and normal (Bachelier) models.
+ * <p>
+ * The implied volatilities are computed to close to machine precision with a small and bounded amount of work,
+ * whatever the moneyness of the option, and without any initial guess.
+ * <p>
+ * For the normal model, the implied volatility is obtained from a rational approximation of the inverse
+ * of the normalized price, refined by a single third order Householder step. No iteration is required.
+ * <p>
+ * For the Black model, the price is normalized to the price of an out-of-the-money call on a unit forward.
+ * Starting from asymptotic approximations, the total volatility is obtained by third order Householder steps
+ * on a transformation of the normalized price chosen such that the objective function is close to linear:
+ * the reciprocal of the logarithm of the price below the inflection point and the logarithm of the distance
+ * to the price upper bound above it. Convergence is typically achieved in two or three steps.
+ * The normalized price is computed without cancellation using the scaled complementary error function,
+ * with series expansions for small total volatilities and for deep out-of-the-money options.
+ * <p>
+ * As in the other formula repositories, all prices, input and output, are <b>forward</b> prices,
+ * i.e. (spot price)/numeraire.
+ * <p>
+ * References:
+ * <ul>
+ * <li>Jaeckel, P. Let's be rational. Wilmott Magazine, 2015(75):40-53, 2015.
+ * <li>Jaeckel, P. Implied normal volatility. Wilmott Magazine, 2017(90):52-54, 2017.
+ * </ul>
+ */
+public final class ImpliedVolatilityFormulaRepository {
+
+  /**
+   * The normal distribution implementation.
+   */
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  /**
+   * The scaled complementary error function.
+   */
+  private static final DoubleUnaryOperator ERFCX = new ScaledComplementaryErrorFunction();
+  private static final double SQRT_TWO_PI = Math.sqrt(2d * Math.PI);
+  private static final double SQRT_PI_OVER_TWO = Math.sqrt(0.5 * Math.PI);
+  private static final double ONE_OVER_SQRT_TWO = Math.sqrt(0.5);
+  /**
+   * The value below which the asymptotic expansion of the Mills ratio is used.
+   */
+  private static final double ASYMPTOTIC_EXPANSION_THRESHOLD = -10d;
+  /**
+   * The maximal number of terms in the asymptotic expansion of the Mills ratio.
+   */
+  private static final int ASYMPTOTIC_EXPANSION_MAX_TERMS = 50;
+  /**
+   * The half total volatility below which the small total volatility expansion is used.
+   */
+  private static final double SMALL_T_EXPANSION_THRESHOLD = 0.21;
+  /**
+   * The order of the small total volatility expansion.
+   */
+  private static final int SMALL_T_EXPANSION_ORDER = 13;
+  /**
+   * The maximal number of Householder steps for the Black implied volatility.
+   */
+  private static final int MAX_ITERATIONS = 20;
+  /**
+   * The relative size of a Householder step below which the total volatility is converged.
+   * The convergence being of order four, the error after this step is well below machine precision.
+   */
+  private static final double STEP_TOLERANCE = 1.0e-7;
+  /**
+   * The relative accuracy of the asymptotic expansions.
+   */
+  private static final double EPS = 1.0e-17;
+
+  // restricted constructor
+  private ImpliedVolatilityFormulaRepository() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the log-normal (Black) implied volatility.
+   * <p>
+   * The price may be the price of an in-the-money or out-of-the-money option.
+   * The in-the-money prices are converted to out-of-the-money prices by put-call parity;
+   * their time value, and thus the implied volatility, are subject to cancellation errors.
+   *
+   * @param price  the forward price, which is the market price divided by the numeraire
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry
+   * @param putCall  whether the price is the price of a put or a call
+   * @return the log-normal implied volatility
+   */
+  public static double impliedBlackVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      PutCall putCall) {
+
+    ArgChecker.isTrue(forward > 0d, "negative/NaN forward; have {}", forward);
+    ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+    ArgChecker.isFalse(Double.isInfinite(forward), "forward is Infinity");
+    ArgChecker.isFalse(Double.isInfinite(strike), "strike is Infinity");
+    double intrinsic = Math.max(0d, (putCall.isCall() ? 1d : -1d) * (forward - strike));
+    double timeValue = price - intrinsic;
+    ArgChecker.isTrue(timeValue >= 0d, "price of {} is below intrinsic value of {}", price, intrinsic);
+    if (timeValue == 0d) {
+      return 0d;
+    }
+    ArgChecker.isTrue(timeValue < Math.min(forward, strike),
+        "time value of {} exceeded upper bound of {}", timeValue, Math.min(forward, strike));
+    ArgChecker.isTrue(timeToExpiry > 0d, "timeToExpiry must be positive for a positive time value");
+    double x = -Math.abs(Math.log(forward / strike));
+    double beta = timeValue / Math.sqrt(forward * strike);
+    return totalVolatility(beta, x) / Math.sqrt(timeToExpiry);
+  }
+
+  /**
+   * Computes the log-normal (Black) implied volatilities of options with the same forward and expiry.
+   * <p>
+   * See {@link #impliedBlackVolatility(double, double, double, double, PutCall)}.
+   *
+   * @param prices  the forward prices, which are the market prices divided by the numeraire
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strikes
+   * @param timeToExpiry  the time to expiry
+   * @param putCall  whether the prices are the prices of puts or calls
+   * @return the log-normal implied volatilities
+   */
+  public static DoubleArray impliedBlackVolatility(
+      DoubleArray prices,
+      double forward,
+      DoubleArray strikes,
+      double timeToExpiry,
+      PutCall putCall) {
+
+    ArgChecker.isTrue(prices.size() == strikes.size(), "prices and strikes must have the same size");
+    return DoubleArray.of(
+        prices.size(), i -> impliedBlackVolatility(prices.get(i), forward, strikes.get(i), timeToExpiry, putCall));
+  }
+
+  /**
+   * Computes the normal (Bachelier) implied volatility.
+   * <p>
+   * The price may be the price of an in-the-money or out-of-the-money option.
+   * The in-the-money prices are converted to out-of-the-money prices by put-call parity;
+   * their time value, and thus the implied volatility, are subject to cancellation errors.
+   *
+   * @param price  the forward price, which is the market price divided by the numeraire
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry
+   * @param putCall  whether the price is the price of a put or a call
+   * @return the normal implied volatility
+   */
+  public static double impliedNormalVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      PutCall putCall) {
+
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+    ArgChecker.isFalse(Double.isInfinite(forward), "forward is Infinity");
+    ArgChecker.isFalse(Double.isInfinite(strike), "strike is Infinity");
+    double intrinsic = Math.max(0d, (putCall.isCall() ? 1d : -1d) * (forward - strike));
+    double timeValue = price - intrinsic;
+    ArgChecker.isTrue(timeValue >= 0d, "price of {} is below intrinsic value of {}", price, intrinsic);
+    if (timeValue == 0d) {
+      return 0d;
+    }
+    ArgChecker.isTrue(timeToExpiry > 0d, "timeToExpiry must be positive for a positive time value");
+    double absMoneyness = Math.abs(forward - strike);
+    if (absMoneyness == 0d) {
+      return timeValue * SQRT_TWO_PI / Math.sqrt(timeToExpiry);
+    }
+    // solve phiTilde(x) = -timeValue / |forward - strike| for x = -|forward - strike| / (vol * sqrt(T))
+    double phiTildeStar = -timeValue / absMoneyness;
+    double xBar;
+    if (phiTildeStar < -0.001882039271) {
+      double g = 1d / (phiTildeStar - 0.5);
+      double g2 = g * g;
+      double xiBar = (0.032114372355 - g2 * (0.016969777977 - g2 * (2.6207332461e-3 - 9.6066952861e-5 * g2))) /
+          (1d - g2 * (0.6635646938 - g2 * (0.14528712196 - 0.010472855461 * g2)));
+      xBar = g * (1d / SQRT_TWO_PI + xiBar * g2);
+    } else {
+      double h = Math.sqrt(-Math.log(-phiTildeStar));
+      xBar = (9.4883409779 - h * (9.6320903635 - h * (0.58556997323 + 2.1464093351 * h))) /
+          (1d - h * (0.65174820867 + h * (1.5120247828 + 6.6437847132e-5 * h)));
+    }
+    double xStar = xBar;
+    double density = NORMAL.getPDF(xBar);
+    if (density > 0d) {
+      double q = (phiTilde(xBar) - phiTildeStar) / density;
+      double xBar2 = xBar * xBar;
+      xStar = xBar + 3d * q * xBar2 * (2d - q * xBar * (2d + xBar2)) /
+          (6d + q * xBar * (-12d + xBar * (6d * q + xBar * (-6d + q * xBar * (3d + xBar2)))));
+    }
+    return absMoneyness / (-xStar * Math.sqrt(timeToExpiry));
+  }
+
+  /**
+   * Computes the normal (Bachelier) implied volatilities of options with the same forward and expiry.
+   * <p>
+   * See {@link #impliedNormalVolatility(double, double, double, double, PutCall)}.
+   *
+   * @param prices  the forward prices, which are the market prices divided by the numeraire
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strikes
+   * @param timeToExpiry  the time to expiry
+   * @param putCall  whether the prices are the prices of puts or calls
+   * @return the normal implied volatilities
+   */
+  public static DoubleArray impliedNormalVolatility(
+      DoubleArray prices,
+      double forward,
+      DoubleArray strikes,
+      double timeToExpiry,
+      PutCall putCall) {
+
+    ArgChecker.isTrue(prices.size() == strikes.size(), "prices and strikes must have the same size");
+    return DoubleArray.of(
+        prices.size(), i -> impliedNormalVolatility(prices.get(i), forward, strikes.get(i), timeToExpiry, putCall));
+  }
+
+  //-------------------------------------------------------------------------
+  // the total volatility of the normalized out-of-the-money call of price beta, with 0 < beta < exp(x/2) and x <= 0
+  private static double totalVolatility(double beta, double x) {
+    double bMax = Math.exp(0.5 * x);
+    ArgChecker.isTrue(beta < bMax, "price too close to its upper bound to imply a volatility");
+    // the normalized price is convex below the inflection point sC and concave above
+    double sC = Math.sqrt(-2d * x);
+    double bC = sC > 0d ? normalisedOtmCall(x, sC) : 0d;
+    double vC = normalisedVega(x, sC);
+    boolean lowerBranch = beta < bC;
+    double lnBeta = Math.log(beta);
+    double s;
+    double lower;
+    double upper;
+    if (lowerBranch) {
+      // asymptotic guess for deep out-of-the-money options, bounded by the tangent at the inflection point
+      s = -x / Math.sqrt(-2d * lnBeta);
+      for (int i = 0; i < 3; i++) {
+        double c = Math.log(s * s * s / (x * x * SQRT_TWO_PI)) - lnBeta;
+        if (c <= 0d) {
+          break;
+        }
+        s = -x / Math.sqrt(2d * c);
+      }
+      s = Math.min(Math.max(s, beta * SQRT_TWO_PI), sC + (beta - bC) / vC);
+      lower = 0d;
+      upper = sC;
+    } else {
+      // exact guess at the money, bounded by the tangent at the inflection point
+      s = -2d * NORMAL.getInverseCDF((bMax - beta) / (bMax + 1d / bMax));
+      s = Math.max(s, sC + (beta - bC) / vC);
+      lower = sC;
+      upper = Double.POSITIVE_INFINITY;
+    }
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      double b = normalisedOtmCall(x, s);
+      double vega = normalisedVega(x, s);
+      if (b > beta) {
+        upper = Math.min(upper, s);
+      } else {
+        lower = Math.max(lower, s);
+      }
+      double ds = Double.NaN;
+      if (b > 0d && vega > 0d && b < bMax) {
+        // the ratios of the second and third derivatives to the first derivative of the objective function
+        double b2 = x * x / (s * s * s) - 0.25 * s;
+        double b3 = b2 * b2 - 3d * x * x / (s * s * s * s) - 0.25;
+        double newton;
+        double h2;
+        double h3;
+        if (lowerBranch) {
+          // objective 1 / ln(b) - 1 / ln(beta)
+          double lnB = Math.log(b);
+          double lambda = vega / b;
+          double ratio = (lnB + 2d) / lnB;
+          newton = (1d / lnB - 1d / lnBeta) * lnB * lnB / lambda;
+          h2 = -ratio * lambda + b2;
+          h3 = (2d * lnB * lnB + 6d * lnB + 6d) / (lnB * lnB) * lambda * lambda - 3d * ratio * lambda * b2 + b3;
+        } else {
+          // objective ln((bMax - beta) / (bMax - b))
+          double bMaxMinusB = bMax - b;
+          double lambda = vega / bMaxMinusB;
+          newton = -Math.log((bMax - beta) / bMaxMinusB) / lambda;
+          h2 = lambda + b2;
+          h3 = 2d * lambda * lambda + 3d * lambda * b2 + b3;
+        }
+        ds = newton * (1d + 0.5 * h2 * newton) / (1d + newton * (h2 + h3 * newton / 6d));
+        if (Math.abs(ds) <= STEP_TOLERANCE * s) {
+          return s + ds;
+        }
+      }
+      double sNext = s + ds;
+      if (!(sNext > lower && sNext < upper)) {
+        // bisection if the step is not defined or leaves the bracket
+        sNext = upper == Double.POSITIVE_INFINITY ? 2d * Math.max(s, lower) : 0.5 * (lower + upper);
+      }
+      s = sNext;
+    }
+    return s;
+  }
+
+  // the normalized price of an out-of-the-money call, for a log-moneyness x <= 0 and a total volatility s > 0
+  private static double normalisedOtmCall(double x, double s) {
+    double h = x / s;
+    double t = 0.5 * s;
+    double u = h + t;
+    double v = h - t;
+    // b = factor * (Y(h + t) - Y(h - t)), with Y the Mills ratio
+    double factor = Math.exp(-0.5 * (h * h + t * t)) / SQRT_TWO_PI;
+    if (u < ASYMPTOTIC_EXPANSION_THRESHOLD) {
+      return factor * asymptoticMillsRatioDifference(u, v, t);
+    }
+    if (t < SMALL_T_EXPANSION_THRESHOLD) {
+      return factor * smallTMillsRatioDifference(h, t);
+    }
+    double first = u < 0d ? factor * millsRatio(u) : Math.exp(0.5 * x) * NORMAL.getCDF(u);
+    return Math.max(first - factor * millsRatio(v), 0d);
+  }
+
+  // the derivative of the normalized price with respect to the total volatility
+  private static double normalisedVega(double x, double s) {
+    if (s == 0d) {
+      return x == 0d ? 1d / SQRT_TWO_PI : 0d;
+    }
+    double h = x / s;
+    double t = 0.5 * s;
+    return Math.exp(-0.5 * (h * h + t * t)) / SQRT_TWO_PI;
+  }
+
+  // the Mills ratio, cumulative normal distribution divided by the density, for z <= 0
+  private static double millsRatio(double z) {
+    return SQRT_PI_OVER_TWO * ERFCX.applyAsDouble(-z * ONE_OVER_SQRT_TWO);
+  }
+
+  // the difference of Mills ratio Y(u) - Y(v) for u, v below the asymptotic threshold and u - v = 2t
+  private static double asymptoticMillsRatioDifference(double u, double v, double t) {
+    // Y(z) ~ sum_k c_k z^-(2k+1), where z^-n difference is (1/u - 1/v) times a sum of terms of the same sign
+    double p = 1d / u;
+    double q = 1d / v;
+    double p2 = p * p;
+    double q2 = q * q;
+    double coefficient = -1d;
+    double powerSum = 1d;
+    double qPower = q;
+    double sum = 0d;
+    for (int k = 0; k < ASYMPTOTIC_EXPANSION_MAX_TERMS; k++) {
+      double term = coefficient * powerSum;
+      sum += term;
+      if (Math.abs(term) <= EPS * Math.abs(sum)) {
+        break;
+      }
+      powerSum = p2 * powerSum + qPower * (p + q);
+      qPower *= q2;
+      coefficient *= -(2 * k + 1);
+    }
+    return -2d * t / (u * v) * sum;
+  }
+
+  // the difference of Mills ratio Y(h + t) - Y(h - t) for small t, by Taylor expansion
+  private static double smallTMillsRatioDifference(double h, double t) {
+    // the derivatives of the Mills ratio satisfy Y' = 1 + h Y and Y^(n+1) = h Y^(n) + n Y^(n-1)
+    double previous = millsRatio(h);
+    double derivative = 1d + h * previous;
+    double power = t;
+    double sum = derivative * t;
+    for (int n = 1; n < SMALL_T_EXPANSION_ORDER; n++) {
+      double next = h * derivative + n * previous;
+      previous = derivative;
+      derivative = next;
+      power *= t / (n + 1);
+      if (n % 2 == 0) {
+        sum += derivative * power;
+      }
+    }
+    return 2d * sum;
+  }
+
+  // the normalized price of the normal model, phiTilde(x) = Phi(x) + phi(x) / x, for x < 0
+  private static double phiTilde(double x) {
+    if (x < ASYMPTOTIC_EXPANSION_THRESHOLD) {
+      // asymptotic expansion of 1 + x Y(x), with Y the Mills ratio
+      double z = 1d / (x * x);
+      double term = -1d;
+      double sum = 0d;
+      for (int k = 1; k < ASYMPTOTIC_EXPANSION_MAX_TERMS; k++) {
+        term *= -(2 * k - 1) * z;
+        sum += term;
+        if (Math.abs(term) <= EPS * Math.abs(sum)) {
+          break;
+        }
+      }
+      return NORMAL.getPDF(x) * sum / x;
+    }
+    return NORMAL.getCDF(x) + NORMAL.getPDF(x) / x;
+  }
+
+}
@@ -5,14 +5,10 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
-import java.util.function.Function;
-
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
-import com.opengamma.strata.math.impl.rootfinding.BisectionSingleRootFinder;
-import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
 import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
 import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
 import com.opengamma.strata.product.common.PutCall;
@@ -30,14 +26,6 @@ public final class NormalFormulaRepository {
    * The comparison value used to determine near-zero.
    */
   private static final double NEAR_ZERO = 1e-16;
-  /**
-   * The maximal number of iterations in the root solving algorithm.
-   */
-  private static final int MAX_ITERATIONS = 100;
-  /**
-   * The solution precision.
-   */
-  private static final double EPS = 1e-15;
 
   /** Limit defining "close to ATM forward" to avoid the formula singularity in the impliedVolatilityFromBlackVolatility. **/
   private static final double ATM_LIMIT = 1.0E-3;
@@ -251,7 +239,8 @@ public final class NormalFormulaRepository {
   /**
    * Computes the implied volatility.
    * <p>
-   * If the volatility data is not zero, it is used as a starting point for the volatility search.
+   * The implied volatility is computed explicitly by {@link ImpliedVolatilityFormulaRepository},
+   * thus the initial volatility is not used.
    * <p>
    * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
    * 
@@ -259,7 +248,7 @@ public final class NormalFormulaRepository {
    * @param forward  the forward value of the underlying
    * @param strike  the strike
    * @param timeToExpiry  the time to expiry
-   * @param initialNormalVol  the normal volatility used to start the search
+   * @param initialNormalVol  the normal volatility used to start the search, not used
    * @param numeraire  the numeraire
    * @param putCall  whether it is put or call
    * @return the implied volatility
@@ -276,44 +265,11 @@ public final class NormalFormulaRepository {
     double intrinsicPrice = numeraire * Math.max(0, (putCall.isCall() ? 1 : -1) * (forward - strike));
     ArgChecker.isTrue(optionPrice > intrinsicPrice || DoubleMath.fuzzyEquals(optionPrice, intrinsicPrice, 1e-6),
         "Option price (" + optionPrice + ") less than intrinsic value (" + intrinsicPrice + ")");
-    if (Double.doubleToLongBits(optionPrice) == Double.doubleToLongBits(intrinsicPrice)) {
+    if (optionPrice <= intrinsicPrice) {
       return 0d;
     }
-    double sigma = (Math.abs(initialNormalVol) < 1e-10 ? 0.3 * forward : initialNormalVol);
-    double maxChange = 0.5 * forward;
-    ValueDerivatives price = priceAdjoint(forward, strike, timeToExpiry, sigma, numeraire, putCall);
-    double vega = price.getDerivative(1);
-    double change = (price.getValue() - optionPrice) / vega;
-    double sign = Math.signum(change);
-    change = sign * Math.min(maxChange, Math.abs(change));
-    if (change > 0 && change > sigma) {
-      change = sigma;
-    }
-    int count = 0;
-    while (Math.abs(change) > EPS) {
-      sigma -= change;
-      price = priceAdjoint(forward, strike, timeToExpiry, sigma, numeraire, putCall);
-      vega = price.getDerivative(1);
-      change = (price.getValue() - optionPrice) / vega;
-      sign = Math.signum(change);
-      change = sign * Math.min(maxChange, Math.abs(change));
-      if (change > 0 && change > sigma) {
-        change = sigma;
-      }
-      if (count++ > MAX_ITERATIONS) {
-        BracketRoot bracketer = new BracketRoot();
-        BisectionSingleRootFinder rootFinder = new BisectionSingleRootFinder(EPS);
-        Function<Double, Double> func = new Function<Double, Double>() {
-          @Override
-          public Double apply(Double volatility) {
-            return numeraire * price(forward, strike, timeToExpiry, volatility, putCall) - optionPrice;
-          }
-        };
-        double[] range = bracketer.getBracketedPoints(func, 0d, 10d);
-        return rootFinder.getRoot(func, range[0], range[1]);
-      }
-    }
-    return sigma;
+    return ImpliedVolatilityFormulaRepository.impliedNormalVolatility(
+        optionPrice / numeraire, forward, strike, timeToExpiry, putCall);
   }
 
   /**
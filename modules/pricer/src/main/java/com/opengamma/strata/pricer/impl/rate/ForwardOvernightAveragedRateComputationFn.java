@@ -7,6 +7,8 @@ package com.opengamma.strata.pricer.impl.rate;
 
 import java.time.LocalDate;
 
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.market.explain.ExplainKey;
@@ -106,10 +108,10 @@ public class ForwardOvernightAveragedRateComputationFn
     PointSensitivityBuilder combinedPointSensitivityBuilder = rates.ratePointSensitivity(lastIndexObs)
         .multipliedBy(cutoffAccrualFactor);
 
+    // The fixings published up to the valuation date, which may or may not have a sensitivity.
     LocalDate currentFixingNonCutoff = computation.getStartDate();
-    while (currentFixingNonCutoff.isBefore(lastNonCutoffFixing)) {
-      // All dates involved in the period are computed. Potentially slow.
-      // The fixing periods are added as long as their start date is (strictly) before the no cutoff period end-date.
+    while (currentFixingNonCutoff.isBefore(lastNonCutoffFixing) &&
+        !computation.calculatePublicationFromFixing(currentFixingNonCutoff).isAfter(rates.getValuationDate())) {
       OvernightIndexObservation indexObs = computation.observeOn(currentFixingNonCutoff);
       PointSensitivityBuilder forwardRateSensitivity = rates.ratePointSensitivity(indexObs)
           .multipliedBy(indexObs.getYearFraction());
@@ -117,9 +119,37 @@ public class ForwardOvernightAveragedRateComputationFn
       accrualFactorTotal += indexObs.getYearFraction();
       currentFixingNonCutoff = computation.getFixingCalendar().next(currentFixingNonCutoff);
     }
+    // The remaining fixings are forward rates, with a single sensitivity to the whole range.
+    // The fixing periods are consecutive, each ending at the effective date of the next fixing.
+    if (currentFixingNonCutoff.isBefore(lastNonCutoffFixing)) {
+      OvernightIndexObservation startIndexObs = computation.observeOn(currentFixingNonCutoff);
+      LocalDate rangeEndDate = computation.calculateEffectiveFromFixing(lastNonCutoffFixing);
+      accrualFactorTotal += rangeAccrualFactor(computation, startIndexObs.getEffectiveDate(), rangeEndDate);
+      PointSensitivityBuilder rangeSensitivity =
+          rates.rateRangePointSensitivity(startIndexObs, rangeEndDate, computation.getFixingCalendar());
+      combinedPointSensitivityBuilder = combinedPointSensitivityBuilder.combinedWith(rangeSensitivity);
+    }
     return combinedPointSensitivityBuilder.multipliedBy(1.0 / accrualFactorTotal);
   }
 
+  // the sum of the accrual factors of the daily periods in the range
+  private static double rangeAccrualFactor(
+      OvernightAveragedRateComputation computation,
+      LocalDate startDate,
+      LocalDate endDate) {
+
+    DayCount dayCount = computation.getIndex().getDayCount();
+    HolidayCalendar fixingCalendar = computation.getFixingCalendar();
+    double accrualFactor = 0d;
+    LocalDate date = startDate;
+    while (date.isBefore(endDate)) {
+      LocalDate nextDate = fixingCalendar.next(date);
+      accrualFactor += dayCount.yearFraction(date, nextDate);
+      date = nextDate;
+    }
+    return accrualFactor;
+  }
+
   @Override
   public double explainRate(
       OvernightAveragedRateComputation computation,
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Cache of the cumulative variance integrals of the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The integrals of {@code sigma(s)^2 d(exp(a s))} and {@code sigma(s)^2 d(exp(2 a s))} from 0 to each volatility time
+ * are computed once for the parameter set. The integral up to any time is then the cumulative value at the start of
+ * the period containing the time plus the partial last period, found by binary search.
+ * <p>
+ * This provides the same values as {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel} for
+ * {@code alpha}, {@code beta} and {@code futuresConvexityFactor}, up to rounding, at a cost independent of the
+ * number of volatility periods before the expiry.
+ * It is intended to be created once per parameter set and shared by all the cash flows and trades priced with it.
+ */
+public final class HullWhiteOneFactorPiecewiseConstantVarianceCache {
+
+  /**
+   * The Hull-White model parameters.
+   */
+  private final HullWhiteOneFactorPiecewiseConstantParameters parameters;
+  /**
+   * The mean reversion.
+   */
+  private final double meanReversion;
+  /**
+   * The start times of the volatility periods.
+   */
+  private final double[] periodStart;
+  /**
+   * The squared volatility of each period.
+   */
+  private final double[] volatilitySquared;
+  /**
+   * The value of {@code exp(a t)} at the start of each period.
+   */
+  private final double[] expStart;
+  /**
+   * The value of {@code exp(2 a t)} at the start of each period.
+   */
+  private final double[] exp2Start;
+  /**
+   * The integral of {@code sigma(s)^2 d(exp(a s))} from 0 to the start of each period.
+   */
+  private final double[] integral;
+  /**
+   * The integral of {@code sigma(s)^2 d(exp(2 a s))} from 0 to the start of each period.
+   */
+  private final double[] integral2;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the model parameters.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @return the cache
+   */
+  public static HullWhiteOneFactorPiecewiseConstantVarianceCache of(HullWhiteOneFactorPiecewiseConstantParameters parameters) {
+    ArgChecker.notNull(parameters, "parameters");
+    return new HullWhiteOneFactorPiecewiseConstantVarianceCache(parameters);
+  }
+
+  // restricted constructor
+  private HullWhiteOneFactorPiecewiseConstantVarianceCache(HullWhiteOneFactorPiecewiseConstantParameters parameters) {
+    this.parameters = parameters;
+    this.meanReversion = parameters.getMeanReversion();
+    int nPeriods = parameters.getVolatility().size();
+    // the last volatility time represents infinity, thus no integral is computed up to it
+    this.periodStart = parameters.getVolatilityTime().subArray(0, nPeriods).toArray();
+    this.volatilitySquared = new double[nPeriods];
+    this.expStart = new double[nPeriods];
+    this.exp2Start = new double[nPeriods];
+    this.integral = new double[nPeriods];
+    this.integral2 = new double[nPeriods];
+    for (int i = 0; i < nPeriods; i++) {
+      double volatility = parameters.getVolatility().get(i);
+      volatilitySquared[i] = volatility * volatility;
+      expStart[i] = Math.exp(meanReversion * periodStart[i]);
+      exp2Start[i] = Math.exp(2d * meanReversion * periodStart[i]);
+      if (i > 0) {
+        integral[i] = integral[i - 1] + volatilitySquared[i - 1] * (expStart[i] - expStart[i - 1]);
+        integral2[i] = integral2[i - 1] + volatilitySquared[i - 1] * (exp2Start[i] - exp2Start[i - 1]);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the Hull-White model parameters.
+   *
+   * @return the parameters
+   */
+  public HullWhiteOneFactorPiecewiseConstantParameters getParameters() {
+    return parameters;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the future convexity factor used in future pricing.
+   * <p>
+   * See {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#futuresConvexityFactor}.
+   *
+   * @param t0  the first expiry time
+   * @param t1  the first reference time
+   * @param t2  the second reference time
+   * @return the factor
+   */
+  public double futuresConvexityFactor(double t0, double t1, double t2) {
+    double factor1 = Math.exp(-meanReversion * t1) - Math.exp(-meanReversion * t2);
+    double numerator = 2 * meanReversion * meanReversion * meanReversion;
+    int period = period(t0);
+    // sum of sigma^2 (exp(a s1) - exp(a s0)) (2 - exp(-a (t2 - s1)) - exp(-a (t2 - s0))) over the periods up to t0
+    double factor2 = 2d * integral(period, t0) - Math.exp(-meanReversion * t2) * integral2(period, t0);
+    return Math.exp(factor1 / numerator * factor2);
+  }
+
+  /**
+   * Calculates the (zero-coupon) bond volatility divided by a bond numeraire, i.e., alpha, for a given period.
+   * <p>
+   * See {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#alpha}.
+   *
+   * @param startExpiry the start time of the expiry period
+   * @param endExpiry  the end time of the expiry period
+   * @param numeraireTime  the time to maturity for the bond numeraire
+   * @param bondMaturity the time to maturity for the bond
+   * @return the re-based bond volatility
+   */
+  public double alpha(double startExpiry, double endExpiry, double numeraireTime, double bondMaturity) {
+    double factor1 = Math.exp(-meanReversion * numeraireTime) - Math.exp(-meanReversion * bondMaturity);
+    double numerator = 2 * meanReversion * meanReversion * meanReversion;
+    double factor2 = integral2(period(endExpiry), endExpiry) - integral2(period(startExpiry), startExpiry);
+    return factor1 * Math.sqrt(factor2 / numerator);
+  }
+
+  /**
+   * Calculates the beta parameter.
+   * <p>
+   * See {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#beta}.
+   *
+   * @param startExpiry the start time of the expiry period
+   * @param endExpiry  the end time of the expiry period
+   * @return the re-based bond volatility
+   */
+  public double beta(double startExpiry, double endExpiry) {
+    double numerator = 2 * meanReversion;
+    double denominator = integral2(period(endExpiry), endExpiry) - integral2(period(startExpiry), startExpiry);
+    return Math.sqrt(denominator / numerator);
+  }
+
+  //-------------------------------------------------------------------------
+  // the period in which the time is; periodStart[i] <= time < periodStart[i+1]
+  // times before 0 are in the first period and times after the last volatility time are in the last period
+  private int period(double time) {
+    int index = Arrays.binarySearch(periodStart, time);
+    if (index >= 0) {
+      return index;
+    }
+    return Math.max(-index - 2, 0);
+  }
+
+  // the integral of sigma(s)^2 d(exp(a s)) from 0 to the time
+  private double integral(int period, double time) {
+    return integral[period] + volatilitySquared[period] * (Math.exp(meanReversion * time) - expStart[period]);
+  }
+
+  // the integral of sigma(s)^2 d(exp(2 a s)) from 0 to the time
+  private double integral2(int period, double time) {
+    return integral2[period] + volatilitySquared[period] * (Math.exp(2d * meanReversion * time) - exp2Start[period]);
+  }
+
+}
@@ -85,6 +85,34 @@ public final class EuropeanVanillaOptionFunction
     return DoubleArray.ofUnsafe(values);
   }
 
+  @Override
+  public void getPayoffAtExpiryTrinomial(double[] stateValue, double[] values) {
+    int nNodes = 2 * numberOfSteps + 1;
+    for (int i = 0; i < nNodes; ++i) {
+      values[i] = Math.max(sign * (stateValue[i] - strike), 0d);
+    }
+  }
+
+  @Override
+  public boolean supportsTrinomialWorkspace() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsTrinomialPathwiseDerivatives() {
+    return true;
+  }
+
+  @Override
+  public void getPayoffAtExpiryTrinomialDerivative(double[] stateValue, double[] stateDerivative, double[] derivatives) {
+    int nNodes = 2 * numberOfSteps + 1;
+    for (int i = 0; i < nNodes; ++i) {
+      // average of the one-sided derivatives if the node is at the strike
+      double intrinsic = sign * (stateValue[i] - strike);
+      derivatives[i] = intrinsic > 0d ? sign * stateDerivative[i] : (intrinsic == 0d ? 0.5 * sign * stateDerivative[i] : 0d);
+    }
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
@@ -68,9 +68,12 @@ public interface OptionFunction {
    * Computes the option values in the intermediate nodes.
    * <p>
    * Given a set of option values in the (i+1)-th layer, option values in the i-th layer are derived.
-   * For an option with path-dependence, {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)} 
+   * For an option with path-dependence, {@link #adjustOptionValues(double[], double[], int)} 
    * should be overridden rather than this method.
    * <p>
+   * {@link TrinomialTree} calls this method at each step of a uniform lattice
+   * unless {@link #supportsTrinomialWorkspace()} returns true.
+   * <p>
    * The size of {@code values} must be (2*i+3). However, this is not checked because of its repeated usage.
    * 
    * @param discountFactor  the discount factor between the two layers
@@ -110,7 +113,11 @@ public interface OptionFunction {
    * The down, middle and up probabilities of the j-th lowest node are stored in the {i,0}, {i,1}, {i,2} components of  
    * {@code transitionProbability}, respectively.
    * <p>
-   * For an option with path-dependence, this method should be overridden.
+   * The discounted expected values are adjusted by {@link #adjustOptionValues(double[], double[], int)}.
+   * For an option with path-dependence, that method should be overridden rather than this method.
+   * <p>
+   * {@link TrinomialTree} calls this method at each step
+   * unless {@link #supportsTrinomialWorkspace()} returns true.
    * 
    * @param discountFactor  the discount factor between the two layers
    * @param transitionProbability  the transition probability
@@ -127,8 +134,151 @@ public interface OptionFunction {
       int i) {
 
     int nNodes = 2 * i + 1;
-    return DoubleArray.of(nNodes, j -> discountFactor * (transitionProbability.get(j, 2) * value.get(j + 2) +
-        transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)));
+    double[] res = new double[nNodes];
+    for (int j = 0; j < nNodes; ++j) {
+      res[j] = discountFactor * (transitionProbability.get(j, 2) * value.get(j + 2) +
+          transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j));
+    }
+    adjustOptionValues(stateValue.toArrayUnsafe(), res, i);
+    return DoubleArray.ofUnsafe(res);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks whether the backward induction can be performed in place in a {@link TrinomialTreeWorkspace}.
+   * <p>
+   * If true, {@link TrinomialTree} computes the payoff by {@link #getPayoffAtExpiryTrinomial(double[], double[])}
+   * and adjusts the discounted values by {@link #adjustOptionValues(double[], double[], int)},
+   * without calling {@code getNextOptionValues} or {@link #getPayoffAtExpiryTrinomial(double, double, double)}.
+   * Thus a function overriding any of those three methods must return false.
+   * <p>
+   * By default, false is returned and the tree calls the step-by-step methods.
+   * 
+   * @return true if the option values can be computed in place
+   */
+  public default boolean supportsTrinomialWorkspace() {
+    return false;
+  }
+
+  /**
+   * Checks whether the pathwise derivatives of the option values are consistent with the values.
+   * <p>
+   * If true, and {@link #supportsTrinomialWorkspace()} also returns true, the derivatives of the option price
+   * are computed by differentiating the backward induction,
+   * using {@link #getPayoffAtExpiryTrinomialDerivative(double[], double[], double[])} and
+   * {@link #adjustOptionValueDerivatives(double[], double[], double[], double[], int)}.
+   * Thus a function overriding {@link #adjustOptionValues(double[], double[], int)} must also override
+   * {@code adjustOptionValueDerivatives} before returning true.
+   * Otherwise the derivatives are computed by finite difference of the price.
+   * <p>
+   * By default, false is returned.
+   * 
+   * @return true if the pathwise derivatives are available
+   */
+  public default boolean supportsTrinomialPathwiseDerivatives() {
+    return false;
+  }
+
+  /**
+   * Computes payoff at expiry for trinomial tree, storing the result in the specified array.
+   * <p>
+   * This is the allocation-free equivalent of {@link #getPayoffAtExpiryTrinomial(DoubleArray)}.
+   * Only the first {@code 2 * n + 1} elements of the arrays are used, where {@code n} is the number of steps.
+   * <p>
+   * By default the payoff is computed by {@link #getPayoffAtExpiryTrinomial(DoubleArray)} and copied.
+   * 
+   * @param stateValue  the state values
+   * @param values  the array used to return the payoff at expiry
+   */
+  public default void getPayoffAtExpiryTrinomial(double[] stateValue, double[] values) {
+    int nNodes = 2 * getNumberOfSteps() + 1;
+    getPayoffAtExpiryTrinomial(DoubleArray.copyOf(stateValue, 0, nNodes)).copyInto(values, 0);
+  }
+
+  /**
+   * Adjusts the option values in the intermediate nodes.
+   * <p>
+   * The values in the i-th layer are the discounted expected values of the (i+1)-th layer.
+   * They are modified in place to take into account path-dependence, such as barriers or early exercise.
+   * Only the first {@code 2 * i + 1} elements of the arrays are used.
+   * <p>
+   * By default the values are not modified, as appropriate for European options.
+   * 
+   * @param stateValue  the state values in the i-th layer
+   * @param values  the option values in the i-th layer, modified in place
+   * @param i  the step number
+   */
+  public default void adjustOptionValues(double[] stateValue, double[] values, int i) {
+  }
+
+  /**
+   * Computes the derivatives of the payoff at expiry for trinomial tree.
+   * <p>
+   * The payoff derivative is computed for a change in the state values given by {@code stateDerivative},
+   * thus it is the pathwise derivative of the payoff along a direction in the model parameters.
+   * Only the first {@code 2 * n + 1} elements of the arrays are used, where {@code n} is the number of steps.
+   * <p>
+   * By default the derivatives are approximated by central finite difference of
+   * {@link #getPayoffAtExpiryTrinomial(DoubleArray)} along {@code stateDerivative}.
+   * The state values are shifted by a relative amount of {@code 1.0e-6}, thus the derivative at a node
+   * closer than the shift to a kink of the payoff is smoothed.
+   * As a result, the derivatives of the option price computed by {@link TrinomialTree} are only accurate
+   * to the finite difference error, and differ from the exact pathwise derivatives near a kink.
+   * A function returning true from {@link #supportsTrinomialPathwiseDerivatives()} should override
+   * this method with the exact derivative of its payoff.
+   * 
+   * @param stateValue  the state values
+   * @param stateDerivative  the derivatives of the state values
+   * @param derivatives  the array used to return the derivatives of the payoff at expiry
+   */
+  public default void getPayoffAtExpiryTrinomialDerivative(
+      double[] stateValue,
+      double[] stateDerivative,
+      double[] derivatives) {
+
+    int nNodes = 2 * getNumberOfSteps() + 1;
+    double stateMax = 0d;
+    double derivativeMax = 0d;
+    for (int i = 0; i < nNodes; ++i) {
+      stateMax = Math.max(stateMax, Math.abs(stateValue[i]));
+      derivativeMax = Math.max(derivativeMax, Math.abs(stateDerivative[i]));
+    }
+    if (derivativeMax == 0d) {
+      Arrays.fill(derivatives, 0, nNodes, 0d);
+      return;
+    }
+    double shift = 1.0e-6 * Math.max(stateMax, 1d) / derivativeMax;
+    DoubleArray payoffUp = getPayoffAtExpiryTrinomial(
+        DoubleArray.of(nNodes, i -> stateValue[i] + shift * stateDerivative[i]));
+    DoubleArray payoffDown = getPayoffAtExpiryTrinomial(
+        DoubleArray.of(nNodes, i -> stateValue[i] - shift * stateDerivative[i]));
+    for (int i = 0; i < nNodes; ++i) {
+      derivatives[i] = 0.5 * (payoffUp.get(i) - payoffDown.get(i)) / shift;
+    }
+  }
+
+  /**
+   * Adjusts the derivatives of the option values in the intermediate nodes.
+   * <p>
+   * This is the pathwise derivative of {@link #adjustOptionValues(double[], double[], int)}, 
+   * for a change in the state values given by {@code stateDerivative}. 
+   * This must be called before the values are adjusted.
+   * Only the first {@code 2 * i + 1} elements of the arrays are used.
+   * <p>
+   * By default the derivatives are not modified, consistently with the default adjustment of the values.
+   * 
+   * @param stateValue  the state values in the i-th layer
+   * @param stateDerivative  the derivatives of the state values in the i-th layer
+   * @param values  the option values in the i-th layer, before adjustment
+   * @param derivatives  the derivatives of the option values in the i-th layer, modified in place
+   * @param i  the step number
+   */
+  public default void adjustOptionValueDerivatives(
+      double[] stateValue,
+      double[] stateDerivative,
+      double[] values,
+      double[] derivatives,
+      int i) {
   }
 
 }
@@ -9,7 +9,6 @@ import java.util.Arrays;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
-import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.product.option.BarrierType;
 
 /**
@@ -61,84 +60,171 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
 
   @Override
   public DoubleArray getPayoffAtExpiryTrinomial(DoubleArray stateValue) {
+    double[] values = new double[stateValue.size()];
+    payoffAtExpiry(stateValue.toArrayUnsafe(), stateValue.size(), values);
+    return DoubleArray.ofUnsafe(values);
+  }
+
+  @Override
+  public void getPayoffAtExpiryTrinomial(double[] stateValue, double[] values) {
+    payoffAtExpiry(stateValue, 2 * getNumberOfSteps() + 1, values);
+  }
+
+  @Override
+  public boolean supportsTrinomialWorkspace() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsTrinomialPathwiseDerivatives() {
+    return true;
+  }
+
+  @Override
+  public void adjustOptionValues(double[] stateValue, double[] values, int i) {
+    int nNodes = 2 * i + 1;
+    double barrierLevel = getBarrierLevel(i);
+    double rebate = getRebate(i);
+    boolean isDown = getBarrierType().isDown();
+    for (int j = 0; j < nNodes; ++j) {
+      if ((isDown && stateValue[j] <= barrierLevel) ||
+          (!isDown && stateValue[j] >= barrierLevel)) {
+        values[j] = rebate;
+      }
+    }
+    // modification if barrier lies between two consecutive nodes 
+    int index = getLowerBoundIndex(stateValue, nNodes, barrierLevel);
+    if (index > -1 && index < nNodes - 1) {
+      double bd = barrierLevel - stateValue[index];
+      double ub = stateValue[index + 1] - barrierLevel;
+      double ud = stateValue[index + 1] - stateValue[index];
+      if (isDown) {
+        values[index + 1] = 0.5 * values[index + 1] + 0.5 * (bd * rebate + ub * values[index + 1]) / ud;
+      } else {
+        values[index] = 0.5 * values[index] + 0.5 * (ub * rebate + bd * values[index]) / ud;
+      }
+    }
+  }
 
-    int nNodes = stateValue.size();
-    double[] values = new double[nNodes];
+  @Override
+  public void getPayoffAtExpiryTrinomialDerivative(double[] stateValue, double[] stateDerivative, double[] derivatives) {
+    int nNodes = 2 * getNumberOfSteps() + 1;
     double rebate = getRebate(getNumberOfSteps());
     double barrierLevel = getBarrierLevel(getNumberOfSteps());
     boolean isDown = getBarrierType().isDown();
-    Arrays.fill(values, rebate);
-    int index = getLowerBoundIndex(stateValue, barrierLevel);
+    double sign = getSign();
+    Arrays.fill(derivatives, 0, nNodes, 0d);
+    int index = getLowerBoundIndex(stateValue, nNodes, barrierLevel);
     ArgChecker.isTrue(index > -1 && index < nNodes - 1, "barrier is covered by tree");
     int iMin = isDown ? index + 1 : 0;
     int iMmax = !isDown ? index + 1 : nNodes;
     for (int i = iMin; i < iMmax; ++i) {
-      values[i] = Math.max(getSign() * (stateValue.get(i) - getStrike()), 0d);
+      // average of the one-sided derivatives if the node is at the strike
+      double intrinsic = sign * (stateValue[i] - getStrike());
+      derivatives[i] = intrinsic > 0d ? sign * stateDerivative[i] : (intrinsic == 0d ? 0.5 * sign * stateDerivative[i] : 0d);
     }
-    // modification if barrier lies between two consecutive nodes 
-    double bd = barrierLevel - stateValue.get(index);
-    double ub = stateValue.get(index + 1) - barrierLevel;
-    double ud = stateValue.get(index + 1) - stateValue.get(index);
     if (isDown) {
-      values[index + 1] = 0.5 * values[index + 1] + 0.5 * (bd * rebate + ub * values[index + 1]) / ud;
+      double value = Math.max(sign * (stateValue[index + 1] - getStrike()), 0d);
+      derivatives[index + 1] = smoothingDerivative(
+          stateValue, stateDerivative, index, barrierLevel, rebate, value, derivatives[index + 1], true);
     } else {
-      values[index] = barrierLevel == stateValue.get(index) ?
-          rebate :
-          0.5 * values[index] + 0.5 * (ub * rebate + bd * values[index]) / ud;
+      derivatives[index] = barrierLevel == stateValue[index] ?
+          0d :
+          smoothingDerivative(stateValue, stateDerivative, index, barrierLevel, rebate,
+              Math.max(sign * (stateValue[index] - getStrike()), 0d), derivatives[index], false);
     }
-    return DoubleArray.ofUnsafe(values);
   }
 
   @Override
-  public DoubleArray getNextOptionValues(
-      double discountFactor,
-      DoubleMatrix transitionProbability,
-      DoubleArray stateValue,
-      DoubleArray values,
+  public void adjustOptionValueDerivatives(
+      double[] stateValue,
+      double[] stateDerivative,
+      double[] values,
+      double[] derivatives,
       int i) {
 
     int nNodes = 2 * i + 1;
-    double[] res = new double[nNodes];
     double barrierLevel = getBarrierLevel(i);
     double rebate = getRebate(i);
     boolean isDown = getBarrierType().isDown();
     for (int j = 0; j < nNodes; ++j) {
-      if ((isDown && stateValue.get(j) <= barrierLevel) ||
-          (!isDown && stateValue.get(j) >= barrierLevel)) {
-        res[j] = rebate;
-      } else {
-        double upProb = transitionProbability.get(j, 2);
-        double middleProb = transitionProbability.get(j, 1);
-        double downProb = transitionProbability.get(j, 0);
-        res[j] = discountFactor *
-            (upProb * values.get(j + 2) + middleProb * values.get(j + 1) + downProb * values.get(j));
+      if ((isDown && stateValue[j] <= barrierLevel) ||
+          (!isDown && stateValue[j] >= barrierLevel)) {
+        derivatives[j] = 0d;
       }
     }
-    // modification if barrier lies between two consecutive nodes 
-    int index = getLowerBoundIndex(stateValue, barrierLevel);
+    int index = getLowerBoundIndex(stateValue, nNodes, barrierLevel);
     if (index > -1 && index < nNodes - 1) {
-      double bd = barrierLevel - stateValue.get(index);
-      double ub = stateValue.get(index + 1) - barrierLevel;
-      double ud = stateValue.get(index + 1) - stateValue.get(index);
-      if (isDown) {
-        res[index + 1] = 0.5 * res[index + 1] + 0.5 * (bd * rebate + ub * res[index + 1]) / ud;
-      } else {
-        res[index] = 0.5 * res[index] + 0.5 * (ub * rebate + bd * res[index]) / ud;
-      }
+      int node = isDown ? index + 1 : index;
+      boolean knocked = isDown ? stateValue[node] <= barrierLevel : stateValue[node] >= barrierLevel;
+      double value = knocked ? rebate : values[node];
+      derivatives[node] = smoothingDerivative(
+          stateValue, stateDerivative, index, barrierLevel, rebate, value, derivatives[node], isDown);
     }
-    return DoubleArray.ofUnsafe(res);
   }
 
   //-------------------------------------------------------------------------
-  private int getLowerBoundIndex(DoubleArray set, double value) {
-    int n = set.size();
-    if (value < set.get(0)) {
+  private void payoffAtExpiry(double[] stateValue, int nNodes, double[] values) {
+    double rebate = getRebate(getNumberOfSteps());
+    double barrierLevel = getBarrierLevel(getNumberOfSteps());
+    boolean isDown = getBarrierType().isDown();
+    Arrays.fill(values, 0, nNodes, rebate);
+    int index = getLowerBoundIndex(stateValue, nNodes, barrierLevel);
+    ArgChecker.isTrue(index > -1 && index < nNodes - 1, "barrier is covered by tree");
+    int iMin = isDown ? index + 1 : 0;
+    int iMmax = !isDown ? index + 1 : nNodes;
+    for (int i = iMin; i < iMmax; ++i) {
+      values[i] = Math.max(getSign() * (stateValue[i] - getStrike()), 0d);
+    }
+    // modification if barrier lies between two consecutive nodes 
+    double bd = barrierLevel - stateValue[index];
+    double ub = stateValue[index + 1] - barrierLevel;
+    double ud = stateValue[index + 1] - stateValue[index];
+    if (isDown) {
+      values[index + 1] = 0.5 * values[index + 1] + 0.5 * (bd * rebate + ub * values[index + 1]) / ud;
+    } else {
+      values[index] = barrierLevel == stateValue[index] ?
+          rebate :
+          0.5 * values[index] + 0.5 * (ub * rebate + bd * values[index]) / ud;
+    }
+  }
+
+  // derivative of the value modified by linear interpolation between the barrier and the node beyond it
+  private double smoothingDerivative(
+      double[] stateValue,
+      double[] stateDerivative,
+      int index,
+      double barrierLevel,
+      double rebate,
+      double value,
+      double valueDerivative,
+      boolean isDown) {
+
+    double bd = barrierLevel - stateValue[index];
+    double ub = stateValue[index + 1] - barrierLevel;
+    double ud = stateValue[index + 1] - stateValue[index];
+    double bdDerivative = -stateDerivative[index];
+    double ubDerivative = stateDerivative[index + 1];
+    double udDerivative = stateDerivative[index + 1] - stateDerivative[index];
+    // the value is 0.5 * value + 0.5 * (a * rebate + b * value) / ud
+    double a = isDown ? bd : ub;
+    double aDerivative = isDown ? bdDerivative : ubDerivative;
+    double b = isDown ? ub : bd;
+    double bDerivative = isDown ? ubDerivative : bdDerivative;
+    double interpolated = (a * rebate + b * value) / ud;
+    return 0.5 * valueDerivative +
+        0.5 * (aDerivative * rebate + bDerivative * value + b * valueDerivative - interpolated * udDerivative) / ud;
+  }
+
+  //-------------------------------------------------------------------------
+  private int getLowerBoundIndex(double[] set, int n, double value) {
+    if (value < set[0]) {
       return -1;
     }
-    if (value > set.get(n - 1)) {
+    if (value > set[n - 1]) {
       return n - 1;
     }
-    int index = Arrays.binarySearch(set.toArrayUnsafe(), value);
+    int index = Arrays.binarySearch(set, 0, n, value);
     if (index >= 0) {
       // Fast break out if it's an exact match.
       return index;
@@ -147,7 +233,7 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
       index = -(index + 1);
       index--;
     }
-    if (value == -0. && index < n - 1 && set.get(index + 1) == 0.) {
+    if (value == -0. && index < n - 1 && set[index + 1] == 0.) {
       ++index;
     }
     return index;
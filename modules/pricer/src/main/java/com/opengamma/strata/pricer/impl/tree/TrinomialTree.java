@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.impl.tree;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 
 /**
@@ -17,9 +18,19 @@ import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
  * and the option to price is specified by {@code OptionFunction}. 
  * <p>
  * Option pricing with non-uniform tree is realised by specifying {@code RecombiningTrinomialTreeData}.
+ * <p>
+ * The backward induction is performed in place in the primitive buffers of a {@link TrinomialTreeWorkspace}
+ * if the option function supports it, see {@link OptionFunction#supportsTrinomialWorkspace()}.
+ * The methods without workspace create a new one for each call.
+ * Otherwise {@code getNextOptionValues} of the option function is called at each step.
  */
 public class TrinomialTree {
 
+  /**
+   * The relative shift used to approximate the derivatives of the lattice parameters.
+   */
+  private static final double PARAMETER_SHIFT = 1.0e-6;
+
   /**
    * Price an option under the specified trinomial lattice.
    * <p>
@@ -42,6 +53,36 @@ public class TrinomialTree {
       double interestRate,
       double dividendRate) {
 
+    return optionPrice(function, lattice, spot, volatility, interestRate, dividendRate, new TrinomialTreeWorkspace());
+  }
+
+  /**
+   * Price an option under the specified trinomial lattice, using the specified workspace.
+   * <p>
+   * It is assumed that the volatility, interest rate and continuous dividend rate are constant 
+   * over the lifetime of the option.
+   * <p>
+   * The backward induction is performed in the buffers of the workspace, thus no array is allocated 
+   * once the workspace has grown to the size of the tree.
+   * 
+   * @param function  the option
+   * @param lattice  the lattice specification
+   * @param spot  the spot
+   * @param volatility  the volatility
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend rate
+   * @param workspace  the workspace
+   * @return the option price
+   */
+  public double optionPrice(
+      OptionFunction function,
+      LatticeSpecification lattice,
+      double spot,
+      double volatility,
+      double interestRate,
+      double dividendRate,
+      TrinomialTreeWorkspace workspace) {
+
     int nSteps = function.getNumberOfSteps();
     double timeToExpiry = function.getTimeToExpiry();
     double dt = timeToExpiry / (double) nSteps;
@@ -52,17 +93,174 @@ public class TrinomialTree {
     double upProbability = params.get(3);
     double midProbability = params.get(4);
     double downProbability = params.get(5);
-    ArgChecker.isTrue(upProbability > 0d, "upProbability should be greater than 0");
-    ArgChecker.isTrue(upProbability < 1d, "upProbability should be smaller than 1");
-    ArgChecker.isTrue(midProbability > 0d, "midProbability should be greater than 0");
-    ArgChecker.isTrue(midProbability < 1d, "midProbability should be smaller than 1");
-    ArgChecker.isTrue(downProbability > 0d, "downProbability should be greater than 0");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(spot, downFactor, middleFactor);
+    checkProbabilities(upProbability, midProbability, downProbability);
+    if (!function.supportsTrinomialWorkspace()) {
+      DoubleArray values = function.getPayoffAtExpiryTrinomial(spot, downFactor, middleFactor);
+      for (int i = nSteps - 1; i > -1; --i) {
+        values = function.getNextOptionValues(discount, upProbability, midProbability, downProbability, values, spot,
+            downFactor, middleFactor, i);
+      }
+      return values.get(0);
+    }
+    workspace.ensureValueCapacity(nSteps);
+    double[] values = workspace.values;
+    double[] nextValues = workspace.nextValues;
+    double[] stateValues = workspace.stateValues;
+    workspace.stateValues(spot, downFactor, middleFactor, nSteps, nSteps);
+    function.getPayoffAtExpiryTrinomial(stateValues, values);
+    for (int i = nSteps - 1; i > -1; --i) {
+      int nNodes = 2 * i + 1;
+      for (int j = 0; j < nNodes; ++j) {
+        nextValues[j] = discount *
+            (upProbability * values[j + 2] + midProbability * values[j + 1] + downProbability * values[j]);
+      }
+      workspace.stateValues(spot, downFactor, middleFactor, nSteps, i);
+      function.adjustOptionValues(stateValues, nextValues, i);
+      double[] temp = values;
+      values = nextValues;
+      nextValues = temp;
+    }
+    return values[0];
+  }
+
+  /**
+   * Compute option price and its derivatives under the specified trinomial lattice.
+   * <p>
+   * It is assumed that the volatility, interest rate and continuous dividend rate are constant 
+   * over the lifetime of the option.
+   * <p>
+   * The derivatives are computed by pathwise differentiation of the backward induction on the same tree,
+   * taking into account the dependence of the state values and the transition probabilities on the inputs.
+   * The derivatives of the lattice parameters are approximated by finite difference,
+   * as {@code LatticeSpecification} only provides the parameter values.
+   * <p>
+   * If the option function does not support the workspace or the pathwise derivatives,
+   * see {@link OptionFunction#supportsTrinomialPathwiseDerivatives()}, the derivatives are instead computed
+   * by central finite difference of the price.
+   * <p>
+   * The derivatives are [0] with respect to spot, [1] with respect to volatility, 
+   * [2] with respect to interest rate, [3] with respect to dividend rate.
+   * 
+   * @param function  the option
+   * @param lattice  the lattice specification
+   * @param spot  the spot
+   * @param volatility  the volatility
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend rate
+   * @return the option price and derivatives
+   */
+  public ValueDerivatives optionPriceAdjoint(
+      OptionFunction function,
+      LatticeSpecification lattice,
+      double spot,
+      double volatility,
+      double interestRate,
+      double dividendRate) {
+
+    return optionPriceAdjoint(function, lattice, spot, volatility, interestRate, dividendRate, new TrinomialTreeWorkspace());
+  }
+
+  /**
+   * Compute option price and its derivatives under the specified trinomial lattice, using the specified workspace.
+   * <p>
+   * See {@link #optionPriceAdjoint(OptionFunction, LatticeSpecification, double, double, double, double)}.
+   * 
+   * @param function  the option
+   * @param lattice  the lattice specification
+   * @param spot  the spot
+   * @param volatility  the volatility
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend rate
+   * @param workspace  the workspace
+   * @return the option price and derivatives
+   */
+  public ValueDerivatives optionPriceAdjoint(
+      OptionFunction function,
+      LatticeSpecification lattice,
+      double spot,
+      double volatility,
+      double interestRate,
+      double dividendRate,
+      TrinomialTreeWorkspace workspace) {
+
+    if (!function.supportsTrinomialWorkspace() || !function.supportsTrinomialPathwiseDerivatives()) {
+      return optionPriceFiniteDifference(function, lattice, spot, volatility, interestRate, dividendRate, workspace);
+    }
+    int nSteps = function.getNumberOfSteps();
+    double timeToExpiry = function.getTimeToExpiry();
+    double dt = timeToExpiry / (double) nSteps;
+    double discount = Math.exp(-interestRate * dt);
+    double drift = interestRate - dividendRate;
+    DoubleArray params = lattice.getParametersTrinomial(volatility, drift, dt);
+    double middleFactor = params.get(1);
+    double downFactor = params.get(2);
+    double upProbability = params.get(3);
+    double midProbability = params.get(4);
+    double downProbability = params.get(5);
+    checkProbabilities(upProbability, midProbability, downProbability);
+    // derivatives of the parameters, in the order spot, volatility, interest rate, dividend rate
+    double volShift = PARAMETER_SHIFT * Math.max(volatility, 1d);
+    double driftShift = PARAMETER_SHIFT * Math.max(Math.abs(drift), 1d);
+    double[] paramsVol = parameterDerivatives(lattice, volatility + volShift, volatility - volShift, drift, drift, dt);
+    double[] paramsDrift = parameterDerivatives(lattice, volatility, volatility, drift + driftShift, drift - driftShift, dt);
+    double[][] paramsBar = new double[TrinomialTreeWorkspace.NB_DERIVATIVES][];
+    paramsBar[0] = new double[6];
+    paramsBar[1] = paramsVol;
+    paramsBar[2] = paramsDrift;
+    paramsBar[3] = new double[6];
+    for (int k = 0; k < 6; ++k) {
+      paramsBar[3][k] = -paramsDrift[k];
+    }
+    double[] discountBar = new double[] {0d, 0d, -dt * discount, 0d};
+    double[] spotRelativeBar = new double[] {1d / spot, 0d, 0d, 0d};
+
+    workspace.ensureDerivativeCapacity(nSteps);
+    double[] values = workspace.values;
+    double[] nextValues = workspace.nextValues;
+    double[] stateValues = workspace.stateValues;
+    double[] stateDerivatives = workspace.stateDerivatives;
+    double[][] derivatives = workspace.derivatives;
+    double[][] nextDerivatives = workspace.nextDerivatives;
+    workspace.stateValues(spot, downFactor, middleFactor, nSteps, nSteps);
+    for (int d = 0; d < TrinomialTreeWorkspace.NB_DERIVATIVES; ++d) {
+      stateDerivatives(stateValues, stateDerivatives, spotRelativeBar[d], paramsBar[d], downFactor, middleFactor, nSteps);
+      function.getPayoffAtExpiryTrinomialDerivative(stateValues, stateDerivatives, derivatives[d]);
+    }
+    function.getPayoffAtExpiryTrinomial(stateValues, values);
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(discount, upProbability, midProbability, downProbability, values, spot,
-          downFactor, middleFactor, i);
+      int nNodes = 2 * i + 1;
+      workspace.stateValues(spot, downFactor, middleFactor, nSteps, i);
+      for (int d = 0; d < TrinomialTreeWorkspace.NB_DERIVATIVES; ++d) {
+        double[] derivative = derivatives[d];
+        double[] nextDerivative = nextDerivatives[d];
+        double[] paramBar = paramsBar[d];
+        for (int j = 0; j < nNodes; ++j) {
+          nextDerivative[j] = discount *
+              (upProbability * derivative[j + 2] + midProbability * derivative[j + 1] +
+                  downProbability * derivative[j] + paramBar[3] * values[j + 2] + paramBar[4] * values[j + 1] +
+                  paramBar[5] * values[j]) +
+              discountBar[d] *
+                  (upProbability * values[j + 2] + midProbability * values[j + 1] + downProbability * values[j]);
+        }
+      }
+      for (int j = 0; j < nNodes; ++j) {
+        nextValues[j] = discount *
+            (upProbability * values[j + 2] + midProbability * values[j + 1] + downProbability * values[j]);
+      }
+      for (int d = 0; d < TrinomialTreeWorkspace.NB_DERIVATIVES; ++d) {
+        stateDerivatives(stateValues, stateDerivatives, spotRelativeBar[d], paramsBar[d], downFactor, middleFactor, i);
+        function.adjustOptionValueDerivatives(stateValues, stateDerivatives, nextValues, nextDerivatives[d], i);
+        double[] temp = derivatives[d];
+        derivatives[d] = nextDerivatives[d];
+        nextDerivatives[d] = temp;
+      }
+      function.adjustOptionValues(stateValues, nextValues, i);
+      double[] temp = values;
+      values = nextValues;
+      nextValues = temp;
     }
-    return values.get(0);
+    return ValueDerivatives.of(
+        values[0], DoubleArray.of(derivatives[0][0], derivatives[1][0], derivatives[2][0], derivatives[3][0]));
   }
 
   /**
@@ -76,14 +274,36 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
+    return optionPrice(function, data, new TrinomialTreeWorkspace());
+  }
+
+  /**
+   * Price an option under the specified trinomial tree gird, using the specified workspace.
+   * 
+   * @param function  the option
+   * @param data  the trinomial tree data
+   * @param workspace  the workspace
+   * @return the option price
+   */
+  public double optionPrice(
+      OptionFunction function,
+      RecombiningTrinomialTreeData data,
+      TrinomialTreeWorkspace workspace) {
+
     int nSteps = data.getNumberOfSteps();
     ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
+    boolean inPlace = function.supportsTrinomialWorkspace();
+    workspace.ensureValueCapacity(nSteps);
+    double[] values = workspace.values;
+    double[] nextValues = workspace.nextValues;
+    function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps).toArrayUnsafe(), values);
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
+      rollBack(function, inPlace, data, i, values, nextValues);
+      double[] temp = values;
+      values = nextValues;
+      nextValues = temp;
     }
-    return values.get(0);
+    return values[0];
   }
 
   /**
@@ -100,21 +320,140 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
+    return optionPriceAdjoint(function, data, new TrinomialTreeWorkspace());
+  }
+
+  /**
+   * Compute option price and delta under the specified trinomial tree gird, using the specified workspace.
+   * <p>
+   * The delta is the first derivative of the price with respect to spot, and approximated by the data embedded in 
+   * the trinomial tree.
+   * 
+   * @param function  the option
+   * @param data  the trinomial tree data
+   * @param workspace  the workspace
+   * @return the option price and spot delta
+   */
+  public ValueDerivatives optionPriceAdjoint(
+      OptionFunction function,
+      RecombiningTrinomialTreeData data,
+      TrinomialTreeWorkspace workspace) {
+
     int nSteps = data.getNumberOfSteps();
     ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
+    boolean inPlace = function.supportsTrinomialWorkspace();
+    workspace.ensureValueCapacity(nSteps);
+    double[] values = workspace.values;
+    double[] nextValues = workspace.nextValues;
+    function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps).toArrayUnsafe(), values);
     double delta = 0d;
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
+      rollBack(function, inPlace, data, i, values, nextValues);
+      double[] temp = values;
+      values = nextValues;
+      nextValues = temp;
       if (i == 1) {
         DoubleArray stateValue = data.getStateValueAtLayer(1);
-        double d1 = (values.get(2) - values.get(1)) / (stateValue.get(2) - stateValue.get(1));
-        double d2 = (values.get(1) - values.get(0)) / (stateValue.get(1) - stateValue.get(0));
+        double d1 = (values[2] - values[1]) / (stateValue.get(2) - stateValue.get(1));
+        double d2 = (values[1] - values[0]) / (stateValue.get(1) - stateValue.get(0));
         delta = 0.5 * (d1 + d2);
       }
     }
-    return ValueDerivatives.of(values.get(0), DoubleArray.of(delta));
+    return ValueDerivatives.of(values[0], DoubleArray.of(delta));
+  }
+
+  //-------------------------------------------------------------------------
+  // computes the option values in the i-th layer from the values in the (i+1)-th layer
+  private static void rollBack(
+      OptionFunction function,
+      boolean inPlace,
+      RecombiningTrinomialTreeData data,
+      int i,
+      double[] values,
+      double[] nextValues) {
+
+    double discountFactor = data.getDiscountFactorAtLayer(i);
+    DoubleMatrix probability = data.getProbabilityAtLayer(i);
+    int nNodes = 2 * i + 1;
+    if (!inPlace) {
+      function.getNextOptionValues(
+          discountFactor, probability, data.getStateValueAtLayer(i), DoubleArray.copyOf(values, 0, nNodes + 2), i)
+          .copyInto(nextValues, 0);
+      return;
+    }
+    for (int j = 0; j < nNodes; ++j) {
+      nextValues[j] = discountFactor * (probability.get(j, 2) * values[j + 2] +
+          probability.get(j, 1) * values[j + 1] + probability.get(j, 0) * values[j]);
+    }
+    function.adjustOptionValues(data.getStateValueAtLayer(i).toArrayUnsafe(), nextValues, i);
+  }
+
+  // derivatives by central finite difference of the price, for functions without consistent pathwise derivatives
+  private ValueDerivatives optionPriceFiniteDifference(
+      OptionFunction function,
+      LatticeSpecification lattice,
+      double spot,
+      double volatility,
+      double interestRate,
+      double dividendRate,
+      TrinomialTreeWorkspace workspace) {
+
+    double price = optionPrice(function, lattice, spot, volatility, interestRate, dividendRate, workspace);
+    double[] inputs = new double[] {spot, volatility, interestRate, dividendRate};
+    double[] derivatives = new double[TrinomialTreeWorkspace.NB_DERIVATIVES];
+    for (int d = 0; d < TrinomialTreeWorkspace.NB_DERIVATIVES; ++d) {
+      double shift = PARAMETER_SHIFT * Math.max(Math.abs(inputs[d]), 1d);
+      double[] up = inputs.clone();
+      double[] down = inputs.clone();
+      up[d] += shift;
+      down[d] -= shift;
+      double priceUp = optionPrice(function, lattice, up[0], up[1], up[2], up[3], workspace);
+      double priceDown = optionPrice(function, lattice, down[0], down[1], down[2], down[3], workspace);
+      derivatives[d] = 0.5 * (priceUp - priceDown) / shift;
+    }
+    return ValueDerivatives.of(price, DoubleArray.ofUnsafe(derivatives));
+  }
+
+  // checks the transition probabilities of a uniform lattice
+  private static void checkProbabilities(double upProbability, double midProbability, double downProbability) {
+    ArgChecker.isTrue(upProbability > 0d, "upProbability should be greater than 0");
+    ArgChecker.isTrue(upProbability < 1d, "upProbability should be smaller than 1");
+    ArgChecker.isTrue(midProbability > 0d, "midProbability should be greater than 0");
+    ArgChecker.isTrue(midProbability < 1d, "midProbability should be smaller than 1");
+    ArgChecker.isTrue(downProbability > 0d, "downProbability should be greater than 0");
+  }
+
+  // central finite difference of the lattice parameters
+  private static double[] parameterDerivatives(
+      LatticeSpecification lattice,
+      double volatilityUp,
+      double volatilityDown,
+      double driftUp,
+      double driftDown,
+      double dt) {
+
+    DoubleArray up = lattice.getParametersTrinomial(volatilityUp, driftUp, dt);
+    DoubleArray down = lattice.getParametersTrinomial(volatilityDown, driftDown, dt);
+    double shift = volatilityUp - volatilityDown + driftUp - driftDown;
+    return up.minus(down).dividedBy(shift).toArray();
+  }
+
+  // derivatives of the state values, spot * down^(i-k) * middle^k, in the i-th layer
+  private static void stateDerivatives(
+      double[] stateValues,
+      double[] stateDerivatives,
+      double spotRelativeBar,
+      double[] paramBar,
+      double downFactor,
+      double middleFactor,
+      int i) {
+
+    double downRelativeBar = paramBar[2] / downFactor;
+    double middleRelativeBar = paramBar[1] / middleFactor;
+    int nNodes = 2 * i + 1;
+    for (int k = 0; k < nNodes; ++k) {
+      stateDerivatives[k] = stateValues[k] * (spotRelativeBar + (i - k) * downRelativeBar + k * middleRelativeBar);
+    }
   }
 
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.tree;
+
+/**
+ * Workspace for trinomial tree option pricing.
+ * <p>
+ * The workspace holds the primitive buffers used in the backward induction of {@link TrinomialTree}.
+ * The option values are rolled back between two buffers which are swapped at each time step,
+ * thus no array is allocated during the backward induction.
+ * The powers of the down and middle factors of a uniform lattice are also kept,
+ * so that they are computed only once for a given lattice.
+ * <p>
+ * The buffers grow as needed and are reused across pricing calls.
+ * A workspace is mutable and must not be shared between threads.
+ */
+public final class TrinomialTreeWorkspace {
+
+  /**
+   * The number of derivatives computed in the adjoint of a uniform lattice.
+   */
+  static final int NB_DERIVATIVES = 4;
+
+  /**
+   * The option values.
+   */
+  double[] values = new double[0];
+  /**
+   * The option values in the next layer.
+   */
+  double[] nextValues = new double[0];
+  /**
+   * The state values.
+   */
+  double[] stateValues = new double[0];
+  /**
+   * The state value derivatives.
+   */
+  double[] stateDerivatives = new double[0];
+  /**
+   * The option value derivatives.
+   */
+  double[][] derivatives = new double[NB_DERIVATIVES][0];
+  /**
+   * The option value derivatives in the next layer.
+   */
+  double[][] nextDerivatives = new double[NB_DERIVATIVES][0];
+  /**
+   * The powers of the down factor, from {@code -n} to {@code n}.
+   */
+  private double[] downPowers = new double[0];
+  /**
+   * The powers of the middle factor, from {@code 0} to {@code 2n}.
+   */
+  private double[] middlePowers = new double[0];
+  /**
+   * The down factor of the powers.
+   */
+  private double downFactor = Double.NaN;
+  /**
+   * The middle factor of the powers.
+   */
+  private double middleFactor = Double.NaN;
+  /**
+   * The number of steps of the powers.
+   */
+  private int numberOfSteps = -1;
+
+  /**
+   * Creates an empty workspace.
+   */
+  public TrinomialTreeWorkspace() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Ensures the value buffers can hold a tree of the specified number of steps.
+   *
+   * @param nSteps  the number of steps
+   */
+  void ensureValueCapacity(int nSteps) {
+    int nNodes = 2 * nSteps + 1;
+    if (values.length < nNodes) {
+      values = new double[nNodes];
+      nextValues = new double[nNodes];
+      stateValues = new double[nNodes];
+    }
+  }
+
+  /**
+   * Ensures the value and derivative buffers can hold a tree of the specified number of steps.
+   *
+   * @param nSteps  the number of steps
+   */
+  void ensureDerivativeCapacity(int nSteps) {
+    ensureValueCapacity(nSteps);
+    int nNodes = 2 * nSteps + 1;
+    if (stateDerivatives.length < nNodes) {
+      stateDerivatives = new double[nNodes];
+      derivatives = new double[NB_DERIVATIVES][nNodes];
+      nextDerivatives = new double[NB_DERIVATIVES][nNodes];
+    }
+  }
+
+  /**
+   * Computes the state values of the i-th layer of a uniform lattice.
+   * <p>
+   * The powers of the factors are only recomputed if the lattice changes.
+   *
+   * @param spot  the spot
+   * @param down  the down factor
+   * @param middle  the middle factor
+   * @param nSteps  the number of steps
+   * @param i  the layer
+   */
+  void stateValues(double spot, double down, double middle, int nSteps, int i) {
+    if (down != downFactor || middle != middleFactor || nSteps != numberOfSteps) {
+      int nNodes = 2 * nSteps + 1;
+      if (downPowers.length < nNodes) {
+        downPowers = new double[nNodes];
+        middlePowers = new double[nNodes];
+      }
+      for (int k = 0; k < nNodes; ++k) {
+        downPowers[k] = Math.pow(down, k - nSteps);
+        middlePowers[k] = Math.pow(middle, k);
+      }
+      downFactor = down;
+      middleFactor = middle;
+      numberOfSteps = nSteps;
+    }
+    int nNodes = 2 * i + 1;
+    for (int k = 0; k < nNodes; ++k) {
+      stateValues[k] = spot * downPowers[nSteps + i - k] * middlePowers[k];
+    }
+  }
+
+}
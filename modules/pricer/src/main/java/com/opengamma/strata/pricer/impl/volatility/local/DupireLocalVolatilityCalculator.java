@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.volatility.local;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
@@ -41,16 +42,27 @@ public class DupireLocalVolatilityCalculator implements LocalVolatilityCalculato
       Function<Double, Double> interestRate,
       Function<Double, Double> dividendRate) {
 
+    return localVolatilityFromImpliedVolatilityDouble(
+        impliedVolatilitySurface, spot, interestRate::apply, dividendRate::apply);
+  }
+
+  @Override
+  public DeformedSurface localVolatilityFromImpliedVolatilityDouble(
+      Surface impliedVolatilitySurface,
+      double spot,
+      DoubleUnaryOperator interestRate,
+      DoubleUnaryOperator dividendRate) {
+
     Function<DoublesPair, ValueDerivatives> func = new Function<DoublesPair, ValueDerivatives>() {
       @Override
       public ValueDerivatives apply(DoublesPair x) {
         double t = x.getFirst();
         double k = x.getSecond();
-        double r = interestRate.apply(t);
-        double q = dividendRate.apply(t);
+        double r = interestRate.applyAsDouble(t);
+        double q = dividendRate.applyAsDouble(t);
         double vol = impliedVolatilitySurface.zValue(t, k);
         DoubleArray volSensi = impliedVolatilitySurface.zValueParameterSensitivity(t, k).getSensitivity();
-        double divT = FIRST_DERIV.differentiate(u -> impliedVolatilitySurface.zValue(u, k)).apply(t);
+        double divT = FIRST_DERIV.differentiateDouble(u -> impliedVolatilitySurface.zValue(u, k)).applyAsDouble(t);
         DoubleArray divTSensi = FIRST_DERIV_SENSI.differentiate(
             u -> impliedVolatilitySurface.zValueParameterSensitivity(u.get(0), k).getSensitivity())
             .apply(DoubleArray.of(t)).column(0);
@@ -61,11 +73,11 @@ public class DupireLocalVolatilityCalculator implements LocalVolatilityCalculato
           localVolSensi =
               volSensi.multipliedBy((vol + t * divT) / localVol).plus(divTSensi.multipliedBy(vol * t / localVol));
         } else {
-          double divK = FIRST_DERIV.differentiate(l -> impliedVolatilitySurface.zValue(t, l)).apply(k);
+          double divK = FIRST_DERIV.differentiateDouble(l -> impliedVolatilitySurface.zValue(t, l)).applyAsDouble(k);
           DoubleArray divKSensi = FIRST_DERIV_SENSI.differentiate(
               l -> impliedVolatilitySurface.zValueParameterSensitivity(t, l.get(0)).getSensitivity())
               .apply(DoubleArray.of(k)).column(0);
-          double divK2 = SECOND_DERIV.differentiate(l -> impliedVolatilitySurface.zValue(t, l)).apply(k);
+          double divK2 = SECOND_DERIV.differentiateDouble(l -> impliedVolatilitySurface.zValue(t, l)).applyAsDouble(k);
           DoubleArray divK2Sensi = SECOND_DERIV_SENSI.differentiateNoCross(
               l -> impliedVolatilitySurface.zValueParameterSensitivity(t, l.get(0)).getSensitivity())
               .apply(DoubleArray.of(k)).column(0);
@@ -104,24 +116,35 @@ public class DupireLocalVolatilityCalculator implements LocalVolatilityCalculato
       Function<Double, Double> interestRate,
       Function<Double, Double> dividendRate) {
 
+    return localVolatilityFromPriceDouble(
+        callPriceSurface, spot, interestRate::apply, dividendRate::apply);
+  }
+
+  @Override
+  public DeformedSurface localVolatilityFromPriceDouble(
+      Surface callPriceSurface,
+      double spot,
+      DoubleUnaryOperator interestRate,
+      DoubleUnaryOperator dividendRate) {
+
     Function<DoublesPair, ValueDerivatives> func = new Function<DoublesPair, ValueDerivatives>() {
       @Override
       public ValueDerivatives apply(DoublesPair x) {
         double t = x.getFirst();
         double k = x.getSecond();
-        double r = interestRate.apply(t);
-        double q = dividendRate.apply(t);
+        double r = interestRate.applyAsDouble(t);
+        double q = dividendRate.applyAsDouble(t);
         double price = callPriceSurface.zValue(t, k);
         DoubleArray priceSensi = callPriceSurface.zValueParameterSensitivity(t, k).getSensitivity();
-        double divT = FIRST_DERIV.differentiate(u -> callPriceSurface.zValue(u, k)).apply(t);
+        double divT = FIRST_DERIV.differentiateDouble(u -> callPriceSurface.zValue(u, k)).applyAsDouble(t);
         DoubleArray divTSensi = FIRST_DERIV_SENSI.differentiate(
             u -> callPriceSurface.zValueParameterSensitivity(u.get(0), k).getSensitivity())
             .apply(DoubleArray.of(t)).column(0);
-        double divK = FIRST_DERIV.differentiate(l -> callPriceSurface.zValue(t, l)).apply(k);
+        double divK = FIRST_DERIV.differentiateDouble(l -> callPriceSurface.zValue(t, l)).applyAsDouble(k);
         DoubleArray divKSensi = FIRST_DERIV_SENSI.differentiate(
             l -> callPriceSurface.zValueParameterSensitivity(t, l.get(0)).getSensitivity())
             .apply(DoubleArray.of(k)).column(0);
-        double divK2 = SECOND_DERIV.differentiate(l -> callPriceSurface.zValue(t, l)).apply(k);
+        double divK2 = SECOND_DERIV.differentiateDouble(l -> callPriceSurface.zValue(t, l)).applyAsDouble(k);
         DoubleArray divK2Sensi = SECOND_DERIV_SENSI.differentiateNoCross(
             l -> callPriceSurface.zValueParameterSensitivity(t, l.get(0)).getSensitivity())
             .apply(DoubleArray.of(k)).column(0);
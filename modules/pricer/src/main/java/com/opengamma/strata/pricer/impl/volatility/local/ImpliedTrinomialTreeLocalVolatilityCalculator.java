@@ -11,6 +11,7 @@ import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
@@ -105,6 +106,17 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
       Function<Double, Double> interestRate,
       Function<Double, Double> dividendRate) {
 
+    return localVolatilityFromImpliedVolatilityDouble(
+        impliedVolatilitySurface, spot, interestRate::apply, dividendRate::apply);
+  }
+
+  @Override
+  public InterpolatedNodalSurface localVolatilityFromImpliedVolatilityDouble(
+      Surface impliedVolatilitySurface,
+      double spot,
+      DoubleUnaryOperator interestRate,
+      DoubleUnaryOperator dividendRate) {
+
     Function<DoublesPair, Double> surface = new Function<DoublesPair, Double>() {
       @Override
       public Double apply(DoublesPair tk) {
@@ -135,13 +147,32 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
    * @param dividendRate  the dividend rate
    * @return the trinomial tree 
    */
+  public RecombiningTrinomialTreeData calibrateImpliedVolatilityDouble(
+      Function<DoublesPair, Double> impliedVolatilitySurface,
+      double spot,
+      DoubleUnaryOperator interestRate,
+      DoubleUnaryOperator dividendRate) {
+
+    return calibrate(impliedVolatilitySurface, spot, interestRate, dividendRate).getSecond();
+  }
+
+  /**
+   * Calibrate trinomial tree to implied volatility surface, with the rates as boxed functions.
+   * 
+   * @param impliedVolatilitySurface  the implied volatility surface
+   * @param spot  the spot
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend rate
+   * @return the trinomial tree 
+   */
   public RecombiningTrinomialTreeData calibrateImpliedVolatility(
       Function<DoublesPair, Double> impliedVolatilitySurface,
       double spot,
       Function<Double, Double> interestRate,
       Function<Double, Double> dividendRate) {
 
-    return calibrate(impliedVolatilitySurface, spot, interestRate, dividendRate).getSecond();
+    return calibrateImpliedVolatilityDouble(
+        impliedVolatilitySurface, spot, interestRate::apply, dividendRate::apply);
   }
 
   @Override
@@ -151,6 +182,17 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
       Function<Double, Double> interestRate,
       Function<Double, Double> dividendRate) {
 
+    return localVolatilityFromPriceDouble(
+        callPriceSurface, spot, interestRate::apply, dividendRate::apply);
+  }
+
+  @Override
+  public InterpolatedNodalSurface localVolatilityFromPriceDouble(
+      Surface callPriceSurface,
+      double spot,
+      DoubleUnaryOperator interestRate,
+      DoubleUnaryOperator dividendRate) {
+
     double[][] stateValue = new double[nSteps + 1][];
     double[] df = new double[nSteps];
     List<DoubleMatrix> probability = new ArrayList<DoubleMatrix>(nSteps);
@@ -159,8 +201,8 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
     double[] spotRes = new double[nTotal];
     double[] volRes = new double[nTotal];
     // uniform grid based on TrigeorgisLatticeSpecification, using reference values
-    double refPrice = callPriceSurface.zValue(maxTime, spot) * Math.exp(interestRate.apply(maxTime) * maxTime);
-    double refForward = spot * Math.exp((interestRate.apply(maxTime) - dividendRate.apply(maxTime)) * maxTime);
+    double refPrice = callPriceSurface.zValue(maxTime, spot) * Math.exp(interestRate.applyAsDouble(maxTime) * maxTime);
+    double refForward = spot * Math.exp((interestRate.applyAsDouble(maxTime) - dividendRate.applyAsDouble(maxTime)) * maxTime);
     double refVolatility = BlackFormulaRepository.impliedVolatility(refPrice, refForward, spot, maxTime, true);
     double dt = maxTime / nSteps;
     double dx = refVolatility * Math.sqrt(3d * dt);
@@ -174,8 +216,8 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
             df, stateValue, probability);
       } else {
         double time = dt * i;
-        double zeroRate = interestRate.apply(time);
-        double zeroDividendRate = dividendRate.apply(time);
+        double zeroRate = interestRate.applyAsDouble(time);
+        double zeroDividendRate = dividendRate.applyAsDouble(time);
         int nNodes = 2 * i + 1;
         double[] assetPriceLocal = new double[nNodes];
         double[] callOptionPrice = new double[nNodes];
@@ -218,8 +260,8 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
   private Pair<ImmutableList<double[]>, RecombiningTrinomialTreeData> calibrate(
       Function<DoublesPair, Double> impliedVolatilitySurface,
       double spot,
-      Function<Double, Double> interestRate,
-      Function<Double, Double> dividendRate) {
+      DoubleUnaryOperator interestRate,
+      DoubleUnaryOperator dividendRate) {
 
     double[][] stateValue = new double[nSteps + 1][];
     double[] df = new double[nSteps];
@@ -243,8 +285,8 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
         resolveFirstLayer(interestRate, dividendRate, nTotal, dt, spot, adSec, assetPrice, timeRes, spotRes, volRes,
             df, stateValue, probability);
       } else {
-        double zeroRate = interestRate.apply(timePrim[i]);
-        double zeroDividendRate = dividendRate.apply(timePrim[i]);
+        double zeroRate = interestRate.applyAsDouble(timePrim[i]);
+        double zeroDividendRate = dividendRate.applyAsDouble(timePrim[i]);
         double zeroCostRate = zeroRate - zeroDividendRate;
         int nNodes = 2 * i + 1;
         double[] assetPriceLocal = new double[nNodes];
@@ -280,12 +322,12 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
   }
 
   // resolve the t=0 layer
-  private void resolveFirstLayer(Function<Double, Double> interestRate, Function<Double, Double> dividendRate,
+  private void resolveFirstLayer(DoubleUnaryOperator interestRate, DoubleUnaryOperator dividendRate,
       int nTotal, double dt, double spot, double[] adSec, double[] assetPrice, double[] timeRes, double[] spotRes,
       double[] volRes, double[] df, double[][] stateValue, List<DoubleMatrix> probability) {
 
-    double discountFactor = Math.exp(-interestRate.apply(dt) * dt);
-    double fwdFactor = Math.exp((interestRate.apply(dt) - dividendRate.apply(dt)) * dt);
+    double discountFactor = Math.exp(-interestRate.applyAsDouble(dt) * dt);
+    double fwdFactor = Math.exp((interestRate.applyAsDouble(dt) - dividendRate.applyAsDouble(dt)) * dt);
     double upProb = adSec[2] / discountFactor;
     double midProb = getMiddle(upProb, fwdFactor, spot, assetPrice[0], assetPrice[1], assetPrice[2]);
     double dwProb = 1d - upProb - midProb;
@@ -301,7 +343,7 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
   }
 
   // resolve the i-th layer
-  private void resolveLayer(Function<Double, Double> interestRate, Function<Double, Double> dividendRate, int i,
+  private void resolveLayer(DoubleUnaryOperator interestRate, DoubleUnaryOperator dividendRate, int i,
       int nTotal, int position, double dt, double zeroRate, double zeroDividendRate, double[] callOptionPrice,
       double[] putOptionPrice, double[] adSec, double[] assetPrice, double[] assetPriceLocal, double[] timeRes,
       double[] spotRes, double[] volRes, double[] df, double[][] stateValue, List<DoubleMatrix> probability) {
@@ -329,8 +371,8 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
     if (i != nSteps) {
       double time = dt * i;
       double timeNext = dt * (i - 1);
-      double rate = (zeroRate * time - interestRate.apply(timeNext) * timeNext) / dt;
-      double dividend = (zeroDividendRate * time - dividendRate.apply(timeNext) * timeNext) / dt;
+      double rate = (zeroRate * time - interestRate.applyAsDouble(timeNext) * timeNext) / dt;
+      double dividend = (zeroDividendRate * time - dividendRate.applyAsDouble(timeNext) * timeNext) / dt;
       double cost = rate - dividend;
       double discountFactor = Math.exp(-rate * dt);
       double fwdFactor = Math.exp(cost * dt);
@@ -5,12 +5,16 @@
  */
 package com.opengamma.strata.pricer.impl.volatility.local;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.market.surface.Surface;
 
 /**
  * Local volatility calculation.
+ * <p>
+ * The interest rate and dividend rate are evaluated on primitive {@code double} values.
+ * The methods taking a {@link Function} adapt onto the primitive methods.
  */
 public interface LocalVolatilityCalculator {
 
@@ -27,11 +31,32 @@ public interface LocalVolatilityCalculator {
    * @param dividendRate  the dividend rate
    * @return the local volatility surface
    */
-  public abstract Surface localVolatilityFromPrice(
+  public abstract Surface localVolatilityFromPriceDouble(
+      Surface callPriceSurface,
+      double spot,
+      DoubleUnaryOperator interestRate,
+      DoubleUnaryOperator dividendRate);
+
+  /**
+   * Computes local volatility surface from call price surface, with the rates as boxed functions.
+   * <p>
+   * See {@link #localVolatilityFromPriceDouble(Surface, double, DoubleUnaryOperator, DoubleUnaryOperator)}.
+   * 
+   * @param callPriceSurface  the price surface
+   * @param spot  the spot
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend rate
+   * @return the local volatility surface
+   */
+  public default Surface localVolatilityFromPrice(
       Surface callPriceSurface,
       double spot,
       Function<Double, Double> interestRate,
-      Function<Double, Double> dividendRate);
+      Function<Double, Double> dividendRate) {
+
+    return localVolatilityFromPriceDouble(
+        callPriceSurface, spot, interestRate::apply, dividendRate::apply);
+  }
 
   /**
    * Computes local volatility surface from implied volatility surface.
@@ -48,10 +73,31 @@ public interface LocalVolatilityCalculator {
    * @param dividendRate  the dividend
    * @return the local volatility surface
    */
-  public abstract Surface localVolatilityFromImpliedVolatility(
+  public abstract Surface localVolatilityFromImpliedVolatilityDouble(
+      Surface impliedVolatilitySurface,
+      double spot,
+      DoubleUnaryOperator interestRate,
+      DoubleUnaryOperator dividendRate);
+
+  /**
+   * Computes local volatility surface from implied volatility surface, with the rates as boxed functions.
+   * <p>
+   * See {@link #localVolatilityFromImpliedVolatilityDouble(Surface, double, DoubleUnaryOperator, DoubleUnaryOperator)}.
+   * 
+   * @param impliedVolatilitySurface  the implied volatility surface
+   * @param spot  the spot
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend
+   * @return the local volatility surface
+   */
+  public default Surface localVolatilityFromImpliedVolatility(
       Surface impliedVolatilitySurface,
       double spot,
       Function<Double, Double> interestRate,
-      Function<Double, Double> dividendRate);
+      Function<Double, Double> dividendRate) {
+
+    return localVolatilityFromImpliedVolatilityDouble(
+        impliedVolatilitySurface, spot, interestRate::apply, dividendRate::apply);
+  }
 
 }
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.impl.volatility.smile;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Set;
 
 import org.joda.beans.BeanDefinition;
@@ -85,15 +86,20 @@ public final class SabrHaganVolatilityFunctionProvider
     if (alpha == 0.0) {
       return 0.0;
     }
-    double cutoff = forward * CUTOFF_MONEYNESS;
-    double k;
-    if (strike < cutoff) {
-      log.info("Given strike of {} is less than cutoff at {}, therefore the strike is taken as {}", new Object[] {
-          strike, cutoff, cutoff});
-      k = cutoff;
-    } else {
-      k = strike;
-    }
+    double k = cutoffStrike(strike, forward * CUTOFF_MONEYNESS);
+    return computeVolatility(forward, k, timeToExpiry, alpha, beta, rho, nu);
+  }
+
+  // computes the volatility, the strike is already floored at the cutoff and alpha is not zero
+  private static double computeVolatility(
+      double forward,
+      double k,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu) {
+
     double vol, z, zOverChi;
     double beta1 = 1 - beta;
     if (DoubleMath.fuzzyEquals(forward, k, ATM_EPS)) {
@@ -197,14 +203,24 @@ public final class SabrHaganVolatilityFunctionProvider
     ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
     ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
     ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
-    double cutoff = forward * CUTOFF_MONEYNESS;
-    double k = strike;
-    if (k < cutoff) {
-      log.info(
-          "Given strike of {} is less than cutoff at {}, therefore the strike is taken as {}",
-          new Object[] {k, cutoff, cutoff});
-      k = cutoff;
-    }
+    double k = cutoffStrike(strike, forward * CUTOFF_MONEYNESS);
+    double[] derivatives = new double[6];
+    double volatility = computeVolatilityAdjoint(forward, k, timeToExpiry, alpha, beta, rho, nu, derivatives);
+    return ValueDerivatives.of(volatility, DoubleArray.ofUnsafe(derivatives));
+  }
+
+  // computes the volatility and stores its derivatives in the array, in the order forward, strike, alpha, beta, rho, nu
+  // the strike is already floored at the cutoff
+  private static double computeVolatilityAdjoint(
+      double forward,
+      double k,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] derivatives) {
+
     double betaStar = 1 - beta;
     double rhoStar = 1.0 - rho;
 
@@ -217,7 +233,9 @@ public final class SabrHaganVolatilityFunctionProvider
         // so we return an arbitrary large number
         alphaBar = 1e7;
       }
-      return ValueDerivatives.of(0d, DoubleArray.of(0, 0, alphaBar, 0, 0, 0));
+      Arrays.fill(derivatives, 0d);
+      derivatives[2] = alphaBar;
+      return 0d;
     }
 
     // Implementation note: Forward sweep.
@@ -327,7 +345,124 @@ public final class SabrHaganVolatilityFunctionProvider
         (betaStar / 12 * (lnrfK * lnrfK) + Math.pow(betaStar, 3) / 480 * Math.pow(lnrfK, 4)) * sf1Bar +
         (-betaStar * alpha * alpha / sfK / sfK / 12 + rho * nu * alpha / 4 / sfK) * timeToExpiry * sf2Bar;
 
-    return ValueDerivatives.of(volatility, DoubleArray.of(forwardBar, strikeBar, alphaBar, betaBar, rhoBar, nuBar));
+    derivatives[0] = forwardBar;
+    derivatives[1] = strikeBar;
+    derivatives[2] = alphaBar;
+    derivatives[3] = betaBar;
+    derivatives[4] = rhoBar;
+    derivatives[5] = nuBar;
+    return volatility;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the implied volatility in the SABR model for several strikes.
+   * <p>
+   * The arguments are validated once and each strike uses the same primitive computation as
+   * {@link #volatility(double, double, double, SabrFormulaData)}.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the option
+   * @param timeToExpiry  the time to expiry of the option
+   * @param data  the SABR data
+   * @param volatilities  the array used to return the volatilities
+   */
+  @Override
+  public void volatility(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      SabrFormulaData data,
+      double[] volatilities) {
+
+    ArgChecker.notNull(data, "data");
+    checkBatch(strikes, volatilities);
+    ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
+    ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    int nbStrikes = strikes.length;
+    for (int i = 0; i < nbStrikes; i++) {
+      ArgChecker.isTrue(strikes[i] >= 0.0, "strike must be greater than zero");
+    }
+    double alpha = data.getAlpha();
+    double beta = data.getBeta();
+    double rho = data.getRho();
+    double nu = data.getNu();
+    if (alpha == 0.0) {
+      Arrays.fill(volatilities, 0, nbStrikes, 0d);
+      return;
+    }
+    double cutoff = forward * CUTOFF_MONEYNESS;
+    for (int i = 0; i < nbStrikes; i++) {
+      volatilities[i] = computeVolatility(forward, cutoffStrike(strikes[i], cutoff), timeToExpiry, alpha, beta, rho, nu);
+    }
+  }
+
+  /**
+   * Computes the implied volatility in the SABR model and its derivatives for several strikes.
+   * <p>
+   * The derivatives are stored in the input array of arrays {@code volatilityD}, such that
+   * {@code volatilityD[j][i]} is the j-th derivative of the volatility for the i-th strike, with:
+   * <ul>
+   * <li>[0] derivative with respect to the forward
+   * <li>[1] derivative with respect to the strike
+   * <li>[2] derivative with respect to the alpha
+   * <li>[3] derivative with respect to the beta
+   * <li>[4] derivative with respect to the rho
+   * <li>[5] derivative with respect to the nu
+   * </ul>
+   * The arguments are validated once and each strike uses the same primitive computation as
+   * {@link #volatilityAdjoint(double, double, double, SabrFormulaData)}, without creating a result object per strike.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the option
+   * @param timeToExpiry  the time to expiry of the option
+   * @param data  the SABR data
+   * @param volatilities  the array used to return the volatilities
+   * @param volatilityD  the array of arrays used to return the derivatives
+   */
+  @Override
+  public void volatilityAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      SabrFormulaData data,
+      double[] volatilities,
+      double[][] volatilityD) {
+
+    ArgChecker.notNull(data, "data");
+    checkBatch(strikes, volatilities);
+    ArgChecker.notNull(volatilityD, "volatilityD");
+    ArgChecker.isTrue(volatilityD.length >= 6, "volatilityD must contain the 6 derivatives");
+    ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
+    ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    int nbStrikes = strikes.length;
+    for (int i = 0; i < nbStrikes; i++) {
+      ArgChecker.isTrue(strikes[i] >= 0.0, "strike must be greater than zero");
+    }
+    double alpha = data.getAlpha();
+    double beta = data.getBeta();
+    double rho = data.getRho();
+    double nu = data.getNu();
+    double cutoff = forward * CUTOFF_MONEYNESS;
+    double[] derivatives = new double[6];
+    for (int i = 0; i < nbStrikes; i++) {
+      double k = cutoffStrike(strikes[i], cutoff);
+      volatilities[i] = computeVolatilityAdjoint(forward, k, timeToExpiry, alpha, beta, rho, nu, derivatives);
+      for (int j = 0; j < 6; j++) {
+        volatilityD[j][i] = derivatives[j];
+      }
+    }
+  }
+
+  // applies the cutoff to the strike
+  private static double cutoffStrike(double strike, double cutoff) {
+    if (strike < cutoff) {
+      log.info(
+          "Given strike of {} is less than cutoff at {}, therefore the strike is taken as {}",
+          new Object[] {strike, cutoff, cutoff});
+      return cutoff;
+    }
+    return strike;
   }
 
   /**
@@ -532,7 +667,7 @@ public final class SabrHaganVolatilityFunctionProvider
     return sigma;
   }
 
-  private double getZOverChi(double rho, double z) {
+  private static double getZOverChi(double rho, double z) {
 
     // Implementation comment: To avoid numerical instability (0/0) around ATM the first order approximation is used.
     if (DoubleMath.fuzzyEquals(z, 0.0, SMALL_Z)) {
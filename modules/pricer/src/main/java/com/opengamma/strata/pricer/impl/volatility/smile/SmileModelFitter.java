@@ -76,27 +76,28 @@ public abstract class SmileModelFitter<T extends SmileModelData> {
     this.marketValues = impliedVols;
     this.errors = error;
     this.model = model;
+    double[] strikesArray = strikes.toArray();
     this.volFunc = new Function<DoubleArray, DoubleArray>() {
       @Override
       public DoubleArray apply(DoubleArray x) {
         final T data = toSmileModelData(x);
         double[] res = new double[n];
-        for (int i = 0; i < n; ++i) {
-          res[i] = model.volatility(forward, strikes.get(i), timeToExpiry, data);
-        }
-        return DoubleArray.copyOf(res);
+        model.volatility(forward, strikesArray, timeToExpiry, data, res);
+        return DoubleArray.ofUnsafe(res);
       }
     };
     this.volAdjointFunc = new Function<DoubleArray, DoubleMatrix>() {
       @Override
       public DoubleMatrix apply(DoubleArray x) {
         final T data = toSmileModelData(x);
-        double[][] resAdj = new double[n][];
-        for (int i = 0; i < n; ++i) {
-          DoubleArray deriv = model.volatilityAdjoint(forward, strikes.get(i), timeToExpiry, data).getDerivatives();
-          resAdj[i] = deriv.subArray(2).toArrayUnsafe();
-        }
-        return DoubleMatrix.copyOf(resAdj);
+        double[] vols = new double[n];
+        int nbParameters = data.getNumberOfParameters();
+        int nbDerivatives = model.getNumberOfDerivatives(data);
+        double[][] volsD = new double[nbDerivatives][n];
+        model.volatilityAdjoint(forward, strikesArray, timeToExpiry, data, vols, volsD);
+        // the derivatives with respect to the model parameters are the last ones
+        int offset = nbDerivatives - nbParameters;
+        return DoubleMatrix.of(n, nbParameters, (i, j) -> volsD[j + offset][i]);
       }
     };
   }
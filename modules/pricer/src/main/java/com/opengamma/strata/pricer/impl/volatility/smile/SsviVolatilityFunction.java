@@ -105,6 +105,19 @@ public final class SsviVolatilityFunction
     return ValueDerivatives.of(volatility, DoubleArray.ofUnsafe(derivatives));
   }
 
+  /**
+   * Gets the number of derivatives computed by {@link #volatilityAdjoint(double, double, double, SsviFormulaData)}.
+   * <p>
+   * The derivatives are with respect to the forward, the strike, the time to expiry and the model parameters.
+   *
+   * @param data  the model data
+   * @return the number of derivatives
+   */
+  @Override
+  public int getNumberOfDerivatives(SsviFormulaData data) {
+    return 3 + data.getNumberOfParameters();
+  }
+
   @Override
   public double volatilityAdjoint2(double forward, double strike, double timeToExpiry,
       SsviFormulaData data, double[] volatilityD, double[][] volatilityD2) {
@@ -56,6 +56,96 @@ public abstract class VolatilityFunctionProvider<T extends SmileModelData> {
     return ValueDerivatives.of(volatility, DoubleArray.ofUnsafe(res));
   }
 
+  /**
+   * Gets the number of derivatives computed by {@link #volatilityAdjoint(double, double, double, SmileModelData)}.
+   * <p>
+   * The derivatives with respect to the model parameters are the last ones.
+   * By default, the derivatives are with respect to the forward, the strike and the model parameters.
+   * This should be overridden if the adjoint computes other derivatives.
+   *
+   * @param data  the model data
+   * @return the number of derivatives
+   */
+  public int getNumberOfDerivatives(T data) {
+    return 2 + data.getNumberOfParameters();
+  }
+
+  /**
+   * Calculates the volatility for several strikes.
+   * <p>
+   * The volatilities are stored in the input array {@code volatilities}, whose length should be at least
+   * the number of strikes.
+   * <p>
+   * By default the volatility is computed for each strike in turn.
+   * This may be overridden to compute the terms which do not depend on the strike only once.
+   *
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the option
+   * @param timeToExpiry  the time to expiry of the option
+   * @param data  the model data
+   * @param volatilities  the array used to return the volatilities
+   */
+  public void volatility(double forward, double[] strikes, double timeToExpiry, T data, double[] volatilities) {
+    checkBatch(strikes, volatilities);
+    for (int i = 0; i < strikes.length; i++) {
+      volatilities[i] = volatility(forward, strikes[i], timeToExpiry, data);
+    }
+  }
+
+  /**
+   * Calculates the volatility and the adjoint for several strikes.
+   * <p>
+   * The volatilities are stored in the input array {@code volatilities}, whose length should be at least
+   * the number of strikes.
+   * <p>
+   * The derivatives are stored in the input array of arrays {@code volatilityD}, such that
+   * {@code volatilityD[j][i]} is the j-th derivative of the volatility for the i-th strike.
+   * The derivatives are in the order of {@link #volatilityAdjoint(double, double, double, SmileModelData)},
+   * thus the first dimension should be at least {@link #getNumberOfDerivatives(SmileModelData)}.
+   * <p>
+   * By default the volatility and the adjoint are computed for each strike in turn.
+   * This may be overridden to compute the terms which do not depend on the strike only once.
+   *
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the option
+   * @param timeToExpiry  the time to expiry of the option
+   * @param data  the model data
+   * @param volatilities  the array used to return the volatilities
+   * @param volatilityD  the array of arrays used to return the derivatives
+   */
+  public void volatilityAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      T data,
+      double[] volatilities,
+      double[][] volatilityD) {
+
+    checkBatch(strikes, volatilities);
+    ArgChecker.notNull(volatilityD, "volatilityD");
+    int nbDerivatives = getNumberOfDerivatives(data);
+    ArgChecker.isTrue(volatilityD.length >= nbDerivatives, "volatilityD must contain the {} derivatives", nbDerivatives);
+    for (int i = 0; i < strikes.length; i++) {
+      ValueDerivatives adjoint = volatilityAdjoint(forward, strikes[i], timeToExpiry, data);
+      volatilities[i] = adjoint.getValue();
+      for (int j = 0; j < adjoint.getDerivatives().size(); j++) {
+        volatilityD[j][i] = adjoint.getDerivative(j);
+      }
+    }
+  }
+
+  /**
+   * Checks the arrays of a batch computation.
+   *
+   * @param strikes  the strike values of the option
+   * @param volatilities  the array used to return the volatilities
+   */
+  protected void checkBatch(double[] strikes, double[] volatilities) {
+    ArgChecker.notNull(strikes, "strikes");
+    ArgChecker.notNull(volatilities, "volatilities");
+    ArgChecker.isTrue(volatilities.length >= strikes.length, "volatilities array shorter than strikes");
+  }
+
   /**
    * Computes the first and second order derivatives of the volatility.
    * <p>
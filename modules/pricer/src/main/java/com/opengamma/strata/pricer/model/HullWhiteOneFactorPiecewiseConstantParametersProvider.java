@@ -31,6 +31,7 @@ import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantVarianceCache;
 
 /**
  * Hull-White one factor model with piecewise constant volatility.
@@ -64,6 +65,12 @@ public final class HullWhiteOneFactorPiecewiseConstantParametersProvider
    */
   @PropertyDefinition(validate = "notNull")
   private final ZonedDateTime valuationDateTime;
+  /**
+   * The cumulative variance integrals of the parameters, used to compute alpha and the futures convexity factor.
+   * <p>
+   * This is created on first use and shared by all the cash flows and trades priced with this provider.
+   */
+  private transient volatile HullWhiteOneFactorPiecewiseConstantVarianceCache varianceCache;  // derived, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -115,7 +122,7 @@ public final class HullWhiteOneFactorPiecewiseConstantParametersProvider
     double referenceTime = relativeTime(referenceDate);
     double startTime = relativeTime(startDate);
     double endTime = relativeTime(endDate);
-    return MODEL.futuresConvexityFactor(parameters, referenceTime, startTime, endTime);
+    return varianceCache().futuresConvexityFactor(referenceTime, startTime, endTime);
   }
 
   /**
@@ -167,7 +174,7 @@ public final class HullWhiteOneFactorPiecewiseConstantParametersProvider
     double endTime = relativeTime(endDate);
     double numeraireTime = relativeTime(numeraireDate);
     double maturityTime = relativeTime(maturityDate);
-    return MODEL.alpha(parameters, startTime, endTime, numeraireTime, maturityTime);
+    return varianceCache().alpha(startTime, endTime, numeraireTime, maturityTime);
   }
 
   /**
@@ -203,6 +210,17 @@ public final class HullWhiteOneFactorPiecewiseConstantParametersProvider
     return MODEL;
   }
 
+  // the variance cache, created on first use
+  // racing threads create equal instances, thus no locking is needed
+  private HullWhiteOneFactorPiecewiseConstantVarianceCache varianceCache() {
+    HullWhiteOneFactorPiecewiseConstantVarianceCache cache = varianceCache;
+    if (cache == null) {
+      cache = HullWhiteOneFactorPiecewiseConstantVarianceCache.of(parameters);
+      varianceCache = cache;
+    }
+    return cache;
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
@@ -5,8 +5,12 @@
  */
 package com.opengamma.strata.pricer.rate;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -27,15 +31,20 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
+import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
@@ -223,6 +232,17 @@ public final class DiscountOvernightIndexRates
     return OvernightRateSensitivity.ofPeriod(startDateObservation, endDate, 1d);
   }
 
+  @Override
+  public PointSensitivityBuilder rateRangePointSensitivity(
+      OvernightIndexObservation startDateObservation,
+      LocalDate endDate,
+      HolidayCalendar fixingCalendar) {
+
+    LocalDate startDate = startDateObservation.getEffectiveDate();
+    ArgChecker.inOrderNotEqual(startDate, endDate, "startDate", "endDate");
+    return OvernightRateRangeSensitivity.of(startDateObservation, endDate, 1d);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public CurrencyParameterSensitivities parameterSensitivity(OvernightRateSensitivity pointSensitivity) {
@@ -242,6 +262,59 @@ public final class DiscountOvernightIndexRates
     return psStart.combinedWith(psEnd);
   }
 
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(OvernightRateRangeSensitivity pointSensitivity) {
+    // the sensitivity is to the sum of P(d_i) / P(d_i+1) - 1 over the daily periods
+    // each date is the end of one period and the start of the next, thus is projected once
+    // the calendar is resolved using standard reference data, as no other is available here
+    HolidayCalendar fixingCalendar = pointSensitivity.getFixingCalendar().resolve(ReferenceData.standard());
+    LocalDate endDate = pointSensitivity.getEndDate();
+    Currency currency = pointSensitivity.getCurrency();
+    double sumBar = pointSensitivity.getSensitivity();
+    LocalDate date = pointSensitivity.getObservation().getEffectiveDate();
+    double df = discountFactors.discountFactor(date);
+    double dfBar = 0d;
+    // the sensitivities are accumulated in one array for each curve, then built once
+    Map<Pair<MarketDataName<?>, Currency>, CurrencyParameterSensitivity> templates = new LinkedHashMap<>();
+    Map<Pair<MarketDataName<?>, Currency>, double[]> sums = new HashMap<>();
+    while (date.isBefore(endDate)) {
+      LocalDate nextDate = fixingCalendar.next(date);
+      if (nextDate.isAfter(endDate)) {
+        nextDate = endDate;
+      }
+      double dfNext = discountFactors.discountFactor(nextDate);
+      dfBar += sumBar / dfNext;
+      addDiscountFactorParameterSensitivity(date, currency, dfBar, templates, sums);
+      dfBar = -sumBar * df / (dfNext * dfNext);
+      date = nextDate;
+      df = dfNext;
+    }
+    addDiscountFactorParameterSensitivity(date, currency, dfBar, templates, sums);
+    return CurrencyParameterSensitivities.of(MapStream.of(templates)
+        .map((key, template) -> template.withSensitivity(DoubleArray.ofUnsafe(sums.get(key))))
+        .collect(toImmutableList()));
+  }
+
+  // adds the parameter sensitivity of the discount factor at the date, multiplied by the adjoint
+  private void addDiscountFactorParameterSensitivity(
+      LocalDate date,
+      Currency currency,
+      double dfBar,
+      Map<Pair<MarketDataName<?>, Currency>, CurrencyParameterSensitivity> templates,
+      Map<Pair<MarketDataName<?>, Currency>, double[]> sums) {
+
+    ZeroRateSensitivity zrs = discountFactors.zeroRatePointSensitivity(date, currency);
+    for (CurrencyParameterSensitivity sensitivity : discountFactors.parameterSensitivity(zrs).getSensitivities()) {
+      Pair<MarketDataName<?>, Currency> key = Pair.of(sensitivity.getMarketDataName(), sensitivity.getCurrency());
+      templates.putIfAbsent(key, sensitivity);
+      double[] sum = sums.computeIfAbsent(key, k -> new double[sensitivity.getParameterCount()]);
+      DoubleArray values = sensitivity.getSensitivity();
+      for (int i = 0; i < sum.length; i++) {
+        sum[i] += values.get(i) * dfBar;
+      }
+    }
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return discountFactors.createParameterSensitivity(currency, sensitivities);
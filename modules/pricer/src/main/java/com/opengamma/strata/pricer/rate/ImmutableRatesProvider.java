@@ -149,6 +149,58 @@ public final class ImmutableRatesProvider
         .timeSeries(timeSeries);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this provider with the discount curve for the specified currency replaced.
+   * <p>
+   * If there is no discount curve for the currency, the curve is added.
+   * All other data is shared with this provider, making this cheaper than using the builder
+   * when only one curve changes, such as when bumping curves for finite difference.
+   *
+   * @param currency  the currency of the curve
+   * @param discountCurve  the discount curve
+   * @return the provider with the curve replaced
+   */
+  public ImmutableRatesProvider withDiscountCurve(Currency currency, Curve discountCurve) {
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.notNull(discountCurve, "discountCurve");
+    return new ImmutableRatesProvider(
+        valuationDate, fxRateProvider, replaced(discountCurves, currency, discountCurve), indexCurves, timeSeries);
+  }
+
+  /**
+   * Returns a copy of this provider with the forward curve for the specified index replaced.
+   * <p>
+   * If there is no forward curve for the index, the curve is added.
+   * All other data is shared with this provider, making this cheaper than using the builder
+   * when only one curve changes, such as when bumping curves for finite difference.
+   *
+   * @param index  the index of the curve
+   * @param forwardCurve  the forward curve
+   * @return the provider with the curve replaced
+   */
+  public ImmutableRatesProvider withIndexCurve(Index index, Curve forwardCurve) {
+    ArgChecker.notNull(index, "index");
+    ArgChecker.notNull(forwardCurve, "forwardCurve");
+    if (!(index instanceof IborIndex || index instanceof OvernightIndex || index instanceof PriceIndex)) {
+      throw new IllegalArgumentException("Unsupported index: " + index);
+    }
+    return new ImmutableRatesProvider(
+        valuationDate, fxRateProvider, discountCurves, replaced(indexCurves, index, forwardCurve), timeSeries);
+  }
+
+  // replaces or adds a single entry, retaining the iteration order
+  private static <K> ImmutableMap<K, Curve> replaced(ImmutableMap<K, Curve> curves, K key, Curve curve) {
+    ImmutableMap.Builder<K, Curve> builder = ImmutableMap.builder();
+    for (Entry<K, Curve> entry : curves.entrySet()) {
+      builder.put(entry.getKey(), entry.getKey().equals(key) ? curve : entry.getValue());
+    }
+    if (!curves.containsKey(key)) {
+      builder.put(key, curve);
+    }
+    return builder.build();
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public ImmutableSet<Currency> getDiscountCurrencies() {
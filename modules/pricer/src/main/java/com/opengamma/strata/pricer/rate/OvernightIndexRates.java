@@ -7,7 +7,9 @@ package com.opengamma.strata.pricer.rate;
 
 import java.time.LocalDate;
 
+import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -198,6 +200,38 @@ public interface OvernightIndexRates
       OvernightIndexObservation startDateObservation,
       LocalDate endDate);
 
+  /**
+   * Calculates the point sensitivity of the forward rates of a range of consecutive fixings.
+   * <p>
+   * The range starts at the effective date of the observation and is split into daily periods
+   * at each business day of the fixing calendar, up to the end date.
+   * The sensitivity refers to the sum of the forward rates of the daily periods, each multiplied
+   * by its accrual factor. All the fixings in the range are treated as forward rates.
+   * <p>
+   * Implementations may return a single sensitivity instance for the whole range, rather than one for each day.
+   * The default implementation combines the point sensitivity of each daily period,
+   * see {@link OvernightRateRangeSensitivity#dailyObservations(HolidayCalendar)}.
+   * 
+   * @param startDateObservation  the rate observation for the first fixing of the range
+   * @param endDate  the end or maturity date of the range
+   * @param fixingCalendar  the resolved fixing calendar of the index
+   * @return the point sensitivity of the accrual weighted sum of the rates
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default PointSensitivityBuilder rateRangePointSensitivity(
+      OvernightIndexObservation startDateObservation,
+      LocalDate endDate,
+      HolidayCalendar fixingCalendar) {
+
+    OvernightRateRangeSensitivity range = OvernightRateRangeSensitivity.of(startDateObservation, endDate, 1d);
+    PointSensitivityBuilder combined = PointSensitivityBuilder.none();
+    for (OvernightIndexObservation observation : range.dailyObservations(fixingCalendar)) {
+      combined = combined.combinedWith(
+          rateIgnoringFixingsPointSensitivity(observation).multipliedBy(observation.getYearFraction()));
+    }
+    return combined;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the parameter sensitivity from the point sensitivity.
@@ -211,6 +245,33 @@ public interface OvernightIndexRates
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(OvernightRateSensitivity pointSensitivity);
 
+  /**
+   * Calculates the parameter sensitivity from the point sensitivity to a range of rates.
+   * <p>
+   * This is used to convert a single point sensitivity to parameter sensitivity.
+   * Implementations may project the whole range in a single calculation.
+   * The default implementation converts the sensitivity of each daily period,
+   * see {@link OvernightRateRangeSensitivity#dailyObservations(HolidayCalendar)}.
+   * The fixing calendar is resolved using {@linkplain ReferenceData#standard() standard reference data}.
+   * 
+   * @param pointSensitivity  the point sensitivity to convert
+   * @return the parameter sensitivity
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default CurrencyParameterSensitivities parameterSensitivity(OvernightRateRangeSensitivity pointSensitivity) {
+    HolidayCalendar fixingCalendar = pointSensitivity.getFixingCalendar().resolve(ReferenceData.standard());
+    CurrencyParameterSensitivities sensi = CurrencyParameterSensitivities.empty();
+    for (OvernightIndexObservation observation : pointSensitivity.dailyObservations(fixingCalendar)) {
+      OvernightRateSensitivity daily = OvernightRateSensitivity.ofPeriod(
+          observation,
+          observation.getMaturityDate(),
+          pointSensitivity.getCurrency(),
+          pointSensitivity.getSensitivity() * observation.getYearFraction());
+      sensi = sensi.combinedWith(parameterSensitivity(daily));
+    }
+    return sensi;
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
@@ -0,0 +1,639 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.DoubleUnaryOperator;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableValidator;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.google.common.collect.ComparisonChain;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+
+/**
+ * Point sensitivity to a range of daily rates from an Overnight index curve.
+ * <p>
+ * Holds the sensitivity to the {@link OvernightIndex} curve for a range of consecutive fixings.
+ * The range starts at the effective date of the observation and is split into daily
+ * periods at each business day of the fixing calendar, up to the end date.
+ * <p>
+ * The sensitivity refers to the sum of the daily forward rates, each weighted by its accrual factor.
+ * This is the accrued interest of the range, the sum of {@code P(d_i) / P(d_i+1) - 1}
+ * where {@code P} is the discount factor and {@code d_i} the dates of the daily periods.
+ * A single instance thus replaces one {@link OvernightRateSensitivity} for each day,
+ * as occurs when the daily rates of a period are arithmetically averaged.
+ */
+@BeanDefinition(builderScope = "private")
+public final class OvernightRateRangeSensitivity
+    implements PointSensitivity, PointSensitivityBuilder, ImmutableBean, Serializable {
+
+  /**
+   * The Overnight rate observation of the first fixing in the range.
+   * <p>
+   * This includes the index and fixing date.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final OvernightIndexObservation observation;
+  /**
+   * The end date of the range.
+   * This must be after the effective date of the observation.
+   * This is typically the maturity date implied by the last fixing in the range.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final LocalDate endDate;
+  /**
+   * The identifier of the calendar that the index uses, defining the daily periods.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final HolidayCalendarId fixingCalendar;
+  /**
+   * The currency of the sensitivity.
+   */
+  @PropertyDefinition(validate = "notNull", overrideGet = true)
+  private final Currency currency;
+  /**
+   * The value of the sensitivity.
+   */
+  @PropertyDefinition(overrideGet = true)
+  private final double sensitivity;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the observation, end date and sensitivity value.
+   * <p>
+   * The fixing calendar and the currency are defaulted from the index.
+   *
+   * @param observation  the rate observation of the first fixing in the range
+   * @param endDate  the end date of the range
+   * @param sensitivity  the value of the sensitivity
+   * @return the point sensitivity object
+   */
+  public static OvernightRateRangeSensitivity of(
+      OvernightIndexObservation observation,
+      LocalDate endDate,
+      double sensitivity) {
+
+    return of(observation, endDate, observation.getCurrency(), sensitivity);
+  }
+
+  /**
+   * Obtains an instance from the observation, end date and sensitivity value,
+   * specifying the currency of the value.
+   * <p>
+   * The fixing calendar is defaulted from the index.
+   *
+   * @param observation  the rate observation of the first fixing in the range
+   * @param endDate  the end date of the range
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param sensitivity  the value of the sensitivity
+   * @return the point sensitivity object
+   */
+  public static OvernightRateRangeSensitivity of(
+      OvernightIndexObservation observation,
+      LocalDate endDate,
+      Currency sensitivityCurrency,
+      double sensitivity) {
+
+    HolidayCalendarId fixingCalendar = observation.getIndex().getFixingCalendar();
+    return new OvernightRateRangeSensitivity(observation, endDate, fixingCalendar, sensitivityCurrency, sensitivity);
+  }
+
+  //-------------------------------------------------------------------------
+  @ImmutableValidator
+  private void validate() {
+    ArgChecker.inOrderNotEqual(observation.getEffectiveDate(), endDate, "effectiveDate", "endDate");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the Overnight index that the sensitivity refers to.
+   *
+   * @return the Overnight index
+   */
+  public OvernightIndex getIndex() {
+    return observation.getIndex();
+  }
+
+  /**
+   * Gets the observations of the daily periods in the range.
+   * <p>
+   * Each observation has the effective and maturity dates of a daily period, and its accrual factor.
+   * The fixing and publication dates are those of the first observation, moved forward by one
+   * business day of the fixing calendar for each period.
+   * <p>
+   * This allows the range to be handled as one {@link OvernightRateSensitivity} for each day,
+   * each multiplied by the accrual factor of the observation.
+   *
+   * @param fixingCalendar  the resolved fixing calendar, matching the identifier of this sensitivity
+   * @return the observations of the daily periods
+   */
+  public List<OvernightIndexObservation> dailyObservations(HolidayCalendar fixingCalendar) {
+    ArgChecker.isTrue(
+        fixingCalendar.getId().equals(this.fixingCalendar),
+        "Fixing calendar {} does not match {}", fixingCalendar.getId(), this.fixingCalendar);
+    DayCount dayCount = getIndex().getDayCount();
+    List<OvernightIndexObservation> observations = new ArrayList<>();
+    LocalDate fixingDate = observation.getFixingDate();
+    LocalDate publicationDate = observation.getPublicationDate();
+    LocalDate date = observation.getEffectiveDate();
+    while (date.isBefore(endDate)) {
+      LocalDate nextDate = fixingCalendar.next(date);
+      if (nextDate.isAfter(endDate)) {
+        nextDate = endDate;
+      }
+      observations.add(OvernightIndexObservation.builder()
+          .index(getIndex())
+          .fixingDate(fixingDate)
+          .publicationDate(publicationDate)
+          .effectiveDate(date)
+          .maturityDate(nextDate)
+          .yearFraction(dayCount.yearFraction(date, nextDate))
+          .build());
+      fixingDate = fixingCalendar.next(fixingDate);
+      publicationDate = fixingCalendar.next(publicationDate);
+      date = nextDate;
+    }
+    return observations;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public OvernightRateRangeSensitivity withCurrency(Currency currency) {
+    if (this.currency.equals(currency)) {
+      return this;
+    }
+    return new OvernightRateRangeSensitivity(observation, endDate, fixingCalendar, currency, sensitivity);
+  }
+
+  @Override
+  public OvernightRateRangeSensitivity withSensitivity(double sensitivity) {
+    return new OvernightRateRangeSensitivity(observation, endDate, fixingCalendar, currency, sensitivity);
+  }
+
+  @Override
+  public int compareKey(PointSensitivity other) {
+    if (other instanceof OvernightRateRangeSensitivity) {
+      OvernightRateRangeSensitivity otherOn = (OvernightRateRangeSensitivity) other;
+      return ComparisonChain.start()
+          .compare(getIndex().toString(), otherOn.getIndex().toString())
+          .compare(currency, otherOn.currency)
+          .compare(observation.getFixingDate(), otherOn.observation.getFixingDate())
+          .compare(endDate, otherOn.endDate)
+          .compare(fixingCalendar.getName(), otherOn.fixingCalendar.getName())
+          .result();
+    }
+    return getClass().getSimpleName().compareTo(other.getClass().getSimpleName());
+  }
+
+  @Override
+  public OvernightRateRangeSensitivity convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
+    return (OvernightRateRangeSensitivity) PointSensitivity.super.convertedTo(resultCurrency, rateProvider);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public OvernightRateRangeSensitivity multipliedBy(double factor) {
+    return new OvernightRateRangeSensitivity(observation, endDate, fixingCalendar, currency, sensitivity * factor);
+  }
+
+  @Override
+  public OvernightRateRangeSensitivity mapSensitivity(DoubleUnaryOperator operator) {
+    return new OvernightRateRangeSensitivity(
+        observation, endDate, fixingCalendar, currency, operator.applyAsDouble(sensitivity));
+  }
+
+  @Override
+  public OvernightRateRangeSensitivity normalize() {
+    return this;
+  }
+
+  @Override
+  public MutablePointSensitivities buildInto(MutablePointSensitivities combination) {
+    return combination.add(this);
+  }
+
+  @Override
+  public OvernightRateRangeSensitivity cloned() {
+    return this;
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code OvernightRateRangeSensitivity}.
+   * @return the meta-bean, not null
+   */
+  public static OvernightRateRangeSensitivity.Meta meta() {
+    return OvernightRateRangeSensitivity.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(OvernightRateRangeSensitivity.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private OvernightRateRangeSensitivity(
+      OvernightIndexObservation observation,
+      LocalDate endDate,
+      HolidayCalendarId fixingCalendar,
+      Currency currency,
+      double sensitivity) {
+    JodaBeanUtils.notNull(observation, "observation");
+    JodaBeanUtils.notNull(endDate, "endDate");
+    JodaBeanUtils.notNull(fixingCalendar, "fixingCalendar");
+    JodaBeanUtils.notNull(currency, "currency");
+    this.observation = observation;
+    this.endDate = endDate;
+    this.fixingCalendar = fixingCalendar;
+    this.currency = currency;
+    this.sensitivity = sensitivity;
+    validate();
+  }
+
+  @Override
+  public OvernightRateRangeSensitivity.Meta metaBean() {
+    return OvernightRateRangeSensitivity.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the Overnight rate observation of the first fixing in the range.
+   * <p>
+   * This includes the index and fixing date.
+   * @return the value of the property, not null
+   */
+  public OvernightIndexObservation getObservation() {
+    return observation;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the end date of the range.
+   * This must be after the effective date of the observation.
+   * This is typically the maturity date implied by the last fixing in the range.
+   * @return the value of the property, not null
+   */
+  public LocalDate getEndDate() {
+    return endDate;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the identifier of the calendar that the index uses, defining the daily periods.
+   * @return the value of the property, not null
+   */
+  public HolidayCalendarId getFixingCalendar() {
+    return fixingCalendar;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the currency of the sensitivity.
+   * @return the value of the property, not null
+   */
+  @Override
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the value of the sensitivity.
+   * @return the value of the property
+   */
+  @Override
+  public double getSensitivity() {
+    return sensitivity;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      OvernightRateRangeSensitivity other = (OvernightRateRangeSensitivity) obj;
+      return JodaBeanUtils.equal(observation, other.observation) &&
+          JodaBeanUtils.equal(endDate, other.endDate) &&
+          JodaBeanUtils.equal(fixingCalendar, other.fixingCalendar) &&
+          JodaBeanUtils.equal(currency, other.currency) &&
+          JodaBeanUtils.equal(sensitivity, other.sensitivity);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(observation);
+    hash = hash * 31 + JodaBeanUtils.hashCode(endDate);
+    hash = hash * 31 + JodaBeanUtils.hashCode(fixingCalendar);
+    hash = hash * 31 + JodaBeanUtils.hashCode(currency);
+    hash = hash * 31 + JodaBeanUtils.hashCode(sensitivity);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(192);
+    buf.append("OvernightRateRangeSensitivity{");
+    buf.append("observation").append('=').append(observation).append(',').append(' ');
+    buf.append("endDate").append('=').append(endDate).append(',').append(' ');
+    buf.append("fixingCalendar").append('=').append(fixingCalendar).append(',').append(' ');
+    buf.append("currency").append('=').append(currency).append(',').append(' ');
+    buf.append("sensitivity").append('=').append(JodaBeanUtils.toString(sensitivity));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code OvernightRateRangeSensitivity}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code observation} property.
+     */
+    private final MetaProperty<OvernightIndexObservation> observation = DirectMetaProperty.ofImmutable(
+        this, "observation", OvernightRateRangeSensitivity.class, OvernightIndexObservation.class);
+    /**
+     * The meta-property for the {@code endDate} property.
+     */
+    private final MetaProperty<LocalDate> endDate = DirectMetaProperty.ofImmutable(
+        this, "endDate", OvernightRateRangeSensitivity.class, LocalDate.class);
+    /**
+     * The meta-property for the {@code fixingCalendar} property.
+     */
+    private final MetaProperty<HolidayCalendarId> fixingCalendar = DirectMetaProperty.ofImmutable(
+        this, "fixingCalendar", OvernightRateRangeSensitivity.class, HolidayCalendarId.class);
+    /**
+     * The meta-property for the {@code currency} property.
+     */
+    private final MetaProperty<Currency> currency = DirectMetaProperty.ofImmutable(
+        this, "currency", OvernightRateRangeSensitivity.class, Currency.class);
+    /**
+     * The meta-property for the {@code sensitivity} property.
+     */
+    private final MetaProperty<Double> sensitivity = DirectMetaProperty.ofImmutable(
+        this, "sensitivity", OvernightRateRangeSensitivity.class, Double.TYPE);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "observation",
+        "endDate",
+        "fixingCalendar",
+        "currency",
+        "sensitivity");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 122345516:  // observation
+          return observation;
+        case -1607727319:  // endDate
+          return endDate;
+        case 394230283:  // fixingCalendar
+          return fixingCalendar;
+        case 575402001:  // currency
+          return currency;
+        case 564403871:  // sensitivity
+          return sensitivity;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends OvernightRateRangeSensitivity> builder() {
+      return new OvernightRateRangeSensitivity.Builder();
+    }
+
+    @Override
+    public Class<? extends OvernightRateRangeSensitivity> beanType() {
+      return OvernightRateRangeSensitivity.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code observation} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<OvernightIndexObservation> observation() {
+      return observation;
+    }
+
+    /**
+     * The meta-property for the {@code endDate} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<LocalDate> endDate() {
+      return endDate;
+    }
+
+    /**
+     * The meta-property for the {@code fixingCalendar} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<HolidayCalendarId> fixingCalendar() {
+      return fixingCalendar;
+    }
+
+    /**
+     * The meta-property for the {@code currency} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Currency> currency() {
+      return currency;
+    }
+
+    /**
+     * The meta-property for the {@code sensitivity} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> sensitivity() {
+      return sensitivity;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 122345516:  // observation
+          return ((OvernightRateRangeSensitivity) bean).getObservation();
+        case -1607727319:  // endDate
+          return ((OvernightRateRangeSensitivity) bean).getEndDate();
+        case 394230283:  // fixingCalendar
+          return ((OvernightRateRangeSensitivity) bean).getFixingCalendar();
+        case 575402001:  // currency
+          return ((OvernightRateRangeSensitivity) bean).getCurrency();
+        case 564403871:  // sensitivity
+          return ((OvernightRateRangeSensitivity) bean).getSensitivity();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code OvernightRateRangeSensitivity}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<OvernightRateRangeSensitivity> {
+
+    private OvernightIndexObservation observation;
+    private LocalDate endDate;
+    private HolidayCalendarId fixingCalendar;
+    private Currency currency;
+    private double sensitivity;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 122345516:  // observation
+          return observation;
+        case -1607727319:  // endDate
+          return endDate;
+        case 394230283:  // fixingCalendar
+          return fixingCalendar;
+        case 575402001:  // currency
+          return currency;
+        case 564403871:  // sensitivity
+          return sensitivity;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 122345516:  // observation
+          this.observation = (OvernightIndexObservation) newValue;
+          break;
+        case -1607727319:  // endDate
+          this.endDate = (LocalDate) newValue;
+          break;
+        case 394230283:  // fixingCalendar
+          this.fixingCalendar = (HolidayCalendarId) newValue;
+          break;
+        case 575402001:  // currency
+          this.currency = (Currency) newValue;
+          break;
+        case 564403871:  // sensitivity
+          this.sensitivity = (Double) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public OvernightRateRangeSensitivity build() {
+      return new OvernightRateRangeSensitivity(
+          observation,
+          endDate,
+          fixingCalendar,
+          currency,
+          sensitivity);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(192);
+      buf.append("OvernightRateRangeSensitivity.Builder{");
+      buf.append("observation").append('=').append(JodaBeanUtils.toString(observation)).append(',').append(' ');
+      buf.append("endDate").append('=').append(JodaBeanUtils.toString(endDate)).append(',').append(' ');
+      buf.append("fixingCalendar").append('=').append(JodaBeanUtils.toString(fixingCalendar)).append(',').append(' ');
+      buf.append("currency").append('=').append(JodaBeanUtils.toString(currency)).append(',').append(' ');
+      buf.append("sensitivity").append('=').append(JodaBeanUtils.toString(sensitivity));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
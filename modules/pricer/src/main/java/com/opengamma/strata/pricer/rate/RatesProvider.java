@@ -164,6 +164,11 @@ public interface RatesProvider
         OvernightIndexRates rates = overnightIndexRates(pt.getIndex());
         sens = sens.combinedWith(rates.parameterSensitivity(pt));
 
+      } else if (point instanceof OvernightRateRangeSensitivity) {
+        OvernightRateRangeSensitivity pt = (OvernightRateRangeSensitivity) point;
+        OvernightIndexRates rates = overnightIndexRates(pt.getIndex());
+        sens = sens.combinedWith(rates.parameterSensitivity(pt));
+
       } else if (point instanceof FxIndexSensitivity) {
         FxIndexSensitivity pt = (FxIndexSensitivity) point;
         FxIndexRates rates = fxIndexRates(pt.getIndex());
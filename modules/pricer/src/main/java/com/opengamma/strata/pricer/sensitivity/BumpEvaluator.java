@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Evaluates a set of bumped valuations, either sequentially or over a fork-join pool.
+ * <p>
+ * Each bump is identified by its index, and the function supplied must be safe to
+ * invoke concurrently for distinct indices when a pool is used.
+ * The results are always returned in index order, thus the outcome does not depend
+ * on the order in which the bumped valuations complete.
+ */
+final class BumpEvaluator {
+
+  /**
+   * The evaluator that performs each bumped valuation in turn on the calling thread.
+   */
+  static final BumpEvaluator SEQUENTIAL = new BumpEvaluator(null);
+
+  /**
+   * The pool used to fan out the bumped valuations, null if sequential.
+   */
+  private final ForkJoinPool pool;
+
+  /**
+   * Obtains an evaluator that performs the bumped valuations in the specified pool.
+   *
+   * @param pool  the fork-join pool
+   * @return the evaluator
+   */
+  static BumpEvaluator of(ForkJoinPool pool) {
+    ArgChecker.notNull(pool, "pool");
+    return new BumpEvaluator(pool);
+  }
+
+  // restricted constructor
+  private BumpEvaluator(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the bumped valuations are performed in parallel.
+   *
+   * @return true if parallel
+   */
+  boolean isParallel() {
+    return pool != null;
+  }
+
+  /**
+   * Evaluates the function for each bump index, returning the values in index order.
+   *
+   * @param count  the number of bumps
+   * @param function  the function from bump index to value
+   * @return the values
+   */
+  double[] evaluateDoubles(int count, IntToDoubleFunction function) {
+    if (pool == null) {
+      double[] result = new double[count];
+      for (int i = 0; i < count; i++) {
+        result[i] = function.applyAsDouble(i);
+      }
+      return result;
+    }
+    return pool.submit(() -> IntStream.range(0, count).parallel().mapToDouble(function).toArray()).join();
+  }
+
+  /**
+   * Evaluates the function for each bump index, returning the results in index order.
+   *
+   * @param <T>  the type of the result
+   * @param count  the number of bumps
+   * @param function  the function from bump index to result
+   * @return the results
+   */
+  <T> List<T> evaluate(int count, IntFunction<T> function) {
+    if (pool == null) {
+      return IntStream.range(0, count).mapToObj(function).collect(toImmutableList());
+    }
+    return pool.submit(() -> IntStream.range(0, count).parallel().mapToObj(function).collect(toImmutableList())).join();
+  }
+
+}
@@ -8,11 +8,15 @@ package com.opengamma.strata.pricer.sensitivity;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
+import com.google.common.primitives.Booleans;
 import com.google.common.primitives.Doubles;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.Index;
@@ -42,6 +46,8 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * By default the gamma is computed using a one basis-point shift and a forward finite difference.
  * The results themselves are not scaled (they represent the second order derivative).
  * <p>
+ * The bumped sensitivities can be computed in parallel over a fork-join pool, see {@link #parallel(ForkJoinPool)}.
+ * <p>
  * Reference: Interest Rate Cross-gamma for Single and Multiple Curves. OpenGamma quantitative research 15, July 14
  */
 public final class CurveGammaCalculator {
@@ -51,10 +57,22 @@ public final class CurveGammaCalculator {
    */
   public static final CurveGammaCalculator DEFAULT = new CurveGammaCalculator(FiniteDifferenceType.FORWARD, 1e-4);
 
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The shift to be applied to the curves.
+   */
+  private final double shift;
   /**
    * The first order finite difference calculator.
    */
   private final VectorFieldFirstOrderDifferentiator fd;
+  /**
+   * The evaluator of the bumped sensitivities.
+   */
+  private final BumpEvaluator evaluator;
 
   //-------------------------------------------------------------------------
   /**
@@ -95,7 +113,40 @@ public final class CurveGammaCalculator {
    * @param shift  the shift to be applied to the curves
    */
   private CurveGammaCalculator(FiniteDifferenceType fdType, double shift) {
+    this(fdType, shift, BumpEvaluator.SEQUENTIAL);
+  }
+
+  // creates an instance
+  private CurveGammaCalculator(FiniteDifferenceType fdType, double shift, BumpEvaluator evaluator) {
+    this.fdType = fdType;
+    this.shift = shift;
     this.fd = new VectorFieldFirstOrderDifferentiator(fdType, shift);
+    this.evaluator = evaluator;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a calculator that performs the bumped sensitivity calculations in parallel
+   * using the common fork-join pool.
+   * 
+   * @return the parallel calculator
+   */
+  public CurveGammaCalculator parallel() {
+    return parallel(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns a calculator that performs the bumped sensitivity calculations in parallel
+   * using the specified fork-join pool.
+   * <p>
+   * The sensitivity function passed to the cross gamma methods must be safe to call concurrently.
+   * The result is identical to that of the sequential calculator.
+   * 
+   * @param pool  the fork-join pool
+   * @return the parallel calculator
+   */
+  public CurveGammaCalculator parallel(ForkJoinPool pool) {
+    return new CurveGammaCalculator(fdType, shift, BumpEvaluator.of(pool));
   }
 
   //-------------------------------------------------------------------------
@@ -119,30 +170,13 @@ public final class CurveGammaCalculator {
     ImmutableRatesProvider immProv = ratesProvider.toImmutableRatesProvider();
     CurrencyParameterSensitivities baseDelta = sensitivitiesFn.apply(immProv); // used to check target sensitivity exits
     CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
-    // discount curve
-    for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
-      Currency currency = entry.getKey();
-      Curve curve = entry.getValue();
-      if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-        NodalCurve nodalCurve = getNodalCurve(curve);
-        CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-            nodalCurve, currency, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
-        result = result.combinedWith(gammaSingle);
-      }
-    }
-    // forward curve
-    for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
-      Index index = entry.getKey();
-      if (index instanceof RateIndex || index instanceof PriceIndex) {
-        Currency currency = getCurrency(index);
-        Curve curve = entry.getValue();
-        if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-          NodalCurve nodalCurve = getNodalCurve(curve);
-          CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-              nodalCurve, currency, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
-          result = result.combinedWith(gammaSingle);
-        }
-      }
+    for (CurveBump curveBump : curveBumps(immProv, baseDelta)) {
+      NodalCurve nodalCurve = curveBump.curve;
+      CurrencyParameterSensitivity baseDeltaSingle = baseDelta.getSensitivity(nodalCurve.getName(), curveBump.currency);
+      List<CurrencyParameterSensitivities[]> bumped = bumpedSensitivities(curveBump, sensitivitiesFn);
+      DoubleMatrix sensi = gamma(baseDeltaSingle, nodalCurve.getParameterCount(), bumped);
+      result = result.combinedWith(
+          CrossGammaParameterSensitivity.of(nodalCurve.getName(), metadata(nodalCurve), curveBump.currency, sensi));
     }
     return result;
   }
@@ -156,6 +190,8 @@ public final class CurveGammaCalculator {
    * <p>
    * The sensitivities are computed for discount curves, and forward curves for {@code RateIndex} and {@code PriceIndex}. 
    * This implementation works only for single currency trades. 
+   * <p>
+   * Each curve parameter is bumped once, with the bumped deltas reused for every block of the result.
    * 
    * @param ratesProvider  the rates provider
    * @param sensitivitiesFn  the sensitivity function
@@ -167,40 +203,138 @@ public final class CurveGammaCalculator {
 
     ImmutableRatesProvider immProv = ratesProvider.toImmutableRatesProvider();
     CurrencyParameterSensitivities baseDelta = sensitivitiesFn.apply(immProv); // used to check target sensitivity exits.
+    List<CrossGammaParameterSensitivities> resultInner = crossGammaBlocks(immProv, baseDelta, sensitivitiesFn, false);
     CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
-    for (CurrencyParameterSensitivity baseDeltaSingle : baseDelta.getSensitivities()) {
-      CrossGammaParameterSensitivities resultInner = CrossGammaParameterSensitivities.empty();
-      // discount curve
-      for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
-        Currency currency = entry.getKey();
-        Curve curve = entry.getValue();
-        if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-          NodalCurve nodalCurve = getNodalCurve(curve);
-          CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-              baseDeltaSingle, nodalCurve, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
-          resultInner = resultInner.combinedWith(gammaSingle);
-        }
+    for (int k = 0; k < baseDelta.size(); k++) {
+      result = result.combinedWith(combineSensitivities(baseDelta.getSensitivities().get(k), resultInner.get(k)));
+    }
+    return result;
+  }
+
+  /**
+   * Computes cross-curve gamma by applying finite difference method to curve delta, returning the sparse block form.
+   * <p>
+   * This computes the same cross-curve gamma as {@link #calculateCrossGammaCrossCurve(RatesProvider, Function)},
+   * but the result is in {@linkplain CrossGammaParameterSensitivities#split() block form}.
+   * Each entry holds the sensitivity of one curve delta to one other curve.
+   * The blocks that the trade cannot touch, where the curve delta does not change when the other curve is bumped,
+   * are skipped rather than stored as zero matrices.
+   * These are detected before bumping each parameter, by shifting all the parameters of each curve at once.
+   * The curves on which no curve delta depends are thus not bumped parameter by parameter.
+   * <p>
+   * The sensitivities are computed for discount curves, and forward curves for {@code RateIndex} and {@code PriceIndex}. 
+   * This implementation works only for single currency trades. 
+   * 
+   * @param ratesProvider  the rates provider
+   * @param sensitivitiesFn  the sensitivity function
+   * @return the cross gamma, in block form
+   */
+  public CrossGammaParameterSensitivities calculateCrossGammaCrossCurveBlocks(
+      RatesProvider ratesProvider,
+      Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
+
+    ImmutableRatesProvider immProv = ratesProvider.toImmutableRatesProvider();
+    CurrencyParameterSensitivities baseDelta = sensitivitiesFn.apply(immProv); // used to check target sensitivity exits.
+    CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
+    for (CrossGammaParameterSensitivities blocks : crossGammaBlocks(immProv, baseDelta, sensitivitiesFn, true)) {
+      result = result.combinedWith(blocks);
+    }
+    return result;
+  }
+
+  // computes the blocks of the cross-curve gamma, one element for each base delta
+  // each curve parameter is bumped once, with the bumped deltas reused for every block
+  private List<CrossGammaParameterSensitivities> crossGammaBlocks(
+      ImmutableRatesProvider immProv,
+      CurrencyParameterSensitivities baseDelta,
+      Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn,
+      boolean skipZeroBlocks) {
+
+    List<CurrencyParameterSensitivity> baseDeltas = baseDelta.getSensitivities();
+    List<CrossGammaParameterSensitivities> resultInner =
+        new ArrayList<>(Collections.nCopies(baseDeltas.size(), CrossGammaParameterSensitivities.empty()));
+    for (CurveBump curveBump : curveBumps(immProv, baseDelta)) {
+      NodalCurve nodalCurve = curveBump.curve;
+      // null when all the blocks are computed
+      boolean[] dependent = skipZeroBlocks ? dependentDeltas(curveBump, baseDeltas, sensitivitiesFn) : null;
+      if (dependent != null && !Booleans.contains(dependent, true)) {
+        continue;  // no base delta depends on the curve, thus its parameters are not bumped
       }
-      // forward curve
-      for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
-        Index index = entry.getKey();
-        if (index instanceof RateIndex || index instanceof PriceIndex) {
-          Currency currency = getCurrency(index);
-          Curve curve = entry.getValue();
-          if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-            NodalCurve nodalCurve = getNodalCurve(curve);
-            CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                baseDeltaSingle, nodalCurve, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
-            resultInner = resultInner.combinedWith(gammaSingle);
-          }
+      List<ParameterMetadata> metadata = metadata(nodalCurve);
+      List<CurrencyParameterSensitivities[]> bumped = bumpedSensitivities(curveBump, sensitivitiesFn);
+      for (int k = 0; k < baseDeltas.size(); k++) {
+        if (dependent != null && !dependent[k]) {
+          continue;
+        }
+        CurrencyParameterSensitivity baseDeltaSingle = baseDeltas.get(k);
+        DoubleMatrix sensi = gamma(baseDeltaSingle, nodalCurve.getParameterCount(), bumped);
+        CrossGammaParameterSensitivity gammaSingle = CrossGammaParameterSensitivity.of(
+            baseDeltaSingle.getMarketDataName(),
+            baseDeltaSingle.getParameterMetadata(),
+            nodalCurve.getName(),
+            metadata,
+            baseDeltaSingle.getCurrency(),
+            sensi);
+        if (!skipZeroBlocks || !gammaSingle.isZero(0d)) {
+          resultInner.set(k, resultInner.get(k).combinedWith(gammaSingle));
         }
       }
-      result = result.combinedWith(combineSensitivities(baseDeltaSingle, resultInner));
     }
-    return result;
+    return resultInner;
+  }
+
+  // finds the base deltas that change when the curve is shifted, using a single tilted shift of all the parameters
+  // the blocks of the other base deltas are zero, thus they are skipped before bumping each parameter
+  private boolean[] dependentDeltas(
+      CurveBump curveBump,
+      List<CurrencyParameterSensitivity> baseDeltas,
+      Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
+
+    NodalCurve nodalCurve = curveBump.curve;
+    int parameterCount = nodalCurve.getParameterCount();
+    double signedShift = fdType == FiniteDifferenceType.BACKWARD ? -shift : shift;
+    DoubleArray yValues = nodalCurve.getYValues();
+    // the tilt avoids missing dependencies on the curve shape only, such as spreads between nodes
+    DoubleArray shiftedValues = yValues.mapWithIndex((i, y) -> y + signedShift * (i + 1d) / parameterCount);
+    CurrencyParameterSensitivities shifted =
+        sensitivitiesFn.apply(curveBump.providerFn.apply(nodalCurve.withYValues(shiftedValues)));
+    boolean[] dependent = new boolean[baseDeltas.size()];
+    for (int k = 0; k < baseDeltas.size(); k++) {
+      CurrencyParameterSensitivity baseDeltaSingle = baseDeltas.get(k);
+      Optional<CurrencyParameterSensitivity> shiftedSingle =
+          shifted.findSensitivity(baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency());
+      dependent[k] = !shiftedSingle.isPresent() ||
+          !shiftedSingle.get().getSensitivity().equals(baseDeltaSingle.getSensitivity());
+    }
+    return dependent;
   }
 
   //-------------------------------------------------------------------------
+  // finds the discount and forward curves that the base delta is sensitive to
+  private List<CurveBump> curveBumps(ImmutableRatesProvider immProv, CurrencyParameterSensitivities baseDelta) {
+    List<CurveBump> curveBumps = new ArrayList<>();
+    // discount curve
+    for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
+      Currency currency = entry.getKey();
+      Curve curve = entry.getValue();
+      if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
+        curveBumps.add(new CurveBump(getNodalCurve(curve), currency, c -> immProv.withDiscountCurve(currency, c)));
+      }
+    }
+    // forward curve
+    for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
+      Index index = entry.getKey();
+      if (index instanceof RateIndex || index instanceof PriceIndex) {
+        Currency currency = getCurrency(index);
+        Curve curve = entry.getValue();
+        if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
+          curveBumps.add(new CurveBump(getNodalCurve(curve), currency, c -> immProv.withIndexCurve(index, c)));
+        }
+      }
+    }
+    return curveBumps;
+  }
+
   private NodalCurve getNodalCurve(Curve curve) {
     ArgChecker.isTrue(curve instanceof NodalCurve, "underlying curve must be NodalCurve");
     return (NodalCurve) curve;
@@ -215,56 +349,52 @@ public final class CurveGammaCalculator {
     throw new IllegalArgumentException("unsupported index");
   }
 
-  // compute the second order sensitivity to nodalCurve
-  CrossGammaParameterSensitivity computeGammaForCurve(
-      NodalCurve nodalCurve,
-      Currency sensitivityCurrency,
-      Function<Curve, ImmutableRatesProvider> ratesProviderFn,
-      Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
-
-    Function<DoubleArray, DoubleArray> function = new Function<DoubleArray, DoubleArray>() {
-      @Override
-      public DoubleArray apply(DoubleArray t) {
-        NodalCurve newCurve = nodalCurve.withYValues(t);
-        ImmutableRatesProvider newRates = ratesProviderFn.apply(newCurve);
-        CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(newCurve.getName(), sensitivityCurrency).getSensitivity();
-      }
-    };
-    DoubleMatrix sensi = fd.differentiate(function).apply(nodalCurve.getYValues());
-    List<ParameterMetadata> metadata = IntStream.range(0, nodalCurve.getParameterCount())
+  private List<ParameterMetadata> metadata(NodalCurve nodalCurve) {
+    return IntStream.range(0, nodalCurve.getParameterCount())
         .mapToObj(i -> nodalCurve.getParameterMetadata(i))
         .collect(toImmutableList());
-    return CrossGammaParameterSensitivity.of(nodalCurve.getName(), metadata, sensitivityCurrency, sensi);
   }
 
-  // computes the sensitivity of baseDeltaSingle to nodalCurve
-  CrossGammaParameterSensitivity computeGammaForCurve(
-      CurrencyParameterSensitivity baseDeltaSingle,
-      NodalCurve nodalCurve,
-      Function<Curve, ImmutableRatesProvider> ratesProviderFn,
+  // computes the sensitivities with each parameter of the curve bumped, up then down
+  // the up or down element is null if not required by the finite difference type
+  private List<CurrencyParameterSensitivities[]> bumpedSensitivities(
+      CurveBump curveBump,
       Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
 
-    Function<DoubleArray, DoubleArray> function = new Function<DoubleArray, DoubleArray>() {
-      @Override
-      public DoubleArray apply(DoubleArray t) {
-        NodalCurve newCurve = nodalCurve.withYValues(t);
-        ImmutableRatesProvider newRates = ratesProviderFn.apply(newCurve);
-        CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency()).getSensitivity();
+    NodalCurve nodalCurve = curveBump.curve;
+    DoubleArray yValues = nodalCurve.getYValues();
+    return evaluator.evaluate(nodalCurve.getParameterCount(), j -> {
+      double yj = yValues.get(j);
+      CurrencyParameterSensitivities up = fdType == FiniteDifferenceType.BACKWARD ?
+          null :
+          sensitivitiesFn.apply(curveBump.providerFn.apply(nodalCurve.withYValues(yValues.with(j, yj + shift))));
+      CurrencyParameterSensitivities down = fdType == FiniteDifferenceType.FORWARD ?
+          null :
+          sensitivitiesFn.apply(curveBump.providerFn.apply(nodalCurve.withYValues(yValues.with(j, yj - shift))));
+      return new CurrencyParameterSensitivities[] {up, down};
+    });
+  }
+
+  // computes the sensitivity of baseDeltaSingle to the bumped curve, sharing the base delta
+  private DoubleMatrix gamma(
+      CurrencyParameterSensitivity baseDeltaSingle,
+      int parameterCount,
+      List<CurrencyParameterSensitivities[]> bumped) {
+
+    MarketDataName<?> name = baseDeltaSingle.getMarketDataName();
+    Currency currency = baseDeltaSingle.getCurrency();
+    DoubleArray base = baseDeltaSingle.getSensitivity();
+    double denominator = fdType == FiniteDifferenceType.CENTRAL ? 2d * shift : shift;
+    double[][] res = new double[baseDeltaSingle.getParameterCount()][parameterCount];
+    for (int j = 0; j < parameterCount; j++) {
+      CurrencyParameterSensitivities[] bumpedSingle = bumped.get(j);
+      DoubleArray up = bumpedSingle[0] == null ? base : bumpedSingle[0].getSensitivity(name, currency).getSensitivity();
+      DoubleArray down = bumpedSingle[1] == null ? base : bumpedSingle[1].getSensitivity(name, currency).getSensitivity();
+      for (int i = 0; i < res.length; i++) {
+        res[i][j] = (up.get(i) - down.get(i)) / denominator;
       }
-    };
-    DoubleMatrix sensi = fd.differentiate(function).apply(nodalCurve.getYValues());
-    List<ParameterMetadata> metadata = IntStream.range(0, nodalCurve.getParameterCount())
-        .mapToObj(i -> nodalCurve.getParameterMetadata(i))
-        .collect(toImmutableList());
-    return CrossGammaParameterSensitivity.of(
-        baseDeltaSingle.getMarketDataName(),
-        baseDeltaSingle.getParameterMetadata(),
-        nodalCurve.getName(),
-        metadata,
-        baseDeltaSingle.getCurrency(),
-        sensi);
+    }
+    return DoubleMatrix.ofUnsafe(res);
   }
 
   private CrossGammaParameterSensitivity combineSensitivities(
@@ -315,6 +445,22 @@ public final class CurveGammaCalculator {
     return curve.createParameterSensitivity(curveCurrency, gamma);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Inner class holding a curve to be bumped and the means to create the bumped provider.
+   */
+  private static final class CurveBump {
+    private final NodalCurve curve;
+    private final Currency currency;
+    private final Function<Curve, ImmutableRatesProvider> providerFn;
+
+    private CurveBump(NodalCurve curve, Currency currency, Function<Curve, ImmutableRatesProvider> providerFn) {
+      this.curve = curve;
+      this.currency = currency;
+      this.providerFn = providerFn;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Inner class to compute the delta for a given parallel shift of the curve.
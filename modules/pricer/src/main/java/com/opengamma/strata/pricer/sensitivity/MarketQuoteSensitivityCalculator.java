@@ -5,15 +5,29 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
@@ -131,4 +145,193 @@ public class MarketQuoteSensitivityCalculator {
     return result;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the market quote sensitivities from many parameter sensitivities.
+   * <p>
+   * This is equivalent to calling {@link #sensitivity(CurrencyParameterSensitivities, RatesProvider)}
+   * for each element of the list, but is more efficient for large numbers of sensitivities,
+   * such as the par rate deltas of a portfolio.
+   * The Jacobian calibration information of each curve is looked up once, and assembled into a
+   * single block Jacobian matrix, which is then applied to all the parameter sensitivities
+   * in one matrix-matrix multiplication.
+   * 
+   * @param paramSensitivities  the list of curve parameter sensitivities
+   * @param provider  the rates provider, containing Jacobian calibration information
+   * @return the market quote sensitivities, in the same order as the input
+   */
+  public List<CurrencyParameterSensitivities> sensitivity(
+      List<CurrencyParameterSensitivities> paramSensitivities,
+      RatesProvider provider) {
+
+    ArgChecker.notNull(paramSensitivities, "paramSensitivities");
+    ArgChecker.notNull(provider, "provider");
+    return sensitivity(paramSensitivities, name -> findCurve(provider.findData(name)));
+  }
+
+  /**
+   * Calculates the market quote sensitivities from many parameter sensitivities.
+   * <p>
+   * This calculates the market quote sensitivities of credit derivatives.
+   * The input parameter sensitivities must be computed based on the credit rates provider.
+   * <p>
+   * This is equivalent to calling {@link #sensitivity(CurrencyParameterSensitivities, CreditRatesProvider)}
+   * for each element of the list, but is more efficient for large numbers of sensitivities.
+   * The Jacobian calibration information of each curve is looked up once, and assembled into a
+   * single block Jacobian matrix, which is then applied to all the parameter sensitivities
+   * in one matrix-matrix multiplication.
+   * 
+   * @param paramSensitivities  the list of curve parameter sensitivities
+   * @param provider  the credit rates provider, containing Jacobian calibration information
+   * @return the market quote sensitivities, in the same order as the input
+   */
+  public List<CurrencyParameterSensitivities> sensitivity(
+      List<CurrencyParameterSensitivities> paramSensitivities,
+      CreditRatesProvider provider) {
+
+    ArgChecker.notNull(paramSensitivities, "paramSensitivities");
+    ArgChecker.notNull(provider, "provider");
+    return sensitivity(paramSensitivities, name -> findCurve(provider.findData(name)));
+  }
+
+  // finds the curve, if the data is a curve
+  private static Optional<Curve> findCurve(Optional<?> data) {
+    return data.filter(v -> v instanceof Curve).map(v -> (Curve) v);
+  }
+
+  // calculates the market quote sensitivities using a block Jacobian
+  private List<CurrencyParameterSensitivities> sensitivity(
+      List<CurrencyParameterSensitivities> paramSensitivities,
+      Function<MarketDataName<?>, Optional<Curve>> curveFn) {
+
+    // find the calibration info of each curve, defining the parameter and market quote spaces
+    Map<MarketDataName<?>, JacobianCalibrationMatrix> infos = new LinkedHashMap<>();
+    Map<MarketDataName<?>, Integer> paramStarts = new HashMap<>();
+    Map<CurveName, Integer> quoteStarts = new LinkedHashMap<>();
+    Map<CurveName, Integer> quoteSizes = new HashMap<>();
+    int paramCount = 0;
+    int quoteCount = 0;
+    for (CurrencyParameterSensitivities sensitivities : paramSensitivities) {
+      for (CurrencyParameterSensitivity paramSens : sensitivities.getSensitivities()) {
+        MarketDataName<?> name = paramSens.getMarketDataName();
+        if (infos.containsKey(name)) {
+          continue;
+        }
+        Curve curve = curveFn.apply(name)
+            .orElseThrow(() -> new IllegalArgumentException("Market Quote sensitivity requires curve: " + name));
+        JacobianCalibrationMatrix info = curve.getMetadata().findInfo(CurveInfoType.JACOBIAN)
+            .orElseThrow(() -> new IllegalArgumentException(
+                "Market Quote sensitivity requires Jacobian calibration information"));
+        infos.put(name, info);
+        paramStarts.put(name, paramCount);
+        paramCount += info.getJacobianMatrix().rowCount();
+        for (CurveParameterSize size : info.getOrder()) {
+          Integer existingSize = quoteSizes.putIfAbsent(size.getName(), size.getParameterCount());
+          if (existingSize == null) {
+            quoteStarts.put(size.getName(), quoteCount);
+            quoteCount += size.getParameterCount();
+          } else {
+            ArgChecker.isTrue(existingSize == size.getParameterCount(),
+                "Jacobian calibration information is inconsistent for curve: {}", size.getName());
+          }
+        }
+      }
+    }
+
+    // assemble the block Jacobian, once for all sensitivities
+    double[][] blockJacobian = new double[paramCount][quoteCount];
+    for (Entry<MarketDataName<?>, JacobianCalibrationMatrix> entry : infos.entrySet()) {
+      JacobianCalibrationMatrix info = entry.getValue();
+      DoubleMatrix jacobian = info.getJacobianMatrix();
+      int paramStart = paramStarts.get(entry.getKey());
+      int column = 0;
+      for (CurveParameterSize size : info.getOrder()) {
+        int quoteStart = quoteStarts.get(size.getName());
+        for (int i = 0; i < jacobian.rowCount(); i++) {
+          for (int j = 0; j < size.getParameterCount(); j++) {
+            blockJacobian[paramStart + i][quoteStart + j] = jacobian.get(i, column + j);
+          }
+        }
+        column += size.getParameterCount();
+      }
+    }
+
+    // assemble the parameter sensitivities, one row for each input and currency
+    List<Pair<Integer, Currency>> rowKeys = new ArrayList<>();
+    List<double[]> rows = new ArrayList<>();
+    List<Set<CurveName>> rowCurves = new ArrayList<>();
+    for (int k = 0; k < paramSensitivities.size(); k++) {
+      Map<Currency, Integer> rowIndices = new HashMap<>();
+      for (CurrencyParameterSensitivity paramSens : paramSensitivities.get(k).getSensitivities()) {
+        Integer rowIndex = rowIndices.get(paramSens.getCurrency());
+        if (rowIndex == null) {
+          rowIndex = rows.size();
+          rowIndices.put(paramSens.getCurrency(), rowIndex);
+          rowKeys.add(Pair.of(k, paramSens.getCurrency()));
+          rows.add(new double[paramCount]);
+          rowCurves.add(new HashSet<>());
+        }
+        MarketDataName<?> name = paramSens.getMarketDataName();
+        JacobianCalibrationMatrix info = infos.get(name);
+        ArgChecker.isTrue(info.getJacobianMatrix().rowCount() == paramSens.getParameterCount(),
+            "Parameter sensitivity size does not match Jacobian calibration information for curve: {}", name);
+        double[] row = rows.get(rowIndex);
+        int paramStart = paramStarts.get(name);
+        for (int i = 0; i < paramSens.getParameterCount(); i++) {
+          row[paramStart + i] += paramSens.getSensitivity().get(i);
+        }
+        Set<CurveName> curveNames = rowCurves.get(rowIndex);
+        info.getOrder().forEach(size -> curveNames.add(size.getName()));
+      }
+    }
+
+    // calculate the market quote sensitivity using the block Jacobian
+    double[][] marketQuoteSens = multiply(rows.toArray(new double[rows.size()][]), blockJacobian, quoteCount);
+
+    // split between different curves
+    Map<CurveName, Optional<Curve>> curves = new HashMap<>();
+    List<List<CurrencyParameterSensitivity>> results = new ArrayList<>();
+    for (int k = 0; k < paramSensitivities.size(); k++) {
+      results.add(new ArrayList<>());
+    }
+    for (int r = 0; r < rows.size(); r++) {
+      Currency currency = rowKeys.get(r).getSecond();
+      List<CurrencyParameterSensitivity> result = results.get(rowKeys.get(r).getFirst());
+      for (Entry<CurveName, Integer> entry : quoteStarts.entrySet()) {
+        CurveName curveName = entry.getKey();
+        if (!rowCurves.get(r).contains(curveName)) {
+          continue;
+        }
+        int quoteStart = entry.getValue();
+        DoubleArray values = DoubleArray.copyOf(marketQuoteSens[r], quoteStart, quoteStart + quoteSizes.get(curveName));
+        CurrencyParameterSensitivity maketQuoteSens = curves.computeIfAbsent(curveName, curveFn::apply)
+            .map(c -> c.createParameterSensitivity(currency, values))
+            .orElse(CurrencyParameterSensitivity.of(curveName, currency, values));
+        result.add(maketQuoteSens);
+      }
+    }
+    return results.stream()
+        .map(CurrencyParameterSensitivities::of)
+        .collect(toImmutableList());
+  }
+
+  // multiplies the sensitivity rows by the block Jacobian, skipping the parameters a row is not sensitive to
+  private static double[][] multiply(double[][] rows, double[][] blockJacobian, int quoteCount) {
+    double[][] result = new double[rows.length][quoteCount];
+    for (int r = 0; r < rows.length; r++) {
+      double[] row = rows[r];
+      double[] resultRow = result[r];
+      for (int i = 0; i < row.length; i++) {
+        double sensi = row[i];
+        if (sensi != 0d) {
+          double[] jacobianRow = blockJacobian[i];
+          for (int j = 0; j < quoteCount; j++) {
+            resultRow[j] += sensi * jacobianRow[j];
+          }
+        }
+      }
+    }
+    return result;
+  }
+
 }
@@ -8,7 +8,7 @@ package com.opengamma.strata.pricer.sensitivity;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.function.BiFunction;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import org.joda.beans.MetaProperty;
@@ -16,11 +16,14 @@ import org.joda.beans.MetaProperty;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.math.impl.differentiation.FiniteDifferenceType;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.SimpleDiscountFactors;
 import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
@@ -39,6 +42,10 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * <p>
  * This is based on an {@link ImmutableRatesProvider}, {@link LegalEntityDiscountingProvider} or {@link CreditRatesProvider}.
  * The sensitivities are calculated by finite difference.
+ * <p>
+ * By default the bumped valuations are performed sequentially on the calling thread.
+ * Use {@link #parallel(ForkJoinPool)} to fan the bumped valuations out over a fork-join pool,
+ * in which case the valuation function must be safe to call concurrently.
  */
 public class RatesFiniteDifferenceSensitivityCalculator {
 
@@ -52,21 +59,93 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * The shift used for finite difference.
    */
   private final double shift;
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The evaluator of the bumped valuations.
+   */
+  private final BumpEvaluator evaluator;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance of the finite difference calculator using forward differencing.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofForwardDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(FiniteDifferenceType.FORWARD, shift, BumpEvaluator.SEQUENTIAL);
+  }
+
+  /**
+   * Obtains an instance of the finite difference calculator using central differencing.
+   * <p>
+   * Each parameter is bumped up and down, doubling the number of valuations compared to forward differencing.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofCentralDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(FiniteDifferenceType.CENTRAL, shift, BumpEvaluator.SEQUENTIAL);
+  }
 
   /**
-   * Create an instance of the finite difference calculator.
+   * Obtains an instance of the finite difference calculator using backward differencing.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofBackwardDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(FiniteDifferenceType.BACKWARD, shift, BumpEvaluator.SEQUENTIAL);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Create an instance of the finite difference calculator using forward differencing.
    * 
    * @param shift  the shift used in the finite difference computation
    */
   public RatesFiniteDifferenceSensitivityCalculator(double shift) {
+    this(FiniteDifferenceType.FORWARD, shift, BumpEvaluator.SEQUENTIAL);
+  }
+
+  // creates an instance
+  private RatesFiniteDifferenceSensitivityCalculator(FiniteDifferenceType fdType, double shift, BumpEvaluator evaluator) {
+    this.fdType = ArgChecker.notNull(fdType, "fdType");
     this.shift = shift;
+    this.evaluator = evaluator;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a calculator that performs the bumped valuations in parallel using the common fork-join pool.
+   * 
+   * @return the parallel calculator
+   */
+  public RatesFiniteDifferenceSensitivityCalculator parallel() {
+    return parallel(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns a calculator that performs the bumped valuations in parallel using the specified fork-join pool.
+   * <p>
+   * The valuation function passed to the {@code sensitivity} methods must be safe to call concurrently.
+   * The result is identical to that of the sequential calculator.
+   * 
+   * @param pool  the fork-join pool
+   * @return the parallel calculator
+   */
+  public RatesFiniteDifferenceSensitivityCalculator parallel(ForkJoinPool pool) {
+    return new RatesFiniteDifferenceSensitivityCalculator(fdType, shift, BumpEvaluator.of(pool));
   }
 
   //-------------------------------------------------------------------------
   /**
    * Computes the first order sensitivities of a function of a RatesProvider to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
+   * The finite difference type is defined by the way the calculator was created, forward by default.
    * The function should return a value in the same currency for any rate provider.
    * 
    * @param provider  the rates provider
@@ -79,40 +158,16 @@ public class RatesFiniteDifferenceSensitivityCalculator {
 
     ImmutableRatesProvider immProv = provider.toImmutableRatesProvider();
     CurrencyAmount valueInit = valueFn.apply(immProv);
-    CurrencyParameterSensitivities discounting = sensitivity(
-        immProv,
-        immProv.getDiscountCurves(),
-        (base, bumped) -> base.toBuilder().discountCurves(bumped).build(),
-        valueFn,
-        valueInit);
-    CurrencyParameterSensitivities forward = sensitivity(
-        immProv,
-        immProv.getIndexCurves(),
-        (base, bumped) -> base.toBuilder().indexCurves(bumped).build(),
-        valueFn,
-        valueInit);
-    return discounting.combinedWith(forward);
-  }
-
-  // computes the sensitivity with respect to the curves
-  private <T> CurrencyParameterSensitivities sensitivity(
-      ImmutableRatesProvider provider,
-      Map<T, Curve> baseCurves,
-      BiFunction<ImmutableRatesProvider, Map<T, Curve>, ImmutableRatesProvider> storeBumpedFn,
-      Function<ImmutableRatesProvider, CurrencyAmount> valueFn,
-      CurrencyAmount valueInit) {
-
     CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (Entry<T, Curve> entry : baseCurves.entrySet()) {
-      Curve curve = entry.getValue();
-      DoubleArray sensitivity = DoubleArray.of(curve.getParameterCount(), i -> {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
-        Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(entry.getKey(), dscBumped);
-        ImmutableRatesProvider providerDscBumped = storeBumpedFn.apply(provider, mapBumped);
-        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      });
-      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
+    for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
+      Currency currency = entry.getKey();
+      result = result.combinedWith(sensitivity(
+          entry.getValue(), bumped -> valueFn.apply(immProv.withDiscountCurve(currency, bumped)), valueInit));
+    }
+    for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
+      Index index = entry.getKey();
+      result = result.combinedWith(sensitivity(
+          entry.getValue(), bumped -> valueFn.apply(immProv.withIndexCurve(index, bumped)), valueInit));
     }
     return result;
   }
@@ -121,7 +176,7 @@ public class RatesFiniteDifferenceSensitivityCalculator {
   /**
    * Computes the first order sensitivities of a function of a LegalEntityDiscountingProvider to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
+   * The finite difference type is defined by the way the calculator was created, forward by default.
    * The function should return a value in the same currency for any rates provider of LegalEntityDiscountingProvider.
    * 
    * @param provider  the rates provider
@@ -152,17 +207,12 @@ public class RatesFiniteDifferenceSensitivityCalculator {
     for (Pair<T, Currency> key : baseCurves.keySet()) {
       DiscountFactors discountFactors = baseCurves.get(key);
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
+      Function<Curve, CurrencyAmount> bumpedValueFn = bumped -> {
         Map<Pair<T, Currency>, DiscountFactors> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(key, createDiscountFactors(discountFactors, dscBumped));
-        ImmutableLegalEntityDiscountingProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+        mapBumped.put(key, createDiscountFactors(discountFactors, bumped));
+        return valueFn.apply(provider.toBuilder().set(metaProperty, mapBumped).build());
+      };
+      result = result.combinedWith(sensitivity(curve, bumpedValueFn, valueInit));
     }
     return result;
   }
@@ -171,7 +221,7 @@ public class RatesFiniteDifferenceSensitivityCalculator {
   /**
    * Computes the first order sensitivities of a function of a {@code CreditRatesProvider} to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
+   * The finite difference type is defined by the way the calculator was created, forward by default.
    * The function should return a value in the same currency for any rates provider of {@code CreditRatesProvider}.
    * 
    * @param provider  the rates provider
@@ -203,17 +253,12 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       CreditDiscountFactors creditDiscountFactors = baseCurves.get(key);
       DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
+      Function<Curve, CurrencyAmount> bumpedValueFn = bumped -> {
         Map<T, CreditDiscountFactors> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(key, createCreditDiscountFactors(creditDiscountFactors, dscBumped));
-        ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+        mapBumped.put(key, createCreditDiscountFactors(creditDiscountFactors, bumped));
+        return valueFn.apply(provider.toBuilder().set(metaProperty, mapBumped).build());
+      };
+      result = result.combinedWith(sensitivity(curve, bumpedValueFn, valueInit));
     }
     return result;
   }
@@ -231,22 +276,48 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       CreditDiscountFactors creditDiscountFactors = credit.getSurvivalProbabilities();
       DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
+      Function<Curve, CurrencyAmount> bumpedValueFn = bumped -> {
         Map<T, LegalEntitySurvivalProbabilities> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, LegalEntitySurvivalProbabilities.of(
-            credit.getLegalEntityId(), createCreditDiscountFactors(creditDiscountFactors, dscBumped)));
-        ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+            credit.getLegalEntityId(), createCreditDiscountFactors(creditDiscountFactors, bumped)));
+        return valueFn.apply(provider.toBuilder().set(metaProperty, mapBumped).build());
+      };
+      result = result.combinedWith(sensitivity(curve, bumpedValueFn, valueInit));
     }
     return result;
   }
 
+  //-------------------------------------------------------------------------
+  // computes the sensitivity to each parameter of the curve, sharing the base valuation
+  private CurrencyParameterSensitivities sensitivity(
+      Curve curve,
+      Function<Curve, CurrencyAmount> bumpedValueFn,
+      CurrencyAmount valueInit) {
+
+    double value = valueInit.getAmount();
+    double[] sensitivity = evaluator.evaluateDoubles(curve.getParameterCount(), i -> {
+      double param = curve.getParameter(i);
+      switch (fdType) {
+        case FORWARD:
+          return (bumpedValue(curve, i, param + shift, bumpedValueFn) - value) / shift;
+        case BACKWARD:
+          return (value - bumpedValue(curve, i, param - shift, bumpedValueFn)) / shift;
+        case CENTRAL:
+          return (bumpedValue(curve, i, param + shift, bumpedValueFn) -
+              bumpedValue(curve, i, param - shift, bumpedValueFn)) / (2d * shift);
+        default:
+          throw new IllegalArgumentException("Unsupported finite difference type: " + fdType);
+      }
+    });
+    return CurrencyParameterSensitivities.of(
+        curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.ofUnsafe(sensitivity)));
+  }
+
+  // computes the value with a single parameter of the curve bumped
+  private double bumpedValue(Curve curve, int i, double bumpedParam, Function<Curve, CurrencyAmount> bumpedValueFn) {
+    return bumpedValueFn.apply(curve.withParameter(i, bumpedParam)).getAmount();
+  }
+
   //-------------------------------------------------------------------------
   // check that the discountFactors is ZeroRateDiscountFactors or SimpleDiscountFactors
   private Curve checkDiscountFactors(DiscountFactors discountFactors) {
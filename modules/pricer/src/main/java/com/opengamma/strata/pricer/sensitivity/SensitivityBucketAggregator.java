@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.DatedParameterMetadata;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.TenorDateParameterMetadata;
+import com.opengamma.strata.market.param.TenorParameterMetadata;
+
+/**
+ * Aggregates sensitivities re-bucketed to a grid of tenors.
+ * <p>
+ * This is used to convert the parameter sensitivities of a large number of trades into sensitivities
+ * to a standard tenor grid, such as the ISDA SIMM grid, summed over all the trades.
+ * The sensitivities are added one at a time, typically one trade at a time, and are accumulated
+ * in primitive arrays. Only the aggregated grid is held in memory, not the sensitivity of each trade.
+ * <p>
+ * The re-bucketing is done by linear weighting on the number of days from the valuation date.
+ * A sensitivity to a node before the first tenor or after the last tenor is fully allocated to that tenor.
+ * A sensitivity to a node between two tenors is split between them, the weight on the earlier tenor being
+ * the number of days from the node to the later tenor divided by the number of days between the tenors.
+ * This is the same allocation as {@link CurveSensitivityUtils#linearRebucketing(CurrencyParameterSensitivities, List)}.
+ * <p>
+ * The node of each parameter is determined from the parameter metadata.
+ * If the metadata is a {@link DatedParameterMetadata}, such as {@link TenorDateParameterMetadata},
+ * the node is its date. Otherwise the metadata must be a {@link TenorParameterMetadata}
+ * and the node is the valuation date plus the tenor.
+ * <p>
+ * The aggregated sensitivities are held separately for each market data name and currency.
+ * No currency conversion is performed.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class SensitivityBucketAggregator {
+
+  /**
+   * The maximum number of parameter metadata lists for which the allocation is cached.
+   */
+  private static final int ALLOCATION_CACHE_SIZE = 1000;
+
+  /**
+   * The valuation date.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The number of days from the valuation date to each target tenor.
+   */
+  private final long[] tenorDays;
+  /**
+   * The metadata of the target tenors.
+   */
+  private final ImmutableList<ParameterMetadata> tenorMetadata;
+  /**
+   * The aggregated sensitivities, keyed by market data name and currency.
+   */
+  private final Map<Pair<MarketDataName<?>, Currency>, double[]> aggregated = new LinkedHashMap<>();
+  /**
+   * The allocation of each parameter, keyed by parameter metadata list.
+   * The lists are typically shared by all the sensitivities to the same curve, thus identity is used.
+   * The least recently used entries are evicted once the maximum size is reached.
+   */
+  private final Cache<List<ParameterMetadata>, Allocation> allocations = CacheBuilder.newBuilder()
+      .weakKeys()
+      .maximumSize(ALLOCATION_CACHE_SIZE)
+      .build();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty aggregator for the valuation date and tenor grid.
+   * <p>
+   * The tenors must be sorted from shortest to longest.
+   *
+   * @param valuationDate  the valuation date
+   * @param tenors  the target tenors
+   * @return the aggregator
+   */
+  public static SensitivityBucketAggregator of(LocalDate valuationDate, List<Tenor> tenors) {
+    return new SensitivityBucketAggregator(valuationDate, tenors);
+  }
+
+  // restricted constructor
+  private SensitivityBucketAggregator(LocalDate valuationDate, List<Tenor> tenors) {
+    this.valuationDate = ArgChecker.notNull(valuationDate, "valuationDate");
+    ArgChecker.notEmpty(tenors, "tenors");
+    this.tenorDays = new long[tenors.size()];
+    for (int i = 0; i < tenorDays.length; i++) {
+      tenorDays[i] = days(tenors.get(i));
+      if (i > 0) {
+        ArgChecker.isTrue(tenorDays[i] > tenorDays[i - 1], "Tenors must be sorted and distinct, but found {} after {}",
+            tenors.get(i), tenors.get(i - 1));
+      }
+    }
+    this.tenorMetadata = tenors.stream()
+        .map(TenorParameterMetadata::of)
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds the sensitivities to the aggregate.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return this aggregator, for chaining
+   * @throws IllegalArgumentException if the node of a parameter cannot be determined from its metadata
+   */
+  public SensitivityBucketAggregator add(CurrencyParameterSensitivities sensitivities) {
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the sensitivity to the aggregate.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return this aggregator, for chaining
+   * @throws IllegalArgumentException if the node of a parameter cannot be determined from its metadata
+   */
+  public SensitivityBucketAggregator add(CurrencyParameterSensitivity sensitivity) {
+    double[] buckets = aggregated.computeIfAbsent(
+        Pair.of(sensitivity.getMarketDataName(), sensitivity.getCurrency()), k -> new double[tenorDays.length]);
+    Allocation allocation = allocation(sensitivity.getParameterMetadata());
+    double[] values = sensitivity.getSensitivity().toArrayUnsafe();
+    int[] lowerIndex = allocation.lowerIndex;
+    double[] lowerWeight = allocation.lowerWeight;
+    int lastIndex = tenorDays.length - 1;
+    for (int i = 0; i < values.length; i++) {
+      int index = lowerIndex[i];
+      double weight = lowerWeight[i];
+      buckets[index] += weight * values[i];
+      if (index < lastIndex) {
+        buckets[index + 1] += (1d - weight) * values[i];
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Returns the aggregated sensitivities.
+   * <p>
+   * The result contains one sensitivity for each market data name and currency that has been added.
+   * The parameter metadata of each is the list of target tenors, as {@link TenorParameterMetadata}.
+   *
+   * @return the aggregated sensitivities
+   */
+  public CurrencyParameterSensitivities build() {
+    List<CurrencyParameterSensitivity> result = new ArrayList<>(aggregated.size());
+    for (Map.Entry<Pair<MarketDataName<?>, Currency>, double[]> entry : aggregated.entrySet()) {
+      result.add(CurrencyParameterSensitivity.of(
+          entry.getKey().getFirst(),
+          tenorMetadata,
+          entry.getKey().getSecond(),
+          DoubleArray.copyOf(entry.getValue())));
+    }
+    return CurrencyParameterSensitivities.of(result);
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the allocation of each parameter to the tenor grid, caching by metadata list
+  private Allocation allocation(List<ParameterMetadata> parameterMetadata) {
+    Allocation cached = allocations.getIfPresent(parameterMetadata);
+    if (cached != null) {
+      return cached;
+    }
+    int size = parameterMetadata.size();
+    int[] lowerIndex = new int[size];
+    double[] lowerWeight = new double[size];
+    int lastIndex = tenorDays.length - 1;
+    for (int i = 0; i < size; i++) {
+      long nodeDays = days(parameterMetadata.get(i));
+      if (nodeDays <= tenorDays[0]) {
+        lowerIndex[i] = 0;
+        lowerWeight[i] = 1d;
+      } else if (nodeDays >= tenorDays[lastIndex]) {
+        lowerIndex[i] = lastIndex;
+        lowerWeight[i] = 1d;
+      } else {
+        int upper = 1;
+        while (nodeDays > tenorDays[upper]) {
+          upper++;
+        }
+        lowerIndex[i] = upper - 1;
+        lowerWeight[i] = ((double) (tenorDays[upper] - nodeDays)) / (tenorDays[upper] - tenorDays[upper - 1]);
+      }
+    }
+    Allocation allocation = new Allocation(lowerIndex, lowerWeight);
+    allocations.put(parameterMetadata, allocation);
+    return allocation;
+  }
+
+  // the number of days from the valuation date to the node of the parameter
+  private long days(ParameterMetadata metadata) {
+    if (metadata instanceof DatedParameterMetadata) {
+      return ((DatedParameterMetadata) metadata).getDate().toEpochDay() - valuationDate.toEpochDay();
+    }
+    ArgChecker.isTrue(metadata instanceof TenorParameterMetadata,
+        "Re-bucketing requires tenor or date for node {} which is of type {}",
+        metadata.getLabel(), metadata.getClass().getName());
+    return days(((TenorParameterMetadata) metadata).getTenor());
+  }
+
+  // the number of days from the valuation date to the tenor
+  private long days(Tenor tenor) {
+    return valuationDate.plus(tenor).toEpochDay() - valuationDate.toEpochDay();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The allocation of the parameters of a sensitivity to the tenor grid.
+   * Each parameter is allocated to the tenor at its lower index with its lower weight,
+   * and to the following tenor, if any, with the remainder.
+   */
+  private static final class Allocation {
+    private final int[] lowerIndex;
+    private final double[] lowerWeight;
+
+    private Allocation(int[] lowerIndex, double[] lowerWeight) {
+      this.lowerIndex = lowerIndex;
+      this.lowerWeight = lowerWeight;
+    }
+  }
+
+}
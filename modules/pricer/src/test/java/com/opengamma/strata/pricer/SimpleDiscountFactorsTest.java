@@ -94,6 +94,15 @@ public class SimpleDiscountFactorsTest {
     double expected = CURVE.yValue(relativeYearFraction);
     assertEquals(test.discountFactor(DATE_AFTER), expected);
   }
+
+  public void test_discountFactors() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    LocalDate[] dates = {DATE_VAL.minusDays(1), DATE_VAL, DATE_AFTER, DATE_AFTER.plusYears(12), DATE_AFTER.minusYears(1)};
+    double[] computed = test.discountFactors(dates);
+    for (int i = 0; i < dates.length; i++) {
+      assertEquals(computed[i], test.discountFactor(dates[i]));
+    }
+  }
   
   public void test_discountFactorTimeDerivative() {
     DiscountFactors test = DiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -128,6 +128,15 @@ public class ZeroRatePeriodicDiscountFactorsTest {
         -CMP_PERIOD * relativeYearFraction);
     assertEquals(test.discountFactor(DATE_AFTER), expected);
   }
+
+  public void test_discountFactors() {
+    ZeroRatePeriodicDiscountFactors test = ZeroRatePeriodicDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    LocalDate[] dates = {DATE_VAL, DATE_AFTER, DATE_AFTER.plusYears(12), DATE_AFTER.minusMonths(6)};
+    double[] computed = test.discountFactors(dates);
+    for (int i = 0; i < dates.length; i++) {
+      assertEquals(computed[i], test.discountFactor(dates[i]));
+    }
+  }
   
   public void test_discountFactorTimeDerivative() {
     DiscountFactors test = DiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -15,6 +15,7 @@ import static org.testng.Assert.assertTrue;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.testng.annotations.Test;
 
@@ -287,6 +288,33 @@ public class SabrExtrapolationReplicationCmsLegPricerTest {
         NOTIONAL_VALUE_1 * (OBS_INDEX - CAP_VALUE + FLOOR_VALUE_1 - OBS_INDEX) * 367d / 360d, NOTIONAL_VALUE_0 * TOL);
   }
   
+  //-------------------------------------------------------------------------
+  public void test_parallel() {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      SabrExtrapolationReplicationCmsLegPricer parallel = LEG_PRICER.parallel(pool);
+      for (ResolvedCmsLeg leg : new ResolvedCmsLeg[] {COUPON_LEG, CAP_LEG, FLOOR_LEG}) {
+        assertEquals(
+            parallel.presentValue(leg, RATES_PROVIDER, VOLATILITIES),
+            LEG_PRICER.presentValue(leg, RATES_PROVIDER, VOLATILITIES));
+        assertEquals(
+            parallel.presentValueSensitivityRates(leg, RATES_PROVIDER, VOLATILITIES).build(),
+            LEG_PRICER.presentValueSensitivityRates(leg, RATES_PROVIDER, VOLATILITIES).build());
+        assertEquals(
+            parallel.presentValueSensitivityModelParamsSabr(leg, RATES_PROVIDER, VOLATILITIES).build(),
+            LEG_PRICER.presentValueSensitivityModelParamsSabr(leg, RATES_PROVIDER, VOLATILITIES).build());
+      }
+      assertEquals(
+          parallel.presentValueSensitivityStrike(CAP_LEG, RATES_PROVIDER, VOLATILITIES),
+          LEG_PRICER.presentValueSensitivityStrike(CAP_LEG, RATES_PROVIDER, VOLATILITIES));
+    } finally {
+      pool.shutdown();
+    }
+    assertEquals(
+        LEG_PRICER.parallel().presentValue(FLOOR_LEG, RATES_PROVIDER, VOLATILITIES),
+        LEG_PRICER.presentValue(FLOOR_LEG, RATES_PROVIDER, VOLATILITIES));
+  }
+
   //-------------------------------------------------------------------------
   public void test_explainPresentValue() {
     ExplainMap explain = LEG_PRICER.explainPresentValue(CAP_LEG, RATES_PROVIDER, VOLATILITIES);
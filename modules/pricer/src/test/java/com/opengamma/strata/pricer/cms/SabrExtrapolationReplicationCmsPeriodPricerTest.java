@@ -131,6 +131,9 @@ public class SabrExtrapolationReplicationCmsPeriodPricerTest {
   private static final double TOL = 1.0e-12;
   private static final SabrExtrapolationReplicationCmsPeriodPricer PRICER =
       SabrExtrapolationReplicationCmsPeriodPricer.of(CUT_OFF_STRIKE, MU);
+  private static final SabrExtrapolationReplicationCmsPeriodPricer PRICER_FIXED_NODES =
+      SabrExtrapolationReplicationCmsPeriodPricer.ofFixedNodes(DiscountingSwapProductPricer.DEFAULT, CUT_OFF_STRIKE, MU, 4);
+  private static final double TOL_FIXED_NODES = 1.0e-8;
   private static final RatesFiniteDifferenceSensitivityCalculator FD_CAL =
       new RatesFiniteDifferenceSensitivityCalculator(EPS);  
   private static final DiscountingSwapProductPricer PRICER_SWAP =
@@ -787,6 +790,69 @@ public class SabrExtrapolationReplicationCmsPeriodPricerTest {
     assertEquals(pvComputed.getAmount(),  pvExpected, TOLERANCE_PV);    
   }
 
+  //---------------------------------------------------------------------
+  public void test_fixedNodes_presentValue() {
+    CmsPeriod[] periods = new CmsPeriod[] {COUPON, CAPLET, FLOORLET, COUPON_SELL, CAPLET_SELL, FLOORLET_SELL};
+    for (CmsPeriod period : periods) {
+      assertEquals(
+          PRICER_FIXED_NODES.presentValue(period, RATES_PROVIDER, VOLATILITIES).getAmount(),
+          PRICER.presentValue(period, RATES_PROVIDER, VOLATILITIES).getAmount(),
+          NOTIONAL * TOL_FIXED_NODES);
+      assertEquals(
+          PRICER_FIXED_NODES.presentValue(period, RATES_PROVIDER, VOLATILITIES_SHIFT).getAmount(),
+          PRICER.presentValue(period, RATES_PROVIDER, VOLATILITIES_SHIFT).getAmount(),
+          NOTIONAL * TOL_FIXED_NODES);
+    }
+    assertEquals(
+        PRICER_FIXED_NODES.presentValue(CAPLET_NEGATIVE, RATES_PROVIDER, VOLATILITIES_SHIFT).getAmount(),
+        PRICER.presentValue(CAPLET_NEGATIVE, RATES_PROVIDER, VOLATILITIES_SHIFT).getAmount(),
+        NOTIONAL * TOL_FIXED_NODES);
+    assertEquals(
+        PRICER_FIXED_NODES.presentValue(FLOORLET_NEGATIVE, RATES_PROVIDER, VOLATILITIES_SHIFT).getAmount(),
+        PRICER.presentValue(FLOORLET_NEGATIVE, RATES_PROVIDER, VOLATILITIES_SHIFT).getAmount(),
+        NOTIONAL * TOL_FIXED_NODES);
+  }
+
+  public void test_fixedNodes_presentValueSensitivity() {
+    for (CmsPeriod period : new CmsPeriod[] {COUPON_SELL, CAPLET_SELL, FLOORLET_SELL}) {
+      PointSensitivityBuilder point = PRICER_FIXED_NODES.presentValueSensitivityRates(period, RATES_PROVIDER, VOLATILITIES);
+      CurrencyParameterSensitivities computed = RATES_PROVIDER.parameterSensitivity(point.build());
+      CurrencyParameterSensitivities expected = FD_CAL.sensitivity(
+          RATES_PROVIDER, p -> PRICER_FIXED_NODES.presentValue(period, p, VOLATILITIES));
+      assertTrue(computed.equalWithTolerance(expected, EPS * NOTIONAL * 50d));
+    }
+  }
+
+  public void test_fixedNodes_presentValueSensitivity_adaptive() {
+    for (CmsPeriod period : new CmsPeriod[] {COUPON, CAPLET, FLOORLET, CAPLET_NEGATIVE, FLOORLET_NEGATIVE}) {
+      PointSensitivities computed =
+          PRICER_FIXED_NODES.presentValueSensitivityRates(period, RATES_PROVIDER, VOLATILITIES_SHIFT).build();
+      PointSensitivities expected =
+          PRICER.presentValueSensitivityRates(period, RATES_PROVIDER, VOLATILITIES_SHIFT).build();
+      assertTrue(computed.equalWithTolerance(expected, NOTIONAL * TOL_FIXED_NODES * 10d));
+    }
+  }
+
+  public void test_fixedNodes_presentValueSensitivitySabrParameter() {
+    for (CmsPeriod period : new CmsPeriod[] {COUPON, CAPLET, FLOORLET, CAPLET_NEGATIVE, FLOORLET_NEGATIVE}) {
+      PointSensitivities computed =
+          PRICER_FIXED_NODES.presentValueSensitivityModelParamsSabr(period, RATES_PROVIDER, VOLATILITIES_SHIFT).build();
+      PointSensitivities expected =
+          PRICER.presentValueSensitivityModelParamsSabr(period, RATES_PROVIDER, VOLATILITIES_SHIFT).build();
+      // the tolerance of the adaptive integration is looser for the sensitivity to SABR parameters
+      assertTrue(computed.equalWithTolerance(expected, NOTIONAL * 1.0e-4));
+    }
+  }
+
+  public void test_fixedNodes_presentValueSensitivityStrike() {
+    for (CmsPeriod period : new CmsPeriod[] {CAPLET, FLOORLET, CAPLET_SELL, FLOORLET_SELL}) {
+      assertEquals(
+          PRICER_FIXED_NODES.presentValueSensitivityStrike(period, RATES_PROVIDER, VOLATILITIES),
+          PRICER.presentValueSensitivityStrike(period, RATES_PROVIDER, VOLATILITIES),
+          NOTIONAL * TOL_FIXED_NODES * 10d);
+    }
+  }
+
   //---------------------------------------------------------------------
   public void test_explainPresentValue() {
     ExplainMapBuilder builder = ExplainMap.builder();
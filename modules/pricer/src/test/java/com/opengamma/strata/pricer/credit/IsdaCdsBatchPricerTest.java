@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.pricer.common.PriceType.CLEAN;
+import static com.opengamma.strata.pricer.common.PriceType.DIRTY;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.credit.Cds;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Test {@link IsdaCdsBatchPricer}.
+ */
+@Test
+public class IsdaCdsBatchPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2014, 1, 3);
+  private static final StandardId LEGAL_ENTITY_ABC = StandardId.of("OG", "ABC");
+  private static final StandardId LEGAL_ENTITY_DEF = StandardId.of("OG", "DEF");
+  private static final DoubleArray TIME_YC = DoubleArray.of(
+      0.09041095890410959, 0.2547945205479452, 0.5041095890410959, 1.0054794520547945, 2.0054794520547947,
+      3.008219178082192, 5.010958904109589, 7.010958904109589, 10.016438356164384, 15.021917808219179);
+  private static final DoubleArray RATE_YC = DoubleArray.of(
+      -0.002078655697855299, -0.0013445486228483379, -4.237819925898475E-4, 5.935063895780138E-4,
+      -3.247081037469503E-4, 6.147182786549223E-4, 0.0033125742254568815, 0.0062374324537341225,
+      0.010167545380711455, 0.01441082634734099);
+  private static final DoubleArray TIME_CC = DoubleArray.of(
+      1.2054794520547945, 1.7095890410958905, 2.712328767123288, 3.712328767123288, 4.712328767123288,
+      5.712328767123288, 7.715068493150685, 10.717808219178082);
+  private static final DoubleArray RATE_CC_ABC = DoubleArray.of(
+      0.009950492020354761, 0.01203385973637765, 0.01418821591480718, 0.01684815168721049, 0.01974873350586718,
+      0.023084203422383043, 0.02696911931489543, 0.029605642651816415);
+  private static final DoubleArray RATE_CC_DEF = RATE_CC_ABC.multipliedBy(2.5);
+  private static final double NOTIONAL = 1.0e7;
+  private static final double ONE_BP = 1.0e-4;
+  private static final List<ResolvedCds> PRODUCTS = ImmutableList.of(
+      cds(BUY, LEGAL_ENTITY_ABC, LocalDate.of(2013, 12, 20), LocalDate.of(2019, 3, 20), 0.01),
+      cds(SELL, LEGAL_ENTITY_DEF, LocalDate.of(2013, 12, 20), LocalDate.of(2024, 9, 20), 0.05),
+      cds(BUY, LEGAL_ENTITY_ABC, LocalDate.of(2014, 1, 4), LocalDate.of(2020, 10, 20), 0.05),
+      cds(SELL, LEGAL_ENTITY_ABC, LocalDate.of(2014, 3, 20), LocalDate.of(2029, 12, 20), 0.01),
+      cds(BUY, LEGAL_ENTITY_DEF, LocalDate.of(2012, 12, 20), LocalDate.of(2014, 1, 2), 0.01),
+      cds(BUY, LEGAL_ENTITY_DEF, LocalDate.of(2013, 12, 20), LocalDate.of(2016, 6, 20), 0.05));
+  private static final CreditRatesProvider RATES_PROVIDER = provider(0d);
+
+  private static final IsdaCdsBatchPricer PRICER = IsdaCdsBatchPricer.DEFAULT;
+  private static final IsdaCdsBatchPricer PRICER_FIX = new IsdaCdsBatchPricer(AccrualOnDefaultFormula.MARKIT_FIX);
+  private static final IsdaCdsProductPricer PRODUCT_PRICER = IsdaCdsProductPricer.DEFAULT;
+  private static final IsdaCdsProductPricer PRODUCT_PRICER_FIX = new IsdaCdsProductPricer(AccrualOnDefaultFormula.MARKIT_FIX);
+
+  private static ResolvedCds cds(
+      BuySell buySell,
+      StandardId legalEntity,
+      LocalDate start,
+      LocalDate end,
+      double coupon) {
+
+    return Cds.of(buySell, legalEntity, USD, NOTIONAL, start, end, Frequency.P3M, HolidayCalendarIds.SAT_SUN, coupon)
+        .resolve(REF_DATA);
+  }
+
+  private static CreditRatesProvider provider(double hazardRateShift) {
+    return ImmutableCreditRatesProvider.builder()
+        .valuationDate(VALUATION_DATE)
+        .creditCurves(ImmutableMap.of(
+            Pair.of(LEGAL_ENTITY_ABC, USD),
+            LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY_ABC, IsdaCreditDiscountFactors.of(
+                USD, VALUATION_DATE, curve("abc", TIME_CC, RATE_CC_ABC.plus(hazardRateShift)))),
+            Pair.of(LEGAL_ENTITY_DEF, USD),
+            LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY_DEF, IsdaCreditDiscountFactors.of(
+                USD, VALUATION_DATE, curve("def", TIME_CC, RATE_CC_DEF.plus(hazardRateShift))))))
+        .discountCurves(ImmutableMap.of(USD, IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, curve("yield", TIME_YC, RATE_YC))))
+        .recoveryRateCurves(ImmutableMap.of(
+            LEGAL_ENTITY_ABC, ConstantRecoveryRates.of(LEGAL_ENTITY_ABC, VALUATION_DATE, 0.25),
+            LEGAL_ENTITY_DEF, ConstantRecoveryRates.of(LEGAL_ENTITY_DEF, VALUATION_DATE, 0.4)))
+        .build();
+  }
+
+  private static InterpolatedNodalCurve curve(String name, DoubleArray times, DoubleArray rates) {
+    DefaultCurveMetadata metadata = DefaultCurveMetadata.builder()
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .curveName(name)
+        .dayCount(ACT_365F)
+        .build();
+    return InterpolatedNodalCurve.of(metadata, times, rates,
+        CurveInterpolators.PRODUCT_LINEAR, CurveExtrapolators.FLAT, CurveExtrapolators.PRODUCT_LINEAR);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_accrualOnDefaultFormula() {
+    assertEquals(PRICER.getAccrualOnDefaultFormula(), AccrualOnDefaultFormula.ORIGINAL_ISDA);
+    assertEquals(PRICER_FIX.getAccrualOnDefaultFormula(), AccrualOnDefaultFormula.MARKIT_FIX);
+  }
+
+  public void test_presentValue() {
+    for (PriceType priceType : new PriceType[] {CLEAN, DIRTY}) {
+      List<CurrencyAmount> test = PRICER.presentValue(PRODUCTS, RATES_PROVIDER, VALUATION_DATE, priceType, REF_DATA);
+      List<CurrencyAmount> testFix = PRICER_FIX.presentValue(PRODUCTS, RATES_PROVIDER, VALUATION_DATE, priceType, REF_DATA);
+      assertEquals(test.size(), PRODUCTS.size());
+      for (int i = 0; i < PRODUCTS.size(); i++) {
+        assertEquals(test.get(i),
+            PRODUCT_PRICER.presentValue(PRODUCTS.get(i), RATES_PROVIDER, VALUATION_DATE, priceType, REF_DATA));
+        assertEquals(testFix.get(i),
+            PRODUCT_PRICER_FIX.presentValue(PRODUCTS.get(i), RATES_PROVIDER, VALUATION_DATE, priceType, REF_DATA));
+      }
+    }
+  }
+
+  public void test_hazardRateCs01() {
+    CreditRatesProvider shiftedProvider = provider(ONE_BP);
+    List<CurrencyAmount> test = PRICER.hazardRateCs01(PRODUCTS, RATES_PROVIDER, VALUATION_DATE, REF_DATA);
+    assertEquals(test.size(), PRODUCTS.size());
+    for (int i = 0; i < PRODUCTS.size(); i++) {
+      ResolvedCds cds = PRODUCTS.get(i);
+      double pv = PRODUCT_PRICER.presentValue(cds, RATES_PROVIDER, VALUATION_DATE, DIRTY, REF_DATA).getAmount();
+      double pvShifted = PRODUCT_PRICER.presentValue(cds, shiftedProvider, VALUATION_DATE, DIRTY, REF_DATA).getAmount();
+      assertEquals(test.get(i).getCurrency(), USD);
+      assertEquals(test.get(i).getAmount(), (pvShifted - pv) / ONE_BP, NOTIONAL * 1.0e-8);
+    }
+    // expired
+    assertEquals(test.get(4), CurrencyAmount.zero(USD));
+  }
+
+}
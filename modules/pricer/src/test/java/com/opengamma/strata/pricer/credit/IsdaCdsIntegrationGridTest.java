@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+
+/**
+ * Test {@link IsdaCdsIntegrationGrid}.
+ */
+@Test
+public class IsdaCdsIntegrationGridTest {
+
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2014, 1, 3);
+  private static final StandardId LEGAL_ENTITY = StandardId.of("OG", "ABC");
+  private static final DoubleArray TIME_YC = DoubleArray.of(0.25, 0.5, 1.0, 1.7096, 2.0, 3.0, 5.0, 7.0, 10.0);
+  private static final DoubleArray RATE_YC =
+      DoubleArray.of(-0.002, -0.001, 0.0005, 0.0008, 0.001, 0.002, 0.0045, 0.007, 0.0102);
+  private static final DoubleArray TIME_CC = DoubleArray.of(
+      1.2054794520547945, 1.7095890410958905, 2.712328767123288, 3.712328767123288, 4.712328767123288,
+      5.712328767123288, 7.715068493150685, 10.717808219178082);
+  private static final DoubleArray RATE_CC =
+      DoubleArray.of(0.00995, 0.01203, 0.01419, 0.01685, 0.01975, 0.02308, 0.02697, 0.02961);
+  private static final CreditDiscountFactors DISCOUNT_FACTORS = IsdaCreditDiscountFactors.of(
+      USD, VALUATION_DATE, curve("yield", TIME_YC, RATE_YC));
+  private static final LegalEntitySurvivalProbabilities SURVIVAL_PROBABILITIES = LegalEntitySurvivalProbabilities.of(
+      LEGAL_ENTITY, IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, curve("credit", TIME_CC, RATE_CC)));
+  private static final IsdaCdsIntegrationGrid GRID = IsdaCdsIntegrationGrid.of(DISCOUNT_FACTORS, SURVIVAL_PROBABILITIES);
+  private static final double[][] BOUNDS = new double[][] {
+      {0.01, 12.0}, {0.25, 5.0}, {0.2510, 5.0005}, {1.2054794520547945, 1.7095890410958905}, {1.3, 1.5},
+      {11.0, 12.0}, {0.0, 0.1}, {1.709, 10.0}};
+  private static final double TOL = 1.0e-15;
+
+  private static InterpolatedNodalCurve curve(String name, DoubleArray times, DoubleArray rates) {
+    DefaultCurveMetadata metadata = DefaultCurveMetadata.builder()
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .curveName(name)
+        .dayCount(ACT_365F)
+        .build();
+    return InterpolatedNodalCurve.of(metadata, times, rates,
+        CurveInterpolators.PRODUCT_LINEAR, CurveExtrapolators.FLAT, CurveExtrapolators.PRODUCT_LINEAR);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    assertEquals(GRID.getDiscountFactors(), DISCOUNT_FACTORS);
+    assertEquals(GRID.getSurvivalProbabilities(), SURVIVAL_PROBABILITIES);
+    assertEquals(GRID.getHazardRateShift(), 0d);
+    assertEquals(GRID.getNodes().size(), TIME_YC.size() + TIME_CC.size());
+    assertEquals(GRID.getNodes(), GRID.getNodes().sorted());
+  }
+
+  public void test_integrationSchedule() {
+    for (double[] bounds : BOUNDS) {
+      DoubleArray expected = DoublesScheduleGenerator.getIntegrationsPoints(
+          bounds[0], bounds[1], DISCOUNT_FACTORS.getParameterKeys(), SURVIVAL_PROBABILITIES.getParameterKeys());
+      IsdaCdsIntegrationGrid.Schedule test = GRID.integrationSchedule(bounds[0], bounds[1]);
+      assertSchedule(test, expected, GRID);
+    }
+  }
+
+  public void test_range() {
+    for (double[] bounds : BOUNDS) {
+      IsdaCdsIntegrationGrid test = IsdaCdsIntegrationGrid.of(DISCOUNT_FACTORS, SURVIVAL_PROBABILITIES, bounds[0], bounds[1]);
+      double[] nodes = GRID.getNodes().stream().filter(t -> t > bounds[0] && t < bounds[1]).toArray();
+      assertEquals(test.getNodes(), DoubleArray.ofUnsafe(nodes));
+      DoubleArray expected = DoublesScheduleGenerator.getIntegrationsPoints(
+          bounds[0], bounds[1], DISCOUNT_FACTORS.getParameterKeys(), SURVIVAL_PROBABILITIES.getParameterKeys());
+      assertSchedule(test.integrationSchedule(bounds[0], bounds[1]), expected, test);
+      double middle = 0.5 * (bounds[0] + bounds[1]);
+      DoubleArray expectedPart = DoublesScheduleGenerator.getIntegrationsPoints(
+          middle, bounds[1], DISCOUNT_FACTORS.getParameterKeys(), SURVIVAL_PROBABILITIES.getParameterKeys());
+      assertSchedule(test.withHazardRateShift(0d).integrationSchedule(middle, bounds[1]), expectedPart, test);
+      assertThrowsIllegalArg(() -> test.integrationSchedule(bounds[0] - 0.01, bounds[1]));
+      assertThrowsIllegalArg(() -> test.integrationSchedule(bounds[0], bounds[1] + 0.01));
+    }
+    assertThrowsIllegalArg(() -> IsdaCdsIntegrationGrid.of(DISCOUNT_FACTORS, SURVIVAL_PROBABILITIES, 2d, 1d));
+  }
+
+  public void test_truncate() {
+    IsdaCdsIntegrationGrid.Schedule schedule = GRID.integrationSchedule(0.01, 12.0);
+    DoubleArray times = DoubleArray.of(schedule.size(), schedule::time);
+    for (double[] bounds : BOUNDS) {
+      DoubleArray expected = DoublesScheduleGenerator.truncateSetInclusive(bounds[0], bounds[1], times);
+      IsdaCdsIntegrationGrid.Schedule test = GRID.truncate(schedule, bounds[0], bounds[1]);
+      assertSchedule(test, expected, GRID);
+    }
+  }
+
+  public void test_withHazardRateShift() {
+    double shift = 1.0e-4;
+    IsdaCdsIntegrationGrid test = GRID.withHazardRateShift(shift);
+    assertEquals(test.getHazardRateShift(), shift);
+    assertEquals(test.getNodes(), GRID.getNodes());
+    IsdaCdsIntegrationGrid.Schedule base = GRID.integrationSchedule(0.2, 8.0);
+    IsdaCdsIntegrationGrid.Schedule shifted = test.integrationSchedule(0.2, 8.0);
+    assertEquals(shifted.size(), base.size());
+    for (int i = 0; i < base.size(); i++) {
+      assertEquals(shifted.time(i), base.time(i));
+      assertEquals(shifted.rt(i), base.rt(i));
+      assertEquals(shifted.ht(i), base.ht(i) + shift * base.time(i), TOL);
+    }
+    LocalDate date = LocalDate.of(2018, 6, 20);
+    double yearFraction = DISCOUNT_FACTORS.relativeYearFraction(date);
+    assertEquals(GRID.survivalProbability(date), SURVIVAL_PROBABILITIES.survivalProbability(date));
+    assertEquals(test.survivalProbability(date),
+        SURVIVAL_PROBABILITIES.survivalProbability(date) * Math.exp(-shift * yearFraction), TOL);
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertSchedule(
+      IsdaCdsIntegrationGrid.Schedule test,
+      DoubleArray expected,
+      IsdaCdsIntegrationGrid grid) {
+
+    assertEquals(test.size(), expected.size());
+    for (int i = 0; i < expected.size(); i++) {
+      double t = expected.get(i);
+      assertEquals(test.time(i), t);
+      assertEquals(test.rt(i), grid.getDiscountFactors().zeroRate(t) * t);
+      assertEquals(test.ht(i), grid.getSurvivalProbabilities().zeroRate(t) * t);
+    }
+  }
+
+}
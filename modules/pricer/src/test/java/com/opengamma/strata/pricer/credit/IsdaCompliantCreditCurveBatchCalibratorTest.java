@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.DoubleArrayMath;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.IsdaCreditCurveDefinition;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.curve.node.CdsIsdaCreditCurveNode;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.product.credit.type.CdsConvention;
+import com.opengamma.strata.product.credit.type.DatesCdsTemplate;
+import com.opengamma.strata.product.credit.type.ImmutableCdsConvention;
+
+/**
+ * Test {@link IsdaCompliantCreditCurveBatchCalibrator}.
+ */
+@Test
+public class IsdaCompliantCreditCurveBatchCalibratorTest extends IsdaCompliantCreditCurveCalibratorBase {
+
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2013, 2, 27);
+  private static final DoubleArray YC_TIME = DoubleArray.of(
+      0.09041095890410959, 0.1726027397260274, 0.26301369863013696, 0.5123287671232877, 0.7616438356164383, 1.010958904109589,
+      2.008219178082192, 3.008219178082192, 4.008219178082192, 5.008219178082192, 6.008219178082192, 7.013698630136987,
+      8.01095890410959, 9.01095890410959, 10.01095890410959, 12.01917808219178, 15.016438356164384, 20.01917808219178,
+      25.021917808219175, 30.027397260273972);
+  private static final DoubleArray YC_RATE = DoubleArray.of(
+      0.0020651105531615476, 0.0024506037920717797, 0.0028872269869485313, 0.004599628230463427, 0.006160809466806469,
+      0.0075703969168129295, 0.003965128877560435, 0.005059104202201957, 0.0069669135253734825, 0.009361825469323602,
+      0.011916895611422482, 0.014311922779901886, 0.016519187063048578, 0.018512121993907647, 0.020289623737560873,
+      0.02329885162861984, 0.026399509889410745, 0.029087919732133784, 0.03037740056662963, 0.03110021763406523);
+  private static final LocalDate START_DATE = LocalDate.of(2012, 12, 20);
+  private static final LocalDate[] PILLAR_DATES = new LocalDate[] {
+      LocalDate.of(2013, 9, 20), LocalDate.of(2014, 3, 20), LocalDate.of(2015, 3, 20), LocalDate.of(2016, 3, 20),
+      LocalDate.of(2017, 3, 20), LocalDate.of(2018, 3, 20), LocalDate.of(2019, 3, 20), LocalDate.of(2020, 3, 20),
+      LocalDate.of(2021, 3, 20), LocalDate.of(2022, 3, 20), LocalDate.of(2023, 3, 20)};
+  private static final double[] QUOTES = new double[] {
+      0.006485, 0.008163, 0.011763, 0.015136, 0.018787, 0.021905, 0.023797, 0.025211, 0.02617, 0.026928, 0.027549};
+  private static final int N_NAMES = 5;
+  private static final List<StandardId> LEGAL_ENTITIES = new ArrayList<>();
+  private static final List<IsdaCreditCurveDefinition> CURVE_DEFINITIONS = new ArrayList<>();
+  private static final ImmutableMarketData MARKET_DATA;
+  private static final ImmutableMarketData MARKET_DATA_PREVIOUS;
+  private static final ImmutableCreditRatesProvider RATES_PROVIDER;
+  static {
+    CdsConvention conv = ImmutableCdsConvention.of("conv", EUR, ACT_360, Frequency.P3M, BUS_ADJ, CDS_SETTLE_STD);
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(VALUATION_DATE);
+    ImmutableMarketDataBuilder builderPrevious = ImmutableMarketData.builder(VALUATION_DATE);
+    ImmutableMap.Builder<StandardId, RecoveryRates> recoveryRates = ImmutableMap.builder();
+    for (int k = 0; k < N_NAMES; k++) {
+      StandardId legalEntity = StandardId.of("OG", "NAME" + k);
+      LEGAL_ENTITIES.add(legalEntity);
+      recoveryRates.put(legalEntity, ConstantRecoveryRates.of(legalEntity, VALUATION_DATE, 0.25 + 0.05 * k));
+      List<CdsIsdaCreditCurveNode> nodes = new ArrayList<>();
+      for (int i = 0; i < PILLAR_DATES.length; ++i) {
+        QuoteId id = QuoteId.of(StandardId.of("OG", legalEntity.getValue() + PILLAR_DATES[i].toString()));
+        nodes.add(CdsIsdaCreditCurveNode.ofParSpread(DatesCdsTemplate.of(START_DATE, PILLAR_DATES[i], conv), id, legalEntity));
+        builder.addValue(id, QUOTES[i] * (1d + 0.2 * k));
+        builderPrevious.addValue(id, QUOTES[i] * (1d + 0.2 * k) * 1.03);
+      }
+      CURVE_DEFINITIONS.add(IsdaCreditCurveDefinition.of(
+          CurveName.of("cc" + k), EUR, VALUATION_DATE, ACT_365F, nodes, true, false));
+    }
+    MARKET_DATA = builder.build();
+    MARKET_DATA_PREVIOUS = builderPrevious.build();
+    RATES_PROVIDER = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VALUATION_DATE)
+        .discountCurves(ImmutableMap.of(
+            EUR, IsdaCreditDiscountFactors.of(EUR, VALUATION_DATE, CurveName.of("yc_eur"), YC_TIME, YC_RATE, ACT_365F)))
+        .recoveryRateCurves(recoveryRates.build())
+        .creditCurves(ImmutableMap.of())
+        .build();
+  }
+  private static final FastCreditCurveCalibrator CALIBRATOR = FastCreditCurveCalibrator.standard();
+  private static final IsdaCompliantCreditCurveBatchCalibrator BATCH = IsdaCompliantCreditCurveBatchCalibrator.standard();
+  private static final double TOL = 1.0e-12;
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    assertEquals(BATCH.getCalibrator(), CALIBRATOR);
+    assertFalse(BATCH.isParallel());
+    IsdaCompliantCreditCurveBatchCalibrator test = IsdaCompliantCreditCurveBatchCalibrator.of(SimpleCreditCurveCalibrator.standard());
+    assertEquals(test.getCalibrator(), SimpleCreditCurveCalibrator.standard());
+    assertTrue(test.parallel().isParallel());
+    assertEquals(test.parallel().getCalibrator(), SimpleCreditCurveCalibrator.standard());
+  }
+
+  public void test_calibrate() {
+    List<LegalEntitySurvivalProbabilities> test = BATCH.calibrate(CURVE_DEFINITIONS, MARKET_DATA, RATES_PROVIDER, REF_DATA);
+    assertEquals(test.size(), N_NAMES);
+    for (int k = 0; k < N_NAMES; k++) {
+      assertEquals(test.get(k), CALIBRATOR.calibrate(CURVE_DEFINITIONS.get(k), MARKET_DATA, RATES_PROVIDER, REF_DATA));
+      assertEquals(test.get(k).getLegalEntityId(), LEGAL_ENTITIES.get(k));
+    }
+  }
+
+  public void test_calibrate_parallel() {
+    List<LegalEntitySurvivalProbabilities> expected = BATCH.calibrate(CURVE_DEFINITIONS, MARKET_DATA, RATES_PROVIDER, REF_DATA);
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      assertEquals(BATCH.parallel(pool).calibrate(CURVE_DEFINITIONS, MARKET_DATA, RATES_PROVIDER, REF_DATA), expected);
+    } finally {
+      pool.shutdown();
+    }
+    assertEquals(BATCH.parallel().calibrate(CURVE_DEFINITIONS, MARKET_DATA, RATES_PROVIDER, REF_DATA), expected);
+  }
+
+  public void test_calibrate_previousCurves() {
+    List<LegalEntitySurvivalProbabilities> previous =
+        BATCH.calibrate(CURVE_DEFINITIONS, MARKET_DATA_PREVIOUS, RATES_PROVIDER, REF_DATA);
+    ImmutableMap.Builder<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> builder = ImmutableMap.builder();
+    // no previous curve for the last name
+    for (int k = 0; k < N_NAMES - 1; k++) {
+      builder.put(Pair.of(LEGAL_ENTITIES.get(k), EUR), previous.get(k));
+    }
+    Map<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> previousCurves = builder.build();
+    List<LegalEntitySurvivalProbabilities> expected = BATCH.calibrate(CURVE_DEFINITIONS, MARKET_DATA, RATES_PROVIDER, REF_DATA);
+    List<LegalEntitySurvivalProbabilities> test =
+        BATCH.calibrate(CURVE_DEFINITIONS, MARKET_DATA, RATES_PROVIDER, previousCurves, REF_DATA);
+    List<LegalEntitySurvivalProbabilities> testParallel =
+        BATCH.parallel().calibrate(CURVE_DEFINITIONS, MARKET_DATA, RATES_PROVIDER, previousCurves, REF_DATA);
+    assertEquals(testParallel, test);
+    for (int k = 0; k < N_NAMES; k++) {
+      NodalCurve expectedCurve = ((IsdaCreditDiscountFactors) expected.get(k).getSurvivalProbabilities()).getCurve();
+      NodalCurve testCurve = ((IsdaCreditDiscountFactors) test.get(k).getSurvivalProbabilities()).getCurve();
+      assertEquals(testCurve.getXValues(), expectedCurve.getXValues());
+      assertTrue(DoubleArrayMath.fuzzyEquals(
+          testCurve.getYValues().toArrayUnsafe(), expectedCurve.getYValues().toArrayUnsafe(), TOL));
+    }
+    assertEquals(test.get(N_NAMES - 1), expected.get(N_NAMES - 1));
+  }
+
+  public void test_cache() {
+    CreditCurveCalibrationCache cache = new CreditCurveCalibrationCache();
+    for (IsdaCreditCurveDefinition curveDefinition : CURVE_DEFINITIONS) {
+      CALIBRATOR.calibrate(curveDefinition, MARKET_DATA, RATES_PROVIDER, ImmutableMap.of(), cache, REF_DATA);
+    }
+    // the node schedules are shared between the names
+    assertEquals(cache.size(), PILLAR_DATES.length);
+  }
+
+  public void test_calibrate_empty() {
+    assertEquals(BATCH.calibrate(ImmutableList.of(), MARKET_DATA, RATES_PROVIDER, REF_DATA), ImmutableList.of());
+  }
+
+}
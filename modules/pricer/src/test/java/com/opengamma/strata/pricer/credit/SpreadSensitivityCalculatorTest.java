@@ -16,6 +16,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
@@ -44,6 +45,7 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ResolvedTradeParameterMetadata;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
+import com.opengamma.strata.product.ResolvedTrade;
 import com.opengamma.strata.product.TradeInfo;
 import com.opengamma.strata.product.common.BuySell;
 import com.opengamma.strata.product.credit.Cds;
@@ -390,4 +392,31 @@ public class SpreadSensitivityCalculatorTest {
         NOTIONAL * TOL));
   }
 
+  //-------------------------------------------------------------------------
+  public void parallelCs01MultipleTradesTest() {
+    List<ResolvedTrade> trades = ImmutableList.of(CDS1, CDS_INDEX, CDS2, CDS1);
+    for (SpreadSensitivityCalculator calculator : new SpreadSensitivityCalculator[] {CS01_FD, CS01_AN}) {
+      List<CurrencyAmount> test = calculator.parallelCs01(trades, RATES_PROVIDER, REF_DATA);
+      assertEquals(test.size(), trades.size());
+      assertEquals(test.get(0), calculator.parallelCs01(CDS1, RATES_PROVIDER, REF_DATA));
+      assertEquals(test.get(1), calculator.parallelCs01(CDS_INDEX, RATES_PROVIDER, REF_DATA));
+      assertEquals(test.get(2), calculator.parallelCs01(CDS2, RATES_PROVIDER, REF_DATA));
+      assertEquals(test.get(3), test.get(0));
+    }
+    assertEquals(CS01_AN.parallelCs01(ImmutableList.of(), RATES_PROVIDER, REF_DATA), ImmutableList.of());
+  }
+
+  public void bucketedCs01MultipleTradesTest() {
+    List<ResolvedTrade> trades = ImmutableList.of(CDS1, CDS_INDEX, CDS2, CDS1);
+    for (SpreadSensitivityCalculator calculator : new SpreadSensitivityCalculator[] {CS01_FD, CS01_AN}) {
+      List<CurrencyParameterSensitivity> test = calculator.bucketedCs01(trades, RATES_PROVIDER, REF_DATA);
+      assertEquals(test.size(), trades.size());
+      assertEquals(test.get(0), calculator.bucketedCs01(CDS1, RATES_PROVIDER, REF_DATA));
+      assertEquals(test.get(1), calculator.bucketedCs01(CDS_INDEX, RATES_PROVIDER, REF_DATA));
+      assertEquals(test.get(2), calculator.bucketedCs01(CDS2, RATES_PROVIDER, REF_DATA));
+      assertEquals(test.get(3), test.get(0));
+    }
+    assertEquals(CS01_FD.bucketedCs01(ImmutableList.of(), RATES_PROVIDER, REF_DATA), ImmutableList.of());
+  }
+
 }
@@ -17,6 +17,7 @@ import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.US
 import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
 import static com.opengamma.strata.product.swap.type.IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -389,6 +390,26 @@ public class CalibrationZeroRateUsd3OisIrsBsTest {
     calibration_market_quote_sensitivity_check(calibrator, shift);
   }
 
+  public void calibration_market_quote_sensitivity_batch() {
+    RatesProvider result =
+        CALIBRATOR.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    List<CurrencyParameterSensitivities> paramSensitivities = new ArrayList<>();
+    for (int i = 1; i <= 10; i++) {
+      SwapTrade trade = IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M.createTrade(
+          VAL_DATE, Period.ofMonths(i), Tenor.ofYears(i), BuySell.BUY, 1_000_000d * i, 0.0010 * i, REF_DATA);
+      ResolvedSwap product = trade.getProduct().resolve(REF_DATA);
+      paramSensitivities.add(result.parameterSensitivity(SWAP_PRICER.presentValueSensitivity(product, result).build()));
+    }
+    paramSensitivities.add(CurrencyParameterSensitivities.empty());
+    List<CurrencyParameterSensitivities> computed = MQC.sensitivity(paramSensitivities, result);
+    assertEquals(computed.size(), paramSensitivities.size());
+    for (int i = 0; i < paramSensitivities.size(); i++) {
+      CurrencyParameterSensitivities expected = MQC.sensitivity(paramSensitivities.get(i), result);
+      assertEquals(computed.get(i).size(), expected.size());
+      assertTrue(computed.get(i).equalWithTolerance(expected, TOLERANCE_PV));
+    }
+  }
+
   private void calibration_market_quote_sensitivity_check(
       Function<MarketData, RatesProvider> calibrator,
       double shift) {
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.model;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantVarianceCache;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link HullWhiteOneFactorPiecewiseConstantVarianceCache}.
+ */
+@Test
+public class HullWhiteOneFactorPiecewiseConstantVarianceCacheTest {
+
+  private static final HullWhiteOneFactorPiecewiseConstantParameters[] PARAMETERS =
+      new HullWhiteOneFactorPiecewiseConstantParameters[] {
+          HullWhiteOneFactorPiecewiseConstantParameters.of(
+              0.01, DoubleArray.of(0.01, 0.011, 0.012, 0.013, 0.014), DoubleArray.of(0.5, 1.0, 2.0, 5.0)),
+          HullWhiteOneFactorPiecewiseConstantParameters.of(
+              0.15, DoubleArray.of(0.008, 0.012, 0.009, 0.011, 0.01, 0.007), DoubleArray.of(0.25, 1.0, 3.0, 10.0, 20.0)),
+          HullWhiteOneFactorPiecewiseConstantParameters.of(0.05, DoubleArray.of(0.01), DoubleArray.EMPTY)};
+  private static final double[] TIMES = new double[] {0d, 0.1, 0.5, 0.75, 1.0, 2.5, 5.0, 7.0, 10.0, 15.0, 25.0, 30.0};
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final double TOL = 1.0e-13;
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    HullWhiteOneFactorPiecewiseConstantVarianceCache test = HullWhiteOneFactorPiecewiseConstantVarianceCache.of(PARAMETERS[0]);
+    assertEquals(test.getParameters(), PARAMETERS[0]);
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorPiecewiseConstantVarianceCache.of(null));
+  }
+
+  public void test_alpha() {
+    for (HullWhiteOneFactorPiecewiseConstantParameters parameters : PARAMETERS) {
+      HullWhiteOneFactorPiecewiseConstantVarianceCache test = HullWhiteOneFactorPiecewiseConstantVarianceCache.of(parameters);
+      for (int i = 0; i < TIMES.length; i++) {
+        for (int j = i; j < TIMES.length; j++) {
+          double start = TIMES[i];
+          double end = TIMES[j];
+          double maturity = end + 2.25;
+          double expected = MODEL.alpha(parameters, start, end, end, maturity);
+          assertEquals(test.alpha(start, end, end, maturity), expected, TOL * Math.abs(expected));
+          double expectedNumeraire = MODEL.alpha(parameters, start, end, maturity + 1d, maturity);
+          assertEquals(test.alpha(start, end, maturity + 1d, maturity), expectedNumeraire, TOL * Math.abs(expectedNumeraire));
+        }
+      }
+    }
+  }
+
+  public void test_beta() {
+    for (HullWhiteOneFactorPiecewiseConstantParameters parameters : PARAMETERS) {
+      HullWhiteOneFactorPiecewiseConstantVarianceCache test = HullWhiteOneFactorPiecewiseConstantVarianceCache.of(parameters);
+      for (int i = 0; i < TIMES.length; i++) {
+        for (int j = i; j < TIMES.length; j++) {
+          double expected = MODEL.beta(parameters, TIMES[i], TIMES[j]);
+          assertEquals(test.beta(TIMES[i], TIMES[j]), expected, TOL * expected);
+        }
+      }
+    }
+  }
+
+  public void test_futuresConvexityFactor() {
+    for (HullWhiteOneFactorPiecewiseConstantParameters parameters : PARAMETERS) {
+      HullWhiteOneFactorPiecewiseConstantVarianceCache test = HullWhiteOneFactorPiecewiseConstantVarianceCache.of(parameters);
+      for (double t0 : TIMES) {
+        double t1 = t0 + 0.01;
+        double t2 = t1 + 0.25;
+        double expected = MODEL.futuresConvexityFactor(parameters, t0, t1, t2);
+        assertEquals(test.futuresConvexityFactor(t0, t1, t2), expected, TOL);
+      }
+    }
+  }
+
+}
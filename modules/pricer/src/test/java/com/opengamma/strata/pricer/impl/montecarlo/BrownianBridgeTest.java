@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link BrownianBridge}.
+ */
+@Test
+public class BrownianBridgeTest {
+
+  private static final DoubleArray TIMES = DoubleArray.of(0.25, 0.5, 1.0, 1.1, 2.0, 3.5, 5.0);
+  private static final double TOL = 1.0e-14;
+
+  public void test_of() {
+    BrownianBridge test = BrownianBridge.of(TIMES);
+    assertEquals(test.getTimes(), TIMES);
+    assertThrowsIllegalArg(() -> BrownianBridge.of(DoubleArray.EMPTY));
+    assertThrowsIllegalArg(() -> BrownianBridge.of(DoubleArray.of(0d, 1d)));
+    assertThrowsIllegalArg(() -> BrownianBridge.of(DoubleArray.of(1d, 1d)));
+  }
+
+  /**
+   * The construction is an orthogonal transformation.
+   */
+  public void test_orthogonal() {
+    BrownianBridge test = BrownianBridge.of(TIMES);
+    int n = TIMES.size();
+    double[][] columns = new double[n][n];
+    for (int i = 0; i < n; i++) {
+      double[] normals = new double[n];
+      normals[i] = 1d;
+      test.increments(normals, columns[i]);
+    }
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        double product = 0d;
+        for (int k = 0; k < n; k++) {
+          product += columns[i][k] * columns[j][k];
+        }
+        assertEquals(product, i == j ? 1d : 0d, TOL);
+      }
+    }
+  }
+
+  /**
+   * The first variate drives the value at the last time.
+   */
+  public void test_terminal() {
+    BrownianBridge test = BrownianBridge.of(TIMES);
+    int n = TIMES.size();
+    double[] normals = new double[] {0.3, -1.2, 0.7, 2.1, -0.4, 0.9, -1.5};
+    double[] increments = new double[n];
+    test.increments(normals, increments);
+    double terminal = 0d;
+    for (int i = 0; i < n; i++) {
+      terminal += increments[i] * Math.sqrt(TIMES.get(i) - (i == 0 ? 0d : TIMES.get(i - 1)));
+    }
+    assertEquals(terminal, normals[0] * Math.sqrt(TIMES.get(n - 1)), TOL);
+  }
+
+  public void test_single() {
+    BrownianBridge test = BrownianBridge.of(DoubleArray.of(2d));
+    double[] increments = new double[1];
+    test.increments(new double[] {0.5}, increments);
+    assertEquals(increments[0], 0.5, TOL);
+  }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Vague performance test of the Monte Carlo engine, reporting the paths per second per core.
+ */
+public class MonteCarloEnginePerformance {
+
+  private static final int NB_PATHS = 1_000_000;
+  private static final int NB_STEPS = 52;
+  private static final DoubleArray TIMES = DoubleArray.of(NB_STEPS, i -> (i + 1) / (double) NB_STEPS);
+  private static final LocalVolatilityPathGenerator FX_PATHS = LocalVolatilityPathGenerator.of(
+      1.25, TIMES, TIMES.map(t -> 1.25 * Math.exp(0.01 * t)), (t, s) -> 0.2 * Math.sqrt(1.25 / s));
+  private static final HullWhiteOneFactorPathGenerator HW_PATHS = HullWhiteOneFactorPathGenerator.of(
+      HullWhiteOneFactorPiecewiseConstantParameters.of(
+          0.01, DoubleArray.of(0.01, 0.011, 0.012, 0.013, 0.014), DoubleArray.of(0.5, 1.0, 2.0, 5.0)),
+      TIMES,
+      1d);
+  private static final ToDoubleFunction<double[]> FX_ASIAN = path -> {
+    double average = 0d;
+    for (double value : path) {
+      average += value;
+    }
+    return Math.max(average / path.length - 1.25, 0d);
+  };
+  private static final ToDoubleFunction<double[]> HW_BOND = path -> HW_PATHS.rebasedBondFactor(path, NB_STEPS - 1, 10d);
+
+  public static void main(String[] args) throws Exception {
+    System.out.println("Go");
+    for (int i = 0; i < 5; i++) {
+      process();
+    }
+  }
+
+  private static void process() {
+    int cores = ForkJoinPool.commonPool().getParallelism();
+    MonteCarloEngine engine = MonteCarloEngine.of(NB_PATHS);
+    NormalVariateGenerator pseudo = PseudoRandomNormalVariateGenerator.of(1L);
+    NormalVariateGenerator sobol = SobolNormalVariateGenerator.of(NB_STEPS);
+    report("FX local vol, pseudo-random, sequential", 1, () -> engine.price(pseudo, FX_PATHS, FX_ASIAN));
+    report("FX local vol, pseudo-random, parallel", cores, () -> engine.parallel().price(pseudo, FX_PATHS, FX_ASIAN));
+    report("FX local vol, Sobol and bridge, parallel", cores,
+        () -> engine.withBrownianBridge().parallel().price(sobol, FX_PATHS, FX_ASIAN));
+    report("Hull-White, pseudo-random, sequential", 1, () -> engine.price(pseudo, HW_PATHS, HW_BOND));
+    report("Hull-White, pseudo-random, parallel", cores, () -> engine.parallel().price(pseudo, HW_PATHS, HW_BOND));
+  }
+
+  private static void report(String name, int cores, Supplier<MonteCarloResult> pricer) {
+    long start = System.nanoTime();
+    MonteCarloResult result = pricer.get();
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.println(name + ": " + result.getValue() + " +/- " + result.getStandardError() + ", " +
+        Math.round(NB_PATHS / seconds / cores) + " paths/s/core on " + cores + " cores");
+  }
+
+}
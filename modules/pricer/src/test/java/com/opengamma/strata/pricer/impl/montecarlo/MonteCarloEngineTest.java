@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link MonteCarloEngine}.
+ */
+@Test
+public class MonteCarloEngineTest {
+
+  private static final int NB_PATHS = 20000;
+  private static final double SPOT = 1.25;
+  private static final double RATE = 0.015;
+  private static final double VOLATILITY = 0.2;
+  private static final double STRIKE = 1.3;
+  private static final DoubleArray TIMES = DoubleArray.of(12, i -> (i + 1) / 12d);
+  private static final DoubleArray FORWARDS = TIMES.map(t -> SPOT * Math.exp(RATE * t));
+  private static final double EXPIRY = TIMES.get(TIMES.size() - 1);
+  private static final double FORWARD = FORWARDS.get(FORWARDS.size() - 1);
+  private static final LocalVolatilityPathGenerator BLACK_PATHS =
+      LocalVolatilityPathGenerator.ofBlack(SPOT, TIMES, FORWARDS, VOLATILITY);
+  private static final ToDoubleFunction<double[]> CALL = path -> Math.max(path[path.length - 1] - STRIKE, 0d);
+  private static final ToDoubleFunction<double[]> TERMINAL = path -> path[path.length - 1];
+  private static final double BLACK_PRICE = BlackFormulaRepository.price(FORWARD, STRIKE, EXPIRY, VOLATILITY, true);
+  private static final NormalVariateGenerator PSEUDO = PseudoRandomNormalVariateGenerator.of(12345L);
+  private static final NormalVariateGenerator SOBOL = SobolNormalVariateGenerator.of(TIMES.size());
+  private static final double NB_STD_DEV = 4d;
+
+  public void test_of() {
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(0));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(10).withBlockSize(0));
+    MonteCarloResult test = MonteCarloEngine.of(10).price(PSEUDO, BLACK_PATHS, CALL);
+    assertEquals(test.getNumberOfSamples(), 10L);
+    assertEquals(test.getNumberOfPaths(), 10L);
+    MonteCarloResult antithetic = MonteCarloEngine.of(10).withAntitheticVariates().price(PSEUDO, BLACK_PATHS, CALL);
+    assertEquals(antithetic.getNumberOfSamples(), 10L);
+    assertEquals(antithetic.getNumberOfPaths(), 20L);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_black() {
+    MonteCarloResult test = MonteCarloEngine.of(NB_PATHS).price(PSEUDO, BLACK_PATHS, CALL);
+    assertEquals(test.getValue(), BLACK_PRICE, NB_STD_DEV * test.getStandardError());
+    assertEquals(test.getNumberOfSamples(), (long) NB_PATHS);
+  }
+
+  public void test_black_antithetic() {
+    MonteCarloResult plain = MonteCarloEngine.of(NB_PATHS).price(PSEUDO, BLACK_PATHS, CALL);
+    MonteCarloResult test = MonteCarloEngine.of(NB_PATHS).withAntitheticVariates().price(PSEUDO, BLACK_PATHS, CALL);
+    assertEquals(test.getValue(), BLACK_PRICE, NB_STD_DEV * test.getStandardError());
+    assertTrue(test.getStandardError() < plain.getStandardError());
+  }
+
+  public void test_black_control() {
+    MonteCarloResult plain = MonteCarloEngine.of(NB_PATHS).price(PSEUDO, BLACK_PATHS, CALL);
+    MonteCarloResult test = MonteCarloEngine.of(NB_PATHS).price(PSEUDO, BLACK_PATHS, CALL, TERMINAL, FORWARD);
+    assertEquals(test.getValue(), BLACK_PRICE, NB_STD_DEV * test.getStandardError());
+    assertTrue(test.getStandardError() < 0.5 * plain.getStandardError());
+  }
+
+  public void test_black_sobol() {
+    MonteCarloResult test = MonteCarloEngine.of(NB_PATHS).withBrownianBridge().price(SOBOL, BLACK_PATHS, CALL);
+    assertEquals(test.getValue(), BLACK_PRICE, 1.0e-4);
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(10).price(SobolNormalVariateGenerator.of(3), BLACK_PATHS, CALL));
+  }
+
+  public void test_black_largeOffset() {
+    // the variance does not suffer from cancellation when the payoff is large compared to its standard deviation
+    double offset = 1.0e8;
+    MonteCarloEngine engine = MonteCarloEngine.of(NB_PATHS).withBlockSize(700);
+    MonteCarloResult expected = engine.price(PSEUDO, BLACK_PATHS, CALL, TERMINAL, FORWARD);
+    MonteCarloResult test = engine.price(
+        PSEUDO, BLACK_PATHS, path -> offset + CALL.applyAsDouble(path), path -> offset + TERMINAL.applyAsDouble(path),
+        offset + FORWARD);
+    assertEquals(test.getValue() - offset, expected.getValue(), 1.0e-7);
+    assertEquals(test.getStandardError(), expected.getStandardError(), 1.0e-3 * expected.getStandardError());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parallel() {
+    MonteCarloEngine engine = MonteCarloEngine.of(NB_PATHS + 17).withBlockSize(500).withAntitheticVariates();
+    MonteCarloResult sequential = engine.price(PSEUDO, BLACK_PATHS, CALL, TERMINAL, FORWARD);
+    MonteCarloResult parallel = engine.parallel().price(PSEUDO, BLACK_PATHS, CALL, TERMINAL, FORWARD);
+    MonteCarloResult pool = engine.parallel(new ForkJoinPool(3)).price(PSEUDO, BLACK_PATHS, CALL, TERMINAL, FORWARD);
+    assertEquals(parallel, sequential);
+    assertEquals(pool, sequential);
+    MonteCarloEngine sobol = MonteCarloEngine.of(NB_PATHS).withBrownianBridge();
+    assertEquals(sobol.parallel().price(SOBOL, BLACK_PATHS, CALL), sobol.price(SOBOL, BLACK_PATHS, CALL));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_localVolatility() {
+    // the forward is a martingale for any local volatility
+    LocalVolatilityPathGenerator paths = LocalVolatilityPathGenerator.of(
+        SPOT, TIMES, FORWARDS, (t, s) -> VOLATILITY * Math.sqrt(SPOT / s));
+    MonteCarloResult test = MonteCarloEngine.of(NB_PATHS).price(PSEUDO, paths, TERMINAL);
+    assertEquals(test.getValue(), FORWARD, NB_STD_DEV * test.getStandardError());
+    // lower volatility for high values of the underlying
+    MonteCarloResult call = MonteCarloEngine.of(NB_PATHS).price(PSEUDO, paths, CALL, TERMINAL, FORWARD);
+    assertTrue(call.getValue() < BLACK_PRICE);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_hullWhite() {
+    HullWhiteOneFactorPiecewiseConstantParameters parameters = HullWhiteOneFactorPiecewiseConstantParameters.of(
+        0.01, DoubleArray.of(0.01, 0.011, 0.012, 0.013, 0.014), DoubleArray.of(0.5, 1.0, 2.0, 5.0));
+    double expiry = 2.5;
+    double maturity = 7.0;
+    double zeroExpiry = Math.exp(-0.02 * expiry);
+    double zeroMaturity = Math.exp(-0.025 * maturity);
+    double strike = 0.88;
+    DoubleArray times = DoubleArray.of(0.5, 1.0, 2.0, expiry);
+    HullWhiteOneFactorPathGenerator paths = HullWhiteOneFactorPathGenerator.of(parameters, times, expiry);
+    double forward = zeroMaturity / zeroExpiry;
+    // option on the bond, the numeraire is the bond paying at expiry
+    ToDoubleFunction<double[]> bond = path -> forward * paths.rebasedBondFactor(path, times.size() - 1, maturity);
+    ToDoubleFunction<double[]> call = path -> Math.max(bond.applyAsDouble(path) - strike, 0d);
+    double alpha = HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT
+        .alpha(parameters, 0d, expiry, expiry, maturity);
+    double expected = zeroExpiry * BlackFormulaRepository.price(forward, strike, 1d, alpha, true);
+    MonteCarloEngine engine = MonteCarloEngine.of(NB_PATHS).withAntitheticVariates();
+    MonteCarloResult test = engine.price(PSEUDO, paths, call, bond, forward);
+    assertEquals(zeroExpiry * test.getValue(), expected, NB_STD_DEV * zeroExpiry * test.getStandardError());
+    MonteCarloResult sobol = engine.withBrownianBridge().price(SobolNormalVariateGenerator.of(times.size()), paths, call);
+    assertEquals(zeroExpiry * sobol.getValue(), expected, 1.0e-5);
+    // the rebased bonds are martingales
+    MonteCarloResult martingale = MonteCarloEngine.of(NB_PATHS)
+        .price(PSEUDO, paths, path -> paths.rebasedBondFactor(path, 1, 10d));
+    assertEquals(martingale.getValue(), 1d, NB_STD_DEV * martingale.getStandardError());
+  }
+
+  public void test_hullWhite_zeroMeanReversion() {
+    DoubleArray volatility = DoubleArray.of(0.01, 0.011, 0.012);
+    DoubleArray volatilityTime = DoubleArray.of(0.5, 2.0);
+    DoubleArray times = DoubleArray.of(0.5, 1.0, 2.5);
+    double[] path = new double[] {0.002, -0.001, 0.003};
+    HullWhiteOneFactorPathGenerator zero = HullWhiteOneFactorPathGenerator.of(
+        HullWhiteOneFactorPiecewiseConstantParameters.of(0d, volatility, volatilityTime), times, 2.5);
+    HullWhiteOneFactorPathGenerator small = HullWhiteOneFactorPathGenerator.of(
+        HullWhiteOneFactorPiecewiseConstantParameters.of(1.0e-9, volatility, volatilityTime), times, 2.5);
+    for (int i = 0; i < times.size(); i++) {
+      double factor = zero.rebasedBondFactor(path, i, 7d);
+      assertTrue(Double.isFinite(factor));
+      assertEquals(factor, small.rebasedBondFactor(path, i, 7d), 1.0e-9);
+    }
+    // with zero mean reversion, G(T) = T - N and the variance is the integral of sigma^2
+    double variance = 0.01 * 0.01 * 0.5 + 0.011 * 0.011 * 1.5 + 0.012 * 0.012 * 0.5;
+    double expected = Math.exp(-4.5 * path[2] - 0.5 * 4.5 * 4.5 * variance);
+    assertEquals(zero.rebasedBondFactor(path, 2, 7d), expected, 1.0e-14);
+  }
+
+}
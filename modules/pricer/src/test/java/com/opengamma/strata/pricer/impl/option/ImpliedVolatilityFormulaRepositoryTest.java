@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.product.common.PutCall.CALL;
+import static com.opengamma.strata.product.common.PutCall.PUT;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link ImpliedVolatilityFormulaRepository}.
+ */
+@Test
+public class ImpliedVolatilityFormulaRepositoryTest {
+
+  private static final double FORWARD = 0.05;
+  private static final double[] STRIKES = {0.005, 0.01, 0.02, 0.04, 0.049, 0.05, 0.051, 0.06, 0.08, 0.12, 0.2};
+  private static final double[] VOLS = {0.01, 0.05, 0.2, 0.5, 1d, 2d};
+  private static final double[] EXPIRIES = {0.01, 0.5, 2d, 10d};
+  private static final double[] NORMAL_VOLS = {0.0001, 0.001, 0.005, 0.01, 0.03};
+  private static final double TOL = 1.0e-11;
+
+  public void black_recovery() {
+    for (double strike : STRIKES) {
+      for (double vol : VOLS) {
+        for (double expiry : EXPIRIES) {
+          PutCall otm = PutCall.ofPut(strike < FORWARD);
+          double price = BlackFormulaRepository.price(FORWARD, strike, expiry, vol, otm.isCall());
+          if (price < 1.0e-250) {
+            continue; // underflow of the price
+          }
+          double computed = ImpliedVolatilityFormulaRepository.impliedBlackVolatility(price, FORWARD, strike, expiry, otm);
+          // the price is accurate up to cancellation and tail errors in the Black formula
+          double tol = Math.max(TOL, 1.0e-15 * Math.abs(vega(FORWARD, strike, expiry, vol, price)));
+          assertEquals(computed, vol, tol * vol);
+        }
+      }
+    }
+  }
+
+  public void black_inTheMoney() {
+    double vol = 0.3;
+    double expiry = 2d;
+    for (double strike : STRIKES) {
+      double call = BlackFormulaRepository.price(FORWARD, strike, expiry, vol, true);
+      double put = BlackFormulaRepository.price(FORWARD, strike, expiry, vol, false);
+      double fromCall = ImpliedVolatilityFormulaRepository.impliedBlackVolatility(call, FORWARD, strike, expiry, CALL);
+      double fromPut = ImpliedVolatilityFormulaRepository.impliedBlackVolatility(put, FORWARD, strike, expiry, PUT);
+      // time value of in-the-money options subject to cancellation errors
+      double vega = BlackFormulaRepository.vega(FORWARD, strike, expiry, vol);
+      assertEquals(fromCall, vol, Math.max(1.0e-10, 1.0e-15 * call / vega));
+      assertEquals(fromPut, vol, Math.max(1.0e-10, 1.0e-15 * put / vega));
+    }
+  }
+
+  public void black_extreme() {
+    // deep out-of-the-money, very low and very high volatilities
+    double[][] data = {
+        {1d, 3d, 0.05, 1d}, {1d, 0.2, 0.08, 1d}, {1d, 1.001, 1.0e-4, 0.5}, {1d, 1d, 1.0e-6, 1d}, {1d, 1.2, 5d, 1d}};
+    for (double[] d : data) {
+      PutCall otm = PutCall.ofPut(d[1] < d[0]);
+      double price = BlackFormulaRepository.price(d[0], d[1], d[3], d[2], otm.isCall());
+      assertTrue(price > 0d);
+      double computed = ImpliedVolatilityFormulaRepository.impliedBlackVolatility(price, d[0], d[1], d[3], otm);
+      assertEquals(computed, d[2], 1.0e-9 * d[2]);
+    }
+  }
+
+  public void black_consistency() {
+    // very small prices
+    double forward = 1.5;
+    double strike = 2.5;
+    double previous = Double.POSITIVE_INFINITY;
+    for (int i = 1; i <= 100; i++) {
+      double price = Math.pow(10, -3d * i);
+      double vol = ImpliedVolatilityFormulaRepository.impliedBlackVolatility(price, forward, strike, 1d, CALL);
+      assertTrue(vol > 0d && vol < previous);
+      previous = vol;
+    }
+  }
+
+  public void black_batch() {
+    double expiry = 1.5;
+    DoubleArray strikes = DoubleArray.copyOf(STRIKES);
+    DoubleArray prices = strikes.map(k -> BlackFormulaRepository.price(FORWARD, k, expiry, 0.25, true));
+    DoubleArray computed = ImpliedVolatilityFormulaRepository.impliedBlackVolatility(prices, FORWARD, strikes, expiry, CALL);
+    for (int i = 0; i < STRIKES.length; i++) {
+      assertEquals(computed.get(i),
+          ImpliedVolatilityFormulaRepository.impliedBlackVolatility(prices.get(i), FORWARD, STRIKES[i], expiry, CALL));
+    }
+  }
+
+  public void black_zero() {
+    assertEquals(ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0d, FORWARD, 0.06, 1d, CALL), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.impliedBlackVolatility(FORWARD - 0.04, FORWARD, 0.04, 1d, CALL), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0d, FORWARD, 0.06, 0d, CALL), 0d);
+  }
+
+  public void black_invalid() {
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.009, FORWARD, 0.04, 1d, CALL));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.05, FORWARD, 0.06, 1d, CALL));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.01, -FORWARD, 0.06, 1d, CALL));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.01, FORWARD, -0.06, 1d, CALL));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.001, FORWARD, 0.06, 0d, CALL));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(
+        DoubleArray.of(0.001, 0.002), FORWARD, DoubleArray.of(0.06), 1d, CALL));
+  }
+
+  //-------------------------------------------------------------------------
+  public void normal_recovery() {
+    double[] forwards = {-0.005, 0.01, 0.05};
+    for (double forward : forwards) {
+      for (double strike : STRIKES) {
+        for (double vol : NORMAL_VOLS) {
+          for (double expiry : EXPIRIES) {
+            PutCall otm = PutCall.ofPut(strike < forward);
+            double price = NormalFormulaRepository.price(forward, strike, expiry, vol, otm);
+            if (price < 1.0e-250) {
+              continue; // underflow of the price
+            }
+            double computed = ImpliedVolatilityFormulaRepository.impliedNormalVolatility(price, forward, strike, expiry, otm);
+            assertEquals(computed, vol, 1.0e-10 * vol);
+          }
+        }
+      }
+    }
+  }
+
+  public void normal_inTheMoney() {
+    double vol = 0.01;
+    double expiry = 2d;
+    double[] strikes = {0.02, 0.04, 0.049, 0.05, 0.051, 0.06, 0.08};  // time value not lost in the intrinsic value
+    for (double strike : strikes) {
+      double call = NormalFormulaRepository.price(FORWARD, strike, expiry, vol, CALL);
+      double put = NormalFormulaRepository.price(FORWARD, strike, expiry, vol, PUT);
+      double fromCall = ImpliedVolatilityFormulaRepository.impliedNormalVolatility(call, FORWARD, strike, expiry, CALL);
+      double fromPut = ImpliedVolatilityFormulaRepository.impliedNormalVolatility(put, FORWARD, strike, expiry, PUT);
+      double vega = NormalFormulaRepository.vega(FORWARD, strike, expiry, vol, CALL);
+      assertEquals(fromCall, vol, Math.max(1.0e-10, 1.0e-15 * call / vega));
+      assertEquals(fromPut, vol, Math.max(1.0e-10, 1.0e-15 * put / vega));
+    }
+  }
+
+  public void normal_batch() {
+    double expiry = 1.5;
+    DoubleArray strikes = DoubleArray.copyOf(STRIKES);
+    DoubleArray prices = strikes.map(k -> NormalFormulaRepository.price(FORWARD, k, expiry, 0.01, PUT));
+    DoubleArray computed = ImpliedVolatilityFormulaRepository.impliedNormalVolatility(prices, FORWARD, strikes, expiry, PUT);
+    for (int i = 0; i < STRIKES.length; i++) {
+      assertEquals(computed.get(i),
+          ImpliedVolatilityFormulaRepository.impliedNormalVolatility(prices.get(i), FORWARD, STRIKES[i], expiry, PUT));
+    }
+  }
+
+  public void normal_invalid() {
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.impliedNormalVolatility(0.009, FORWARD, 0.04, 1d, CALL));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.impliedNormalVolatility(0.001, FORWARD, 0.06, 0d, CALL));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.impliedNormalVolatility(
+        DoubleArray.of(0.001, 0.002), FORWARD, DoubleArray.of(0.06), 1d, CALL));
+  }
+
+  //-------------------------------------------------------------------------
+  // the ratio of the price to the vega times the volatility, bounding the amplification of price errors
+  private static double vega(double forward, double strike, double expiry, double vol, double price) {
+    return price / (BlackFormulaRepository.vega(forward, strike, expiry, vol) * vol);
+  }
+
+}
@@ -10,6 +10,7 @@ import static com.opengamma.strata.basics.index.OvernightIndices.CHF_TOIS;
 import static com.opengamma.strata.basics.index.OvernightIndices.GBP_SONIA;
 import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
 import static com.opengamma.strata.collect.TestHelper.date;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -19,6 +20,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.DoubleStream;
 
 import org.testng.annotations.Test;
 
@@ -39,9 +41,11 @@ import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.OvernightIndexRates;
+import com.opengamma.strata.pricer.rate.OvernightRateRangeSensitivity;
 import com.opengamma.strata.pricer.rate.OvernightRateSensitivity;
 import com.opengamma.strata.pricer.rate.SimpleRatesProvider;
 import com.opengamma.strata.pricer.sensitivity.RatesFiniteDifferenceSensitivityCalculator;
@@ -134,6 +138,7 @@ public class ForwardOvernightAveragedRateComputationFnTest {
     OvernightIndexRates mockRates = mock(OvernightIndexRates.class);
     when(mockRates.getIndex()).thenReturn(USD_FED_FUND);
     SimpleRatesProvider simpleProv = new SimpleRatesProvider(mockRates);
+    mockForwardRange(mockRates);
 
     for (int i = 0; i < USD_OBS.length; i++) {
       when(mockRates.rate(USD_OBS[i])).thenReturn(FIXING_RATES[i]);
@@ -148,10 +153,13 @@ public class ForwardOvernightAveragedRateComputationFnTest {
     PointSensitivityBuilder sensitivityBuilderComputed = obsFn.rateSensitivity(ro, DUMMY_ACCRUAL_START_DATE,
         DUMMY_ACCRUAL_END_DATE, simpleProv);
     PointSensitivities sensitivityComputed = sensitivityBuilderComputed.build().normalized();
+    assertEquals(sensitivityComputed.getSensitivities().stream()
+        .filter(s -> s instanceof OvernightRateRangeSensitivity).count(), 1L);
     Double[] sensitivityExpected = computedSensitivityFD(ro, USD_FED_FUND, USD_OBS);
-    assertEquals(sensitivityComputed.getSensitivities().size(), sensitivityExpected.length);
+    Double[] sensitivityByFixing = fixingSensitivities(sensitivityComputed, USD_OBS);
+    assertEquals(sensitivityByFixing.length, sensitivityExpected.length);
     for (int i = 0; i < sensitivityExpected.length; ++i) {
-      assertEquals(sensitivityComputed.getSensitivities().get(i).getSensitivity(), sensitivityExpected[i], EPS_FD);
+      assertEquals(sensitivityByFixing[i], sensitivityExpected[i], EPS_FD);
     }
   }
 
@@ -193,6 +201,7 @@ public class ForwardOvernightAveragedRateComputationFnTest {
     OvernightIndexRates mockRates = mock(OvernightIndexRates.class);
     when(mockRates.getIndex()).thenReturn(USD_FED_FUND);
     SimpleRatesProvider simpleProv = new SimpleRatesProvider(mockRates);
+    mockForwardRange(mockRates);
 
     for (int i = 0; i < USD_OBS.length; i++) {
       when(mockRates.rate(USD_OBS[i])).thenReturn(FIXING_RATES[i]);
@@ -206,10 +215,13 @@ public class ForwardOvernightAveragedRateComputationFnTest {
     PointSensitivityBuilder sensitivityBuilderComputed = obsFn.rateSensitivity(ro, DUMMY_ACCRUAL_START_DATE,
         DUMMY_ACCRUAL_END_DATE, simpleProv);
     PointSensitivities sensitivityComputed = sensitivityBuilderComputed.build().normalized();
+    assertEquals(sensitivityComputed.getSensitivities().stream()
+        .filter(s -> s instanceof OvernightRateRangeSensitivity).count(), 1L);
     Double[] sensitivityExpected = computedSensitivityFD(ro, USD_FED_FUND, USD_OBS);
-    assertEquals(sensitivityComputed.getSensitivities().size(), sensitivityExpected.length);
+    Double[] sensitivityByFixing = fixingSensitivities(sensitivityComputed, USD_OBS);
+    assertEquals(sensitivityByFixing.length, sensitivityExpected.length);
     for (int i = 0; i < sensitivityExpected.length; ++i) {
-      assertEquals(sensitivityComputed.getSensitivities().get(i).getSensitivity(), sensitivityExpected[i], EPS_FD);
+      assertEquals(sensitivityByFixing[i], sensitivityExpected[i], EPS_FD);
     }
   }
 
@@ -251,6 +263,7 @@ public class ForwardOvernightAveragedRateComputationFnTest {
     OvernightIndexRates mockRates = mock(OvernightIndexRates.class);
     when(mockRates.getIndex()).thenReturn(CHF_TOIS);
     SimpleRatesProvider simpleProv = new SimpleRatesProvider(mockRates);
+    mockForwardRange(mockRates);
 
     for (int i = 0; i < CHF_OBS.length; i++) {
       when(mockRates.rate(CHF_OBS[i])).thenReturn(FIXING_RATES[i]);
@@ -263,10 +276,13 @@ public class ForwardOvernightAveragedRateComputationFnTest {
     PointSensitivityBuilder sensitivityBuilderComputed = obsFn.rateSensitivity(ro, DUMMY_ACCRUAL_START_DATE,
         DUMMY_ACCRUAL_END_DATE, simpleProv);
     PointSensitivities sensitivityComputed = sensitivityBuilderComputed.build().normalized();
+    assertEquals(sensitivityComputed.getSensitivities().stream()
+        .filter(s -> s instanceof OvernightRateRangeSensitivity).count(), 1L);
     Double[] sensitivityExpected = computedSensitivityFD(ro, CHF_TOIS, CHF_OBS);
-    assertEquals(sensitivityComputed.getSensitivities().size(), sensitivityExpected.length);
+    Double[] sensitivityByFixing = fixingSensitivities(sensitivityComputed, CHF_OBS);
+    assertEquals(sensitivityByFixing.length, sensitivityExpected.length);
     for (int i = 0; i < sensitivityExpected.length; ++i) {
-      assertEquals(sensitivityComputed.getSensitivities().get(i).getSensitivity(), sensitivityExpected[i], EPS_FD);
+      assertEquals(sensitivityByFixing[i], sensitivityExpected[i], EPS_FD);
     }
   }
 
@@ -304,6 +320,7 @@ public class ForwardOvernightAveragedRateComputationFnTest {
     OvernightIndexRates mockRates = mock(OvernightIndexRates.class);
     when(mockRates.getIndex()).thenReturn(GBP_SONIA);
     SimpleRatesProvider simpleProv = new SimpleRatesProvider(mockRates);
+    mockForwardRange(mockRates);
 
     for (int i = 0; i < GBP_OBS.length; i++) {
       when(mockRates.rate(GBP_OBS[i])).thenReturn(FIXING_RATES[i]);
@@ -316,10 +333,13 @@ public class ForwardOvernightAveragedRateComputationFnTest {
     PointSensitivityBuilder sensitivityBuilderComputed = obsFn.rateSensitivity(ro, DUMMY_ACCRUAL_START_DATE,
         DUMMY_ACCRUAL_END_DATE, simpleProv);
     PointSensitivities sensitivityComputed = sensitivityBuilderComputed.build().normalized();
+    assertEquals(sensitivityComputed.getSensitivities().stream()
+        .filter(s -> s instanceof OvernightRateRangeSensitivity).count(), 1L);
     Double[] sensitivityExpected = computedSensitivityFD(ro, GBP_SONIA, GBP_OBS);
-    assertEquals(sensitivityComputed.getSensitivities().size(), sensitivityExpected.length);
+    Double[] sensitivityByFixing = fixingSensitivities(sensitivityComputed, GBP_OBS);
+    assertEquals(sensitivityByFixing.length, sensitivityExpected.length);
     for (int i = 0; i < sensitivityExpected.length; ++i) {
-      assertEquals(sensitivityComputed.getSensitivities().get(i).getSensitivity(), sensitivityExpected[i], EPS_FD);
+      assertEquals(sensitivityByFixing[i], sensitivityExpected[i], EPS_FD);
     }
   }
 
@@ -392,6 +412,33 @@ public class ForwardOvernightAveragedRateComputationFnTest {
     }
   }
 
+  // all the fixings are forward rates, with the range sensitivity of the curve based implementation
+  private static void mockForwardRange(OvernightIndexRates mockRates) {
+    when(mockRates.getValuationDate()).thenReturn(DUMMY_ACCRUAL_START_DATE);
+    when(mockRates.rateRangePointSensitivity(any(), any(), any())).thenAnswer(
+        invocation -> OvernightRateRangeSensitivity.of(invocation.getArgument(0), invocation.getArgument(1), 1d));
+  }
+
+  // the sensitivity to each fixing, with the range sensitivity split into the daily fixings
+  private static Double[] fixingSensitivities(PointSensitivities sensitivities, OvernightIndexObservation[] indexObs) {
+    double[] result = new double[indexObs.length];
+    for (PointSensitivity point : sensitivities.getSensitivities()) {
+      for (int i = 0; i < indexObs.length; i++) {
+        if (point instanceof OvernightRateRangeSensitivity) {
+          OvernightRateRangeSensitivity range = (OvernightRateRangeSensitivity) point;
+          LocalDate effectiveDate = indexObs[i].getEffectiveDate();
+          if (!effectiveDate.isBefore(range.getObservation().getEffectiveDate()) &&
+              effectiveDate.isBefore(range.getEndDate())) {
+            result[i] += range.getSensitivity() * indexObs[i].getYearFraction();
+          }
+        } else if (((OvernightRateSensitivity) point).getObservation().equals(indexObs[i])) {
+          result[i] += point.getSensitivity();
+        }
+      }
+    }
+    return DoubleStream.of(result).filter(value -> Math.abs(value) > 1.0e-14).boxed().toArray(Double[]::new);
+  }
+
   private Double[] computedSensitivityFD(
       OvernightAveragedRateComputation ro, OvernightIndex index, OvernightIndexObservation[] indexObs) {
 
@@ -22,6 +22,8 @@ import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -958,6 +960,70 @@ public class ForwardOvernightCompoundedRateComputationFnTest {
         PricingException.class);
   }
 
+  /** Long history of fixings, valuation after the end of the periods. Compare with compounding day by day. */
+  public void rateFedFundLongHistory() {
+    LocalDate valuationDate = date(2016, 12, 30);
+    LocalDateDoubleTimeSeries fixings = longHistoryFixings(valuationDate);
+    OvernightIndexRates mockRates = mock(OvernightIndexRates.class);
+    when(mockRates.getIndex()).thenReturn(USD_FED_FUND);
+    when(mockRates.getValuationDate()).thenReturn(valuationDate);
+    when(mockRates.getFixings()).thenReturn(fixings);
+    SimpleRatesProvider simpleProv = new SimpleRatesProvider(valuationDate, mockRates);
+    assertLongHistory(USD_FED_FUND, fixings, valuationDate);
+    // missing fixing within the history
+    when(mockRates.getFixings()).thenReturn(fixings.filter((date, value) -> !date.equals(date(2015, 6, 1))));
+    OvernightCompoundedRateComputation ro =
+        OvernightCompoundedRateComputation.of(USD_FED_FUND, date(2015, 3, 9), date(2016, 3, 9), 0, REF_DATA);
+    assertThrows(
+        () -> OBS_FWD_ONCMP.rate(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, simpleProv),
+        PricingException.class);
+  }
+
+  // compares the rates of several periods with compounding day by day
+  private static void assertLongHistory(OvernightIndex index, LocalDateDoubleTimeSeries fixings, LocalDate valuationDate) {
+    OvernightIndexRates mockRates = mock(OvernightIndexRates.class);
+    when(mockRates.getIndex()).thenReturn(index);
+    when(mockRates.getValuationDate()).thenReturn(valuationDate);
+    when(mockRates.getFixings()).thenReturn(fixings);
+    SimpleRatesProvider provider = new SimpleRatesProvider(valuationDate, mockRates);
+    LocalDate[][] periods = {
+        {date(2014, 1, 2), date(2014, 4, 2)},
+        {date(2015, 3, 9), date(2016, 3, 9)},
+        {date(2016, 6, 1), date(2016, 12, 1)}};
+    for (LocalDate[] period : periods) {
+      for (int cutoff = 0; cutoff < 3; cutoff++) {
+        OvernightCompoundedRateComputation ro =
+            OvernightCompoundedRateComputation.of(index, period[0], period[1], cutoff, REF_DATA);
+        double compositionFactor = 1.0d;
+        LocalDate lastFixing = ro.getFixingCalendar().previous(ro.getEndDate());
+        LocalDate lastFixingNonCutoff = ro.getFixingCalendar().shift(lastFixing, -Math.max(cutoff - 1, 0));
+        LocalDate fixing = ro.getStartDate();
+        for (; fixing.isBefore(ro.getEndDate()); fixing = ro.getFixingCalendar().next(fixing)) {
+          LocalDate effective = ro.calculateEffectiveFromFixing(fixing);
+          LocalDate maturity = ro.calculateMaturityFromEffective(effective);
+          double rate = fixings.get(fixing.isAfter(lastFixingNonCutoff) ? lastFixingNonCutoff : fixing).getAsDouble();
+          compositionFactor *= 1.0d + index.getDayCount().yearFraction(effective, maturity) * rate;
+        }
+        double accrualFactorTotal = index.getDayCount().yearFraction(
+            ro.calculateEffectiveFromFixing(ro.getStartDate()), ro.calculateMaturityFromFixing(lastFixing));
+        double rateExpected = (compositionFactor - 1.0d) / accrualFactorTotal;
+        double rateComputed = OBS_FWD_ONCMP.rate(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, provider);
+        // without cutoff the factors are compounded in the same order, thus the result is identical
+        assertEquals(rateComputed, rateExpected, cutoff == 0 ? 0d : TOLERANCE_RATE);
+      }
+    }
+  }
+
+  // fixings on every US business day from the start of 2014 to the valuation date
+  private static LocalDateDoubleTimeSeries longHistoryFixings(LocalDate valuationDate) {
+    HolidayCalendar calendar = REF_DATA.getValue(USD_FED_FUND.getFixingCalendar());
+    LocalDateDoubleTimeSeriesBuilder tsb = LocalDateDoubleTimeSeries.builder();
+    for (LocalDate fixing = date(2014, 1, 2); fixing.isBefore(valuationDate); fixing = calendar.next(fixing)) {
+      tsb.put(fixing, 0.001 + fixing.getDayOfYear() * 1.0E-5);
+    }
+    return tsb.build();
+  }
+
   //-------------------------------------------------------------------------
   private static final CurveInterpolator INTERPOLATOR = CurveInterpolators.DOUBLE_QUADRATIC;
   private static final LocalDateDoubleTimeSeries TIME_SERIES;
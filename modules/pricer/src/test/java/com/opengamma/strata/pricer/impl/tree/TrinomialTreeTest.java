@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.impl.tree;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -18,6 +19,7 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 import com.opengamma.strata.product.common.PutCall;
+import com.opengamma.strata.product.option.BarrierType;
 
 /**
  * Test {@link TrinomialTree}.
@@ -82,4 +84,209 @@ public class TrinomialTreeTest {
     }
   }
 
+  /**
+   * Test the pathwise derivatives against finite difference.
+   */
+  public void test_optionPriceAdjoint() {
+    int nSteps = 135;
+    double fdEps = 1.0e-6;
+    LatticeSpecification[] lattices =
+        new LatticeSpecification[] {new CoxRossRubinsteinLatticeSpecification(), new TrigeorgisLatticeSpecification()};
+    TrinomialTreeWorkspace workspace = new TrinomialTreeWorkspace();
+    for (LatticeSpecification lattice : lattices) {
+      for (boolean isCall : new boolean[] {true, false }) {
+        for (double strike : STRIKES) {
+          for (double interest : INTERESTS) {
+            for (double vol : VOLS) {
+              for (double dividend : DIVIDENDS) {
+                OptionFunction function = EuropeanVanillaOptionFunction.of(strike, TIME, PutCall.ofPut(!isCall), nSteps);
+                assertAdjoint(function, lattice, vol, interest, dividend, fdEps, workspace);
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Test the pathwise derivatives of barrier options against finite difference.
+   */
+  public void test_optionPriceAdjoint_barrier() {
+    int nSteps = 98;
+    double fdEps = 1.0e-7;
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    DoubleArray rebate = DoubleArray.of(nSteps + 1, i -> 2d);
+    TrinomialTreeWorkspace workspace = new TrinomialTreeWorkspace();
+    for (BarrierType type : BarrierType.values()) {
+      double barrier = type.isDown() ? 91.3 : 118.7;
+      for (boolean isCall : new boolean[] {true, false }) {
+        for (double strike : new double[] {97., 105., 114. }) {
+          for (double vol : new double[] {0.1, 0.2 }) {
+            OptionFunction function = ConstantContinuousSingleBarrierKnockoutFunction.of(
+                strike, TIME, PutCall.ofPut(!isCall), nSteps, type, barrier, rebate);
+            assertAdjoint(function, lattice, vol, 0.03, 0.01, fdEps, workspace);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Test the workspace is reused without affecting the result.
+   */
+  public void test_workspace() {
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    TrinomialTreeWorkspace workspace = new TrinomialTreeWorkspace();
+    for (int nSteps : new int[] {50, 20, 80 }) {
+      OptionFunction function = EuropeanVanillaOptionFunction.of(STRIKES[1], TIME, PutCall.CALL, nSteps);
+      double expected = TRINOMIAL_TREE.optionPrice(function, lattice, SPOT, VOLS[1], INTERESTS[2], DIVIDENDS[1]);
+      for (int i = 0; i < 2; ++i) {
+        assertEquals(
+            TRINOMIAL_TREE.optionPrice(function, lattice, SPOT, VOLS[1], INTERESTS[2], DIVIDENDS[1], workspace), expected);
+        assertEquals(TRINOMIAL_TREE.optionPriceAdjoint(
+            function, lattice, SPOT, VOLS[1], INTERESTS[2], DIVIDENDS[1], workspace).getValue(), expected);
+      }
+    }
+  }
+
+  /**
+   * Test an option function not supporting the workspace is rolled back by {@code getNextOptionValues}.
+   */
+  public void test_customRollback() {
+    int nSteps = 80;
+    double dt = TIME / nSteps;
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    EuropeanVanillaOptionFunction european = EuropeanVanillaOptionFunction.of(STRIKES[3], TIME, PutCall.PUT, nSteps);
+    OptionFunction american = new AmericanPutFunction(european);
+    double interest = INTERESTS[2];
+    double vol = VOLS[1];
+    double dividend = DIVIDENDS[0];
+    // expected from the step-by-step methods
+    double[] params = lattice.getParametersTrinomial(vol, interest - dividend, dt).toArray();
+    double df = Math.exp(-interest * dt);
+    DoubleArray values = american.getPayoffAtExpiryTrinomial(SPOT, params[2], params[1]);
+    for (int i = nSteps - 1; i > -1; --i) {
+      values = american.getNextOptionValues(df, params[3], params[4], params[5], values, SPOT, params[2], params[1], i);
+    }
+    double expected = values.get(0);
+    double computed = TRINOMIAL_TREE.optionPrice(american, lattice, SPOT, vol, interest, dividend);
+    assertEquals(computed, expected);
+    assertTrue(computed > TRINOMIAL_TREE.optionPrice(european, lattice, SPOT, vol, interest, dividend) + 0.1);
+    assertAdjoint(american, lattice, vol, interest, dividend, 1.0e-6, new TrinomialTreeWorkspace());
+  }
+
+  /**
+   * Test the default payoff derivative of {@code OptionFunction}.
+   */
+  public void test_optionPriceAdjoint_defaultPayoffDerivative() {
+    int nSteps = 135;
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    for (double strike : new double[] {STRIKES[1], STRIKES[4]}) {
+      EuropeanVanillaOptionFunction european = EuropeanVanillaOptionFunction.of(strike, TIME, PutCall.CALL, nSteps);
+      OptionFunction function = new OptionFunction() {
+        @Override
+        public double getTimeToExpiry() {
+          return european.getTimeToExpiry();
+        }
+
+        @Override
+        public int getNumberOfSteps() {
+          return european.getNumberOfSteps();
+        }
+
+        @Override
+        public DoubleArray getPayoffAtExpiryTrinomial(DoubleArray stateValue) {
+          return european.getPayoffAtExpiryTrinomial(stateValue);
+        }
+
+        @Override
+        public boolean supportsTrinomialWorkspace() {
+          return true;
+        }
+
+        @Override
+        public boolean supportsTrinomialPathwiseDerivatives() {
+          return true;
+        }
+      };
+      ValueDerivatives expected =
+          TRINOMIAL_TREE.optionPriceAdjoint(european, lattice, SPOT, VOLS[1], INTERESTS[2], DIVIDENDS[1]);
+      ValueDerivatives computed =
+          TRINOMIAL_TREE.optionPriceAdjoint(function, lattice, SPOT, VOLS[1], INTERESTS[2], DIVIDENDS[1]);
+      assertEquals(computed.getValue(), expected.getValue());
+      for (int i = 0; i < 4; ++i) {
+        double tol = 1.0e-8 * Math.max(Math.abs(expected.getDerivative(i)), 1d);
+        assertEquals(computed.getDerivative(i), expected.getDerivative(i), tol);
+      }
+    }
+  }
+
+  private void assertAdjoint(
+      OptionFunction function,
+      LatticeSpecification lattice,
+      double vol,
+      double interest,
+      double dividend,
+      double fdEps,
+      TrinomialTreeWorkspace workspace) {
+
+    double price = TRINOMIAL_TREE.optionPrice(function, lattice, SPOT, vol, interest, dividend);
+    ValueDerivatives computed =
+        TRINOMIAL_TREE.optionPriceAdjoint(function, lattice, SPOT, vol, interest, dividend, workspace);
+    assertEquals(computed.getValue(), price, 1.0e-12 * Math.max(price, 1d));
+    double[] fd = new double[4];
+    fd[0] = 0.5 * (TRINOMIAL_TREE.optionPrice(function, lattice, SPOT + fdEps, vol, interest, dividend) -
+        TRINOMIAL_TREE.optionPrice(function, lattice, SPOT - fdEps, vol, interest, dividend)) / fdEps;
+    fd[1] = 0.5 * (TRINOMIAL_TREE.optionPrice(function, lattice, SPOT, vol + fdEps, interest, dividend) -
+        TRINOMIAL_TREE.optionPrice(function, lattice, SPOT, vol - fdEps, interest, dividend)) / fdEps;
+    fd[2] = 0.5 * (TRINOMIAL_TREE.optionPrice(function, lattice, SPOT, vol, interest + fdEps, dividend) -
+        TRINOMIAL_TREE.optionPrice(function, lattice, SPOT, vol, interest - fdEps, dividend)) / fdEps;
+    fd[3] = 0.5 * (TRINOMIAL_TREE.optionPrice(function, lattice, SPOT, vol, interest, dividend + fdEps) -
+        TRINOMIAL_TREE.optionPrice(function, lattice, SPOT, vol, interest, dividend - fdEps)) / fdEps;
+    for (int i = 0; i < 4; ++i) {
+      assertEquals(computed.getDerivative(i), fd[i], 1.0e-6 * Math.max(Math.abs(fd[i]), 1d));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // American put defined by the step-by-step methods
+  private static final class AmericanPutFunction implements OptionFunction {
+    private final EuropeanVanillaOptionFunction european;
+
+    private AmericanPutFunction(EuropeanVanillaOptionFunction european) {
+      this.european = european;
+    }
+
+    @Override
+    public double getTimeToExpiry() {
+      return european.getTimeToExpiry();
+    }
+
+    @Override
+    public int getNumberOfSteps() {
+      return european.getNumberOfSteps();
+    }
+
+    @Override
+    public DoubleArray getPayoffAtExpiryTrinomial(DoubleArray stateValue) {
+      return european.getPayoffAtExpiryTrinomial(stateValue);
+    }
+
+    @Override
+    public DoubleArray getNextOptionValues(
+        double discountFactor,
+        DoubleMatrix transitionProbability,
+        DoubleArray stateValue,
+        DoubleArray value,
+        int i) {
+
+      double strike = european.getStrike();
+      return DoubleArray.of(2 * i + 1, j -> Math.max(
+          discountFactor * (transitionProbability.get(j, 2) * value.get(j + 2) +
+              transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)),
+          strike - stateValue.get(j)));
+    }
+  }
+
 }
@@ -349,6 +349,44 @@ public class SabrHaganVolatilityFunctionProviderTest extends SabrVolatilityFunct
     assertThrowsIllegalArg(() -> FUNCTION.volatilityAdjoint(10 * F, STRIKE_ITM, T, dataIn));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_batch() {
+    double[] strikes = {0d, 1.0e-15, 0.001, 0.01, 0.02, 0.0450, F, F + 1.0e-9, 0.0550, 0.08, 0.15, 0.5};
+    SabrFormulaData[] data = {
+        DATA,
+        SabrFormulaData.of(ALPHA, 0d, RHO, NU),
+        SabrFormulaData.of(ALPHA, 1d, RHO, NU),
+        SabrFormulaData.of(ALPHA, BETA, -0.9, NU),
+        SabrFormulaData.of(ALPHA, BETA, RHO, 0d),
+        SabrFormulaData.of(ALPHA, BETA, 0.95, 1.5),
+        SabrFormulaData.of(0d, BETA, RHO, NU)};
+    for (SabrFormulaData sabr : data) {
+      double[] vols = new double[strikes.length];
+      double[] volsAdj = new double[strikes.length];
+      double[][] volsD = new double[6][strikes.length];
+      FUNCTION.volatility(F, strikes, T, sabr, vols);
+      FUNCTION.volatilityAdjoint(F, strikes, T, sabr, volsAdj, volsD);
+      for (int i = 0; i < strikes.length; i++) {
+        double expected = FUNCTION.volatility(F, strikes[i], T, sabr);
+        ValueDerivatives expectedAdj = FUNCTION.volatilityAdjoint(F, strikes[i], T, sabr);
+        assertEquals(vols[i], expected, 1.0e-12 * Math.max(1d, expected));
+        assertEquals(volsAdj[i], expectedAdj.getValue(), 1.0e-12 * Math.max(1d, expectedAdj.getValue()));
+        for (int j = 0; j < 6; j++) {
+          double derivative = expectedAdj.getDerivative(j);
+          assertEquals(volsD[j][i], derivative, 1.0e-12 * Math.max(1d, Math.abs(derivative)));
+        }
+      }
+    }
+  }
+
+  public void test_batch_invalid() {
+    double[] strikes = {STRIKE_ITM, STRIKE_OTM};
+    assertThrowsIllegalArg(() -> FUNCTION.volatility(F, strikes, T, DATA, new double[1]));
+    assertThrowsIllegalArg(() -> FUNCTION.volatility(F, new double[] {-0.01}, T, DATA, new double[1]));
+    assertThrowsIllegalArg(() -> FUNCTION.volatilityAdjoint(F, strikes, T, DATA, new double[2], new double[4][2]));
+    assertThrowsIllegalArg(() -> FUNCTION.volatilityAdjoint(F, strikes, T, null, new double[2], new double[6][2]));
+  }
+
   public void coverage() {
     coverImmutableBean(FUNCTION);
   }
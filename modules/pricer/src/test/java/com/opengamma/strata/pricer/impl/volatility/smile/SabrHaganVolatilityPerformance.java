@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.volatility.smile;
+
+/**
+ * Vague performance test comparing the scalar and batch SABR volatility computations.
+ */
+public class SabrHaganVolatilityPerformance {
+
+  private static final SabrHaganVolatilityFunctionProvider FUNCTION = SabrHaganVolatilityFunctionProvider.DEFAULT;
+  private static final SabrFormulaData DATA = SabrFormulaData.of(0.05, 0.50, -0.25, 0.40);
+  private static final double FORWARD = 0.05;
+  private static final double EXPIRY = 4.5;
+  private static final int NB_STRIKES = 500;
+  private static final double[] STRIKES = new double[NB_STRIKES];
+  static {
+    for (int i = 0; i < NB_STRIKES; i++) {
+      STRIKES[i] = 0.001 + i * 0.0005;
+    }
+  }
+  private static final int NB_SMILES = 20_000;
+
+  public static void main(String[] args) throws Exception {
+    System.out.println("Go");
+    for (int i = 0; i < 10; i++) {
+      process();
+    }
+  }
+
+  private static void process() {
+    double[] vols = new double[NB_STRIKES];
+    double[][] volsD = new double[6][NB_STRIKES];
+    double total = 0d;
+
+    long start = System.nanoTime();
+    for (int i = 0; i < NB_SMILES; i++) {
+      for (int j = 0; j < NB_STRIKES; j++) {
+        total += FUNCTION.volatility(FORWARD, STRIKES[j], EXPIRY, DATA);
+      }
+    }
+    long scalarVol = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < NB_SMILES; i++) {
+      FUNCTION.volatility(FORWARD, STRIKES, EXPIRY, DATA, vols);
+      total += vols[i % NB_STRIKES];
+    }
+    long batchVol = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < NB_SMILES; i++) {
+      for (int j = 0; j < NB_STRIKES; j++) {
+        total += FUNCTION.volatilityAdjoint(FORWARD, STRIKES[j], EXPIRY, DATA).getDerivative(2);
+      }
+    }
+    long scalarAdjoint = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < NB_SMILES; i++) {
+      FUNCTION.volatilityAdjoint(FORWARD, STRIKES, EXPIRY, DATA, vols, volsD);
+      total += volsD[2][i % NB_STRIKES];
+    }
+    long batchAdjoint = System.nanoTime() - start;
+
+    double count = (double) NB_SMILES * NB_STRIKES;
+    System.out.println("Total: " + total);
+    System.out.println("Volatility: scalar " + scalarVol / count + " ns, batch " + batchVol / count + " ns");
+    System.out.println("Adjoint: scalar " + scalarAdjoint / count + " ns, batch " + batchAdjoint / count + " ns");
+  }
+
+}
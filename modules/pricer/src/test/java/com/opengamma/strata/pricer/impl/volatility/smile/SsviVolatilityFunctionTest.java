@@ -10,14 +10,22 @@ import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.testng.Assert.assertEquals;
 
+import java.util.BitSet;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.differentiation.FiniteDifferenceType;
 import com.opengamma.strata.math.impl.differentiation.ScalarFieldFirstOrderDifferentiator;
+import com.opengamma.strata.math.impl.minimization.DoubleRangeLimitTransform;
+import com.opengamma.strata.math.impl.minimization.NonLinearParameterTransforms;
+import com.opengamma.strata.math.impl.minimization.ParameterLimitsTransform;
+import com.opengamma.strata.math.impl.minimization.ParameterLimitsTransform.LimitType;
+import com.opengamma.strata.math.impl.minimization.SingleRangeLimitTransform;
+import com.opengamma.strata.math.impl.minimization.UncoupledParameterTransforms;
 
 /**
  * Test {@link SsviVolatilityFunction}.
@@ -78,6 +86,80 @@ public class SsviVolatilityFunctionTest {
     }   
   }
 
+  @Test
+  public void batch() {
+    double[] vols = new double[N];
+    double[] volsAdj = new double[N];
+    double[][] volsD = new double[6][N];
+    SSVI_FUNCTION.volatility(FORWARD, STRIKES, TIME_EXP, DATA, vols);
+    SSVI_FUNCTION.volatilityAdjoint(FORWARD, STRIKES, TIME_EXP, DATA, volsAdj, volsD);
+    for (int i = 0; i < N; i++) {
+      ValueDerivatives ad = SSVI_FUNCTION.volatilityAdjoint(FORWARD, STRIKES[i], TIME_EXP, DATA);
+      assertEquals(vols[i], SSVI_FUNCTION.volatility(FORWARD, STRIKES[i], TIME_EXP, DATA));
+      assertEquals(volsAdj[i], ad.getValue());
+      for (int j = 0; j < 6; j++) {
+        assertEquals(volsD[j][i], ad.getDerivative(j));
+      }
+    }
+    assertThrowsIllegalArg(() -> SSVI_FUNCTION.volatility(FORWARD, STRIKES, TIME_EXP, DATA, new double[N - 1]));
+    assertEquals(SSVI_FUNCTION.getNumberOfDerivatives(DATA), 6);
+    assertThrowsIllegalArg(
+        () -> SSVI_FUNCTION.volatilityAdjoint(FORWARD, STRIKES, TIME_EXP, DATA, volsAdj, new double[5][N]));
+  }
+
+  @Test
+  public void fitter() {
+    double[] vols = new double[N];
+    SSVI_FUNCTION.volatility(FORWARD, STRIKES, TIME_EXP, DATA, vols);
+    SmileModelFitter<SsviFormulaData> fitter = new SmileModelFitter<SsviFormulaData>(
+        FORWARD,
+        DoubleArray.ofUnsafe(STRIKES),
+        TIME_EXP,
+        DoubleArray.ofUnsafe(vols),
+        DoubleArray.filled(N, 1.0E-4),
+        SSVI_FUNCTION) {
+
+      private final ParameterLimitsTransform[] transforms = new ParameterLimitsTransform[] {
+          new SingleRangeLimitTransform(0, LimitType.GREATER_THAN),
+          new DoubleRangeLimitTransform(-0.99, 0.99),
+          new SingleRangeLimitTransform(0, LimitType.GREATER_THAN)};
+
+      @Override
+      public SsviFormulaData toSmileModelData(DoubleArray modelParameters) {
+        return SsviFormulaData.of(modelParameters.get(0), modelParameters.get(1), modelParameters.get(2));
+      }
+
+      @Override
+      protected NonLinearParameterTransforms getTransform(DoubleArray start) {
+        return new UncoupledParameterTransforms(start, transforms, new BitSet());
+      }
+
+      @Override
+      protected NonLinearParameterTransforms getTransform(DoubleArray start, BitSet fixed) {
+        return new UncoupledParameterTransforms(start, transforms, fixed);
+      }
+
+      @Override
+      protected DoubleArray getMaximumStep() {
+        return null;
+      }
+    };
+    // the jacobian contains the derivatives with respect to the model parameters only
+    DoubleMatrix jacobian = fitter.getModelJacobianFunction().apply(DoubleArray.of(VOL_ATM, RHO, ETA));
+    assertEquals(jacobian.rowCount(), N);
+    assertEquals(jacobian.columnCount(), 3);
+    for (int i = 0; i < N; i++) {
+      ValueDerivatives ad = SSVI_FUNCTION.volatilityAdjoint(FORWARD, STRIKES[i], TIME_EXP, DATA);
+      for (int j = 0; j < 3; j++) {
+        assertEquals(jacobian.get(i, j), ad.getDerivative(j + 3));
+      }
+    }
+    DoubleArray fitted = fitter.solve(DoubleArray.of(0.25, 0d, 0.4)).getModelParameters();
+    assertEquals(fitted.get(0), VOL_ATM, 1.0E-6);
+    assertEquals(fitted.get(1), RHO, 1.0E-6);
+    assertEquals(fitted.get(2), ETA, 1.0E-6);
+  }
+
   @Test
   public void test_small_time() {
     assertThrowsIllegalArg(() -> SSVI_FUNCTION.volatility(FORWARD, STRIKES[0], 0.0, DATA));
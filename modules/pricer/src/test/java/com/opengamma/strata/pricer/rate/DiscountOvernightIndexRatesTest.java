@@ -8,12 +8,17 @@ package com.opengamma.strata.pricer.rate;
 import static com.opengamma.strata.basics.currency.Currency.GBP;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.GBLO;
 import static com.opengamma.strata.basics.index.OvernightIndices.GBP_SONIA;
 import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
@@ -22,6 +27,7 @@ import java.util.Optional;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -32,6 +38,8 @@ import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
 
@@ -47,6 +55,7 @@ public class DiscountOvernightIndexRatesTest {
   private static final LocalDate DATE_AFTER = date(2015, 7, 30);
   private static final LocalDate DATE_AFTER_END = date(2015, 7, 31);
 
+  private static final HolidayCalendar CAL_GBLO = REF_DATA.getValue(GBLO);
   private static final OvernightIndexObservation GBP_SONIA_VAL =
       OvernightIndexObservation.of(GBP_SONIA, DATE_VAL, REF_DATA);
   private static final OvernightIndexObservation GBP_SONIA_BEFORE =
@@ -222,6 +231,15 @@ public class DiscountOvernightIndexRatesTest {
     assertThrowsIllegalArg(() -> test.periodRatePointSensitivity(GBP_SONIA_AFTER_END, DATE_AFTER));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_rateRangePointSensitivity() {
+    DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, DFCURVE, SERIES);
+    OvernightRateRangeSensitivity expected =
+        OvernightRateRangeSensitivity.of(GBP_SONIA_AFTER, DATE_AFTER_END, GBP, 1d);
+    assertEquals(test.rateRangePointSensitivity(GBP_SONIA_AFTER, DATE_AFTER_END, CAL_GBLO), expected);
+    assertThrowsIllegalArg(() -> test.rateRangePointSensitivity(GBP_SONIA_AFTER_END, DATE_AFTER, CAL_GBLO));
+  }
+
   //-------------------------------------------------------------------------
   // proper end-to-end tests are elsewhere
   public void test_parameterSensitivity() {
@@ -230,6 +248,46 @@ public class DiscountOvernightIndexRatesTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_parameterSensitivity_range() {
+    DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, DFCURVE, SERIES);
+    LocalDate endDate = date(2015, 10, 30);
+    OvernightRateRangeSensitivity point = OvernightRateRangeSensitivity.of(GBP_SONIA_AFTER, endDate, GBP, 2d);
+    // equivalent to the sensitivity to each daily rate, weighted by its accrual factor
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.empty();
+    for (LocalDate fixingDate = DATE_AFTER; fixingDate.isBefore(endDate); fixingDate = CAL_GBLO.next(fixingDate)) {
+      OvernightIndexObservation obs = OvernightIndexObservation.of(GBP_SONIA, fixingDate, REF_DATA);
+      expected = expected.combinedWith(
+          test.parameterSensitivity(OvernightRateSensitivity.of(obs, GBP, 2d * obs.getYearFraction())));
+    }
+    CurrencyParameterSensitivities computed = test.parameterSensitivity(point);
+    assertEquals(computed.size(), 1);
+    assertEquals(computed.equalWithTolerance(expected, 1e-10), true);
+  }
+
+  public void test_range_defaultMethods() {
+    DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, DFCURVE, SERIES);
+    OvernightIndexRates mockRates = mock(OvernightIndexRates.class, CALLS_REAL_METHODS);
+    doAnswer(inv -> test.rateIgnoringFixingsPointSensitivity(inv.getArgument(0)))
+        .when(mockRates).rateIgnoringFixingsPointSensitivity(any());
+    doAnswer(inv -> test.parameterSensitivity((OvernightRateSensitivity) inv.getArgument(0)))
+        .when(mockRates).parameterSensitivity(any(OvernightRateSensitivity.class));
+    LocalDate endDate = date(2015, 10, 30);
+    OvernightRateRangeSensitivity point = OvernightRateRangeSensitivity.of(GBP_SONIA_AFTER, endDate, GBP, 2d);
+    CurrencyParameterSensitivities expected = test.parameterSensitivity(point);
+    // the default conversion of the range uses the sensitivity of each daily period
+    assertEquals(mockRates.parameterSensitivity(point).equalWithTolerance(expected, 1e-10), true);
+    // the default point sensitivity has one sensitivity for each daily period
+    PointSensitivities daily = mockRates.rateRangePointSensitivity(GBP_SONIA_AFTER, endDate, CAL_GBLO)
+        .multipliedBy(2d)
+        .build();
+    assertEquals(daily.size(), point.dailyObservations(CAL_GBLO).size());
+    CurrencyParameterSensitivities computed = CurrencyParameterSensitivities.empty();
+    for (PointSensitivity sensitivity : daily.getSensitivities()) {
+      computed = computed.combinedWith(test.parameterSensitivity((OvernightRateSensitivity) sensitivity));
+    }
+    assertEquals(computed.equalWithTolerance(expected, 1e-10), true);
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, DFCURVE, SERIES);
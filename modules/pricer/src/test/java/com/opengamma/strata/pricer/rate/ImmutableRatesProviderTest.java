@@ -75,6 +75,34 @@ public class ImmutableRatesProviderTest {
     assertSame(test.toImmutableRatesProvider(), test);
   }
 
+  public void test_withDiscountCurve() {
+    ImmutableRatesProvider base = ImmutableRatesProvider.builder(VAL_DATE)
+        .fxRateProvider(FX_MATRIX)
+        .discountCurve(GBP, DISCOUNT_CURVE_GBP)
+        .iborIndexCurve(USD_LIBOR_3M, USD_LIBOR_CURVE)
+        .build();
+    ImmutableRatesProvider test = base.withDiscountCurve(GBP, DISCOUNT_CURVE_USD);
+    assertEquals(test.getDiscountCurves(), ImmutableMap.of(GBP, DISCOUNT_CURVE_USD));
+    assertSame(test.getIndexCurves(), base.getIndexCurves());
+    assertSame(test.getFxRateProvider(), base.getFxRateProvider());
+    assertEquals(test, base.toBuilder().discountCurve(GBP, DISCOUNT_CURVE_USD).build());
+    ImmutableRatesProvider added = base.withDiscountCurve(USD, DISCOUNT_CURVE_USD);
+    assertEquals(added.getDiscountCurves(), ImmutableMap.of(GBP, DISCOUNT_CURVE_GBP, USD, DISCOUNT_CURVE_USD));
+  }
+
+  public void test_withIndexCurve() {
+    ImmutableRatesProvider base = ImmutableRatesProvider.builder(VAL_DATE)
+        .discountCurve(GBP, DISCOUNT_CURVE_GBP)
+        .iborIndexCurve(USD_LIBOR_3M, USD_LIBOR_CURVE)
+        .overnightIndexCurve(USD_FED_FUND, FED_FUND_CURVE)
+        .build();
+    ImmutableRatesProvider test = base.withIndexCurve(USD_LIBOR_3M, FED_FUND_CURVE);
+    assertEquals(test.getIndexCurves(), ImmutableMap.of(USD_LIBOR_3M, FED_FUND_CURVE, USD_FED_FUND, FED_FUND_CURVE));
+    assertSame(test.getDiscountCurves(), base.getDiscountCurves());
+    assertEquals(test, base.toBuilder().indexCurve(USD_LIBOR_3M, FED_FUND_CURVE).build());
+    assertThrowsIllegalArg(() -> base.withIndexCurve(GBP_USD_WM, FED_FUND_CURVE));
+  }
+
   //-------------------------------------------------------------------------
   public void test_discountFactors() {
     ImmutableRatesProvider test = ImmutableRatesProvider.builder(VAL_DATE)
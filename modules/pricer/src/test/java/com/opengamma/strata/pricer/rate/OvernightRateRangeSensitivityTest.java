@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.GBLO;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.USNY;
+import static com.opengamma.strata.basics.index.OvernightIndices.GBP_SONIA;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+
+/**
+ * Test {@link OvernightRateRangeSensitivity}.
+ */
+@Test
+public class OvernightRateRangeSensitivityTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate DATE = date(2015, 8, 27);
+  private static final LocalDate DATE2 = date(2015, 9, 25);
+  private static final LocalDate END = date(2015, 10, 27);
+  private static final HolidayCalendar CAL_GBLO = REF_DATA.getValue(GBLO);
+  private static final OvernightIndexObservation GBP_SONIA_OBSERVATION =
+      OvernightIndexObservation.of(GBP_SONIA, DATE, REF_DATA);
+  private static final OvernightIndexObservation GBP_SONIA_OBSERVATION2 =
+      OvernightIndexObservation.of(GBP_SONIA, DATE2, REF_DATA);
+  private static final OvernightIndexObservation USD_FED_FUND_OBSERVATION2 =
+      OvernightIndexObservation.of(USD_FED_FUND, DATE2, REF_DATA);
+
+  //-------------------------------------------------------------------------
+  public void test_of_noCurrency() {
+    OvernightRateRangeSensitivity test = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    assertEquals(test.getIndex(), GBP_SONIA);
+    assertEquals(test.getObservation(), GBP_SONIA_OBSERVATION);
+    assertEquals(test.getCurrency(), GBP);
+    assertEquals(test.getEndDate(), END);
+    assertEquals(test.getFixingCalendar(), GBLO);
+    assertEquals(test.getSensitivity(), 32d);
+  }
+
+  public void test_of_currency() {
+    OvernightRateRangeSensitivity test =
+        OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, USD, 32d);
+    assertEquals(test.getIndex(), GBP_SONIA);
+    assertEquals(test.getCurrency(), USD);
+    assertEquals(test.getEndDate(), END);
+    assertEquals(test.getSensitivity(), 32d);
+  }
+
+  public void test_badDateOrder() {
+    assertThrowsIllegalArg(() -> OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, DATE, 32d));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_dailyObservations() {
+    OvernightRateRangeSensitivity test = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    List<OvernightIndexObservation> observations = test.dailyObservations(CAL_GBLO);
+    LocalDate date = DATE;
+    for (OvernightIndexObservation observation : observations) {
+      assertEquals(observation, OvernightIndexObservation.of(GBP_SONIA, date, REF_DATA));
+      date = CAL_GBLO.next(date);
+    }
+    assertEquals(date, END);
+    assertEquals(observations.get(observations.size() - 1).getMaturityDate(), END);
+  }
+
+  public void test_dailyObservations_wrongCalendar() {
+    OvernightRateRangeSensitivity test = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    assertThrowsIllegalArg(() -> test.dailyObservations(REF_DATA.getValue(USNY)));
+  }
+
+  public void test_withCurrency() {
+    OvernightRateRangeSensitivity base = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    assertSame(base.withCurrency(GBP), base);
+
+    OvernightRateRangeSensitivity expected =
+        OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, USD, 32d);
+    OvernightRateRangeSensitivity test = base.withCurrency(USD);
+    assertEquals(test, expected);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_withSensitivity() {
+    OvernightRateRangeSensitivity base = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    OvernightRateRangeSensitivity expected =
+        OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 20d);
+    OvernightRateRangeSensitivity test = base.withSensitivity(20d);
+    assertEquals(test, expected);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_compareKey() {
+    OvernightRateRangeSensitivity a1 = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, GBP, 32d);
+    OvernightRateRangeSensitivity a2 = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, GBP, 32d);
+    OvernightRateRangeSensitivity b =
+        OvernightRateRangeSensitivity.of(USD_FED_FUND_OBSERVATION2, END, GBP, 32d);
+    OvernightRateRangeSensitivity c = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, USD, 32d);
+    OvernightRateRangeSensitivity d = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION2, END, GBP, 32d);
+    OvernightRateRangeSensitivity e =
+        OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, date(2015, 11, 27), GBP, 32d);
+    OvernightRateRangeSensitivity f = OvernightRateRangeSensitivity.meta().builder()
+        .set(OvernightRateRangeSensitivity.meta().observation(), GBP_SONIA_OBSERVATION)
+        .set(OvernightRateRangeSensitivity.meta().endDate(), END)
+        .set(OvernightRateRangeSensitivity.meta().fixingCalendar(), USNY)
+        .set(OvernightRateRangeSensitivity.meta().currency(), GBP)
+        .set(OvernightRateRangeSensitivity.meta().sensitivity(), 32d)
+        .build();
+    ZeroRateSensitivity other = ZeroRateSensitivity.of(GBP, 2d, 32d);
+    OvernightRateSensitivity otherOn = OvernightRateSensitivity.of(GBP_SONIA_OBSERVATION, 32d);
+    assertEquals(a1.compareKey(a2), 0);
+    assertEquals(a1.compareKey(b) < 0, true);
+    assertEquals(b.compareKey(a1) > 0, true);
+    assertEquals(a1.compareKey(c) < 0, true);
+    assertEquals(c.compareKey(a1) > 0, true);
+    assertEquals(a1.compareKey(d) < 0, true);
+    assertEquals(d.compareKey(a1) > 0, true);
+    assertEquals(a1.compareKey(e) < 0, true);
+    assertEquals(e.compareKey(a1) > 0, true);
+    assertEquals(a1.compareKey(f) < 0, true);
+    assertEquals(f.compareKey(a1) > 0, true);
+    assertEquals(a1.compareKey(other) < 0, true);
+    assertEquals(other.compareKey(a1) > 0, true);
+    assertEquals(a1.compareKey(otherOn) < 0, true);
+    assertEquals(otherOn.compareKey(a1) > 0, true);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_convertedTo() {
+    double sensi = 32d;
+    OvernightRateRangeSensitivity base =
+        OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, GBP, sensi);
+    double rate = 1.5d;
+    FxMatrix matrix = FxMatrix.of(CurrencyPair.of(GBP, USD), rate);
+    OvernightRateRangeSensitivity test1 = base.convertedTo(USD, matrix);
+    OvernightRateRangeSensitivity expected =
+        OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, USD, rate * sensi);
+    assertEquals(test1, expected);
+    OvernightRateRangeSensitivity test2 = base.convertedTo(GBP, matrix);
+    assertEquals(test2, base);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_multipliedBy() {
+    OvernightRateRangeSensitivity base = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    OvernightRateRangeSensitivity expected =
+        OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d * 3.5d);
+    OvernightRateRangeSensitivity test = base.multipliedBy(3.5d);
+    assertEquals(test, expected);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_mapSensitivity() {
+    OvernightRateRangeSensitivity base = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    OvernightRateRangeSensitivity expected =
+        OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 1 / 32d);
+    OvernightRateRangeSensitivity test = base.mapSensitivity(s -> 1 / s);
+    assertEquals(test, expected);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_normalize() {
+    OvernightRateRangeSensitivity base = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    OvernightRateRangeSensitivity test = base.normalize();
+    assertSame(test, base);
+  }
+
+  public void test_normalized_merge() {
+    OvernightRateRangeSensitivity base1 = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    OvernightRateRangeSensitivity base2 = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 10d);
+    PointSensitivities test = base1.combinedWith(base2).build().normalized();
+    assertEquals(test.getSensitivities(), ImmutableList.of(base1.withSensitivity(42d)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_combinedWith() {
+    OvernightRateRangeSensitivity base1 = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    OvernightRateRangeSensitivity base2 =
+        OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION2, END, 22d);
+    MutablePointSensitivities expected = new MutablePointSensitivities();
+    expected.add(base1).add(base2);
+    PointSensitivityBuilder test = base1.combinedWith(base2);
+    assertEquals(test, expected);
+  }
+
+  public void test_combinedWith_mutable() {
+    OvernightRateRangeSensitivity base = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    MutablePointSensitivities expected = new MutablePointSensitivities();
+    expected.add(base);
+    PointSensitivityBuilder test = base.combinedWith(new MutablePointSensitivities());
+    assertEquals(test, expected);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_buildInto() {
+    OvernightRateRangeSensitivity base = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    MutablePointSensitivities combo = new MutablePointSensitivities();
+    MutablePointSensitivities test = base.buildInto(combo);
+    assertSame(test, combo);
+    assertEquals(test.getSensitivities(), ImmutableList.of(base));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_build() {
+    OvernightRateRangeSensitivity base = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    PointSensitivities test = base.build();
+    assertEquals(test.getSensitivities(), ImmutableList.of(base));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_cloned() {
+    OvernightRateRangeSensitivity base = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    OvernightRateRangeSensitivity test = base.cloned();
+    assertSame(test, base);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    OvernightRateRangeSensitivity test = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    coverImmutableBean(test);
+    OvernightRateRangeSensitivity test2 =
+        OvernightRateRangeSensitivity.of(USD_FED_FUND_OBSERVATION2, END, 16d);
+    coverBeanEquals(test, test2);
+  }
+
+  public void test_serialization() {
+    OvernightRateRangeSensitivity test = OvernightRateRangeSensitivity.of(GBP_SONIA_OBSERVATION, END, 32d);
+    assertSerialization(test);
+  }
+
+}
@@ -15,6 +15,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -250,6 +252,61 @@ public class CurveGammaCalculatorCrossGammaTest {
     assertFalse(priceIndexSensi.isPresent());
   }
 
+  public void sensitivity_cross_multi_curve_parallel() {
+    CrossGammaParameterSensitivities expected =
+        CENTRAL.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+    CrossGammaParameterSensitivities computed =
+        CENTRAL.parallel().calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+    assertEquals(computed, expected);
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      CrossGammaParameterSensitivities intra =
+          FORWARD.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      CrossGammaParameterSensitivities intraParallel =
+          FORWARD.parallel(pool).calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      assertEquals(intraParallel, intra);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  public void sensitivity_cross_multi_curve_blocks() {
+    CrossGammaParameterSensitivities full =
+        CENTRAL.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+    CrossGammaParameterSensitivities blocks =
+        CENTRAL.calculateCrossGammaCrossCurveBlocks(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+    assertEquals(blocks, full.split(0d));
+    assertEquals(blocks.diagonal(), full.diagonal());
+    CrossGammaParameterSensitivities fullMod =
+        CENTRAL.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiModFn);
+    CrossGammaParameterSensitivities blocksMod =
+        CENTRAL.calculateCrossGammaCrossCurveBlocks(RatesProviderDataSets.MULTI_CPI_USD, this::sensiModFn);
+    assertEquals(blocksMod, fullMod.split(0d));
+    assertEquals(blocksMod.size(), 4);  // the two ibor curves, each against itself and the other
+  }
+
+  public void sensitivity_cross_multi_curve_blocks_independent() {
+    ImmutableRatesProvider provider = RatesProviderDataSets.MULTI_CPI_USD;
+    // the delta of each ibor curve depends on that curve only
+    CrossGammaParameterSensitivities full = CENTRAL.calculateCrossGammaCrossCurve(provider, this::sensiOwnFn);
+    AtomicInteger count = new AtomicInteger();
+    CrossGammaParameterSensitivities blocks = CENTRAL.calculateCrossGammaCrossCurveBlocks(provider, p -> {
+      count.incrementAndGet();
+      return sensiOwnFn(p);
+    });
+    assertEquals(blocks, full.split(0d));
+    assertEquals(blocks.size(), 2);
+    // the linear case, where the deltas do not depend on the curves, only needs one shift per curve
+    CurrencyParameterSensitivities constant = sensiOwnFn(provider);
+    count.set(0);
+    CrossGammaParameterSensitivities blocksLinear = CENTRAL.calculateCrossGammaCrossCurveBlocks(provider, p -> {
+      count.incrementAndGet();
+      return constant;
+    });
+    assertEquals(blocksLinear.size(), 0);
+    assertEquals(count.get(), 1 + constant.size());
+  }
+
   // test diagonal part against finite difference approximation computed from pv
   public void swap_exampleTest() {
     LocalDate start = LocalDate.of(2014, 3, 10);
@@ -296,6 +353,20 @@ public class CurveGammaCalculatorCrossGammaTest {
     return sensi;
   }
 
+  // sensitivities computed only for ibor index curves, each depending on its own curve only
+  private CurrencyParameterSensitivities sensiOwnFn(ImmutableRatesProvider provider) {
+    CurrencyParameterSensitivities sensi = CurrencyParameterSensitivities.empty();
+    for (Entry<Index, Curve> entry : provider.getIndexCurves().entrySet()) {
+      if (entry.getKey() instanceof IborIndex) {
+        InterpolatedNodalCurve curveInt = checkInterpolated(entry.getValue());
+        double sumSqrt = sumSingle(curveInt);
+        sensi = sensi.combinedWith(CurrencyParameterSensitivity.of(curveInt.getName(), USD,
+            DoubleArray.of(curveInt.getParameterCount(), i -> 2d * sumSqrt * curveInt.getXValues().get(i))));
+      }
+    }
+    return sensi;
+  }
+
   // modified sensitivity function - sensitivities are computed only for ibor index curves
   private CurrencyParameterSensitivities sensiModFn(ImmutableRatesProvider provider) {
     CurrencyParameterSensitivities sensi = CurrencyParameterSensitivities.empty();
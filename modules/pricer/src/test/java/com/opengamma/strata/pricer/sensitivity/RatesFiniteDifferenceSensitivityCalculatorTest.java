@@ -7,10 +7,12 @@ package com.opengamma.strata.pricer.sensitivity;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
 
 import org.testng.annotations.Test;
 
@@ -94,6 +96,36 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_multi_curve_central() {
+    CurrencyParameterSensitivities expected = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    CurrencyParameterSensitivities computed = RatesFiniteDifferenceSensitivityCalculator.ofCentralDifference(1.0E-4)
+        .sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    assertTrue(computed.equalWithTolerance(expected, TOLERANCE_DELTA));
+    CurrencyParameterSensitivities backward = RatesFiniteDifferenceSensitivityCalculator.ofBackwardDifference(1.0E-4)
+        .sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    assertTrue(backward.equalWithTolerance(expected, TOLERANCE_DELTA));
+  }
+
+  @Test
+  public void sensitivity_multi_curve_parallel() {
+    CurrencyParameterSensitivities expected = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    CurrencyParameterSensitivities computed =
+        FD_CALCULATOR.parallel().sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    assertEquals(computed, expected);
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      CurrencyParameterSensitivities central = RatesFiniteDifferenceSensitivityCalculator.ofCentralDifference(1.0E-4)
+          .sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+      CurrencyParameterSensitivities centralParallel = RatesFiniteDifferenceSensitivityCalculator.ofCentralDifference(1.0E-4)
+          .parallel(pool)
+          .sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+      assertEquals(centralParallel, central);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableRatesProvider provider) {
     double result = 0.0;
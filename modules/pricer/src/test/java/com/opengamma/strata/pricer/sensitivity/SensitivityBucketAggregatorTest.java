@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.LabelDateParameterMetadata;
+import com.opengamma.strata.market.param.LabelParameterMetadata;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.TenorDateParameterMetadata;
+import com.opengamma.strata.market.param.TenorParameterMetadata;
+
+/**
+ * Tests {@link SensitivityBucketAggregator}.
+ */
+@Test
+public class SensitivityBucketAggregatorTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2017, 3, 15);
+  private static final CurveName NAME_1 = CurveName.of("CURVE 1");
+  private static final CurveName NAME_2 = CurveName.of("CURVE 2");
+  private static final List<Tenor> TENORS =
+      ImmutableList.of(Tenor.TENOR_1M, Tenor.TENOR_1Y, Tenor.TENOR_5Y, Tenor.TENOR_30Y);
+  private static final List<ParameterMetadata> TENOR_METADATA = ImmutableList.of(
+      TenorParameterMetadata.of(Tenor.TENOR_1W),
+      TenorParameterMetadata.of(Tenor.TENOR_1M),
+      TenorParameterMetadata.of(Tenor.TENOR_6M),
+      TenorParameterMetadata.of(Tenor.TENOR_2Y),
+      TenorParameterMetadata.of(Tenor.TENOR_10Y),
+      TenorParameterMetadata.of(Tenor.ofYears(40)));
+  private static final List<ParameterMetadata> DATE_METADATA = ImmutableList.of(
+      LabelDateParameterMetadata.of(LocalDate.of(2017, 6, 15), "A"),
+      LabelDateParameterMetadata.of(LocalDate.of(2020, 3, 15), "B"),
+      LabelDateParameterMetadata.of(LocalDate.of(2027, 3, 15), "C"));
+  private static final DoubleArray VALUES_1 = DoubleArray.of(10, 20, 30, 40, 50, 60);
+  private static final DoubleArray VALUES_2 = DoubleArray.of(-5, 15, 25);
+  private static final double TOL = 1e-10;
+
+  //-------------------------------------------------------------------------
+  public void test_compareRebucketing() {
+    CurrencyParameterSensitivities trade1 = CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(NAME_1, TENOR_METADATA, Currency.EUR, VALUES_1),
+        CurrencyParameterSensitivity.of(NAME_2, DATE_METADATA, Currency.USD, VALUES_2));
+    CurrencyParameterSensitivities trade2 = CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(NAME_1, TENOR_METADATA, Currency.EUR, VALUES_1.multipliedBy(-3)));
+    CurrencyParameterSensitivities computed = SensitivityBucketAggregator.of(VAL_DATE, TENORS)
+        .add(trade1)
+        .add(trade2)
+        .build();
+    List<LocalDate> targetDates = ImmutableList.of(
+        VAL_DATE.plus(Tenor.TENOR_1M), VAL_DATE.plus(Tenor.TENOR_1Y), VAL_DATE.plus(Tenor.TENOR_5Y),
+        VAL_DATE.plus(Tenor.TENOR_30Y));
+    CurrencyParameterSensitivities expected =
+        CurveSensitivityUtils.linearRebucketing(trade1.combinedWith(trade2), targetDates, VAL_DATE);
+    assertEquals(computed.size(), 2);
+    for (CurrencyParameterSensitivity sensitivity : computed.getSensitivities()) {
+      assertEquals(sensitivity.getParameterMetadata().get(1), TenorParameterMetadata.of(Tenor.TENOR_1Y));
+      CurrencyParameterSensitivity expectedSensitivity =
+          expected.getSensitivity(sensitivity.getMarketDataName(), sensitivity.getCurrency());
+      assertTrue(sensitivity.getSensitivity().equalWithTolerance(expectedSensitivity.getSensitivity(), TOL));
+    }
+    // total is preserved
+    assertEquals(computed.total(Currency.EUR, (ccy1, ccy2) -> 1d).getAmount(), -2 * VALUES_1.sum() + VALUES_2.sum(), TOL);
+  }
+
+  public void test_tenorDateMetadata() {
+    // node dates differing from the valuation date plus the tenor, as for a curve built on a different date
+    List<ParameterMetadata> metadata = ImmutableList.of(
+        TenorDateParameterMetadata.of(LocalDate.of(2017, 5, 2), Tenor.TENOR_1M),
+        TenorDateParameterMetadata.of(LocalDate.of(2019, 4, 20), Tenor.TENOR_2Y),
+        TenorDateParameterMetadata.of(LocalDate.of(2027, 1, 4), Tenor.TENOR_10Y));
+    CurrencyParameterSensitivities sensitivities = CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(NAME_1, metadata, Currency.EUR, VALUES_2));
+    CurrencyParameterSensitivities computed = SensitivityBucketAggregator.of(VAL_DATE, TENORS)
+        .add(sensitivities)
+        .build();
+    List<LocalDate> targetDates = ImmutableList.of(
+        VAL_DATE.plus(Tenor.TENOR_1M), VAL_DATE.plus(Tenor.TENOR_1Y), VAL_DATE.plus(Tenor.TENOR_5Y),
+        VAL_DATE.plus(Tenor.TENOR_30Y));
+    CurrencyParameterSensitivities expected = CurveSensitivityUtils.linearRebucketing(sensitivities, targetDates);
+    assertTrue(computed.getSensitivity(NAME_1, Currency.EUR).getSensitivity()
+        .equalWithTolerance(expected.getSensitivity(NAME_1, Currency.EUR).getSensitivity(), TOL));
+    // the first node is 48 days after the valuation date, between the 1M (31 days) and 1Y (365 days) tenors
+    assertEquals(computed.getSensitivity(NAME_1, Currency.EUR).getSensitivity().get(0), -5d * 317d / 334d, TOL);
+  }
+
+  public void test_empty() {
+    assertEquals(SensitivityBucketAggregator.of(VAL_DATE, TENORS).build(), CurrencyParameterSensitivities.empty());
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> SensitivityBucketAggregator.of(VAL_DATE, ImmutableList.of()));
+    assertThrowsIllegalArg(
+        () -> SensitivityBucketAggregator.of(VAL_DATE, ImmutableList.of(Tenor.TENOR_1Y, Tenor.TENOR_1M)));
+    SensitivityBucketAggregator test = SensitivityBucketAggregator.of(VAL_DATE, TENORS);
+    CurrencyParameterSensitivity labelled = CurrencyParameterSensitivity.of(
+        NAME_1, ImmutableList.of(LabelParameterMetadata.of("X")), Currency.EUR, DoubleArray.of(1d));
+    assertThrowsIllegalArg(() -> test.add(labelled));
+  }
+
+}
@@ -13,6 +13,7 @@ import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.io.IniFile;
 import com.opengamma.strata.collect.io.PropertySet;
 import com.opengamma.strata.report.cashflow.CashFlowReportTemplateIniLoader;
+import com.opengamma.strata.report.sensitivity.SensitivityBucketReportTemplateIniLoader;
 import com.opengamma.strata.report.trade.TradeReportTemplateIniLoader;
 
 /**
@@ -25,7 +26,8 @@ final class MasterReportTemplateIniLoader {
    */
   private static final Set<ReportTemplateIniLoader<? extends ReportTemplate>> LOADERS = ImmutableSet.of(
       new TradeReportTemplateIniLoader(),
-      new CashFlowReportTemplateIniLoader());
+      new CashFlowReportTemplateIniLoader(),
+      new SensitivityBucketReportTemplateIniLoader());
 
   // restricted constructor
   private MasterReportTemplateIniLoader() {
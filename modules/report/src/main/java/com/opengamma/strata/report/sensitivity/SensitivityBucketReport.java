@@ -0,0 +1,561 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.sensitivity;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableValidator;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.report.Report;
+
+/**
+ * Represents a sensitivity bucket report.
+ * <p>
+ * This consists of the sensitivities aggregated over all the trades, re-bucketed to a grid of tenors.
+ * There is one row for each market data name and currency, and one column for each tenor.
+ */
+@BeanDefinition
+public final class SensitivityBucketReport
+    implements Report, ImmutableBean {
+
+  /**
+   * The number of columns preceding the tenor columns.
+   */
+  static final int KEY_COLUMN_COUNT = 2;
+
+  /**
+   * The valuation date.
+   */
+  @PropertyDefinition(validate = "notNull", overrideGet = true)
+  private final LocalDate valuationDate;
+  /**
+   * The instant at which the report was run.
+   */
+  @PropertyDefinition(validate = "notNull", overrideGet = true)
+  private final Instant runInstant;
+  /**
+   * The column headers.
+   */
+  @PropertyDefinition(validate = "notNull", overrideGet = true)
+  private final ImmutableList<String> columnHeaders;
+  /**
+   * The aggregated sensitivities, one for each row.
+   * <p>
+   * The parameter metadata of each sensitivity is the tenor grid.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurrencyParameterSensitivities sensitivities;
+
+  //-------------------------------------------------------------------------
+  @ImmutableValidator
+  private void validate() {
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      if (sensitivity.getParameterCount() + KEY_COLUMN_COUNT != columnHeaders.size()) {
+        throw new IllegalArgumentException("Number of sensitivities must match the number of tenor columns");
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getRowCount() {
+    return sensitivities.size();
+  }
+
+  @Override
+  public void writeCsv(OutputStream out) {
+    SensitivityBucketReportFormatter.INSTANCE.writeCsv(this, out);
+  }
+
+  @Override
+  public void writeAsciiTable(OutputStream out) {
+    SensitivityBucketReportFormatter.INSTANCE.writeAsciiTable(this, out);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SensitivityBucketReport}.
+   * @return the meta-bean, not null
+   */
+  public static SensitivityBucketReport.Meta meta() {
+    return SensitivityBucketReport.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(SensitivityBucketReport.Meta.INSTANCE);
+  }
+
+  /**
+   * Returns a builder used to create an instance of the bean.
+   * @return the builder, not null
+   */
+  public static SensitivityBucketReport.Builder builder() {
+    return new SensitivityBucketReport.Builder();
+  }
+
+  private SensitivityBucketReport(
+      LocalDate valuationDate,
+      Instant runInstant,
+      List<String> columnHeaders,
+      CurrencyParameterSensitivities sensitivities) {
+    JodaBeanUtils.notNull(valuationDate, "valuationDate");
+    JodaBeanUtils.notNull(runInstant, "runInstant");
+    JodaBeanUtils.notNull(columnHeaders, "columnHeaders");
+    JodaBeanUtils.notNull(sensitivities, "sensitivities");
+    this.valuationDate = valuationDate;
+    this.runInstant = runInstant;
+    this.columnHeaders = ImmutableList.copyOf(columnHeaders);
+    this.sensitivities = sensitivities;
+    validate();
+  }
+
+  @Override
+  public SensitivityBucketReport.Meta metaBean() {
+    return SensitivityBucketReport.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the valuation date.
+   * @return the value of the property, not null
+   */
+  @Override
+  public LocalDate getValuationDate() {
+    return valuationDate;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the instant at which the report was run.
+   * @return the value of the property, not null
+   */
+  @Override
+  public Instant getRunInstant() {
+    return runInstant;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the column headers.
+   * @return the value of the property, not null
+   */
+  @Override
+  public ImmutableList<String> getColumnHeaders() {
+    return columnHeaders;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the aggregated sensitivities, one for each row.
+   * <p>
+   * The parameter metadata of each sensitivity is the tenor grid.
+   * @return the value of the property, not null
+   */
+  public CurrencyParameterSensitivities getSensitivities() {
+    return sensitivities;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Returns a builder that allows this bean to be mutated.
+   * @return the mutable builder, not null
+   */
+  public Builder toBuilder() {
+    return new Builder(this);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SensitivityBucketReport other = (SensitivityBucketReport) obj;
+      return JodaBeanUtils.equal(valuationDate, other.valuationDate) &&
+          JodaBeanUtils.equal(runInstant, other.runInstant) &&
+          JodaBeanUtils.equal(columnHeaders, other.columnHeaders) &&
+          JodaBeanUtils.equal(sensitivities, other.sensitivities);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(valuationDate);
+    hash = hash * 31 + JodaBeanUtils.hashCode(runInstant);
+    hash = hash * 31 + JodaBeanUtils.hashCode(columnHeaders);
+    hash = hash * 31 + JodaBeanUtils.hashCode(sensitivities);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("SensitivityBucketReport{");
+    buf.append("valuationDate").append('=').append(valuationDate).append(',').append(' ');
+    buf.append("runInstant").append('=').append(runInstant).append(',').append(' ');
+    buf.append("columnHeaders").append('=').append(columnHeaders).append(',').append(' ');
+    buf.append("sensitivities").append('=').append(JodaBeanUtils.toString(sensitivities));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code SensitivityBucketReport}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code valuationDate} property.
+     */
+    private final MetaProperty<LocalDate> valuationDate = DirectMetaProperty.ofImmutable(
+        this, "valuationDate", SensitivityBucketReport.class, LocalDate.class);
+    /**
+     * The meta-property for the {@code runInstant} property.
+     */
+    private final MetaProperty<Instant> runInstant = DirectMetaProperty.ofImmutable(
+        this, "runInstant", SensitivityBucketReport.class, Instant.class);
+    /**
+     * The meta-property for the {@code columnHeaders} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<String>> columnHeaders = DirectMetaProperty.ofImmutable(
+        this, "columnHeaders", SensitivityBucketReport.class, (Class) ImmutableList.class);
+    /**
+     * The meta-property for the {@code sensitivities} property.
+     */
+    private final MetaProperty<CurrencyParameterSensitivities> sensitivities = DirectMetaProperty.ofImmutable(
+        this, "sensitivities", SensitivityBucketReport.class, CurrencyParameterSensitivities.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "valuationDate",
+        "runInstant",
+        "columnHeaders",
+        "sensitivities");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 113107279:  // valuationDate
+          return valuationDate;
+        case 111354070:  // runInstant
+          return runInstant;
+        case 1598220112:  // columnHeaders
+          return columnHeaders;
+        case 1226228605:  // sensitivities
+          return sensitivities;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public SensitivityBucketReport.Builder builder() {
+      return new SensitivityBucketReport.Builder();
+    }
+
+    @Override
+    public Class<? extends SensitivityBucketReport> beanType() {
+      return SensitivityBucketReport.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code valuationDate} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<LocalDate> valuationDate() {
+      return valuationDate;
+    }
+
+    /**
+     * The meta-property for the {@code runInstant} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Instant> runInstant() {
+      return runInstant;
+    }
+
+    /**
+     * The meta-property for the {@code columnHeaders} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<String>> columnHeaders() {
+      return columnHeaders;
+    }
+
+    /**
+     * The meta-property for the {@code sensitivities} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<CurrencyParameterSensitivities> sensitivities() {
+      return sensitivities;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 113107279:  // valuationDate
+          return ((SensitivityBucketReport) bean).getValuationDate();
+        case 111354070:  // runInstant
+          return ((SensitivityBucketReport) bean).getRunInstant();
+        case 1598220112:  // columnHeaders
+          return ((SensitivityBucketReport) bean).getColumnHeaders();
+        case 1226228605:  // sensitivities
+          return ((SensitivityBucketReport) bean).getSensitivities();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code SensitivityBucketReport}.
+   */
+  public static final class Builder extends DirectFieldsBeanBuilder<SensitivityBucketReport> {
+
+    private LocalDate valuationDate;
+    private Instant runInstant;
+    private List<String> columnHeaders = ImmutableList.of();
+    private CurrencyParameterSensitivities sensitivities;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    /**
+     * Restricted copy constructor.
+     * @param beanToCopy  the bean to copy from, not null
+     */
+    private Builder(SensitivityBucketReport beanToCopy) {
+      this.valuationDate = beanToCopy.getValuationDate();
+      this.runInstant = beanToCopy.getRunInstant();
+      this.columnHeaders = beanToCopy.getColumnHeaders();
+      this.sensitivities = beanToCopy.getSensitivities();
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 113107279:  // valuationDate
+          return valuationDate;
+        case 111354070:  // runInstant
+          return runInstant;
+        case 1598220112:  // columnHeaders
+          return columnHeaders;
+        case 1226228605:  // sensitivities
+          return sensitivities;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 113107279:  // valuationDate
+          this.valuationDate = (LocalDate) newValue;
+          break;
+        case 111354070:  // runInstant
+          this.runInstant = (Instant) newValue;
+          break;
+        case 1598220112:  // columnHeaders
+          this.columnHeaders = (List<String>) newValue;
+          break;
+        case 1226228605:  // sensitivities
+          this.sensitivities = (CurrencyParameterSensitivities) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    /**
+     * @deprecated Use Joda-Convert in application code
+     */
+    @Override
+    @Deprecated
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    /**
+     * @deprecated Use Joda-Convert in application code
+     */
+    @Override
+    @Deprecated
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    /**
+     * @deprecated Loop in application code
+     */
+    @Override
+    @Deprecated
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public SensitivityBucketReport build() {
+      return new SensitivityBucketReport(
+          valuationDate,
+          runInstant,
+          columnHeaders,
+          sensitivities);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Sets the valuation date.
+     * @param valuationDate  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder valuationDate(LocalDate valuationDate) {
+      JodaBeanUtils.notNull(valuationDate, "valuationDate");
+      this.valuationDate = valuationDate;
+      return this;
+    }
+
+    /**
+     * Sets the instant at which the report was run.
+     * @param runInstant  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder runInstant(Instant runInstant) {
+      JodaBeanUtils.notNull(runInstant, "runInstant");
+      this.runInstant = runInstant;
+      return this;
+    }
+
+    /**
+     * Sets the column headers.
+     * @param columnHeaders  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder columnHeaders(List<String> columnHeaders) {
+      JodaBeanUtils.notNull(columnHeaders, "columnHeaders");
+      this.columnHeaders = columnHeaders;
+      return this;
+    }
+
+    /**
+     * Sets the {@code columnHeaders} property in the builder
+     * from an array of objects.
+     * @param columnHeaders  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder columnHeaders(String... columnHeaders) {
+      return columnHeaders(ImmutableList.copyOf(columnHeaders));
+    }
+
+    /**
+     * Sets the aggregated sensitivities, one for each row.
+     * <p>
+     * The parameter metadata of each sensitivity is the tenor grid.
+     * @param sensitivities  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder sensitivities(CurrencyParameterSensitivities sensitivities) {
+      JodaBeanUtils.notNull(sensitivities, "sensitivities");
+      this.sensitivities = sensitivities;
+      return this;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(160);
+      buf.append("SensitivityBucketReport.Builder{");
+      buf.append("valuationDate").append('=').append(JodaBeanUtils.toString(valuationDate)).append(',').append(' ');
+      buf.append("runInstant").append('=').append(JodaBeanUtils.toString(runInstant)).append(',').append(' ');
+      buf.append("columnHeaders").append('=').append(JodaBeanUtils.toString(columnHeaders)).append(',').append(' ');
+      buf.append("sensitivities").append('=').append(JodaBeanUtils.toString(sensitivities));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
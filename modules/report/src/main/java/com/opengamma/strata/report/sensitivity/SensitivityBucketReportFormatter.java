@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.sensitivity;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.report.framework.format.FormatCategory;
+import com.opengamma.strata.report.framework.format.FormatSettings;
+import com.opengamma.strata.report.framework.format.ReportFormatter;
+import com.opengamma.strata.report.framework.format.ReportOutputFormat;
+import com.opengamma.strata.report.framework.format.ValueFormatters;
+
+/**
+ * Formatter for sensitivity bucket reports.
+ */
+public final class SensitivityBucketReportFormatter
+    extends ReportFormatter<SensitivityBucketReport> {
+
+  /**
+   * The single shared instance of this report formatter.
+   */
+  public static final SensitivityBucketReportFormatter INSTANCE = new SensitivityBucketReportFormatter();
+
+  // restricted constructor
+  private SensitivityBucketReportFormatter() {
+    super(FormatSettings.of(FormatCategory.TEXT, ValueFormatters.TO_STRING));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  protected List<Class<?>> getColumnTypes(SensitivityBucketReport report) {
+    ImmutableList.Builder<Class<?>> types = ImmutableList.builder();
+    types.add(String.class).add(Currency.class);
+    for (int i = SensitivityBucketReport.KEY_COLUMN_COUNT; i < report.getColumnCount(); i++) {
+      types.add(Double.class);
+    }
+    return types.build();
+  }
+
+  @Override
+  protected String formatData(SensitivityBucketReport report, int rowIdx, int colIdx, ReportOutputFormat format) {
+    CurrencyParameterSensitivity sensitivity = report.getSensitivities().getSensitivities().get(rowIdx);
+    switch (colIdx) {
+      case 0:
+        return formatValue(sensitivity.getMarketDataName().getName(), format);
+      case 1:
+        return formatValue(sensitivity.getCurrency(), format);
+      default:
+        return formatValue(sensitivity.getSensitivity().get(colIdx - SensitivityBucketReport.KEY_COLUMN_COUNT), format);
+    }
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.sensitivity;
+
+import java.time.Instant;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.pricer.sensitivity.SensitivityBucketAggregator;
+import com.opengamma.strata.report.ReportCalculationResults;
+import com.opengamma.strata.report.ReportRequirements;
+import com.opengamma.strata.report.ReportRunner;
+
+/**
+ * Report runner for sensitivity bucket reports.
+ * <p>
+ * The sensitivities of each trade are re-bucketed to the tenor grid of the template and
+ * aggregated over all the trades in a single pass, see {@link SensitivityBucketAggregator}.
+ */
+public final class SensitivityBucketReportRunner
+    implements ReportRunner<SensitivityBucketReportTemplate> {
+
+  /**
+   * The single shared instance of this report runner.
+   */
+  public static final SensitivityBucketReportRunner INSTANCE = new SensitivityBucketReportRunner();
+
+  // restricted constructor
+  private SensitivityBucketReportRunner() {
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public ReportRequirements requirements(SensitivityBucketReportTemplate reportTemplate) {
+    return ReportRequirements.of(Column.of(reportTemplate.getMeasure()));
+  }
+
+  @Override
+  public SensitivityBucketReport runReport(
+      ReportCalculationResults calculationResults,
+      SensitivityBucketReportTemplate reportTemplate) {
+
+    Measure measure = reportTemplate.getMeasure();
+    int columnIdx = calculationResults.getColumns().indexOf(Column.of(measure));
+    if (columnIdx == -1) {
+      throw new IllegalArgumentException(
+          Messages.format("Unable to find column for required measure '{}' in calculation results", measure));
+    }
+    Results results = calculationResults.getCalculationResults();
+    SensitivityBucketAggregator aggregator =
+        SensitivityBucketAggregator.of(calculationResults.getValuationDate(), reportTemplate.getTenors());
+    for (int rowIdx = 0; rowIdx < results.getRowCount(); rowIdx++) {
+      Result<?> result = results.get(rowIdx, columnIdx);
+      if (result.isFailure()) {
+        throw new IllegalArgumentException(
+            Messages.format("Failure result found for required measure '{}' in row {}: {}",
+                measure, rowIdx, result.getFailure().getMessage()));
+      }
+      Object value = result.getValue();
+      if (!(value instanceof CurrencyParameterSensitivities)) {
+        throw new IllegalArgumentException(
+            Messages.format("Result for measure '{}' in row {} must be CurrencyParameterSensitivities but was {}",
+                measure, rowIdx, value.getClass().getSimpleName()));
+      }
+      aggregator.add((CurrencyParameterSensitivities) value);
+    }
+
+    ImmutableList.Builder<String> headers = ImmutableList.builder();
+    headers.add("Market Data").add("Currency");
+    for (Tenor tenor : reportTemplate.getTenors()) {
+      headers.add(tenor.toString());
+    }
+    return SensitivityBucketReport.builder()
+        .runInstant(Instant.now())
+        .valuationDate(calculationResults.getValuationDate())
+        .columnHeaders(headers.build())
+        .sensitivities(aggregator.build())
+        .build();
+  }
+
+}
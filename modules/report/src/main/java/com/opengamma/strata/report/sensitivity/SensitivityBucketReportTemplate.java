@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.sensitivity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.collect.io.IniFile;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.report.ReportTemplate;
+
+/**
+ * Describes the contents and layout of a sensitivity bucket report.
+ * <p>
+ * The report aggregates the parameter sensitivities of all the trades,
+ * re-bucketed to the grid of tenors, for example the grid used by ISDA SIMM.
+ */
+@BeanDefinition(builderScope = "private")
+public final class SensitivityBucketReportTemplate
+    implements ReportTemplate, ImmutableBean {
+
+  /**
+   * The measure providing the sensitivities of each trade.
+   * <p>
+   * The result of the measure must be {@code CurrencyParameterSensitivities}.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Measure measure;
+  /**
+   * The target tenors, sorted from shortest to longest.
+   */
+  @PropertyDefinition(validate = "notEmpty")
+  private final ImmutableList<Tenor> tenors;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a template for the market quote sensitivities re-bucketed to the tenors.
+   * <p>
+   * The sensitivities of each trade are provided by {@link Measures#PV01_MARKET_QUOTE_BUCKETED}.
+   *
+   * @param tenors  the target tenors, sorted from shortest to longest
+   * @return the template
+   */
+  public static SensitivityBucketReportTemplate of(List<Tenor> tenors) {
+    return of(Measures.PV01_MARKET_QUOTE_BUCKETED, tenors);
+  }
+
+  /**
+   * Obtains a template for the sensitivities of a measure re-bucketed to the tenors.
+   *
+   * @param measure  the measure providing the sensitivities of each trade
+   * @param tenors  the target tenors, sorted from shortest to longest
+   * @return the template
+   */
+  public static SensitivityBucketReportTemplate of(Measure measure, List<Tenor> tenors) {
+    return new SensitivityBucketReportTemplate(measure, tenors);
+  }
+
+  /**
+   * Creates a sensitivity bucket report template by reading a template definition in an ini file.
+   *
+   * @param ini  the ini file containing the definition of the template
+   * @return a sensitivity bucket report template built from the definition in the ini file
+   */
+  public static SensitivityBucketReportTemplate load(IniFile ini) {
+    SensitivityBucketReportTemplateIniLoader loader = new SensitivityBucketReportTemplateIniLoader();
+    return loader.load(ini);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SensitivityBucketReportTemplate}.
+   * @return the meta-bean, not null
+   */
+  public static SensitivityBucketReportTemplate.Meta meta() {
+    return SensitivityBucketReportTemplate.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(SensitivityBucketReportTemplate.Meta.INSTANCE);
+  }
+
+  private SensitivityBucketReportTemplate(
+      Measure measure,
+      List<Tenor> tenors) {
+    JodaBeanUtils.notNull(measure, "measure");
+    JodaBeanUtils.notEmpty(tenors, "tenors");
+    this.measure = measure;
+    this.tenors = ImmutableList.copyOf(tenors);
+  }
+
+  @Override
+  public SensitivityBucketReportTemplate.Meta metaBean() {
+    return SensitivityBucketReportTemplate.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the measure providing the sensitivities of each trade.
+   * <p>
+   * The result of the measure must be {@code CurrencyParameterSensitivities}.
+   * @return the value of the property, not null
+   */
+  public Measure getMeasure() {
+    return measure;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the target tenors, sorted from shortest to longest.
+   * @return the value of the property, not empty
+   */
+  public ImmutableList<Tenor> getTenors() {
+    return tenors;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SensitivityBucketReportTemplate other = (SensitivityBucketReportTemplate) obj;
+      return JodaBeanUtils.equal(measure, other.measure) &&
+          JodaBeanUtils.equal(tenors, other.tenors);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(measure);
+    hash = hash * 31 + JodaBeanUtils.hashCode(tenors);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("SensitivityBucketReportTemplate{");
+    buf.append("measure").append('=').append(measure).append(',').append(' ');
+    buf.append("tenors").append('=').append(JodaBeanUtils.toString(tenors));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code SensitivityBucketReportTemplate}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code measure} property.
+     */
+    private final MetaProperty<Measure> measure = DirectMetaProperty.ofImmutable(
+        this, "measure", SensitivityBucketReportTemplate.class, Measure.class);
+    /**
+     * The meta-property for the {@code tenors} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<Tenor>> tenors = DirectMetaProperty.ofImmutable(
+        this, "tenors", SensitivityBucketReportTemplate.class, (Class) ImmutableList.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "measure",
+        "tenors");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 938321246:  // measure
+          return measure;
+        case -877322829:  // tenors
+          return tenors;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends SensitivityBucketReportTemplate> builder() {
+      return new SensitivityBucketReportTemplate.Builder();
+    }
+
+    @Override
+    public Class<? extends SensitivityBucketReportTemplate> beanType() {
+      return SensitivityBucketReportTemplate.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code measure} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Measure> measure() {
+      return measure;
+    }
+
+    /**
+     * The meta-property for the {@code tenors} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<Tenor>> tenors() {
+      return tenors;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 938321246:  // measure
+          return ((SensitivityBucketReportTemplate) bean).getMeasure();
+        case -877322829:  // tenors
+          return ((SensitivityBucketReportTemplate) bean).getTenors();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code SensitivityBucketReportTemplate}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<SensitivityBucketReportTemplate> {
+
+    private Measure measure;
+    private List<Tenor> tenors = ImmutableList.of();
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 938321246:  // measure
+          return measure;
+        case -877322829:  // tenors
+          return tenors;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 938321246:  // measure
+          this.measure = (Measure) newValue;
+          break;
+        case -877322829:  // tenors
+          this.tenors = (List<Tenor>) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public SensitivityBucketReportTemplate build() {
+      return new SensitivityBucketReportTemplate(
+          measure,
+          tenors);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(96);
+      buf.append("SensitivityBucketReportTemplate.Builder{");
+      buf.append("measure").append('=').append(JodaBeanUtils.toString(measure)).append(',').append(' ');
+      buf.append("tenors").append('=').append(JodaBeanUtils.toString(tenors));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
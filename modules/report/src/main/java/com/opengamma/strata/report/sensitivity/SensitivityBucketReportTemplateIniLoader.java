@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.sensitivity;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.google.common.base.Splitter;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.collect.io.IniFile;
+import com.opengamma.strata.collect.io.PropertySet;
+import com.opengamma.strata.report.ReportTemplateIniLoader;
+
+/**
+ * Loads a sensitivity bucket report template from the standard INI file format.
+ * <p>
+ * The settings section of the INI file can specify the following properties:
+ * <ul>
+ * <li>tenors - the comma separated list of target tenors, sorted from shortest to longest
+ * <li>measure - optional name of the measure providing the sensitivities, defaulted to 'PV01MarketQuoteBucketed'
+ * </ul>
+ */
+public class SensitivityBucketReportTemplateIniLoader
+    implements ReportTemplateIniLoader<SensitivityBucketReportTemplate> {
+
+  /**
+   * The report type.
+   */
+  private static final String REPORT_TYPE = "sensitivityBucket";
+  /**
+   * The tenors property name.
+   */
+  private static final String TENORS_PROPERTY = "tenors";
+  /**
+   * The measure property name.
+   */
+  private static final String MEASURE_PROPERTY = "measure";
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String getReportType() {
+    return REPORT_TYPE;
+  }
+
+  @Override
+  public SensitivityBucketReportTemplate load(IniFile iniFile) {
+    String settingsSectionKey = iniFile.sections().stream()
+        .filter(k -> k.toLowerCase(Locale.ENGLISH).equals(SETTINGS_SECTION))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Report template INI file must contain a settings section"));
+    PropertySet settings = iniFile.section(settingsSectionKey);
+    List<Tenor> tenors = Splitter.on(',').trimResults().omitEmptyStrings()
+        .splitToList(settings.value(TENORS_PROPERTY)).stream()
+        .map(Tenor::parse)
+        .collect(toImmutableList());
+    if (settings.contains(MEASURE_PROPERTY)) {
+      return SensitivityBucketReportTemplate.of(Measure.of(settings.value(MEASURE_PROPERTY)), tenors);
+    }
+    return SensitivityBucketReportTemplate.of(tenors);
+  }
+
+}
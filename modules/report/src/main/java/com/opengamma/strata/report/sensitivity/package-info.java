@@ -0,0 +1,10 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Types for reporting sensitivities re-bucketed to a tenor grid.
+ */
+package com.opengamma.strata.report.sensitivity;
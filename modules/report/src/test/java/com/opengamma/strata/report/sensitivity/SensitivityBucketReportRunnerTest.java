@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.sensitivity;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.io.IniFile;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.TenorParameterMetadata;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.report.ReportCalculationResults;
+import com.opengamma.strata.report.ReportRequirements;
+import com.opengamma.strata.report.ReportTemplate;
+
+/**
+ * Test {@link SensitivityBucketReportRunner}.
+ */
+@Test
+public class SensitivityBucketReportRunnerTest {
+
+  private static final LocalDate VAL_DATE = date(2017, 3, 15);
+  private static final CurveName CURVE = CurveName.of("USD-Disc");
+  private static final List<Tenor> TENORS = ImmutableList.of(Tenor.TENOR_1Y, Tenor.TENOR_5Y);
+  private static final List<ParameterMetadata> METADATA = ImmutableList.of(
+      TenorParameterMetadata.of(Tenor.TENOR_6M),
+      TenorParameterMetadata.of(Tenor.TENOR_1Y),
+      TenorParameterMetadata.of(Tenor.TENOR_5Y),
+      TenorParameterMetadata.of(Tenor.TENOR_10Y));
+  private static final Column COLUMN = Column.of(Measures.PV01_MARKET_QUOTE_BUCKETED);
+  private static final ColumnHeader HEADER =
+      ColumnHeader.of(ColumnName.of(Measures.PV01_MARKET_QUOTE_BUCKETED.getName()), Measures.PV01_MARKET_QUOTE_BUCKETED);
+
+  //-------------------------------------------------------------------------
+  public void test_runReport() {
+    CurrencyParameterSensitivities trade1 = CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(CURVE, METADATA, Currency.USD, DoubleArray.of(1, 2, 3, 4)));
+    CurrencyParameterSensitivities trade2 = CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(CURVE, METADATA, Currency.USD, DoubleArray.of(10, 20, 30, 40)));
+    Results results = Results.of(ImmutableList.of(HEADER), ImmutableList.of(Result.success(trade1), Result.success(trade2)));
+    ReportCalculationResults calcResults =
+        ReportCalculationResults.of(VAL_DATE, ImmutableList.of(), ImmutableList.of(COLUMN), results);
+    SensitivityBucketReportTemplate template = SensitivityBucketReportTemplate.of(TENORS);
+
+    ReportRequirements requirements = SensitivityBucketReportRunner.INSTANCE.requirements(template);
+    assertEquals(requirements.getTradeMeasureRequirements(), ImmutableList.of(COLUMN));
+    SensitivityBucketReport report = SensitivityBucketReportRunner.INSTANCE.runReport(calcResults, template);
+    assertEquals(report.getValuationDate(), VAL_DATE);
+    assertEquals(report.getColumnHeaders(), ImmutableList.of("Market Data", "Currency", "1Y", "5Y"));
+    assertEquals(report.getRowCount(), 1);
+    CurrencyParameterSensitivity row = report.getSensitivities().getSensitivities().get(0);
+    assertEquals(row.getMarketDataName(), CURVE);
+    assertEquals(row.getSensitivity(), DoubleArray.of(33, 77));
+    String table = report.toAsciiTableString();
+    assertEquals(table.contains("USD-Disc"), true);
+    assertEquals(table.contains("33"), true);
+  }
+
+  public void test_runReport_failure() {
+    Results results = Results.of(
+        ImmutableList.of(HEADER), ImmutableList.of(Result.failure(FailureReason.ERROR, "Bad")));
+    ReportCalculationResults calcResults =
+        ReportCalculationResults.of(VAL_DATE, ImmutableList.of(), ImmutableList.of(COLUMN), results);
+    assertThrowsIllegalArg(
+        () -> SensitivityBucketReportRunner.INSTANCE.runReport(calcResults, SensitivityBucketReportTemplate.of(TENORS)));
+    assertThrowsIllegalArg(() -> SensitivityBucketReportRunner.INSTANCE.runReport(
+        calcResults, SensitivityBucketReportTemplate.of(Measures.PRESENT_VALUE, TENORS)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_load() {
+    ResourceLocator locator = ResourceLocator.of("classpath:sensitivity-bucket-report-test.ini");
+    ReportTemplate template = ReportTemplate.load(IniFile.of(locator.getCharSource()));
+    assertEquals(template, SensitivityBucketReportTemplate.of(
+        Measures.PV01_CALIBRATED_BUCKETED, ImmutableList.of(Tenor.TENOR_1M, Tenor.TENOR_1Y, Tenor.TENOR_5Y)));
+  }
+
+}